@@ -0,0 +1,52 @@
+package org.example.weather_alert.benchmarks;
+
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for every alert in GET /api/alerts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AlertMapperBenchmark {
+
+    @Param({"1", "100"})
+    private int alerts;
+
+    private final AlertMapper mapper = new AlertMapper();
+    private List<Alert> source;
+
+    @Setup
+    public void setUp() {
+        source = BenchmarkFixtures.alerts(alerts);
+    }
+
+    @Benchmark
+    public List<AlertResponse> toResponse() {
+        List<AlertResponse> responses = new ArrayList<>(source.size());
+        for (Alert alert : source) {
+            responses.add(mapper.toResponse(alert));
+        }
+        return responses;
+    }
+}
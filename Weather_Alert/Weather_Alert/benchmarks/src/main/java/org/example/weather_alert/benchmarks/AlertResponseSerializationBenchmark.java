@@ -0,0 +1,61 @@
+package org.example.weather_alert.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON body of GET /api/alerts for list sizes seen in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AlertResponseSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int alerts;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<AlertResponse> responses;
+
+    @Setup
+    public void setUp() {
+        AlertMapper mapper = new AlertMapper();
+        objectMapper = BenchmarkFixtures.objectMapper();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AlertResponse.class));
+        responses = BenchmarkFixtures.alerts(alerts).stream().map(mapper::toResponse).toList();
+    }
+
+    // What the message converter does: type resolved from the runtime value
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    // Pre-resolved writer, for comparison
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
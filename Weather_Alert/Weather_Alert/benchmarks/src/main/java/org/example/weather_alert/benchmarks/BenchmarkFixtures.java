@@ -0,0 +1,134 @@
+package org.example.weather_alert.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.User;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.ratelimit.ApiRateLimiter;
+import org.example.weather_alert.ratelimit.RateLimitProperties;
+import org.example.weather_alert.security.JwtTokenProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Production-shaped inputs: descriptions at the 1000-character column limit mixing Bulgarian and
+ * English, Cyrillic locations, real Nominatim payloads. Fixed seeds, so runs are comparable.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "mySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    public static final List<String> LOCATIONS = List.of(
+            "София", "Пловдив", "Варна", "Бургас", "Русе", "Стара Загора", "Плевен", "Велико Търново",
+            "Благоевград", "Смолян", "Kardzhali", "Vidin");
+
+    private static final String DESCRIPTION_BG = "Очакват се обилни снеговалежи и силен вятър с пориви до 80 км/ч. "
+            + "Възможни са заледявания по пътищата, затваряне на проходи и прекъсвания на електрозахранването. ";
+
+    private static final String DESCRIPTION_EN = "Heavy snowfall and strong winds with gusts up to 80 km/h are expected. "
+            + "Icy roads, closed mountain passes and power outages are possible. ";
+
+    // Nominatim search?format=json&limit=1 for a city - trimmed of nothing, this is what arrives
+    public static final String NOMINATIM_FOUND = "[{\"place_id\":123456789,\"licence\":\"Data © OpenStreetMap contributors, "
+            + "ODbL 1.0. http://osm.org/copyright\",\"osm_type\":\"relation\",\"osm_id\":4283101,"
+            + "\"lat\":\"42.6977028\",\"lon\":\"23.3217359\",\"class\":\"place\",\"type\":\"city\","
+            + "\"place_rank\":16,\"importance\":0.7350011311082403,\"addresstype\":\"city\",\"name\":\"София\","
+            + "\"display_name\":\"София, Столична, София-град, България\","
+            + "\"boundingbox\":[\"42.5669989\",\"42.7877145\",\"23.1884196\",\"23.4569171\"]}]";
+
+    public static final String NOMINATIM_EMPTY = "[]";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static String description(int length) {
+        StringBuilder text = new StringBuilder(length + DESCRIPTION_BG.length());
+        while (text.length() < length) {
+            text.append(DESCRIPTION_BG).append(DESCRIPTION_EN);
+        }
+        return text.substring(0, length);
+    }
+
+    public static Alert alert(long id) {
+        User creator = User.builder()
+                .id(1L)
+                .username("admin")
+                .email("admin@weatheralert.com")
+                .build();
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 8, 30).plusMinutes(id);
+
+        return Alert.builder()
+                .id(id)
+                .description(description(1000))
+                .locationName(LOCATIONS.get((int) (id % LOCATIONS.size())))
+                .latitude(42.6977028 + id * 0.001)
+                .longitude(23.3217359 - id * 0.001)
+                .severityLevel(SeverityLevel.values()[(int) (id % SeverityLevel.values().length)])
+                .geoTaggingStatus(GeoTaggingStatus.SUCCESS)
+                .createdBy(creator)
+                .createdAt(created)
+                .updatedAt(created.plusSeconds(2))
+                .effectiveFrom(created)
+                .effectiveUntil(created.plusHours(12))
+                .expiresAt(created.plusDays(7))
+                .build();
+    }
+
+    public static List<Alert> alerts(int count) {
+        List<Alert> alerts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            alerts.add(alert(id));
+        }
+        return alerts;
+    }
+
+    // Configured like Spring Boot's auto-configured ObjectMapper (ISO dates, java.time module)
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static JwtTokenProvider jwtTokenProvider(long expirationMs, long verifiedCacheMaxSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(JWT_SECRET);
+        properties.setExpiration(expirationMs);
+        properties.getVerifiedCache().setMaxSize(verifiedCacheMaxSize);
+        return new JwtTokenProvider(properties);
+    }
+
+    /**
+     * The rules of application.yml (a GET /api/alerts rule, then /api/**) with rates high enough
+     * that every request is allowed - the common case whose cost every request pays.
+     */
+    public static ApiRateLimiter apiRateLimiter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rateLimitRule("alerts-list", "GET", "/api/alerts", Map.of("ADMIN", 1e9, "USER", 1e9)),
+                rateLimitRule("api", null, "/api/**", Map.of("ADMIN", 1e9, "USER", 1e9, "ANONYMOUS", 1e9))));
+        return new ApiRateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    private static RateLimitProperties.Rule rateLimitRule(String name, String method, String path,
+                                                          Map<String, Double> permitsPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        permitsPerSecond.forEach((role, rate) -> {
+            RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+            limit.setPermitsPerSecond(rate);
+            limit.setBurst(1000);
+            rule.getLimits().put(role, limit);
+        });
+        return rule;
+    }
+}
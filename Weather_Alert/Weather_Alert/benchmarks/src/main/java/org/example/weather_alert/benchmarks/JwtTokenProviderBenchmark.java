@@ -0,0 +1,78 @@
+package org.example.weather_alert.benchmarks;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.example.weather_alert.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token work in JwtAuthenticationFilter. {@code validateThenParse} is the old path
+ * (verify, then parse again), replayed with jjwt directly since the provider no longer has it;
+ * {@code verify} is one parse with the verified-token cache off, and {@code verifyCached} a repeat
+ * request answered from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private JwtTokenProvider cachingTokenProvider;
+    private JwtParser parser;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkFixtures.jwtTokenProvider(86_400_000L, 0);
+        cachingTokenProvider = BenchmarkFixtures.jwtTokenProvider(86_400_000L, 10_000);
+        validToken = tokenProvider.generateToken(1L, "admin",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        // Same header and claims, broken signature - the cost of rejecting a forged token
+        tamperedToken = validToken.substring(0, validToken.length() - 4) + "AAAA";
+        cachingTokenProvider.verify(validToken);
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(BenchmarkFixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    @Benchmark
+    public String validateThenParse() {
+        parser.parseSignedClaims(validToken);
+        return parser.parseSignedClaims(validToken).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public AuthenticatedUser verify() {
+        return tokenProvider.verify(validToken);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyCached() {
+        return cachingTokenProvider.verify(validToken);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyTamperedToken() {
+        return tokenProvider.verify(tamperedToken);
+    }
+}
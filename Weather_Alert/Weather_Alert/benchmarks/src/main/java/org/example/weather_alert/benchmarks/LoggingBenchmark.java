@@ -0,0 +1,139 @@
+package org.example.weather_alert.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.example.weather_alert.logging.DroppingAsyncAppender;
+import org.example.weather_alert.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one controller log line (user and alertId in the MDC) on top of a slice of request
+ * work: subtract {@code requestOnly} from the others. Lines go to /dev/null with a write per
+ * event, like a console. {@code syncPattern} is the default setup; {@code asyncJson} and
+ * {@code asyncJsonSampled} the prod profile without and with a 1-in-20 sampling rule - their
+ * writer thread's time counts too when it shares the caller's cores. Queue drops are printed at
+ * tear-down: a run that drops measures the drop path, not the hand-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class LoggingBenchmark {
+
+    // Roughly a few microseconds of CPU between two log lines of a request
+    private static final long REQUEST_WORK = 2000;
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    private LoggerContext context;
+    private DroppingAsyncAppender async;
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private Logger sampledLogger;
+    private long id;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setContext(context);
+        sampling.addRule("sampled INFO 20");
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+        pattern.setPattern(PATTERN);
+        syncLogger = logger("sync.AlertController", discarding(pattern));
+
+        JsonEncoder json = new JsonEncoder();
+        async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_JSON");
+        async.setQueueSize(8192);
+        async.addAppender(discarding(json));
+        async.start();
+        asyncLogger = logger("async.AlertController", async);
+        sampledLogger = logger("sampled.AlertController", async);
+
+        MDC.put("user", "admin");
+        MDC.put("userId", "1");
+        MDC.put("alertId", "42");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nasync queue drops: INFO=%d, WARN=%d%n",
+                async.getDropped(Level.INFO), async.getDropped(Level.WARN));
+        context.stop();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public void requestOnly() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+    }
+
+    @Benchmark
+    public void syncPattern() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        syncLogger.info("GET /api/alerts/{} - Fetching alert", id++);
+    }
+
+    @Benchmark
+    public void asyncJson() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        asyncLogger.info("GET /api/alerts/{} - Fetching alert", id++);
+    }
+
+    @Benchmark
+    public void asyncJsonSampled() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        sampledLogger.info("GET /api/alerts/{} - Fetching alert", id++);
+    }
+
+    private Logger logger(String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> discarding(Encoder<ILoggingEvent> encoder) throws IOException {
+        encoder.setContext(context);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new FileOutputStream("/dev/null"));
+        appender.start();
+        return appender;
+    }
+}
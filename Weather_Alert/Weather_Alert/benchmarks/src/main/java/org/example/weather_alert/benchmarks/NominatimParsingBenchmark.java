@@ -0,0 +1,38 @@
+package org.example.weather_alert.benchmarks;
+
+import org.example.weather_alert.services.NominatimResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the Nominatim search response GeocodingService receives for every geocoded location.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NominatimParsingBenchmark {
+
+    private final NominatimResponseParser parser = new NominatimResponseParser();
+
+    @Benchmark
+    public NominatimResponseParser.Result parseFound() {
+        return parser.parse(BenchmarkFixtures.NOMINATIM_FOUND);
+    }
+
+    @Benchmark
+    public NominatimResponseParser.Result parseEmpty() {
+        return parser.parse(BenchmarkFixtures.NOMINATIM_EMPTY);
+    }
+}
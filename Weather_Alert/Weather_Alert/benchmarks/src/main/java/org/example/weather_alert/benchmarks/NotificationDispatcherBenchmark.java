@@ -0,0 +1,196 @@
+package org.example.weather_alert.benchmarks;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.NotificationProperties;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.NotificationChannel;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.notifications.NotificationTarget;
+import org.example.weather_alert.notifications.WebhookUrlGuard;
+import org.example.weather_alert.services.NotificationDispatcher;
+import org.example.weather_alert.services.SubscriptionMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end delivery rate of NotificationDispatcher against a local HTTP sink (JDK HttpServer)
+ * and an SMTP stub (GreenMail), both on loopback. One operation is one notification: each
+ * invocation dispatches {@value #NOTIFICATIONS} and waits until the dispatcher has counted them
+ * delivered, so the score is deliveries per second including batching, the flush tick and the
+ * per-destination concurrency cap.
+ *
+ * Batch latency - one webhook POST or one SMTP connection, as recorded by the dispatcher's
+ * {@code alerts.notifications.delivery} timer - is printed as p50/p95/p99 at the end of each fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotificationDispatcherBenchmark {
+
+    private static final int NOTIFICATIONS = 1000;
+    private static final int WEBHOOK_URLS = 10;
+    private static final int RECIPIENTS = 100;
+    private static final String DELIVERY_TIMER = "alerts.notifications.delivery";
+
+    @Param({"WEBHOOK", "EMAIL"})
+    private NotificationChannel channel;
+
+    private HttpServer httpSink;
+    private ExecutorService httpSinkExecutor;
+    private GreenMail smtp;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    private NotificationTarget[] targets;
+    private AlertResponse alert;
+    private long delivered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        httpSinkExecutor = Executors.newFixedThreadPool(8);
+        httpSink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpSink.createContext("/hooks", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+                exchange.sendResponseHeaders(204, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        httpSink.setExecutor(httpSinkExecutor);
+        httpSink.start();
+
+        smtp = new GreenMail(new ServerSetup(freePort(), "localhost", ServerSetup.PROTOCOL_SMTP))
+                .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+        smtp.start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getSmtp().getPort());
+
+        // application.yml defaults, except that the sink is a trusted loopback host
+        NotificationProperties properties = new NotificationProperties();
+        properties.setTrustedWebhookHosts(List.of("localhost"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals(DELIVERY_TIMER)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        // Notifications are dispatched directly; the matcher only receives the match listener
+        SubscriptionMatcher subscriptionMatcher = new SubscriptionMatcher(null, null, meterRegistry);
+        dispatcher = new NotificationDispatcher(WebClient.builder(), Optional.of(mailSender), meterRegistry,
+                subscriptionMatcher, new WebhookUrlGuard(properties), properties);
+
+        targets = new NotificationTarget[NOTIFICATIONS];
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            targets[i] = channel == NotificationChannel.WEBHOOK
+                    ? new NotificationTarget("http://localhost:" + httpSink.getAddress().getPort()
+                    + "/hooks/" + (i % WEBHOOK_URLS), null)
+                    : new NotificationTarget(null, "user" + (i % RECIPIENTS) + "@bench.local");
+        }
+        alert = new AlertMapper().toResponse(BenchmarkFixtures.alert(1));
+    }
+
+    @TearDown(Level.Iteration)
+    public void purgeMailboxes() throws Exception {
+        smtp.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        report();
+        dispatcher.shutdown();
+        smtp.stop();
+        httpSink.stop(0);
+        httpSinkExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOTIFICATIONS)
+    public void deliver() {
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            dispatcher.dispatch(i, targets[i], alert);
+        }
+        delivered += NOTIFICATIONS;
+        while (deliveredCount() < delivered) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    private double deliveredCount() {
+        return meterRegistry.counter("alerts.notifications.delivered", "channel", channel.name()).count();
+    }
+
+    private void report() {
+        Timer timer = meterRegistry.find(DELIVERY_TIMER)
+                .tags("channel", channel.name(), "outcome", "success")
+                .timer();
+        if (timer == null) {
+            return;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        StringBuilder line = new StringBuilder()
+                .append(channel).append(" batch latency over the last ")
+                .append(snapshot.count()).append(" batches:");
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            line.append(String.format(" p%.0f=%.2f ms", percentile.percentile() * 100,
+                    percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.println();
+        System.out.println(line);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
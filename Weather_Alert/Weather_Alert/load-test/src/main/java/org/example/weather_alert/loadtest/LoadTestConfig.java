@@ -0,0 +1,107 @@
+package org.example.weather_alert.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all {@code --name=value}. Options starting with {@code --app.} are passed
+ * to the booted service as Spring properties, e.g. {@code --app.async.max-pool-size=10}.
+ */
+final class LoadTestConfig {
+
+    // Workload
+    int rps = 50;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    // Time allowed after the run for queued geotags to finish
+    int drainSeconds = 30;
+    // Requests outstanding beyond this are not sent and count as client errors
+    int maxInFlight = 2000;
+    int clientThreads = 16;
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    // Nominatim simulator
+    long simLatencyMs = 150;
+    long simJitterMs = 100;
+    double simErrorRate = 0.0;
+    double simNotFoundRate = 0.02;
+    // Requests per second above which the simulator answers 429 (0 = never)
+    int simMaxRps = 0;
+
+    // Service
+    long geocoderRateLimitMs = 1000;
+    final Map<String, String> appProperties = new LinkedHashMap<>();
+
+    Path outputDir = Path.of("target", "load-test");
+
+    LoadTestConfig() {
+        mix.put(Operation.LOGIN, 5);
+        mix.put(Operation.CREATE, 10);
+        mix.put(Operation.LIST, 10);
+        mix.put(Operation.GET, 60);
+        mix.put(Operation.UPDATE, 15);
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            if (name.startsWith("app.")) {
+                config.appProperties.put(name.substring(4), value);
+                continue;
+            }
+            switch (name) {
+                case "rps" -> config.rps = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "drain" -> config.drainSeconds = Integer.parseInt(value);
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "client-threads" -> config.clientThreads = Integer.parseInt(value);
+                case "mix" -> config.parseMix(value);
+                case "sim-latency-ms" -> config.simLatencyMs = Long.parseLong(value);
+                case "sim-jitter-ms" -> config.simJitterMs = Long.parseLong(value);
+                case "sim-error-rate" -> config.simErrorRate = Double.parseDouble(value);
+                case "sim-not-found-rate" -> config.simNotFoundRate = Double.parseDouble(value);
+                case "sim-max-rps" -> config.simMaxRps = Integer.parseInt(value);
+                case "geocoder-rate-limit-ms" -> config.geocoderRateLimitMs = Long.parseLong(value);
+                case "out" -> config.outputDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.rps <= 0 || config.durationSeconds <= 0) {
+            throw new IllegalArgumentException("--rps and --duration must be positive");
+        }
+        return config;
+    }
+
+    // e.g. login:5,create:10,list:10,get:60,update:15 - weights, operations left out are not run
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got: " + entry);
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rps=%d duration=%ds warmup=%ds mix=%s | simulator latency=%d+-%dms errors=%.1f%% "
+                        + "not-found=%.1f%% max-rps=%s | geocoder rate limit=%dms%s",
+                rps, durationSeconds, warmupSeconds, mix, simLatencyMs, simJitterMs, simErrorRate * 100,
+                simNotFoundRate * 100, simMaxRps > 0 ? simMaxRps : "off", geocoderRateLimitMs,
+                appProperties.isEmpty() ? "" : " " + appProperties);
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.weather_alert.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds, 3 significant digits) and error counts of the measured
+ * part of a run. Latency is measured from the request's scheduled start, not from when it was
+ * actually sent, so a stalled service is not hidden by the client falling behind.
+ */
+final class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double MICROS_PER_MS = 1000.0;
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> errors = new EnumMap<>(Operation.class);
+    private final Recorder geotagLag = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<String, LongAdder> geotagOutcomes = new ConcurrentHashMap<>();
+    private final LongAdder geotagsPending = new LongAdder();
+
+    LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    // ===================== Recording =====================
+
+    void success(Operation operation, long latencyNanos) {
+        latencies.get(operation).recordValue(Math.min(toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    // e.g. "HTTP 409", "ConnectException", "client saturated"
+    void error(Operation operation, String reason) {
+        errors.get(operation).computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    void geotagged(String outcome, long lagNanos) {
+        geotagLag.recordValue(Math.min(toMicros(lagNanos), HIGHEST_TRACKABLE_MICROS));
+        geotagOutcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    void geotagStillPending() {
+        geotagsPending.increment();
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    // ===================== Output =====================
+
+    /**
+     * Prints the summary and writes one percentile distribution (.hgrm, milliseconds) per
+     * operation plus geotag-lag.hgrm to {@code outputDir}; plot them at hdrhistogram.github.io.
+     */
+    void write(LoadTestConfig config, NominatimSimulator simulator, PrintStream out) throws IOException {
+        Files.createDirectories(config.outputDir);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Map.Entry<Operation, Recorder> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            histograms.put(entry.getKey(), histogram);
+            all.add(histogram);
+        }
+        Histogram lag = geotagLag.getIntervalHistogram();
+
+        long totalErrors = errors.values().stream()
+                .flatMap(byReason -> byReason.values().stream())
+                .mapToLong(LongAdder::sum)
+                .sum();
+
+        out.println();
+        out.println("=== Weather Alert load test ===");
+        out.println(config);
+        out.printf("Throughput: %.1f req/s succeeded, %d errors (target %d req/s over %d s)%n",
+                all.getTotalCount() / (double) config.durationSeconds, totalErrors, config.rps, config.durationSeconds);
+        out.println();
+        out.printf("%-8s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            if (config.mix.getOrDefault(entry.getKey(), 0) > 0) {
+                printRow(out, entry.getKey().name().toLowerCase(), entry.getValue(), errorCount(entry.getKey()), config);
+            }
+        }
+        printRow(out, "all", all, totalErrors, config);
+
+        out.println();
+        out.printf("Geotag lag (create sent -> GEOTAGGED/GEOTAG_FAILED): %d done %s, %d still pending after %d s drain%n",
+                lag.getTotalCount(), counts(geotagOutcomes), geotagsPending.sum(), config.drainSeconds);
+        if (lag.getTotalCount() > 0) {
+            out.printf("  p50 %.0f ms, p90 %.0f ms, p99 %.0f ms, max %.0f ms%n",
+                    percentile(lag, 50), percentile(lag, 90), percentile(lag, 99), lag.getMaxValue() / MICROS_PER_MS);
+        }
+
+        out.println();
+        out.println("Errors:");
+        if (totalErrors == 0) {
+            out.println("  none");
+        }
+        errors.forEach((operation, byReason) -> new TreeMap<>(byReason).forEach((reason, count) ->
+                out.printf("  %-8s %-40s %d%n", operation.name().toLowerCase(), reason, count.sum())));
+
+        out.println();
+        out.printf("Nominatim simulator: responses by status %s, empty results %d%n",
+                counts(simulator.responsesByStatus()), simulator.notFound());
+
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() > 0) {
+                writeDistribution(config.outputDir.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), entry.getValue());
+            }
+        }
+        writeDistribution(config.outputDir.resolve("all.hgrm"), all);
+        if (lag.getTotalCount() > 0) {
+            writeDistribution(config.outputDir.resolve("geotag-lag.hgrm"), lag);
+        }
+        out.println("Percentile distributions written to " + config.outputDir.toAbsolutePath());
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount, LoadTestConfig config) {
+        out.printf("%-8s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), errorCount, histogram.getTotalCount() / (double) config.durationSeconds,
+                percentile(histogram, 50), percentile(histogram, 90), percentile(histogram, 99),
+                percentile(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MS);
+    }
+
+    private long errorCount(Operation operation) {
+        return errors.get(operation).values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MS;
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> counts(Map<K, LongAdder> adders) {
+        Map<K, Long> counts = new TreeMap<>();
+        adders.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, MICROS_PER_MS);
+        }
+    }
+}
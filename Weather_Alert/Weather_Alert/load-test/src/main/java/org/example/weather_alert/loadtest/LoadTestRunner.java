@@ -0,0 +1,117 @@
+package org.example.weather_alert.loadtest;
+
+import org.example.weather_alert.WeatherAlertApplication;
+import org.example.weather_alert.entities.Role;
+import org.example.weather_alert.entities.User;
+import org.example.weather_alert.repositories.RoleRepository;
+import org.example.weather_alert.repositories.UserRepository;
+import org.example.weather_alert.services.AlertEventService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the service in this JVM against H2 and a {@link NominatimSimulator}, seeds an ADMIN and
+ * a USER with real BCrypt passwords, drives the {@link WorkloadDriver} and prints the
+ * {@link LoadTestReport}.
+ *
+ * <pre>
+ * java -jar target/load-test.jar --rps=100 --duration=120 --sim-latency-ms=300 --sim-max-rps=1
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        LoadTestReport report = new LoadTestReport();
+        try (NominatimSimulator simulator = new NominatimSimulator(config)) {
+            simulator.start();
+
+            // System properties, because SpringApplicationBuilder.properties() loses to application.yml
+            serviceProperties(config, simulator.baseUrl()).forEach(System::setProperty);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(WeatherAlertApplication.class).run();
+            try {
+                seedUsers(context);
+                String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+                try (WorkloadDriver driver = new WorkloadDriver(config, baseUrl, report)) {
+                    context.getBean(AlertEventService.class).addListener(driver::onAlertEvent);
+                    driver.login();
+
+                    System.out.printf("Running %d s warm-up + %d s against %s%n",
+                            config.warmupSeconds, config.durationSeconds, baseUrl);
+                    driver.run();
+                    System.out.printf("Waiting up to %d s for queued geotags%n", config.drainSeconds);
+                    driver.drainGeotags();
+                }
+            } finally {
+                context.close();
+            }
+
+            report.write(config, simulator, System.out);
+        }
+    }
+
+    private static Map<String, String> serviceProperties(LoadTestConfig config, String nominatimUrl) throws Exception {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("alerts.search.index-dir", Files.createTempDirectory("load-test-index").toString());
+        properties.put("geocoding.api.base-url", nominatimUrl);
+        properties.put("geocoding.api.rate-limit-ms", String.valueOf(config.geocoderRateLimitMs));
+        // Per-request INFO logging would measure the console, not the service
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.example.weather_alert", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+        // Every login is the same user from one address: measure the BCrypt pool, not the per-client limits
+        properties.put("alerts.auth.login.per-username.permits-per-second", "100000");
+        properties.put("alerts.auth.login.per-ip.permits-per-second", "100000");
+        properties.put("alerts.rate-limit.enabled", "false");
+        properties.putAll(config.appProperties);
+        return properties;
+    }
+
+    // data.sql only has placeholder hashes, so the load-test users are created here
+    private static void seedUsers(ConfigurableApplicationContext context) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        Role admin = roleRepository.findByName("ROLE_ADMIN")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("ROLE_ADMIN").build()));
+        Role user = roleRepository.findByName("ROLE_USER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("ROLE_USER").build()));
+
+        String password = passwordEncoder.encode(WorkloadDriver.PASSWORD);
+        userRepository.save(User.builder()
+                .username(WorkloadDriver.ADMIN_USERNAME)
+                .email(WorkloadDriver.ADMIN_USERNAME + "@example.com")
+                .password(password)
+                .roles(new HashSet<>(List.of(admin, user)))
+                .build());
+        userRepository.save(User.builder()
+                .username(WorkloadDriver.USER_USERNAME)
+                .email(WorkloadDriver.USER_USERNAME + "@example.com")
+                .password(password)
+                .roles(new HashSet<>(List.of(user)))
+                .build());
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.weather_alert.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for {@code GET /search?q=...&format=json} on nominatim.openstreetmap.org.
+ *
+ * Every request waits latency + uniform(0, jitter), then answers 429 when more than
+ * {@code maxRps} requests arrived in the current second (Nominatim's usage policy is 1/s),
+ * 500 with probability {@code errorRate}, an empty result with probability
+ * {@code notFoundRate}, and otherwise coordinates derived from the query so repeated
+ * locations get the same answer.
+ */
+final class NominatimSimulator implements AutoCloseable {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final double notFoundRate;
+    private final int maxRps;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<Integer, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+    private final LongAdder notFound = new LongAdder();
+
+    // Fixed one-second window for the 429 check
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    NominatimSimulator(LoadTestConfig config) throws IOException {
+        this.latencyMs = config.simLatencyMs;
+        this.jitterMs = config.simJitterMs;
+        this.errorRate = config.simErrorRate;
+        this.notFoundRate = config.simNotFoundRate;
+        this.maxRps = config.simMaxRps;
+
+        // Requests sleep for the simulated latency, so each needs its own thread
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "nominatim-sim-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/search", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    Map<Integer, LongAdder> responsesByStatus() {
+        return responsesByStatus;
+    }
+
+    long notFound() {
+        return notFound.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            if (maxRps > 0 && !admit()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, "Too Many Requests");
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, "Internal Server Error");
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < notFoundRate) {
+                notFound.increment();
+                respond(exchange, 200, "[]");
+                return;
+            }
+            respond(exchange, 200, found(query(exchange)));
+        }
+    }
+
+    private boolean admit() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowSecond.get();
+        if (current != second && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= maxRps;
+    }
+
+    private static String query(HttpExchange exchange) {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                if (pair.startsWith("q=")) {
+                    return URLDecoder.decode(pair.substring(2), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return "";
+    }
+
+    // Somewhere in Bulgaria, stable per location
+    private static String found(String location) {
+        int hash = location.hashCode();
+        double lat = 41.3 + Math.floorMod(hash, 2900) / 1000.0;
+        double lon = 22.4 + Math.floorMod(hash >>> 8, 6200) / 1000.0;
+        return String.format(Locale.ROOT,
+                "[{\"place_id\":%d,\"lat\":\"%.7f\",\"lon\":\"%.7f\",\"display_name\":\"%s, Bulgaria\",\"type\":\"city\"}]",
+                Math.abs((long) hash), lat, lon, location.replace("\"", ""));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", status == 200 ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        responsesByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
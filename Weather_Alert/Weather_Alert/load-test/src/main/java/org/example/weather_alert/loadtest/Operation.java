@@ -0,0 +1,12 @@
+package org.example.weather_alert.loadtest;
+
+/**
+ * Requests in the mixed workload. Reads and login run as a USER, writes as an ADMIN.
+ */
+enum Operation {
+    LOGIN,   // POST /api/auth/login
+    CREATE,  // POST /api/alerts (queues a geotag)
+    LIST,    // GET /api/alerts
+    GET,     // GET /api/alerts/{id}
+    UPDATE   // PUT /api/alerts/{id}, description and severity only
+}
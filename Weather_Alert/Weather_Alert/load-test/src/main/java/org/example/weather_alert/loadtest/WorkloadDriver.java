@@ -0,0 +1,323 @@
+package org.example.weather_alert.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.enums.AlertEventType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are scheduled every 1/rps seconds whether or not earlier ones have
+ * answered, so a slow service shows up as latency instead of as a lower request rate.
+ */
+final class WorkloadDriver implements AutoCloseable {
+
+    static final String ADMIN_USERNAME = "loadtest-admin";
+    static final String USER_USERNAME = "loadtest-user";
+    static final String PASSWORD = "loadtest-password";
+
+    private static final List<String> LOCATIONS = List.of(
+            "София", "Пловдив", "Варна", "Бургас", "Русе", "Стара Загора", "Плевен", "Велико Търново",
+            "Благоевград", "Смолян", "Kardzhali", "Vidin", "Shumen", "Dobrich", "Pernik", "Haskovo");
+
+    // Random word order keeps descriptions below the duplicate-detection similarity threshold
+    private static final String[] WORDS = (
+            "heavy snowfall strong winds gusts expected icy roads closed mountain passes power outages possible "
+                    + "thunderstorms hail flooding rivers rising temperatures below freezing fog visibility reduced "
+                    + "heat wave drought warning coastal storm surge landslides rainfall accumulation avalanche danger "
+                    + "schools closed traffic delays evacuation advised shelters open updates follow").split(" ");
+
+    private static final String[] SEVERITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private record GeotagDone(String outcome, long atNanos) {
+    }
+
+    private final LoadTestConfig config;
+    private final LoadTestReport report;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private volatile String adminToken;
+    private volatile String userToken;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // IDs of alerts created so far, for GET and UPDATE
+    private final List<Long> alertIds = new ArrayList<>();
+
+    // Geotag lag: create scheduled-at (measured creates only) and the matching geotag event
+    private final Map<Long, Long> createdAt = new ConcurrentHashMap<>();
+    private final Map<Long, GeotagDone> geotagged = new ConcurrentHashMap<>();
+
+    WorkloadDriver(LoadTestConfig config, String baseUrl, LoadTestReport report) {
+        this.config = config;
+        this.report = report;
+        this.baseUrl = baseUrl;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.clientExecutor = Executors.newFixedThreadPool(config.clientThreads, task -> {
+            Thread thread = new Thread(task, "load-client-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        Map<Operation, Integer> weighted = new LinkedHashMap<>();
+        config.mix.forEach((operation, weight) -> {
+            if (weight > 0) {
+                weighted.put(operation, weight);
+            }
+        });
+        this.operations = weighted.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weighted.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * Called by the service's in-process event listener on the committing thread - must stay cheap.
+     */
+    void onAlertEvent(AlertEvent event) {
+        if (event.getType() == AlertEventType.GEOTAGGED || event.getType() == AlertEventType.GEOTAG_FAILED) {
+            geotagged.putIfAbsent(event.getAlertId(), new GeotagDone(event.getType().name(), System.nanoTime()));
+        }
+    }
+
+    void login() throws IOException, InterruptedException {
+        adminToken = loginSync(ADMIN_USERNAME);
+        userToken = loginSync(USER_USERNAME);
+    }
+
+    private String loginSync(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    // ===================== Run =====================
+
+    void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rps;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(10);
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            if (scheduledAt >= end) {
+                break;
+            }
+            sleepUntil(scheduledAt);
+
+            boolean measured = scheduledAt >= measureFrom;
+            Operation operation = nextOperation();
+            if (inFlight.get() >= config.maxInFlight) {
+                if (measured) {
+                    report.error(operation, "client saturated (max-in-flight)");
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            send(operation, scheduledAt, measured);
+
+            if (scheduledAt >= nextProgress) {
+                System.out.printf("  %3d s %s  sent %d, in flight %d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(scheduledAt - start), measured ? "measuring" : "warm-up  ",
+                        i + 1, inFlight.get());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+        }
+
+        // Let outstanding requests finish so they are counted
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Waits up to --drain seconds for geotags of measured creates, then records their lag.
+     */
+    void drainGeotags() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.drainSeconds);
+        while (!geotagged.keySet().containsAll(createdAt.keySet()) && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+        }
+        createdAt.forEach((alertId, scheduledAt) -> {
+            GeotagDone done = geotagged.get(alertId);
+            if (done == null) {
+                report.geotagStillPending();
+            } else {
+                report.geotagged(done.outcome(), done.atNanos() - scheduledAt);
+            }
+        });
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private Operation nextOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // ===================== Requests =====================
+
+    private void send(Operation operation, long scheduledAt, boolean measured) {
+        Long alertId = randomAlertId();
+        // GET and UPDATE need an alert; until the first create has answered, create one instead
+        if ((operation == Operation.GET || operation == Operation.UPDATE) && alertId == null) {
+            operation = Operation.CREATE;
+        }
+        Operation op = operation;
+
+        HttpRequest request = switch (op) {
+            case LOGIN -> loginRequest(USER_USERNAME);
+            case CREATE -> json("/api/alerts", adminToken)
+                    .POST(body(Map.of(
+                            "description", description(),
+                            "locationName", LOCATIONS.get(ThreadLocalRandom.current().nextInt(LOCATIONS.size())),
+                            "severityLevel", severity())))
+                    .build();
+            case LIST -> json("/api/alerts", userToken).GET().build();
+            case GET -> json("/api/alerts/" + alertId, userToken).GET().build();
+            case UPDATE -> json("/api/alerts/" + alertId, adminToken)
+                    .PUT(body(Map.of("description", description(), "severityLevel", severity())))
+                    .build();
+        };
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - scheduledAt;
+                    inFlight.decrementAndGet();
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure;
+                        if (measured) {
+                            report.error(op, cause.getClass().getSimpleName());
+                        }
+                    } else if (response.statusCode() / 100 != 2) {
+                        if (measured) {
+                            report.error(op, "HTTP " + response.statusCode());
+                        }
+                    } else {
+                        if (measured) {
+                            report.success(op, latency);
+                        }
+                        handleResponse(op, response, scheduledAt, measured);
+                    }
+                });
+    }
+
+    private void handleResponse(Operation operation, HttpResponse<String> response, long scheduledAt, boolean measured) {
+        try {
+            if (operation == Operation.LOGIN) {
+                userToken = objectMapper.readTree(response.body()).get("accessToken").asText();
+            } else if (operation == Operation.CREATE) {
+                JsonNode alert = objectMapper.readTree(response.body());
+                long alertId = alert.get("id").asLong();
+                // A duplicate returns the existing alert and queues no geotag
+                if (!alert.path("duplicate").asBoolean(false)) {
+                    synchronized (alertIds) {
+                        alertIds.add(alertId);
+                    }
+                    if (measured) {
+                        createdAt.put(alertId, scheduledAt);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            report.error(operation, "unreadable response");
+        }
+    }
+
+    private Long randomAlertId() {
+        synchronized (alertIds) {
+            return alertIds.isEmpty() ? null : alertIds.get(ThreadLocalRandom.current().nextInt(alertIds.size()));
+        }
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return json("/api/auth/login", null)
+                .POST(body(Map.of("username", username, "password", PASSWORD)))
+                .build();
+    }
+
+    private HttpRequest.Builder json(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Map<String, String> fields) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(fields));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String description() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int length = 12 + random.nextInt(14);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            description.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.append('.').toString();
+    }
+
+    private static String severity() {
+        return SEVERITIES[ThreadLocalRandom.current().nextInt(SEVERITIES.length)];
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.weather_alert.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight limit that follows latency (gradient, after TCP Vegas). After every window of samples
+ * the limit is scaled by {@code tolerance * noLoad / average} (clamped to 0.5..1) and given
+ * {@code sqrt(limit)} of headroom, so it grows while latency stays near the no-load figure and
+ * shrinks as requests start to queue - in MySQL, in the pool or in Tomcat.
+ *
+ * The no-load latency is a long-window average of the window averages (about
+ * {@code noLoadWindows} windows), not the fastest request ever seen: an endpoint class mixes
+ * cheap and expensive requests, and against its fastest one the normal mix would look like
+ * overload. Being an average it also follows a permanent shift (a slower replica, a bigger table).
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSize;
+    private final double noLoadWeight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Window state, guarded by this
+    private int samples;
+    private long rttSumNanos;
+    private int maxInFlight;
+    private volatile double noLoadRttNanos = Double.NaN;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    double smoothing, int windowSize, int noLoadWindows) {
+        if (minLimit <= 0 || maxLimit < minLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1 || windowSize <= 0
+                || noLoadWindows <= 0) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+        // Exponential average with the weight of an N-window moving average
+        this.noLoadWeight = 2.0 / (noLoadWindows + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes an in-flight slot. Every successful call must be followed by {@link #onSample} or
+     * {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Frees the slot of a request whose latency says nothing about load (long-poll, streaming)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSample(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            samples++;
+            rttSumNanos += rttNanos;
+            maxInFlight = Math.max(maxInFlight, current);
+            if (samples >= windowSize) {
+                update();
+            }
+        }
+    }
+
+    private void update() {
+        long averageRtt = rttSumNanos / samples;
+        double noLoad = Double.isNaN(noLoadRttNanos) ? averageRtt : noLoadRttNanos;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * noLoad / Math.max(1, averageRtt)));
+        double target = limit * gradient;
+        // Headroom to grow only when the limit was actually reached - an idle service proves nothing
+        if (gradient >= 1.0 && maxInFlight >= limit / 2) {
+            target += Math.sqrt(limit);
+        }
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+
+        // Folded in after the comparison, so a slow window is judged against what came before it
+        noLoad += (averageRtt - noLoad) * noLoadWeight;
+        if (noLoad > 2.0 * averageRtt) {
+            // Latency is back down after a spike - let the estimate come down with it
+            noLoad *= 0.95;
+        }
+        noLoadRttNanos = noLoad;
+
+        samples = 0;
+        rttSumNanos = 0;
+        maxInFlight = 0;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Long.MAX_VALUE until the first window completes
+    public long getNoLoadRttNanos() {
+        double noLoad = noLoadRttNanos;
+        return Double.isNaN(noLoad) ? Long.MAX_VALUE : (long) noLoad;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.weather_alert.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.ApiErrorResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds load in front of AlertController and AuthController: each endpoint class has an
+ * {@link AdaptiveConcurrencyLimit}, and a request over it is answered 503 + Retry-After before
+ * authentication, so a slow database turns into fast refusals instead of a queue in Tomcat.
+ *
+ * Long-lived requests (SSE stream, long-poll changes) take no slot - their duration is the
+ * client's choice, not a load signal. Requests answered with 4xx/5xx hold a slot but are not
+ * sampled: this filter runs before security, so a 401, 404 or 429 is a short-circuit whose
+ * latency says nothing about the endpoint.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private enum EndpointClass { READ, WRITE, AUTH }
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+
+        create(EndpointClass.READ, properties.getRead());
+        create(EndpointClass.WRITE, properties.getWrite());
+        create(EndpointClass.AUTH, properties.getAuth());
+    }
+
+    private void create(EndpointClass endpointClass, ConcurrencyLimitProperties.Limit settings) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.getInitialLimit(),
+                settings.getMinLimit(), settings.getMaxLimit(), properties.getTolerance(),
+                properties.getSmoothing(), properties.getWindowSize(), properties.getNoLoadWindows());
+        limits.put(endpointClass, limit);
+
+        String tag = endpointClass.name().toLowerCase();
+        Gauge.builder("alerts.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive in-flight limit")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("alerts.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests holding a slot")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("alerts.concurrency.rtt.noload", limit,
+                        l -> l.getNoLoadRttNanos() == Long.MAX_VALUE ? Double.NaN : l.getNoLoadRttNanos() / 1e9)
+                .description("Estimated no-load latency")
+                .baseUnit("seconds")
+                .tag("class", tag)
+                .register(meterRegistry);
+        rejected.put(endpointClass, Counter.builder("alerts.concurrency.rejected")
+                .description("Requests shed with 503 by the adaptive concurrency limit")
+                .tag("class", tag)
+                .register(meterRegistry));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointClass endpointClass = classify(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            reject(request, response, endpointClass, limit);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            // A request that went async is only half done; its latency is not comparable
+            sampled = !request.isAsyncStarted() && response.getStatus() < HttpStatus.BAD_REQUEST.value();
+        } finally {
+            if (sampled) {
+                limit.onSample(System.nanoTime() - start);
+            } else {
+                limit.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointClass endpointClass,
+                        AdaptiveConcurrencyLimit limit) throws IOException {
+        rejected.get(endpointClass).increment();
+        log.debug("Shed {} {} ({} limit {} reached)", request.getMethod(), request.getRequestURI(),
+                endpointClass, limit.getLimit());
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is at capacity, retry in " + properties.getRetryAfterSeconds() + " seconds",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (!path.equals("/api/alerts") && !path.startsWith("/api/alerts/")) {
+            return null;
+        }
+        if (path.equals("/api/alerts/stream") || path.equals("/api/alerts/changes")) {
+            return null;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.weather_alert.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive in-flight limits under {@code alerts.concurrency.*}, one per endpoint class so slow
+ * writes cannot take the slots of reads, and logins (BCrypt) neither.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Average latency may reach this multiple of the no-load latency before the limit shrinks
+    private double tolerance = 2.0;
+
+    // Weight of each new estimate (1 = jump straight to it)
+    private double smoothing = 0.2;
+
+    // Completed requests per limit update
+    private int windowSize = 50;
+
+    // Windows averaged into the no-load latency - long enough to span the endpoints' normal mix
+    private int noLoadWindows = 100;
+
+    private int retryAfterSeconds = 1;
+
+    private Limit read = new Limit(50, 4, 500);
+
+    private Limit write = new Limit(20, 2, 100);
+
+    private Limit auth = new Limit(16, 2, 64);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+    }
+}
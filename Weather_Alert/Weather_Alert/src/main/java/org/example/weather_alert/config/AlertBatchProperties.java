@@ -0,0 +1,17 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk creation (POST /api/alerts/batch) under {@code alerts.batch.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.batch")
+public class AlertBatchProperties {
+
+    private int maxSize = 5000;
+
+    // Should match hibernate.jdbc.batch_size so each flush is one JDBC batch per chunk
+    private int jdbcBatchSize = 50;
+}
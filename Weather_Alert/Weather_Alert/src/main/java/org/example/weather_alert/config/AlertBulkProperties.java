@@ -0,0 +1,15 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk update / delete under {@code alerts.bulk.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.bulk")
+public class AlertBulkProperties {
+
+    // Rows per set-based statement and transaction
+    private int chunkSize = 500;
+}
@@ -0,0 +1,31 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.example.weather_alert.enums.DuplicateAlertPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Duplicate-alert suppression settings under {@code alerts.dedup.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.dedup")
+public class AlertDedupProperties {
+
+    private boolean enabled = true;
+
+    // Copies older than this are accepted as new alerts
+    private long windowMinutes = 30;
+
+    // Estimated Jaccard similarity of description shingles
+    private double similarityThreshold = 0.8;
+
+    private DuplicateAlertPolicy policy = DuplicateAlertPolicy.REJECT;
+
+    // MinHash signature length
+    private int numHashes = 128;
+
+    // Characters per shingle
+    private int shingleSize = 4;
+
+    private long sweepIntervalMs = 60000;
+}
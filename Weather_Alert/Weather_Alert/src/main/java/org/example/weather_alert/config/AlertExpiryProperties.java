@@ -0,0 +1,26 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Alert expiry and the archive sweeper under {@code alerts.expiry.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.expiry")
+public class AlertExpiryProperties {
+
+    // Applied when a new alert has no expiresAt (0 = such alerts never expire)
+    private long defaultTtlHours = 0;
+
+    private boolean sweepEnabled = true;
+
+    private long sweepIntervalMs = 60_000;
+
+    // Rows archived + deleted per transaction
+    private int batchSize = 200;
+
+    private int maxBatchesPerRun = 50;
+
+    private long pauseBetweenBatchesMs = 100;
+}
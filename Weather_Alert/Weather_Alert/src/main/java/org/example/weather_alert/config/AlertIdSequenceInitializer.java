@@ -0,0 +1,52 @@
+package org.example.weather_alert.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.entities.Alert;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the alerts_seq generator past the highest existing alert ID.
+ *
+ * Rows inserted by data.sql or before the switch from IDENTITY keep their AUTO_INCREMENT IDs,
+ * while a freshly created alerts_seq starts at 1. The pooled optimizer hands out
+ * (value - allocationSize, value], so the stored value must be at least max(id) + allocationSize.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertIdSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depend on the EntityManagerFactory so Hibernate has created/updated the schema first
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignSequence() throws Exception {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM alerts", Long.class);
+        long required = (maxId != null ? maxId : 0) + Alert.ID_ALLOCATION_SIZE;
+
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                metaData -> metaData.getDatabaseProductName());
+
+        if ("MySQL".equalsIgnoreCase(product)) {
+            // MySQL has no sequences - Hibernate emulates them with a single-row table
+            int updated = jdbcTemplate.update(
+                    "UPDATE alerts_seq SET next_val = ? WHERE next_val < ?", required, required);
+            if (updated > 0) {
+                log.info("alerts_seq moved to {} (max alert id {})", required, maxId);
+            }
+        } else {
+            Long current = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR alerts_seq", Long.class);
+            if (current != null && current < required) {
+                jdbcTemplate.execute("ALTER SEQUENCE alerts_seq RESTART WITH " + required);
+                log.info("alerts_seq restarted at {} (max alert id {})", required, maxId);
+            }
+        }
+    }
+}
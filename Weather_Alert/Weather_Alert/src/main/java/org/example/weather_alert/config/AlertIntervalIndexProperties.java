@@ -0,0 +1,15 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory interval index tuning under {@code alerts.interval-index.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.interval-index")
+public class AlertIntervalIndexProperties {
+
+    // Pending changes before the tree is rebuilt in the background
+    private int rebuildThreshold = 512;
+}
@@ -0,0 +1,26 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Full-text search index settings under {@code alerts.search.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.search")
+public class AlertSearchProperties {
+
+    // Lucene index directory; empty means a fresh temporary directory per instance
+    private String indexDir = "";
+
+    private boolean rebuildOnStartup = true;
+
+    private int rebuildPageSize = 1000;
+
+    // Near-real-time: new alerts are searchable after this delay
+    private long refreshIntervalMs = 1000;
+
+    private long commitIntervalMs = 60000;
+
+    private int maxResults = 100;
+}
@@ -0,0 +1,34 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Live event stream (SSE + WebSocket) settings under {@code alerts.stream.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.stream")
+public class AlertStreamProperties {
+
+    // Events kept for Last-Event-ID resume
+    private int bufferSize = 4096;
+
+    private long heartbeatMs = 15000;
+
+    // Events sent to one subscriber per dispatcher pass
+    private int maxBatchPerSubscriber = 256;
+
+    private long sseTimeoutMs = 1800000;
+
+    // Socket writes for all subscribers, off the dispatcher thread
+    private int writerThreads = 4;
+
+    // Events queued per subscriber before it is dropped
+    private int sendQueueSize = 1024;
+
+    private long sendTimeLimitMs = 5000;
+
+    private int wsSendTimeLimitMs = 5000;
+
+    private int wsBufferSizeLimit = 524288;
+}
@@ -0,0 +1,22 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Delta sync page sizes and long-poll bound under {@code alerts.sync.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.sync")
+public class AlertSyncProperties {
+
+    private int defaultLimit = 500;
+
+    private int maxLimit = 5000;
+
+    // Upper bound for the long-poll waitMs parameter
+    private long maxWaitMs = 30000;
+
+    // How often the shared change sequence is read for other instances' commits
+    private long watermarkPollMs = 1000;
+}
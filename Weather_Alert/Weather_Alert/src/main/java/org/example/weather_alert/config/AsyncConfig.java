@@ -1,19 +1,28 @@
 package org.example.weather_alert.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${async.core-pool-size:2}")
     private int corePoolSize;
 
@@ -48,6 +57,30 @@ public class AsyncConfig {
         // Maximum wait time for tasks on shutdown
         executor.setAwaitTerminationSeconds(60);
 
+        // Geotag log lines keep the user who created the alert
+        executor.setTaskDecorator(task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+
+        // Still rejects when pool and queue are full, but counts it first.
+        // Pool size, active threads and queue depth are published as executor.* {name=taskExecutor}
+        Counter rejected = meterRegistry.counter("alerts.executor.rejected", "name", "taskExecutor");
+        ThreadPoolExecutor.AbortPolicy abort = new ThreadPoolExecutor.AbortPolicy();
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            abort.rejectedExecution(task, pool);
+        });
+
         // Initialize the executor
         executor.initialize();
 
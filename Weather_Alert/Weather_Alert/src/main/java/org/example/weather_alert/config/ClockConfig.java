@@ -0,0 +1,25 @@
+package org.example.weather_alert.config;
+
+import org.springframework.boot.autoconfigure.validation.ValidationConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Single time source for services and time-based bean validation ({@code @Future},
+ * {@code @ValidEffectivePeriod}), so both can be pinned in tests.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    @Bean
+    public ValidationConfigurationCustomizer clockProviderCustomizer(Clock clock) {
+        return configuration -> configuration.clockProvider(() -> clock);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.weather_alert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.weather_alert.datasource.ReadWriteRoutingDataSource;
+import org.example.weather_alert.diagnostics.SqlStatementListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a router: read-only transactions go to the
+ * replicas in {@code alerts.datasource.replicas}, everything else to {@code spring.datasource}.
+ * Every pool (primary and replicas) publishes Hikari metrics tagged with its pool name, and every
+ * statement passes through {@link SqlStatementListener} for per-request counts and the slow-query log.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    private ReadWriteRoutingDataSource router;
+    private ReplicaDataSourceProperties replicaProperties;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                        DataSourceProperties properties,
+                                                        ReplicaDataSourceProperties replicaProperties,
+                                                        MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 1;
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            String name = StringUtils.hasText(replica.getName()) ? replica.getName() : "replica-" + index;
+            replicas.put(name, replicaDataSource(name, replica, properties, meterRegistry));
+            index++;
+        }
+
+        log.info("Routing read-only transactions to {} replica(s) using {} (read-your-writes {} ms)",
+                replicas.size(), replicaProperties.getSelection(), replicaProperties.getReadYourWritesMs());
+
+        router = new ReadWriteRoutingDataSource(primary, replicas, replicaProperties.getSelection(),
+                replicaProperties.getReadYourWritesMs(), meterRegistry);
+        this.replicaProperties = replicaProperties;
+        return router;
+    }
+
+    // What JPA, JdbcTemplate and the health check use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource, SqlStatementListener statementListener) {
+        return ProxyDataSourceBuilder.create(new LazyConnectionDataSourceProxy(routingDataSource))
+                .name("alerts")
+                .listener(statementListener)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${alerts.datasource.probe-interval-ms:5000}")
+    public void probeReplicas() {
+        if (router != null && router.getReplicaCount() > 0) {
+            router.probeReplicas(replicaProperties.getProbeTimeoutSeconds());
+        }
+    }
+
+    private HikariDataSource replicaDataSource(String name, ReplicaDataSourceProperties.Replica replica,
+                                               DataSourceProperties primary, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : primary.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(replica.getUsername()) ? replica.getPassword() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
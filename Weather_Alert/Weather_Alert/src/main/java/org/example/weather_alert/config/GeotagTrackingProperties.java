@@ -0,0 +1,20 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Geotag pipeline tracing under {@code alerts.geotag.tracking.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.geotag.tracking")
+public class GeotagTrackingProperties {
+
+    // Upper bound on traces kept in memory; geotags beyond it are simply not traced
+    private int maxInFlight = 10000;
+
+    // Traces never persisted (task rejected, instance stopping) are dropped after this
+    private long staleAfterMinutes = 60;
+
+    private long refreshIntervalMs = 15000;
+}
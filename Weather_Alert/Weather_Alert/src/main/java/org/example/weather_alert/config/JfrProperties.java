@@ -0,0 +1,21 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * On-demand Java Flight Recorder settings under {@code alerts.jfr.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.jfr")
+public class JfrProperties {
+
+    // Application events shorter than this are not recorded (0 = all)
+    private long eventThresholdMs = 0;
+
+    private long maxDurationMinutes = 30;
+
+    private long maxAgeMinutes = 30;
+
+    private long maxSizeMb = 100;
+}
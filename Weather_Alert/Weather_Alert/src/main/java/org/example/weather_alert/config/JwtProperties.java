@@ -0,0 +1,56 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Token settings under {@code jwt.*}: access token signing and lifetime, refresh tokens,
+ * the verified-token cache and revocation.
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    // HMAC key, at least 256 bits
+    private String secret;
+
+    // Access token lifetime
+    private long expiration = 900_000;
+
+    // Refresh token lifetime; rotated on every use
+    private long refreshExpiration = 1_209_600_000;
+
+    private VerifiedCache verifiedCache = new VerifiedCache();
+
+    private Revocation revocation = new Revocation();
+
+    @Data
+    public static class VerifiedCache {
+
+        // Verified tokens remembered by SHA-256 digest (0 = verify every request)
+        private long maxSize = 10_000;
+    }
+
+    @Data
+    public static class Revocation {
+
+        private boolean enabled = true;
+
+        private long purgeIntervalMs = 600_000;
+
+        private long pollIntervalMs = 1000;
+
+        // Rows committed slightly out of revoked_at order are still picked up by the next poll
+        private long pollOverlapMs = 5000;
+
+        private Bloom bloom = new Bloom();
+    }
+
+    @Data
+    public static class Bloom {
+
+        private int expectedInsertions = 100_000;
+
+        private double falsePositiveRate = 0.01;
+    }
+}
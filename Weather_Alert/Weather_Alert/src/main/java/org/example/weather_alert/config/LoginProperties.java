@@ -0,0 +1,40 @@
+package org.example.weather_alert.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Login protection under {@code alerts.auth.login.*}: the BCrypt pool and the per-username and
+ * per-IP attempt budgets.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.auth.login")
+public class LoginProperties {
+
+    // BCrypt is pure CPU: more threads than cores only adds queueing inside the OS scheduler (0 = one per core)
+    private int threads = 0;
+
+    // Logins waiting for a BCrypt thread before new ones are refused with 429
+    private int queueCapacity = 32;
+
+    // Token buckets per limiter; keys hash onto them
+    private int stripes = 4096;
+
+    // Failed attempts per username
+    private Limit perUsername = new Limit(0.2, 5);
+
+    // All attempts per client IP
+    private Limit perIp = new Limit(5, 20);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private double permitsPerSecond;
+
+        private int burst;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP Basic credentials the Prometheus scraper uses for {@code /actuator/prometheus},
+ * under {@code alerts.metrics.scrape.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.metrics.scrape")
+public class MetricsScrapeProperties {
+
+    private String username = "prometheus";
+
+    // Blank refuses every scrape
+    private String password = "";
+}
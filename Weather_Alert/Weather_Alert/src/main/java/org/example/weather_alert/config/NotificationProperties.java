@@ -0,0 +1,36 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Webhook / e-mail delivery settings under {@code alerts.notifications.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.notifications")
+public class NotificationProperties {
+
+    // Notifications per webhook POST / SMTP connection
+    private int batchSize = 100;
+
+    private long flushIntervalMs = 200;
+
+    private int maxQueuePerDestination = 10000;
+
+    private int maxConcurrencyPerDestination = 4;
+
+    private int maxAttempts = 5;
+
+    // Doubled on every retry
+    private long retryBaseDelayMs = 1000;
+
+    private long requestTimeoutMs = 5000;
+
+    private String mailFrom = "alerts@weather-alert.local";
+
+    // Webhook hosts allowed to resolve to loopback, private or link-local addresses
+    private List<String> trustedWebhookHosts = new ArrayList<>();
+}
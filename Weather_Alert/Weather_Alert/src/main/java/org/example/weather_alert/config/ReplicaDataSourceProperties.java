@@ -0,0 +1,43 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.example.weather_alert.enums.ReplicaSelectionStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@code alerts.datasource.*}. With no replicas every query goes to the
+ * primary configured under {@code spring.datasource}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private ReplicaSelectionStrategy selection = ReplicaSelectionStrategy.ROUND_ROBIN;
+
+    // Reads by a user who wrote within this window go to the primary (0 = off)
+    private long readYourWritesMs = 5000;
+
+    private long probeIntervalMs = 5000;
+
+    private int probeTimeoutSeconds = 2;
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        // Default to the primary's credentials when blank
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -1,37 +1,74 @@
 package org.example.weather_alert.config;
 
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.example.weather_alert.ratelimit.ApiRateLimitFilter;
 import org.example.weather_alert.security.JwtAuthenticationFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
+@EnableConfigurationProperties(MetricsScrapeProperties.class)
 public class SecurityConfig {
 
     // Injected via constructor (generated by @RequiredArgsConstructor)
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiRateLimitFilter apiRateLimitFilter;
     private final UserDetailsService userDetailsService;
+    private final MetricsScrapeProperties metricsScrapeProperties;
+
+    /**
+     * The Prometheus scrape, checked before the API chain. The scraper can't refresh a 15-minute
+     * JWT, so it sends HTTP Basic credentials for a single scrape-only account from
+     * {@code alerts.metrics.scrape.*}; API users and their tokens get no access here.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider();
+        scrapeProvider.setUserDetailsService(scrapeUserDetailsService());
+        scrapeProvider.setPasswordEncoder(passwordEncoder());
+
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationManager(new ProviderManager(scrapeProvider));
+
+        return http.build();
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -53,6 +90,19 @@ public class SecurityConfig {
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/error").permitAll()
 
+                        // Probes; /actuator/prometheus has its own chain below
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // Async dispatches (SSE completion) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // Live alert stream over WebSocket: same read access as GET /api/alerts
+                        .requestMatchers("/ws/alerts").hasAnyRole("ADMIN", "USER")
+
+                        // Operational diagnostics
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                         // Alert endpoints - role-based access
                         // GET requests: Both ADMIN and USER can access
                         .requestMatchers(HttpMethod.GET, "/api/alerts/**").hasAnyRole("ADMIN", "USER")
@@ -75,11 +125,26 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
 
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Per-client limits, charged to the user the JWT filter just authenticated
+                .addFilterAfter(apiRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Not a bean, so the application's UserDetailsService stays the only one
+    private UserDetailsService scrapeUserDetailsService() {
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(metricsScrapeProperties.getPassword())) {
+            scrapeUsers.createUser(User.withUsername(metricsScrapeProperties.getUsername())
+                    .password(passwordEncoder().encode(metricsScrapeProperties.getPassword()))
+                    .roles("METRICS")
+                    .build());
+        }
+        return scrapeUsers;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,21 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL statement diagnostics under {@code alerts.sql.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.sql")
+public class SqlDiagnosticsProperties {
+
+    // Statements at least this slow are logged on org.example.weather_alert.sql.SLOW
+    private long slowQueryMs = 200;
+
+    // Warn when one request runs more statements than this
+    private int requestWarnStatements = 30;
+
+    // Warn when one request repeats the same statement this often
+    private int nPlusOneRepeats = 5;
+}
@@ -0,0 +1,18 @@
+package org.example.weather_alert.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Login user details cache under {@code alerts.security.user-cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.security.user-cache")
+public class UserCacheProperties {
+
+    // 0 = load from the database every time
+    private long maxSize = 1000;
+
+    // Direct database edits show up after this
+    private long ttlMs = 60_000;
+}
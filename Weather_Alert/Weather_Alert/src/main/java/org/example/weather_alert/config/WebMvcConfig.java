@@ -0,0 +1,15 @@
+package org.example.weather_alert.config;
+
+import org.example.weather_alert.logging.AlertMdcInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AlertMdcInterceptor()).addPathPatterns("/api/alerts/*");
+    }
+}
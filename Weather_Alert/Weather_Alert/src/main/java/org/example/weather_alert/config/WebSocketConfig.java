@@ -0,0 +1,22 @@
+package org.example.weather_alert.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.weather_alert.events.AlertWebSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AlertWebSocketHandler alertWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Authentication happens on the HTTP upgrade request (JWT filter + SecurityConfig)
+        registry.addHandler(alertWebSocketHandler, "/ws/alerts");
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.weather_alert.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.ApiErrorResponse;
+import org.example.weather_alert.dto.GeotagBacklogResponse;
+import org.example.weather_alert.dto.JfrRecordingResponse;
+import org.example.weather_alert.logging.AuditLog;
+import org.example.weather_alert.security.CustomUserDetailsService;
+import org.example.weather_alert.security.TokenRevocationList;
+import org.example.weather_alert.services.GeotagPipelineTracker;
+import org.example.weather_alert.services.JfrRecordingService;
+import org.example.weather_alert.services.RefreshTokenService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Administration", description = "Operational diagnostics (ADMIN only)")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminController {
+
+    private final GeotagPipelineTracker geotagPipelineTracker;
+
+    private final JfrRecordingService jfrRecordingService;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    private final CustomUserDetailsService userDetailsService;
+
+    private final RefreshTokenService refreshTokenService;
+
+    @Operation(
+            summary = "Geotagging backlog",
+            description = "PENDING count and age of the oldest PENDING alert (database), plus the slowest "
+                    + "geotags in flight on this instance with their stage timestamps."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Backlog retrieved",
+                    content = @Content(schema = @Schema(implementation = GeotagBacklogResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping("/geotag/backlog")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GeotagBacklogResponse> getGeotagBacklog(
+            @Parameter(description = "Number of in-flight geotags to list")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("GET /api/admin/geotag/backlog");
+
+        return ResponseEntity.ok(geotagPipelineTracker.backlog(Math.max(0, Math.min(limit, 100))));
+    }
+
+    @Operation(
+            summary = "Start a flight recording",
+            description = "Starts a JFR recording with the JDK's 'default' or 'profile' settings plus the geocoding, "
+                    + "JWT, user lookup and repository events. Stops by itself after alerts.jfr.max-duration-minutes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recording started",
+                    content = @Content(schema = @Schema(implementation = JfrRecordingResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown settings",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A recording is already running",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/jfr/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingResponse> startRecording(
+            @Parameter(description = "default (~1% overhead) or profile (~2%, adds allocation and lock detail)")
+            @RequestParam(defaultValue = "profile") String settings) {
+
+        AuditLog.record("POST /api/admin/jfr/start - settings={}", settings);
+
+        return ResponseEntity.ok(jfrRecordingService.start(settings));
+    }
+
+    @Operation(summary = "Stop the flight recording", description = "The data stays available for dump until the next start.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recording stopped",
+                    content = @Content(schema = @Schema(implementation = JfrRecordingResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No recording is running",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/jfr/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingResponse> stopRecording() {
+        AuditLog.record("POST /api/admin/jfr/stop");
+
+        return ResponseEntity.ok(jfrRecordingService.stop());
+    }
+
+    @Operation(summary = "Flight recording state")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "State retrieved",
+                    content = @Content(schema = @Schema(implementation = JfrRecordingResponse.class))
+            )
+    })
+    @GetMapping("/jfr")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JfrRecordingResponse> getRecording() {
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    @Operation(
+            summary = "Download the flight recording",
+            description = "Dumps what has been recorded so far (running or stopped) as a .jfr file for JDK Mission Control or 'jfr print'."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recording file",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Nothing has been recorded yet",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping("/jfr/dump")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() throws IOException {
+        AuditLog.record("GET /api/admin/jfr/dump");
+
+        Path file = jfrRecordingService.dump();
+        String filename = "weather-alert-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+
+        // Temp file is removed once streamed
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Revoke a user's tokens",
+            description = "Rejects every access and refresh token issued to the user so far and drops their cached "
+                    + "user details; they must log in again. Roles live in the token, so use this after disabling or "
+                    + "locking an account or changing its roles. Refresh tokens are revoked everywhere; access tokens "
+                    + "on this instance (elsewhere they expire within jwt.expiration)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/users/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@Parameter(description = "User ID") @PathVariable Long id) {
+        AuditLog.record("POST /api/admin/users/{}/revoke-tokens", id);
+
+        tokenRevocationList.revokeAll(id);
+        refreshTokenService.revokeAllForUser(id);
+        userDetailsService.evict(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -13,17 +13,41 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertStreamProperties;
+import org.example.weather_alert.dto.AlertChangesResponse;
 import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.dto.AlertSearchResponse;
 import org.example.weather_alert.dto.ApiErrorResponse;
+import org.example.weather_alert.dto.BatchCreateAlertResponse;
+import org.example.weather_alert.dto.BulkAlertFilter;
+import org.example.weather_alert.dto.BulkOperationResponse;
+import org.example.weather_alert.dto.BulkUpdateAlertRequest;
 import org.example.weather_alert.dto.CreateAlertRequest;
 import org.example.weather_alert.dto.UpdateAlertRequest;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.events.AlertEventFilter;
+import org.example.weather_alert.events.AlertEventSubscriber;
+import org.example.weather_alert.events.SseAlertEventSink;
+import org.example.weather_alert.logging.AuditLog;
+import org.example.weather_alert.services.AlertBulkService;
+import org.example.weather_alert.services.AlertEventService;
+import org.example.weather_alert.services.AlertSearchIndex;
 import org.example.weather_alert.services.AlertService;
+import org.example.weather_alert.services.AlertSyncService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -35,9 +59,20 @@ public class AlertController {
 
     private final AlertService alertService;
 
+    private final AlertEventService alertEventService;
+
+    private final AlertSyncService alertSyncService;
+
+    private final AlertBulkService alertBulkService;
+
+    private final AlertSearchIndex alertSearchIndex;
+
+    private final AlertStreamProperties streamProperties;
+
     @Operation(
             summary = "Create a new weather alert",
-            description = "Creates a new alert and triggers async geo-tagging. Returns immediately without waiting for coordinates."
+            description = "Creates a new alert and triggers async geo-tagging. Returns immediately without waiting for coordinates. "
+                    + "Copies of an alert created within the deduplication window are rejected or merged into it."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -45,6 +80,16 @@ public class AlertController {
                     description = "Alert created successfully",
                     content = @Content(schema = @Schema(implementation = AlertResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Duplicate merged - the existing alert is returned with duplicate=true",
+                    content = @Content(schema = @Schema(implementation = AlertResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Duplicate of a recent alert (policy REJECT)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Validation error",
@@ -66,16 +111,67 @@ public class AlertController {
     public ResponseEntity<AlertResponse> createAlert(
             @Valid @RequestBody CreateAlertRequest request) {
 
-        log.info("POST /api/alerts - Creating alert for location: {}", request.getLocationName());
+        AuditLog.record("POST /api/alerts - Creating alert for location: {}", request.getLocationName());
 
         AlertResponse response = alertService.createAlert(request);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        HttpStatus status = Boolean.TRUE.equals(response.getDuplicate()) ? HttpStatus.OK : HttpStatus.CREATED;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @Operation(
+            summary = "Create many weather alerts",
+            description = "Validates every item, inserts the valid ones in JDBC batches, each committed on its own, "
+                    + "and schedules geo-tagging once per distinct location. Returns a result per item."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All alerts created",
+                    content = @Content(schema = @Schema(implementation = BatchCreateAlertResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "207",
+                    description = "Some alerts were rejected by validation or skipped as duplicates",
+                    content = @Content(schema = @Schema(implementation = BatchCreateAlertResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or oversized batch (ApiErrorResponse), or every alert was rejected "
+                            + "(BatchCreateAlertResponse with the error of each item)",
+                    content = @Content(schema = @Schema(oneOf = {ApiErrorResponse.class, BatchCreateAlertResponse.class}))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchCreateAlertResponse> createAlerts(
+            @RequestBody List<CreateAlertRequest> requests) {
+
+        AuditLog.record("POST /api/alerts/batch - Creating {} alerts", requests.size());
+
+        BatchCreateAlertResponse response = alertService.createAlerts(requests);
+
+        HttpStatus status = response.getRejected() == 0 && response.getDuplicates() == 0 ? HttpStatus.CREATED
+                : response.getCreated() == 0 && response.getDuplicates() == 0 ? HttpStatus.BAD_REQUEST
+                : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
     }
 
     @Operation(
             summary = "Get all weather alerts",
-            description = "Returns a list of all weather alerts in the system"
+            description = "Returns all weather alerts that have not expired (use includeExpired=true for all)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -91,14 +187,214 @@ public class AlertController {
     })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<List<AlertResponse>> getAllAlerts() {
+    public ResponseEntity<List<AlertResponse>> getAllAlerts(
+            @Parameter(description = "Also return alerts whose expiresAt has passed")
+            @RequestParam(defaultValue = "false") boolean includeExpired) {
         log.info("GET /api/alerts - Fetching all alerts");
 
-        List<AlertResponse> alerts = alertService.getAllAlerts();
+        List<AlertResponse> alerts = alertService.getAllAlerts(includeExpired);
 
         return ResponseEntity.ok(alerts);
     }
 
+    @Operation(
+            summary = "Get alerts in effect at a time or during a window",
+            description = "Use 'at' for a point in time, or 'from' and 'to' for a window [from, to). "
+                    + "Without parameters returns alerts in effect now. Served from an in-memory interval index."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alerts retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = AlertResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid time parameters",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping("/active")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<AlertResponse>> getActiveAlerts(
+            @Parameter(description = "Point in time, e.g. 2030-01-15T18:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @Parameter(description = "Window start (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Window end (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("GET /api/alerts/active - at={}, from={}, to={}", at, from, to);
+
+        if (from != null || to != null) {
+            if (at != null || from == null || to == null) {
+                throw new IllegalArgumentException("Use either 'at' or both 'from' and 'to'");
+            }
+            return ResponseEntity.ok(alertService.getAlertsInEffect(from, to));
+        }
+        return ResponseEntity.ok(alertService.getAlertsInEffectAt(at));
+    }
+
+    @Operation(
+            summary = "Full-text search over alert descriptions and locations",
+            description = "BM25-ranked search with Bulgarian and English stemming. Supports \"phrases\", -excluded, "
+                    + "prefix* and | for OR; other terms must all match. Served from an embedded index refreshed "
+                    + "about once a second."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search completed",
+                    content = @Content(schema = @Schema(implementation = AlertSearchResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank query",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<AlertSearchResponse> searchAlerts(
+            @Parameter(description = "Search text, e.g. snow Sofia")
+            @RequestParam String q,
+            @Parameter(description = "Only alerts with this severity")
+            @RequestParam(required = false) SeverityLevel severity,
+            @Parameter(description = "Only alerts with this geo-tagging status")
+            @RequestParam(required = false) GeoTaggingStatus status,
+            @Parameter(description = "Also return alerts whose expiresAt has passed")
+            @RequestParam(defaultValue = "false") boolean includeExpired,
+            @Parameter(description = "Maximum number of results (capped by alerts.search.max-results)")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("GET /api/alerts/search - q='{}', severity={}, status={}", q, severity, status);
+
+        return ResponseEntity.ok(alertService.searchAlerts(q, severity, status, includeExpired, limit));
+    }
+
+    @Operation(
+            summary = "Rebuild the search index from the database",
+            description = "Re-reads every alert in the background. Searches keep working while it runs."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Rebuild started"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        AuditLog.record("POST /api/alerts/search/rebuild - Rebuilding search index");
+
+        alertSearchIndex.rebuildAsync();
+
+        return ResponseEntity.accepted().build();
+    }
+
+    @Operation(
+            summary = "Get alert changes since a sync token",
+            description = "Returns alerts created/updated and IDs of alerts deleted after the given token. "
+                    + "Omit 'since' for the first sync. With waitMs > 0 the request is held open until a change arrives."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes retrieved (possibly empty after waiting)",
+                    content = @Content(schema = @Schema(implementation = AlertChangesResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid token or limit",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public DeferredResult<AlertChangesResponse> getAlertChanges(
+            @Parameter(description = "nextToken from the previous call") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum changes per page") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Long-poll timeout in milliseconds (0 = return immediately)")
+            @RequestParam(defaultValue = "0") long waitMs) {
+
+        log.info("GET /api/alerts/changes - since={}, waitMs={}", since, waitMs);
+
+        return alertSyncService.awaitChanges(since, limit, waitMs);
+    }
+
+    @Operation(
+            summary = "Stream alert lifecycle events",
+            description = "Server-Sent Events stream of CREATED, UPDATED, GEOTAGGED, GEOTAG_FAILED and DELETED events. "
+                    + "Reconnecting clients send Last-Event-ID to resume; a RESYNC event means the list must be re-fetched."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter parameters",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public SseEmitter streamAlertEvents(
+            @Parameter(description = "Only deliver alerts with these severities")
+            @RequestParam(required = false) Set<SeverityLevel> severity,
+            @Parameter(description = "Bounding box south edge") @RequestParam(required = false) Double minLat,
+            @Parameter(description = "Bounding box north edge") @RequestParam(required = false) Double maxLat,
+            @Parameter(description = "Bounding box west edge") @RequestParam(required = false) Double minLon,
+            @Parameter(description = "Bounding box east edge") @RequestParam(required = false) Double maxLon,
+            @Parameter(description = "Sequence of the last event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) throws IOException {
+
+        log.info("GET /api/alerts/stream - Opening event stream (lastEventId={})", lastEventId);
+
+        AlertEventFilter filter = new AlertEventFilter(severity, minLat, maxLat, minLon, maxLon);
+        SseEmitter emitter = new SseEmitter(streamProperties.getSseTimeoutMs());
+
+        AlertEventSubscriber subscriber = alertEventService.subscribe(
+                filter, lastEventId, new SseAlertEventSink(emitter));
+
+        emitter.onCompletion(() -> alertEventService.unsubscribe(subscriber.getId()));
+        emitter.onTimeout(() -> alertEventService.unsubscribe(subscriber.getId()));
+        emitter.onError(e -> alertEventService.unsubscribe(subscriber.getId()));
+
+        return emitter;
+    }
+
     @Operation(
             summary = "Get alert by ID",
             description = "Returns a specific weather alert by its ID"
@@ -124,11 +420,13 @@ public class AlertController {
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<AlertResponse> getAlertById(
             @Parameter(description = "Alert ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Also return the alert if its expiresAt has passed")
+            @RequestParam(defaultValue = "false") boolean includeExpired) {
 
         log.info("GET /api/alerts/{} - Fetching alert", id);
 
-        AlertResponse response = alertService.getAlertById(id);
+        AlertResponse response = alertService.getAlertById(id, includeExpired);
 
         return ResponseEntity.ok(response);
     }
@@ -171,7 +469,7 @@ public class AlertController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateAlertRequest request) {
 
-        log.info("PUT /api/alerts/{} - Updating alert", id);
+        AuditLog.record("PUT /api/alerts/{} - Updating alert", id);
 
         AlertResponse response = alertService.updateAlert(id, request);
 
@@ -209,10 +507,83 @@ public class AlertController {
             @Parameter(description = "Alert ID", required = true)
             @PathVariable Long id) {
 
-        log.info("DELETE /api/alerts/{} - Deleting alert", id);
+        AuditLog.record("DELETE /api/alerts/{} - Deleting alert", id);
 
         alertService.deleteAlert(id);
 
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+            summary = "Update all alerts matching a filter",
+            description = "Sets severity and/or description on every alert matching the filter (IDs, severity, "
+                    + "status, location, region, created-at range). Runs as chunked set-based UPDATE statements."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Bulk update executed",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error or empty filter",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PutMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> bulkUpdateAlerts(
+            @Valid @RequestBody BulkUpdateAlertRequest request) {
+
+        AuditLog.record("PUT /api/alerts/bulk - Bulk updating alerts");
+
+        return ResponseEntity.ok(alertBulkService.bulkUpdate(request));
+    }
+
+    @Operation(
+            summary = "Delete all alerts matching a filter",
+            description = "Permanently deletes every alert matching the filter in chunked set-based DELETE statements"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Bulk delete executed",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error or empty filter",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Not authorized (requires ADMIN role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> bulkDeleteAlerts(
+            @Valid @RequestBody BulkAlertFilter filter) {
+
+        AuditLog.record("POST /api/alerts/bulk-delete - Bulk deleting alerts");
+
+        return ResponseEntity.ok(alertBulkService.bulkDelete(filter));
+    }
 }
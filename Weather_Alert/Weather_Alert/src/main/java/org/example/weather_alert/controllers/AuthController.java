@@ -6,16 +6,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.weather_alert.dto.ApiErrorResponse;
 import org.example.weather_alert.dto.AuthResponse;
 import org.example.weather_alert.dto.LoginRequest;
+import org.example.weather_alert.dto.RefreshTokenRequest;
+import org.example.weather_alert.logging.AuditLog;
 import org.example.weather_alert.services.AuthService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,7 +35,8 @@ public class AuthController {
 
     @Operation(
             summary = "User Login",
-            description = "Authenticate with username and password to receive a JWT token"
+            description = "Authenticate with username and password to receive a JWT token. Attempts are limited "
+                    + "per client IP and failed attempts per username; excess attempts get 429 with Retry-After."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -47,15 +53,68 @@ public class AuthController {
                     responseCode = "400",
                     description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many attempts for this username or IP, or too many logins in progress",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
             )
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request received for user: {}", request.getUsername());
 
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
 
-        log.info("Login successful for user: {}", request.getUsername());
+        AuditLog.record("Login successful for user: {}", request.getUsername());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Refresh the access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. Each refresh "
+                    + "token works once; presenting a used one again revokes every token descended from the same login."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "New tokens issued",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unknown, expired, revoked or reused refresh token, or the account is disabled",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many attempts from this IP",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        log.info("Token refresh request received");
+
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken(), httpRequest.getRemoteAddr()));
+    }
+
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the refresh token (and its successors) and, when sent as a Bearer header, the "
+                    + "access token - on every instance within jwt.revocation.poll-interval-ms."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session ended")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        log.info("Logout request received");
+
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(request.getRefreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
 }
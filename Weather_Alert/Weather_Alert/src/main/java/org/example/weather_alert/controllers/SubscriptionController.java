@@ -0,0 +1,114 @@
+package org.example.weather_alert.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.ApiErrorResponse;
+import org.example.weather_alert.dto.CreateSubscriptionRequest;
+import org.example.weather_alert.dto.SubscriptionResponse;
+import org.example.weather_alert.services.SubscriptionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/subscriptions")
+@RequiredArgsConstructor
+@Tag(name = "Alert Subscriptions", description = "Get notified when alerts are geotagged inside an area")
+@SecurityRequirement(name = "bearerAuth")
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    @Operation(
+            summary = "Create a subscription",
+            description = "Matches alerts of at least minSeverity inside a circle, a region, or anywhere, once they are geotagged."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Subscription created",
+                    content = @Content(schema = @Schema(implementation = SubscriptionResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<SubscriptionResponse> createSubscription(
+            @Valid @RequestBody CreateSubscriptionRequest request) {
+
+        log.info("POST /api/subscriptions - Creating subscription");
+
+        SubscriptionResponse response = subscriptionService.createSubscription(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "List my subscriptions")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Subscriptions retrieved",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SubscriptionResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<SubscriptionResponse>> getMySubscriptions() {
+        log.info("GET /api/subscriptions - Fetching subscriptions");
+
+        return ResponseEntity.ok(subscriptionService.getMySubscriptions());
+    }
+
+    @Operation(summary = "Delete one of my subscriptions")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Subscription deleted"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Subscription not found",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+            )
+    })
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Void> deleteSubscription(
+            @Parameter(description = "Subscription ID", required = true)
+            @PathVariable Long id) {
+
+        log.info("DELETE /api/subscriptions/{} - Deleting subscription", id);
+
+        subscriptionService.deleteSubscription(id);
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.weather_alert.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.enums.ReplicaSelectionStrategy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before the read-only flag is bound to the thread, the proxy defers the real lookup
+ * to the first statement. Replicas that fail the periodic probe are skipped; with none left,
+ * reads fall back to the primary. After a user writes, their reads stay on the primary for a
+ * short while so they see their own changes despite replication lag.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    // Weight of the newest probe in the latency moving average
+    private static final double LATENCY_ALPHA = 0.3;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelectionStrategy strategy;
+    private final long readYourWritesMs;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> routedCounters = new HashMap<>();
+    private final Counter stickyCounter;
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+        // Probe round-trip in nanoseconds; 0 until the first probe
+        volatile double latencyNanos;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReplicaSelectionStrategy strategy, long readYourWritesMs,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.strategy = strategy;
+        this.readYourWritesMs = readYourWritesMs;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        List<Replica> nodes = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            nodes.add(replica);
+            targets.put(name, dataSource);
+            Gauge.builder("alerts.datasource.replica.latency", replica, r -> r.latencyNanos / 1_000_000.0)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .description("Moving average of the replica probe round-trip")
+                    .register(meterRegistry);
+            Gauge.builder("alerts.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        this.replicas = List.copyOf(nodes);
+
+        targets.keySet().forEach(key -> routedCounters.put((String) key,
+                meterRegistry.counter("alerts.datasource.routed", "target", (String) key)));
+        stickyCounter = meterRegistry.counter("alerts.datasource.sticky.reads");
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // Unknown keys are a bug, not something to paper over with the default
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = route();
+        routedCounters.get(key).increment();
+        return key;
+    }
+
+    private String route() {
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && readYourWritesMs > 0 && TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWriteByUser.put(user, System.currentTimeMillis());
+            }
+            return PRIMARY;
+        }
+
+        if (replicas.isEmpty()) {
+            return PRIMARY;
+        }
+
+        if (user != null && readYourWritesMs > 0) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesMs) {
+                stickyCounter.increment();
+                return PRIMARY;
+            }
+        }
+
+        Replica replica = strategy == ReplicaSelectionStrategy.LEAST_LATENCY ? fastestReplica() : nextReplica();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    private Replica nextReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica fastestReplica() {
+        Replica best = null;
+        for (Replica replica : replicas) {
+            if (replica.healthy && (best == null || replica.latencyNanos < best.latencyNanos)) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Checks every replica with a validation round-trip, updating health and latency, and
+     * forgets read-your-writes entries that have run out.
+     */
+    public void probeReplicas(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            long startedAt = System.nanoTime();
+            boolean valid;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                valid = connection.isValid(timeoutSeconds);
+            } catch (Exception e) {
+                valid = false;
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its probe: {}", replica.name, e.getMessage());
+                }
+            }
+            long elapsed = System.nanoTime() - startedAt;
+
+            if (valid) {
+                replica.latencyNanos = replica.latencyNanos == 0 ? elapsed
+                        : LATENCY_ALPHA * elapsed + (1 - LATENCY_ALPHA) * replica.latencyNanos;
+                if (!replica.healthy) {
+                    log.info("Replica {} is healthy again", replica.name);
+                }
+            }
+            replica.healthy = valid;
+        }
+
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source: {}", e.getMessage());
+            }
+        }
+    }
+}
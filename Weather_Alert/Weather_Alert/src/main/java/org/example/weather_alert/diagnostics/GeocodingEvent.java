@@ -0,0 +1,28 @@
+package org.example.weather_alert.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One Nominatim round-trip; the rate-limit pause before it is not included.
+ */
+@Name("weather_alert.Geocoding")
+@Label("Geocoding")
+@Category({"Weather Alert", "Geocoding"})
+@Description("Nominatim lookup for one location")
+public class GeocodingEvent extends Event {
+
+    @Label("Location")
+    public String location;
+
+    // Comma-separated; a batch geotag resolves many alerts with one lookup
+    @Label("Alert IDs")
+    public String alertIds;
+
+    @Label("Outcome")
+    @Description("found, not_found or error")
+    public String outcome;
+}
@@ -0,0 +1,20 @@
+package org.example.weather_alert.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("weather_alert.JwtValidation")
+@Label("JWT Validation")
+@Category({"Weather Alert", "Security"})
+@Description("Signature and expiry check of a bearer token")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, invalid_signature, malformed, expired, unsupported or empty")
+    public String outcome;
+}
@@ -0,0 +1,75 @@
+package org.example.weather_alert.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.SqlDiagnosticsProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each request - authentication included, as this filter runs
+ * before the security chain. Requests over {@code alerts.sql.request-warn-statements}, or that
+ * repeat one statement {@code alerts.sql.n-plus-one-repeats} times, are logged as warnings.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(SqlDiagnosticsProperties.class)
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlDiagnosticsProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("alerts.db.statements.per.request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getCount());
+
+        if (stats.getCount() == 0) {
+            return;
+        }
+        log.debug("{} {} ran {} SQL statements in {} ms", request.getMethod(), uri,
+                stats.getCount(), stats.getElapsedMillis());
+
+        if (stats.getCount() > properties.getRequestWarnStatements()) {
+            log.warn("{} {} ran {} SQL statements ({} ms)", request.getMethod(), request.getRequestURI(),
+                    stats.getCount(), stats.getElapsedMillis());
+        }
+        for (Map.Entry<String, Integer> repeated : stats.repeatedStatements(properties.getNPlusOneRepeats()).entrySet()) {
+            log.warn("Possible N+1 in {} {}: statement ran {} times: {}", request.getMethod(),
+                    request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
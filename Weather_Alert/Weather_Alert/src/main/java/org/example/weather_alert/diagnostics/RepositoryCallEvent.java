@@ -0,0 +1,27 @@
+package org.example.weather_alert.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("weather_alert.RepositoryCall")
+@Label("Repository Call")
+@Category({"Weather Alert", "Database"})
+@Description("One AlertRepository method call, including the SQL it ran")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    // Set when the first argument is an alert ID; 0 otherwise
+    @Label("Alert ID")
+    public long alertId;
+
+    @Label("Outcome")
+    @Description("ok or the exception class name")
+    public String outcome;
+}
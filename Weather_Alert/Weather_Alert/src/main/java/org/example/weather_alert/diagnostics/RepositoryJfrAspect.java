@@ -0,0 +1,44 @@
+package org.example.weather_alert.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every AlertRepository call, inherited
+ * JpaRepository methods included. Costs one allocation and a flag check while no recording
+ * has the event enabled.
+ */
+@Aspect
+@Component
+public class RepositoryJfrAspect {
+
+    @Around("target(org.example.weather_alert.repositories.AlertRepository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        String outcome = "ok";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                Object[] args = joinPoint.getArgs();
+                if (args.length > 0 && args[0] instanceof Long id) {
+                    event.alertId = id;
+                }
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
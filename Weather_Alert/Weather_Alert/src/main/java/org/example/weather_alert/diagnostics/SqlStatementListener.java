@@ -0,0 +1,59 @@
+package org.example.weather_alert.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.example.weather_alert.config.SqlDiagnosticsProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sees every JDBC execution (JPA, JdbcTemplate, batches) through the datasource proxy: times it,
+ * adds it to the current {@link SqlStatementStats} scope and logs it when slow.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SqlDiagnosticsProperties.class)
+public class SqlStatementListener implements QueryExecutionListener {
+
+    // Own logger so the slow-query log can be routed or silenced separately
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("org.example.weather_alert.sql.SLOW");
+
+    private final Timer statementTimer;
+    private final Counter slowCounter;
+    private final SqlDiagnosticsProperties properties;
+
+    public SqlStatementListener(MeterRegistry meterRegistry, SqlDiagnosticsProperties properties) {
+        this.properties = properties;
+        this.statementTimer = meterRegistry.timer("alerts.db.statement");
+        this.slowCounter = meterRegistry.counter("alerts.db.statement.slow");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+
+        statementTimer.record(elapsedMs, TimeUnit.MILLISECONDS);
+        SqlStatementStats.record(sql, TimeUnit.MILLISECONDS.toNanos(elapsedMs));
+
+        if (elapsedMs >= properties.getSlowQueryMs()) {
+            slowCounter.increment();
+            SLOW_LOG.warn("{} ms{}: {}", elapsedMs,
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.weather_alert.diagnostics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements executed on the current thread between {@link #begin()} and {@link #end()}.
+ *
+ * Scopes nest: a statement counts towards every open scope, so a test can measure a whole
+ * MockMvc call while the request filter measures the same request.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats parent;
+    private int count;
+    private long elapsedNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the innermost scope; must be called in a finally block by whoever called begin().
+     */
+    public static void end() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        if (stats.parent != null) {
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * The innermost open scope of this thread, for {@link #attach} on a worker that does part of
+     * the same request while this thread waits for it.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    // Counts the worker's statements into the caller's scopes; detach() in a finally block
+    public static void attach(SqlStatementStats stats) {
+        if (stats != null) {
+            CURRENT.set(stats);
+        }
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.count++;
+            stats.elapsedNanos += elapsedNanos;
+            stats.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Statements that ran at least {@code minExecutions} times, most repeated first - the
+     * usual signature of an N+1 (one query per row of a previous result).
+     */
+    public Map<String, Integer> repeatedStatements(int minExecutions) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minExecutions)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.weather_alert.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("weather_alert.UserLookup")
+@Label("User Lookup")
+@Category({"Weather Alert", "Security"})
+@Description("Loading user details for an authenticated request or login")
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Found")
+    public boolean found;
+}
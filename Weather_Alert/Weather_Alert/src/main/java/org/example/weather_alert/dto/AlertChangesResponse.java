@@ -0,0 +1,33 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Alerts created, updated or deleted after a sync token")
+public class AlertChangesResponse {
+
+    @Schema(description = "Alerts created or updated since the token, in change order")
+    private List<AlertResponse> changed;
+
+    @Schema(description = "IDs of alerts deleted since the token", example = "[3, 7]")
+    private List<Long> deletedIds;
+
+    @Schema(description = "Token to pass as 'since' on the next call", example = "128")
+    private String nextToken;
+
+    @Schema(description = "True if more changes are available immediately", example = "false")
+    private boolean hasMore;
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
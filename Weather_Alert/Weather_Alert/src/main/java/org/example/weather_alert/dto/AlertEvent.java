@@ -0,0 +1,35 @@
+package org.example.weather_alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.AlertEventType;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Alert lifecycle event pushed over SSE / WebSocket")
+public class AlertEvent {
+
+    @Schema(description = "Monotonic event sequence, usable as Last-Event-ID", example = "42")
+    private long sequence;
+
+    @Schema(description = "Lifecycle event type", example = "GEOTAGGED")
+    private AlertEventType type;
+
+    @Schema(description = "ID of the affected alert", example = "1")
+    private Long alertId;
+
+    @Schema(description = "Alert state after the change (absent for DELETED and RESYNC)")
+    private AlertResponse alert;
+
+    @Schema(description = "Timestamp when the event was published")
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,29 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Webhook payload item: one alert matched by one subscription. Webhooks receive a JSON array of these.")
+public class AlertNotification {
+
+    @Schema(description = "Subscription that matched", example = "7")
+    private Long subscriptionId;
+
+    @Schema(description = "The matching alert")
+    private AlertResponse alert;
+
+    @Schema(description = "When the alert was matched")
+    private LocalDateTime matchedAt;
+
+    @Schema(description = "Delivery attempt (1 = first try)", example = "1")
+    private int attempt;
+}
@@ -1,5 +1,6 @@
 package org.example.weather_alert.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -53,4 +54,17 @@ public class AlertResponse {
 
     @Schema(description = "Timestamp when the alert was last updated")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Start of the period the alert is in effect")
+    private LocalDateTime effectiveFrom;
+
+    @Schema(description = "End of the period the alert is in effect (null = open-ended)")
+    private LocalDateTime effectiveUntil;
+
+    @Schema(description = "Timestamp after which the alert is no longer in effect (null = never)")
+    private LocalDateTime expiresAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Set to true when a create request was merged into this existing alert")
+    private Boolean duplicate;
 }
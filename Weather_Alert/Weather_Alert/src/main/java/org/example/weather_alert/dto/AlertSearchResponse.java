@@ -0,0 +1,41 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Full-text search results ranked by relevance (BM25)")
+public class AlertSearchResponse {
+
+    @Schema(description = "The query as submitted", example = "snow Sofia")
+    private String query;
+
+    @Schema(description = "Number of matching alerts in the index", example = "37")
+    private long totalHits;
+
+    @Schema(description = "Best matches first, at most 'limit' entries")
+    private List<Hit> results;
+
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A matching alert with its relevance score")
+    public static class Hit {
+
+        @Schema(description = "BM25 relevance score", example = "4.21")
+        private float score;
+
+        @Schema(description = "The matching alert")
+        private AlertResponse alert;
+    }
+}
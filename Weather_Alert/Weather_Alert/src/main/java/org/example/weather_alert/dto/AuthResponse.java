@@ -22,9 +22,16 @@ public class AuthResponse {
     @Builder.Default
     private String tokenType = "Bearer";
 
-    @Schema(description = "Token expiration time in milliseconds", example = "86400000")
+    @Schema(description = "Token expiration time in milliseconds", example = "900000")
     private Long expiresIn;
 
+    @Schema(description = "Single-use token for POST /api/auth/refresh; a new one is returned with every refresh",
+            example = "q0VfHn3yq8n8Yx0m0xQ6H8mVxZc3bJ1P2vYk7Vt9s4E")
+    private String refreshToken;
+
+    @Schema(description = "Refresh token expiration time in milliseconds", example = "1209600000")
+    private Long refreshExpiresIn;
+
     @Schema(description = "Authenticated username", example = "admin")
     private String username;
 
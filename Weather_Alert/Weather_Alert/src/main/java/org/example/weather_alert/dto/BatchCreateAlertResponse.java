@@ -0,0 +1,55 @@
+package org.example.weather_alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk alert creation, one entry per submitted alert")
+public class BatchCreateAlertResponse {
+
+    @Schema(description = "Number of alerts submitted", example = "1000")
+    private int total;
+
+    @Schema(description = "Number of alerts created", example = "998")
+    private int created;
+
+    @Schema(description = "Number of alerts rejected by validation", example = "2")
+    private int rejected;
+
+    @Schema(description = "Number of alerts skipped as duplicates of recent alerts", example = "0")
+    private int duplicates;
+
+    @Schema(description = "Per-item results in request order")
+    private List<ItemResult> results;
+
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Outcome for a single submitted alert")
+    public static class ItemResult {
+
+        @Schema(description = "Zero-based position in the request array", example = "0")
+        private int index;
+
+        @Schema(description = "CREATED, REJECTED or DUPLICATE", example = "CREATED")
+        private String status;
+
+        @Schema(description = "ID of the created alert (or of the existing alert for a duplicate)", example = "101")
+        private Long id;
+
+        @Schema(description = "Validation errors for a rejected alert")
+        private List<ApiErrorResponse.ValidationError> validationErrors;
+    }
+}
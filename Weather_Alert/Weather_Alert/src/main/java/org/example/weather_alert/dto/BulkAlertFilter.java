@@ -0,0 +1,72 @@
+package org.example.weather_alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Selects the alerts affected by a bulk operation. All given criteria must match.")
+public class BulkAlertFilter {
+
+    @Size(max = 10000, message = "At most 10000 IDs can be given")
+    @Schema(description = "Explicit alert IDs", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Only alerts with this severity", example = "LOW")
+    private SeverityLevel severityLevel;
+
+    @Schema(description = "Only alerts with this geo-tagging status", example = "FAILED")
+    private GeoTaggingStatus geoTaggingStatus;
+
+    @Schema(description = "Only alerts for this exact location (case-insensitive)", example = "Sofia")
+    private String locationName;
+
+    @Schema(description = "Region south edge", example = "41.2")
+    private Double minLat;
+
+    @Schema(description = "Region north edge", example = "44.2")
+    private Double maxLat;
+
+    @Schema(description = "Region west edge", example = "22.3")
+    private Double minLon;
+
+    @Schema(description = "Region east edge", example = "28.6")
+    private Double maxLon;
+
+    @Schema(description = "Only alerts created at or after this time")
+    private LocalDateTime createdFrom;
+
+    @Schema(description = "Only alerts created before this time")
+    private LocalDateTime createdTo;
+
+    /**
+     * True if no criterion is set - bulk operations refuse to touch the whole table.
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty())
+                && severityLevel == null
+                && geoTaggingStatus == null
+                && locationName == null
+                && minLat == null && maxLat == null && minLon == null && maxLon == null
+                && createdFrom == null
+                && createdTo == null;
+    }
+
+    @JsonIgnore
+    public boolean hasRegion() {
+        return minLat != null || maxLat != null || minLon != null || maxLon != null;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk update or delete")
+public class BulkOperationResponse {
+
+    @Schema(description = "Operation that was executed", example = "DELETE")
+    private String operation;
+
+    @Schema(description = "Number of alerts updated or deleted", example = "1250")
+    private long affected;
+
+    @Schema(description = "Number of chunks (statements) executed", example = "3")
+    private int chunks;
+
+    @Schema(description = "Execution time in milliseconds", example = "420")
+    private long durationMs;
+}
@@ -0,0 +1,40 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for updating every alert that matches a filter")
+public class BulkUpdateAlertRequest {
+
+    @Valid
+    @NotNull(message = "Filter is required")
+    @Schema(description = "Which alerts to update", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BulkAlertFilter filter;
+
+    @Schema(description = "New severity level", example = "MEDIUM")
+    private SeverityLevel severityLevel;
+
+    @Size(min = 10, max = 1000, message = "Description must be between 10 and 1000 characters")
+    @Schema(description = "New description",
+            example = "Warning lifted. Conditions returning to normal.")
+    private String description;
+
+    @Future(message = "Expiry must be in the future")
+    @Schema(description = "New expiry timestamp, e.g. to expire a region's alerts early",
+            example = "2030-01-15T18:00:00")
+    private LocalDateTime expiresAt;
+}
@@ -2,6 +2,7 @@ package org.example.weather_alert.dto;
 
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,12 +11,16 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.validation.ValidEffectivePeriod;
+
+import java.time.LocalDateTime;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Request object for creating a new weather alert")
+@ValidEffectivePeriod
 public class CreateAlertRequest {
 
     @NotBlank(message = "Description is required")
@@ -37,5 +42,17 @@ public class CreateAlertRequest {
             example = "HIGH",
             requiredMode = Schema.RequiredMode.REQUIRED)
     private SeverityLevel severityLevel;
-}
 
+    @Schema(description = "Start of the period the alert is in effect (defaults to creation time)",
+            example = "2030-01-15T18:00:00")
+    private LocalDateTime effectiveFrom;
+
+    @Schema(description = "End of the period the alert is in effect (omit for open-ended)",
+            example = "2030-01-16T06:00:00")
+    private LocalDateTime effectiveUntil;
+
+    @Future(message = "Expiry must be in the future")
+    @Schema(description = "When the alert stops being relevant (defaults to the configured TTL)",
+            example = "2030-01-15T18:00:00")
+    private LocalDateTime expiresAt;
+}
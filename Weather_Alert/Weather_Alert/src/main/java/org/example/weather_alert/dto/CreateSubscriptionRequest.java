@@ -0,0 +1,76 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.hibernate.validator.constraints.URL;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Subscribe to alerts of at least a given severity inside a circle, a region or anywhere. "
+        + "Give either centerLat/centerLon/radiusKm or minLat/maxLat/minLon/maxLon, or neither. "
+        + "Matches are POSTed to webhookUrl and/or e-mailed (defaults to the account e-mail).")
+public class CreateSubscriptionRequest {
+
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    @Schema(description = "Label for the subscription", example = "Home - Sofia")
+    private String name;
+
+    @Schema(description = "Minimum alert severity (defaults to LOW = everything)", example = "HIGH")
+    private SeverityLevel minSeverity;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Circle center latitude", example = "42.6977")
+    private Double centerLat;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Circle center longitude", example = "23.3219")
+    private Double centerLon;
+
+    @Positive(message = "Radius must be positive")
+    @DecimalMax(value = "2000.0", message = "Radius must not exceed 2000 km")
+    @Schema(description = "Circle radius in kilometres", example = "30")
+    private Double radiusKm;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Region south edge", example = "41.2")
+    private Double minLat;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Region north edge", example = "44.2")
+    private Double maxLat;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Region west edge", example = "22.3")
+    private Double minLon;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Region east edge", example = "28.6")
+    private Double maxLon;
+
+    @URL(protocol = "https", message = "Webhook URL must be a valid https URL")
+    @Size(max = 500, message = "Webhook URL must be at most 500 characters")
+    @Schema(description = "Receives a JSON array of AlertNotification objects", example = "https://example.com/hooks/alerts")
+    private String webhookUrl;
+
+    @Email(message = "E-mail must be valid")
+    @Size(max = 100, message = "E-mail must be at most 100 characters")
+    @Schema(description = "Address for e-mail notifications", example = "ops@example.com")
+    private String email;
+}
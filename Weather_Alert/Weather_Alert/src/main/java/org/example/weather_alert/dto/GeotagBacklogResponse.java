@@ -0,0 +1,64 @@
+package org.example.weather_alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Geotagging backlog and the slowest geotags still in flight")
+public class GeotagBacklogResponse {
+
+    @Schema(description = "Alerts currently PENDING in the database", example = "42")
+    private long pending;
+
+    @Schema(description = "When the oldest PENDING alert was created or last re-queued")
+    private LocalDateTime oldestPendingSince;
+
+    @Schema(description = "Age of the oldest PENDING alert in seconds", example = "73")
+    private long oldestPendingAgeSeconds;
+
+    @Schema(description = "Geotags queued or running on this instance", example = "40")
+    private int inFlight;
+
+    @Schema(description = "In-flight geotags, oldest first")
+    private List<InFlightGeotag> slowest;
+
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Stage timestamps of one in-flight geotag; unset stages are omitted")
+    public static class InFlightGeotag {
+
+        @Schema(description = "Alert ID", example = "101")
+        private Long alertId;
+
+        @Schema(description = "Location being geocoded", example = "Sofia")
+        private String locationName;
+
+        @Schema(description = "QUEUED, WAITING_FOR_PERMIT, CALLING_API or PERSISTING", example = "WAITING_FOR_PERMIT")
+        private String stage;
+
+        @Schema(description = "Time since the geotag was enqueued in milliseconds", example = "5300")
+        private long ageMs;
+
+        private LocalDateTime enqueuedAt;
+
+        private LocalDateTime startedAt;
+
+        private LocalDateTime permitAcquiredAt;
+
+        private LocalDateTime responseReceivedAt;
+    }
+}
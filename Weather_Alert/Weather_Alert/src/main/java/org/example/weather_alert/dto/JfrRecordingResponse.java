@@ -0,0 +1,32 @@
+package org.example.weather_alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "State of the on-demand flight recording")
+public class JfrRecordingResponse {
+
+    @Schema(description = "NONE, RUNNING or STOPPED", example = "RUNNING")
+    private String state;
+
+    @Schema(description = "JFR settings the recording was started with", example = "profile")
+    private String settings;
+
+    private Instant startedAt;
+
+    private Instant stoppedAt;
+
+    @Schema(description = "Bytes recorded so far", example = "1048576")
+    private Long sizeBytes;
+}
@@ -0,0 +1,21 @@
+package org.example.weather_alert.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for refreshing or ending a session")
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    @Schema(description = "Refresh token from the last login or refresh; each one can be used once",
+            example = "q0VfHn3yq8n8Yx0m0xQ6H8mVxZc3bJ1P2vYk7Vt9s4E",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private String refreshToken;
+}
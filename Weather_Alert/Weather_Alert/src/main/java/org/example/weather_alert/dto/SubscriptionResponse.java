@@ -0,0 +1,50 @@
+package org.example.weather_alert.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Alert subscription of the current user")
+public class SubscriptionResponse {
+
+    @Schema(description = "Unique identifier of the subscription", example = "7")
+    private Long id;
+
+    @Schema(description = "Label for the subscription", example = "Home - Sofia")
+    private String name;
+
+    @Schema(description = "Minimum alert severity", example = "HIGH")
+    private SeverityLevel minSeverity;
+
+    private Double centerLat;
+
+    private Double centerLon;
+
+    private Double radiusKm;
+
+    private Double minLat;
+
+    private Double maxLat;
+
+    private Double minLon;
+
+    private Double maxLon;
+
+    @Schema(description = "Webhook receiving matches", example = "https://example.com/hooks/alerts")
+    private String webhookUrl;
+
+    @Schema(description = "Address receiving matches", example = "ops@example.com")
+    private String email;
+
+    @Schema(description = "Timestamp when the subscription was created")
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,7 @@ package org.example.weather_alert.dto;
 
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.weather_alert.enums.SeverityLevel;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,4 +32,17 @@ public class UpdateAlertRequest {
     @Schema(description = "Updated severity level",
             example = "MEDIUM")
     private SeverityLevel severityLevel;
+
+    @Schema(description = "Start of the period the alert is in effect",
+            example = "2030-01-15T20:00:00")
+    private LocalDateTime effectiveFrom;
+
+    @Schema(description = "End of the period the alert is in effect",
+            example = "2030-01-16T08:00:00")
+    private LocalDateTime effectiveUntil;
+
+    @Future(message = "Expiry must be in the future")
+    @Schema(description = "Updated expiry timestamp",
+            example = "2030-01-16T06:00:00")
+    private LocalDateTime expiresAt;
 }
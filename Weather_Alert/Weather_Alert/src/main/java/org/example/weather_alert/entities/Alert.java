@@ -11,15 +11,29 @@ import org.example.weather_alert.enums.SeverityLevel;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = {
+        @Index(name = "idx_alerts_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_alerts_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_alerts_effective_period", columnList = "effective_from, effective_until")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Alert.DEDUP_KEY_CONSTRAINT, columnNames = "dedup_key")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Alert {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Named so a clash can be told apart from other integrity violations (see AlertService)
+    public static final String DEDUP_KEY_CONSTRAINT = "uk_alerts_dedup_key";
+
+    // Pooled sequence (hi-lo style): IDs are handed out in blocks so inserts can be JDBC-batched,
+    // which IDENTITY prevents. On MySQL Hibernate backs this with the alerts_seq table.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alerts_seq")
+    @SequenceGenerator(name = "alerts_seq", sequenceName = "alerts_seq", allocationSize = Alert.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "description", nullable = false, length = 1000)
@@ -58,10 +72,32 @@ public class Alert {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Period during which the alert is in effect; a null until means open-ended
+    @Column(name = "effective_from")
+    private LocalDateTime effectiveFrom;
+
+    @Column(name = "effective_until")
+    private LocalDateTime effectiveUntil;
+
+    // Null = never expires. Expired alerts are hidden from reads and later moved to alerts_archive
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Content fingerprint + dedup window bucket; unique so concurrent copies cannot both be inserted
+    @Column(name = "dedup_key", length = 80)
+    private String dedupKey;
+
+    // Monotonic change sequence, bumped on every create/update (used by delta sync)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (effectiveFrom == null) {
+            effectiveFrom = createdAt;
+        }
         if (geoTaggingStatus == null) {
             geoTaggingStatus = GeoTaggingStatus.PENDING;
         }
@@ -71,4 +107,8 @@ public class Alert {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
 }
@@ -0,0 +1,76 @@
+package org.example.weather_alert.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's standing interest in alerts: "at least severity S, inside area A".
+ * The area is either a circle (center + radius), a bounding box, or nothing (anywhere).
+ */
+@Entity
+@Table(name = "alert_subscriptions", indexes = {
+        @Index(name = "idx_alert_subscriptions_owner", columnList = "owner_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "min_severity", nullable = false, length = 20)
+    private SeverityLevel minSeverity;
+
+    @Column(name = "center_lat")
+    private Double centerLat;
+
+    @Column(name = "center_lon")
+    private Double centerLon;
+
+    @Column(name = "radius_km")
+    private Double radiusKm;
+
+    @Column(name = "min_lat")
+    private Double minLat;
+
+    @Column(name = "max_lat")
+    private Double maxLat;
+
+    @Column(name = "min_lon")
+    private Double minLon;
+
+    @Column(name = "max_lon")
+    private Double maxLon;
+
+    // Delivery targets; at least one is set when the subscription is created
+    @Column(name = "webhook_url", length = 500)
+    private String webhookUrl;
+
+    @Column(name = "email", length = 100)
+    private String email;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
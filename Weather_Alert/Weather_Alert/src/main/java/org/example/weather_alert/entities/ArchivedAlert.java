@@ -0,0 +1,74 @@
+package org.example.weather_alert.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Expired alert moved out of the hot alerts table by AlertExpirySweeper.
+ * Rows are written with INSERT ... SELECT, so the ID is the original alert ID.
+ */
+@Entity
+@Table(name = "alerts_archive", indexes = {
+        @Index(name = "idx_alerts_archive_archived_at", columnList = "archived_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAlert {
+
+    @Id
+    private Long id;
+
+    @Column(name = "description", nullable = false, length = 1000)
+    private String description;
+
+    @Column(name = "location_name", nullable = false)
+    private String locationName;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "severity_level", nullable = false, length = 20)
+    private SeverityLevel severityLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "geo_tagging_status", length = 20)
+    private GeoTaggingStatus geoTaggingStatus;
+
+    @Column(name = "geo_tagging_error", length = 500)
+    private String geoTaggingError;
+
+    // Plain ID: archived rows must survive the creator being deleted
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "effective_from")
+    private LocalDateTime effectiveFrom;
+
+    @Column(name = "effective_until")
+    private LocalDateTime effectiveUntil;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
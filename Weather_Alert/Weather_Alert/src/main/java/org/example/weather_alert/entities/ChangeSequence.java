@@ -0,0 +1,27 @@
+package org.example.weather_alert.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last change sequence handed out, shared by every instance. Writers increment the row inside
+ * their own transaction and keep its lock until they commit or roll back.
+ */
+@Entity
+@Table(name = "change_sequence")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequence {
+
+    @Id
+    @Column(name = "name", length = 40)
+    private String name;
+
+    @Column(name = "seq_value", nullable = false)
+    private Long value;
+}
@@ -0,0 +1,33 @@
+package org.example.weather_alert.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * "Reject every access token of this user issued before not_before" (tokens revoked by an
+ * administrator). Every instance polls this table; a row is deleted once every token it could
+ * reject has expired anyway.
+ */
+@Entity
+@Table(name = "user_token_cutoffs", indexes = {
+        @Index(name = "idx_user_token_cutoffs_not_before", columnList = "not_before")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenCutoff {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Also the time of the latest revocation, which is what the poll reads by
+    @Column(name = "not_before", nullable = false)
+    private LocalDateTime notBefore;
+}
@@ -0,0 +1,34 @@
+package org.example.weather_alert.enums;
+
+public enum AlertEventType {
+    /**
+     * A new alert was stored (geo-tagging still PENDING)
+     */
+    CREATED,
+
+    /**
+     * Alert fields were changed by an administrator
+     */
+    UPDATED,
+
+    /**
+     * Background geo-tagging finished and coordinates are available
+     */
+    GEOTAGGED,
+
+    /**
+     * Background geo-tagging finished without coordinates
+     */
+    GEOTAG_FAILED,
+
+    /**
+     * Alert was removed; only the alert ID is sent
+     */
+    DELETED,
+
+    /**
+     * Synthetic event sent when a subscriber resumes from an event ID that is no
+     * longer buffered - the client must re-fetch GET /api/alerts
+     */
+    RESYNC
+}
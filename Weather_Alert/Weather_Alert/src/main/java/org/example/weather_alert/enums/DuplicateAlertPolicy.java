@@ -0,0 +1,8 @@
+package org.example.weather_alert.enums;
+
+public enum DuplicateAlertPolicy {
+    // 409 Conflict pointing at the existing alert
+    REJECT,
+    // Return the existing alert instead of creating a new one
+    MERGE
+}
@@ -0,0 +1,6 @@
+package org.example.weather_alert.enums;
+
+public enum NotificationChannel {
+    WEBHOOK,
+    EMAIL
+}
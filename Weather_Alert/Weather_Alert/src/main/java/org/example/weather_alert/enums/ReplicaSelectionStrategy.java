@@ -0,0 +1,13 @@
+package org.example.weather_alert.enums;
+
+public enum ReplicaSelectionStrategy {
+    /**
+     * Healthy replicas take turns
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The healthy replica with the lowest probe latency (moving average) is used
+     */
+    LEAST_LATENCY
+}
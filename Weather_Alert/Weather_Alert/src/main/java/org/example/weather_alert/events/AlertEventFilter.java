@@ -0,0 +1,70 @@
+package org.example.weather_alert.events;
+
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Per-subscriber event filter.
+ *
+ * Severity and bounding box only apply to events that carry an alert payload:
+ * DELETED and RESYNC events are always delivered so clients can keep their view consistent.
+ * Alerts without coordinates (still PENDING) are excluded when a bounding box is set.
+ */
+public class AlertEventFilter {
+
+    private final Set<SeverityLevel> severities;
+    private final Double minLat;
+    private final Double maxLat;
+    private final Double minLon;
+    private final Double maxLon;
+
+    public AlertEventFilter(Set<SeverityLevel> severities,
+                            Double minLat, Double maxLat,
+                            Double minLon, Double maxLon) {
+        boolean anyBound = minLat != null || maxLat != null || minLon != null || maxLon != null;
+        boolean allBounds = minLat != null && maxLat != null && minLon != null && maxLon != null;
+        if (anyBound && !allBounds) {
+            throw new IllegalArgumentException("Bounding box requires minLat, maxLat, minLon and maxLon");
+        }
+        if (allBounds && (minLat > maxLat || minLon > maxLon)) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed maximum");
+        }
+
+        this.severities = severities == null || severities.isEmpty()
+                ? EnumSet.allOf(SeverityLevel.class)
+                : EnumSet.copyOf(severities);
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.minLon = minLon;
+        this.maxLon = maxLon;
+    }
+
+    public static AlertEventFilter acceptAll() {
+        return new AlertEventFilter(null, null, null, null, null);
+    }
+
+    public boolean matches(AlertEvent event) {
+        AlertResponse alert = event.getAlert();
+        if (alert == null) {
+            return true;
+        }
+
+        if (alert.getSeverityLevel() != null && !severities.contains(alert.getSeverityLevel())) {
+            return false;
+        }
+
+        if (minLat == null) {
+            return true;
+        }
+
+        Double lat = alert.getLatitude();
+        Double lon = alert.getLongitude();
+        return lat != null && lon != null
+                && lat >= minLat && lat <= maxLat
+                && lon >= minLon && lon <= maxLon;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.weather_alert.events;
+
+import org.example.weather_alert.dto.AlertEvent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Fixed-size, single-producer / multi-consumer ring buffer of alert events.
+ *
+ * Writes are serialized by the producer lock and assign the next sequence number.
+ * Readers never lock: each subscriber keeps its own cursor and reads slots directly.
+ * A slot that was overwritten by a newer event means the reader has been lapped.
+ */
+public class AlertEventRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AlertEvent> slots;
+
+    // Sequence of the last published event (0 = nothing published yet)
+    private volatile long cursor = 0;
+
+    public AlertEventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        // Round up to a power of two so the slot index is a cheap bit mask
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Claims the next sequence, builds the event for it and makes it visible to readers.
+     */
+    public synchronized AlertEvent publish(LongFunction<AlertEvent> eventFactory) {
+        long next = cursor + 1;
+        AlertEvent event = eventFactory.apply(next);
+        slots.set(index(next), event);
+        // Volatile write publishes the slot to lock-free readers
+        cursor = next;
+        return event;
+    }
+
+    /**
+     * Returns the event with the given sequence, or {@code null} if it was already overwritten
+     * or has not been published yet.
+     */
+    public AlertEvent get(long sequence) {
+        if (sequence <= 0 || sequence > cursor) {
+            return null;
+        }
+        AlertEvent event = slots.get(index(sequence));
+        return event != null && event.getSequence() == sequence ? event : null;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Oldest sequence that is still readable.
+     */
+    public long getOldestSequence() {
+        return Math.max(1, cursor - capacity + 1);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.weather_alert.events;
+
+import org.example.weather_alert.dto.AlertEvent;
+
+import java.io.IOException;
+
+/**
+ * Transport-specific delivery target for a subscriber (SSE emitter, WebSocket session).
+ */
+public interface AlertEventSink {
+
+    void send(AlertEvent event) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    /**
+     * Closes the underlying connection. Called when the subscriber is dropped.
+     */
+    void close(String reason);
+}
@@ -0,0 +1,33 @@
+package org.example.weather_alert.events;
+
+import lombok.Getter;
+
+/**
+ * A live subscription: transport sink, filter and the sequence of the last event it has seen.
+ * The cursor is only advanced by the dispatcher thread.
+ */
+@Getter
+public class AlertEventSubscriber {
+
+    private final String id;
+    private final AlertEventFilter filter;
+    private final AlertEventSink sink;
+
+    private volatile long cursor;
+    private volatile boolean closed = false;
+
+    public AlertEventSubscriber(String id, AlertEventFilter filter, AlertEventSink sink, long cursor) {
+        this.id = id;
+        this.filter = filter;
+        this.sink = sink;
+        this.cursor = cursor;
+    }
+
+    public void advanceTo(long sequence) {
+        this.cursor = sequence;
+    }
+
+    public void markClosed() {
+        this.closed = true;
+    }
+}
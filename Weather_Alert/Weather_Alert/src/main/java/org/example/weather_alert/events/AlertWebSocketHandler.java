@@ -0,0 +1,115 @@
+package org.example.weather_alert.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertStreamProperties;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.services.AlertEventService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WebSocket endpoint for the alert event stream. Filters and resume position are
+ * passed as query parameters, e.g. {@code /ws/alerts?severity=HIGH&lastEventId=42}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AlertStreamProperties.class)
+public class AlertWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIBER_ID = "alertSubscriberId";
+
+    private final AlertEventService alertEventService;
+    private final ObjectMapper objectMapper;
+    private final AlertStreamProperties properties;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri())
+                .build()
+                .getQueryParams();
+
+        // Bad input is the client's fault: close with 1007 like the SSE endpoint answers 400,
+        // instead of letting the exception surface as a 1011 server error
+        AlertEventFilter filter;
+        Long lastEventId;
+        try {
+            filter = new AlertEventFilter(
+                    parseSeverities(params.get("severity")),
+                    parseDouble("minLat", params.getFirst("minLat")),
+                    parseDouble("maxLat", params.getFirst("maxLat")),
+                    parseDouble("minLon", params.getFirst("minLon")),
+                    parseDouble("maxLon", params.getFirst("maxLon")));
+            lastEventId = parseLong("lastEventId", params.getFirst("lastEventId"));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejecting WebSocket session {}: {}", session.getId(), e.getMessage());
+            session.close(CloseStatus.BAD_DATA.withReason(truncate(e.getMessage())));
+            return;
+        }
+
+        AlertEventSubscriber subscriber = alertEventService.subscribe(
+                filter,
+                lastEventId,
+                new WebSocketAlertEventSink(session, objectMapper,
+                        properties.getWsSendTimeLimitMs(), properties.getWsBufferSizeLimit()));
+
+        session.getAttributes().put(SUBSCRIBER_ID, subscriber.getId());
+        log.debug("WebSocket session {} subscribed as {}", session.getId(), subscriber.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object subscriberId = session.getAttributes().get(SUBSCRIBER_ID);
+        if (subscriberId != null) {
+            alertEventService.unsubscribe(subscriberId.toString());
+        }
+    }
+
+    private Set<SeverityLevel> parseSeverities(List<String> values) {
+        Set<SeverityLevel> severities = EnumSet.noneOf(SeverityLevel.class);
+        if (values != null) {
+            for (String value : values) {
+                for (String part : value.split(",")) {
+                    try {
+                        severities.add(SeverityLevel.valueOf(part.trim().toUpperCase()));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Invalid severity '" + part.trim() + "'");
+                    }
+                }
+            }
+        }
+        return severities;
+    }
+
+    private Double parseDouble(String name, String value) {
+        try {
+            return value != null ? Double.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private Long parseLong(String name, String value) {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    // A close reason may take at most 123 bytes of UTF-8 (3 per char at worst)
+    private static String truncate(String reason) {
+        return reason.length() > 40 ? reason.substring(0, 40) + "..." : reason;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.weather_alert.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.AlertEvent;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the dispatcher thread off the client's socket. Events are queued per subscriber and
+ * written by a shared writer pool, one flush at a time per subscriber. The next send fails - and
+ * the dispatcher drops the subscriber - once the queue is full, the current write has been
+ * blocked for longer than the send time limit, or a write has failed.
+ */
+@Slf4j
+public class QueuedAlertEventSink implements AlertEventSink {
+
+    // Queue marker for a heartbeat
+    private static final Object HEARTBEAT = new Object();
+
+    private final AlertEventSink delegate;
+    private final Executor writer;
+    private final BlockingQueue<Object> queue;
+    private final long sendTimeLimitNanos;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // System.nanoTime() when the write in progress started, 0 when idle
+    private volatile long writeStartedNanos;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    public QueuedAlertEventSink(AlertEventSink delegate, Executor writer, int queueSize, long sendTimeLimitMs) {
+        this.delegate = delegate;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+    }
+
+    @Override
+    public void send(AlertEvent event) throws IOException {
+        enqueue(event);
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        enqueue(HEARTBEAT);
+    }
+
+    @Override
+    public void close(String reason) {
+        closed = true;
+        queue.clear();
+        // Never on the caller's thread: closing may have to wait for a blocked write
+        try {
+            writer.execute(() -> delegate.close(reason));
+        } catch (RejectedExecutionException e) {
+            delegate.close(reason);
+        }
+    }
+
+    private void enqueue(Object item) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        long started = writeStartedNanos;
+        if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+            throw new IOException("Send blocked for more than "
+                    + TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos) + " ms");
+        }
+        if (!queue.offer(item)) {
+            throw new IOException("Send queue full (" + (queue.size() + queue.remainingCapacity()) + " events)");
+        }
+        schedule();
+    }
+
+    private void schedule() throws IOException {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw new IOException("Event writer pool rejected the flush", e);
+            }
+        }
+    }
+
+    private void flush() {
+        try {
+            Object item;
+            while (!closed && failure == null && (item = queue.poll()) != null) {
+                writeStartedNanos = System.nanoTime();
+                try {
+                    if (item == HEARTBEAT) {
+                        delegate.heartbeat();
+                    } else {
+                        delegate.send((AlertEvent) item);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new IOException(e.getMessage(), e);
+                } finally {
+                    writeStartedNanos = 0;
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // An event queued between the last poll and the reset above would wait for the next send
+        if (!closed && failure == null && !queue.isEmpty()) {
+            try {
+                schedule();
+            } catch (IOException e) {
+                log.debug("Could not reschedule event flush: {}", e.getMessage());
+            }
+        }
+    }
+}
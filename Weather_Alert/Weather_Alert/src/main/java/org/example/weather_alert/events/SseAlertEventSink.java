@@ -0,0 +1,34 @@
+package org.example.weather_alert.events;
+
+import org.example.weather_alert.dto.AlertEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+public class SseAlertEventSink implements AlertEventSink {
+
+    private final SseEmitter emitter;
+
+    public SseAlertEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(AlertEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(event.getType().name())
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close(String reason) {
+        emitter.complete();
+    }
+}
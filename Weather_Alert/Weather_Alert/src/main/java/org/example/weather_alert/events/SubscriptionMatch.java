@@ -0,0 +1,12 @@
+package org.example.weather_alert.events;
+
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.index.SubscriptionArea;
+
+import java.util.List;
+
+/**
+ * A geotagged alert together with every subscription it matched.
+ */
+public record SubscriptionMatch(AlertResponse alert, List<SubscriptionArea> subscriptions) {
+}
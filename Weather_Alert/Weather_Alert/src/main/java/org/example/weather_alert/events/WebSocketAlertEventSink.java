@@ -0,0 +1,48 @@
+package org.example.weather_alert.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.AlertEvent;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+
+@Slf4j
+public class WebSocketAlertEventSink implements AlertEventSink {
+
+    private final WebSocketSession session;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param sendTimeLimitMs   a send blocked longer than this marks the client as too slow
+     * @param bufferSizeLimit   bytes allowed to pile up for a client before it is dropped
+     */
+    public WebSocketAlertEventSink(WebSocketSession session, ObjectMapper objectMapper,
+                                   int sendTimeLimitMs, int bufferSizeLimit) {
+        this.session = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, bufferSizeLimit);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(AlertEvent event) throws IOException {
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        session.sendMessage(new PingMessage());
+    }
+
+    @Override
+    public void close(String reason) {
+        try {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(reason));
+        } catch (IOException e) {
+            log.debug("Error closing WebSocket session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.weather_alert.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateAlertException extends RuntimeException {
+
+    // Null when the original's ID is unknown: still being created, or caught by the dedup_key index
+    private final Long existingAlertId;
+
+    public DuplicateAlertException(Long existingAlertId) {
+        super(existingAlertId != null
+                ? "Duplicate of existing alert with id: " + existingAlertId
+                : "Duplicate of a recently submitted alert");
+        this.existingAlertId = existingAlertId;
+    }
+}
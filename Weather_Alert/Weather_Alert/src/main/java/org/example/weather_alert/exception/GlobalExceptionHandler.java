@@ -3,6 +3,7 @@ package org.example.weather_alert.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.example.weather_alert.dto.ApiErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -67,6 +68,76 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(SubscriptionNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleSubscriptionNotFoundException(
+            SubscriptionNotFoundException ex,
+            HttpServletRequest request) {
+
+        log.warn("Subscription not found at {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ApiErrorResponse response = ApiErrorResponse.of(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(DuplicateAlertException.class)
+    public ResponseEntity<ApiErrorResponse> handleDuplicateAlertException(
+            DuplicateAlertException ex,
+            HttpServletRequest request) {
+
+        log.info("Duplicate alert rejected at {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ApiErrorResponse response = ApiErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<ApiErrorResponse> handleRecordingStateException(
+            RecordingStateException ex,
+            HttpServletRequest request) {
+
+        log.info("Recording request rejected at {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ApiErrorResponse response = ApiErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiErrorResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex,
+            HttpServletRequest request) {
+
+        log.info("Request throttled at {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ApiErrorResponse response = ApiErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler({InvalidCredentialsException.class, BadCredentialsException.class})
     public ResponseEntity<ApiErrorResponse> handleInvalidCredentialsException(
             RuntimeException ex,
@@ -0,0 +1,18 @@
+package org.example.weather_alert.index;
+
+/**
+ * Validity period of one alert as a half-open range {@code [start, end)} in epoch milliseconds.
+ * An open-ended alert uses {@link Long#MAX_VALUE} as its end.
+ */
+public record AlertInterval(long alertId, long start, long end) {
+
+    public AlertInterval {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start");
+        }
+    }
+
+    public boolean overlaps(long from, long to) {
+        return start < to && end > from;
+    }
+}
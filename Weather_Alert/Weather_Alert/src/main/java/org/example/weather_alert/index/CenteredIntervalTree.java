@@ -0,0 +1,117 @@
+package org.example.weather_alert.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable centered interval tree.
+ *
+ * Every node owns the intervals containing its center point, stored twice: sorted by start
+ * ascending and by end descending. Intervals ending at or before the center go left, those
+ * starting after it go right. Centers are median start points, so the tree has O(log n)
+ * depth and an overlap query costs O(log n + k).
+ */
+public class CenteredIntervalTree {
+
+    private static final Comparator<AlertInterval> BY_START = Comparator.comparingLong(AlertInterval::start);
+    private static final Comparator<AlertInterval> BY_END_DESC =
+            Comparator.comparingLong(AlertInterval::end).reversed();
+
+    private final Node root;
+    private final int size;
+
+    public CenteredIntervalTree(Collection<AlertInterval> intervals) {
+        this.size = intervals.size();
+        this.root = build(new ArrayList<>(intervals));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports the ID of every interval overlapping {@code [from, to)}.
+     */
+    public void forEachOverlapping(long from, long to, LongConsumer action) {
+        if (from >= to) {
+            return;
+        }
+        query(root, from, to, action);
+    }
+
+    /**
+     * Reports the ID of every interval containing the instant {@code at}.
+     */
+    public void forEachContaining(long at, LongConsumer action) {
+        forEachOverlapping(at, at + 1, action);
+    }
+
+    // Loops down one side; recurses only when the query window spans a node's center
+    private static void query(Node node, long from, long to, LongConsumer action) {
+        while (node != null) {
+            if (to <= node.center) {
+                // Query lies left of the center: node intervals overlap iff they start before 'to'
+                for (AlertInterval interval : node.byStart) {
+                    if (interval.start() >= to) {
+                        break;
+                    }
+                    action.accept(interval.alertId());
+                }
+                node = node.left;
+            } else if (from > node.center) {
+                // Query lies right of the center: node intervals overlap iff they end after 'from'
+                for (AlertInterval interval : node.byEndDesc) {
+                    if (interval.end() <= from) {
+                        break;
+                    }
+                    action.accept(interval.alertId());
+                }
+                node = node.right;
+            } else {
+                // Query contains the center: every node interval overlaps
+                for (AlertInterval interval : node.byStart) {
+                    action.accept(interval.alertId());
+                }
+                query(node.left, from, to, action);
+                node = node.right;
+            }
+        }
+    }
+
+    private static Node build(List<AlertInterval> intervals) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+
+        intervals.sort(BY_START);
+        // A start point is always inside its own interval, so each node owns at least one
+        long center = intervals.get(intervals.size() / 2).start();
+
+        List<AlertInterval> left = new ArrayList<>();
+        List<AlertInterval> right = new ArrayList<>();
+        List<AlertInterval> here = new ArrayList<>();
+
+        for (AlertInterval interval : intervals) {
+            if (interval.end() <= center) {
+                left.add(interval);
+            } else if (interval.start() > center) {
+                right.add(interval);
+            } else {
+                here.add(interval);
+            }
+        }
+
+        // 'here' is already in start order because 'intervals' was sorted
+        AlertInterval[] byStart = here.toArray(new AlertInterval[0]);
+        AlertInterval[] byEndDesc = byStart.clone();
+        Arrays.sort(byEndDesc, BY_END_DESC);
+
+        return new Node(center, byStart, byEndDesc, build(left), build(right));
+    }
+
+    private record Node(long center, AlertInterval[] byStart, AlertInterval[] byEndDesc, Node left, Node right) {}
+}
@@ -0,0 +1,84 @@
+package org.example.weather_alert.index;
+
+import org.example.weather_alert.enums.SeverityLevel;
+
+/**
+ * Immutable, index-ready view of an alert subscription.
+ *
+ * The bounding box is always set (it decides which grid cells the subscription is stored in);
+ * circles additionally keep their center and radius for the exact distance check.
+ * A circle crossing the antimeridian keeps an unwrapped longitude range, so {@code minLon} may
+ * be below -180 or {@code maxLon} above 180; the range then continues on the other side.
+ * A subscription without an area is global and has no bounding box.
+ */
+public record SubscriptionArea(long subscriptionId,
+                               long ownerId,
+                               SeverityLevel minSeverity,
+                               boolean global,
+                               double minLat, double maxLat,
+                               double minLon, double maxLon,
+                               boolean circle,
+                               double centerLat, double centerLon,
+                               double radiusKm) {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    public static SubscriptionArea anywhere(long subscriptionId, long ownerId, SeverityLevel minSeverity) {
+        return new SubscriptionArea(subscriptionId, ownerId, minSeverity, true,
+                -90, 90, -180, 180, false, 0, 0, 0);
+    }
+
+    public static SubscriptionArea box(long subscriptionId, long ownerId, SeverityLevel minSeverity,
+                                       double minLat, double maxLat, double minLon, double maxLon) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Region minimum must not exceed maximum");
+        }
+        return new SubscriptionArea(subscriptionId, ownerId, minSeverity, false,
+                minLat, maxLat, minLon, maxLon, false, 0, 0, 0);
+    }
+
+    public static SubscriptionArea circle(long subscriptionId, long ownerId, SeverityLevel minSeverity,
+                                          double centerLat, double centerLon, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        // Longitude degrees shrink towards the poles; cap the factor so the box stays finite
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(centerLat)), 0.01));
+        // Clamping at +/-180 would cut off the part of the circle across the antimeridian,
+        // so keep the range unwrapped unless it already spans every longitude
+        double minLon = lonDelta >= 180 ? -180 : centerLon - lonDelta;
+        double maxLon = lonDelta >= 180 ? 180 : centerLon + lonDelta;
+
+        return new SubscriptionArea(subscriptionId, ownerId, minSeverity, false,
+                Math.max(-90, centerLat - latDelta), Math.min(90, centerLat + latDelta),
+                minLon, maxLon, true, centerLat, centerLon, radiusKm);
+    }
+
+    public boolean matches(SeverityLevel severity, double lat, double lon) {
+        if (severity.ordinal() < minSeverity.ordinal()) {
+            return false;
+        }
+        if (global) {
+            return true;
+        }
+        if (lat < minLat || lat > maxLat || !containsLongitude(lon)) {
+            return false;
+        }
+        return !circle || distanceKm(centerLat, centerLon, lat, lon) <= radiusKm;
+    }
+
+    private boolean containsLongitude(double lon) {
+        return (lon >= minLon && lon <= maxLon)
+                || (lon + 360 >= minLon && lon + 360 <= maxLon)
+                || (lon - 360 >= minLon && lon - 360 <= maxLon);
+    }
+
+    // Haversine great-circle distance
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
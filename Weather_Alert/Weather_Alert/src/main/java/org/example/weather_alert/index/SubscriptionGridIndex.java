@@ -0,0 +1,179 @@
+package org.example.weather_alert.index;
+
+import org.example.weather_alert.enums.SeverityLevel;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Reverse spatial index: given an alert's point and severity, finds the subscriptions whose
+ * area contains it.
+ *
+ * Subscriptions are bucketed by minimum severity, and inside each bucket stored in every
+ * fixed-size lat/lon grid cell their bounding box touches. A lookup reads one cell per
+ * severity bucket at or below the alert's severity, so its cost depends on how many
+ * subscriptions overlap that cell - not on the total. Global subscriptions and areas larger
+ * than {@code maxCellsPerArea} live in a short per-bucket list that is always checked.
+ *
+ * Cells hold copy-on-write arrays replaced atomically, so lookups never lock.
+ */
+public class SubscriptionGridIndex {
+
+    private static final SubscriptionArea[] EMPTY = new SubscriptionArea[0];
+    private static final int SEVERITIES = SeverityLevel.values().length;
+
+    private final double cellSizeDeg;
+    private final int maxCellsPerArea;
+    private final int columns;
+
+    private final Map<Long, SubscriptionArea[]>[] cellsBySeverity;
+    private final AtomicReferenceArray<SubscriptionArea[]> wideBySeverity;
+    private final Map<Long, SubscriptionArea> byId = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public SubscriptionGridIndex(double cellSizeDeg, int maxCellsPerArea) {
+        if (cellSizeDeg <= 0 || cellSizeDeg > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.maxCellsPerArea = maxCellsPerArea;
+        this.columns = (int) Math.ceil(360 / cellSizeDeg) + 1;
+
+        this.cellsBySeverity = new Map[SEVERITIES];
+        this.wideBySeverity = new AtomicReferenceArray<>(SEVERITIES);
+        for (int i = 0; i < SEVERITIES; i++) {
+            cellsBySeverity[i] = new ConcurrentHashMap<>();
+            wideBySeverity.set(i, EMPTY);
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Adds or replaces a subscription.
+     */
+    public void add(SubscriptionArea area) {
+        SubscriptionArea previous = byId.put(area.subscriptionId(), area);
+        if (previous != null) {
+            unindex(previous);
+        }
+
+        int bucket = area.minSeverity().ordinal();
+        if (isWide(area)) {
+            wideBySeverity.updateAndGet(bucket, existing -> append(existing, area));
+            return;
+        }
+        forEachCell(area, key -> cellsBySeverity[bucket].merge(key, new SubscriptionArea[]{area},
+                (existing, added) -> append(existing, area)));
+    }
+
+    public void remove(long subscriptionId) {
+        SubscriptionArea area = byId.remove(subscriptionId);
+        if (area != null) {
+            unindex(area);
+        }
+    }
+
+    /**
+     * Calls {@code action} once for every subscription matching an alert with the given
+     * severity at the given point.
+     */
+    public void match(SeverityLevel severity, double lat, double lon, Consumer<SubscriptionArea> action) {
+        long key = cellKey(lat, lon);
+
+        for (int bucket = 0; bucket <= severity.ordinal(); bucket++) {
+            for (SubscriptionArea area : wideBySeverity.get(bucket)) {
+                if (area.matches(severity, lat, lon)) {
+                    action.accept(area);
+                }
+            }
+
+            SubscriptionArea[] cell = cellsBySeverity[bucket].get(key);
+            if (cell != null) {
+                for (SubscriptionArea area : cell) {
+                    if (area.matches(severity, lat, lon)) {
+                        action.accept(area);
+                    }
+                }
+            }
+        }
+    }
+
+    private void unindex(SubscriptionArea area) {
+        int bucket = area.minSeverity().ordinal();
+        if (isWide(area)) {
+            wideBySeverity.updateAndGet(bucket, existing -> without(existing, area.subscriptionId()));
+            return;
+        }
+        forEachCell(area, key -> cellsBySeverity[bucket].computeIfPresent(key, (k, existing) -> {
+            SubscriptionArea[] remaining = without(existing, area.subscriptionId());
+            return remaining.length == 0 ? null : remaining;
+        }));
+    }
+
+    private boolean isWide(SubscriptionArea area) {
+        if (area.global()) {
+            return true;
+        }
+        long rows = row(area.maxLat()) - row(area.minLat()) + 1L;
+        int[] spans = columnSpans(area);
+        long cols = 0;
+        for (int i = 0; i < spans.length; i += 2) {
+            cols += spans[i + 1] - spans[i] + 1L;
+        }
+        return rows * cols > maxCellsPerArea;
+    }
+
+    private void forEachCell(SubscriptionArea area, LongConsumer action) {
+        int lastRow = row(area.maxLat());
+        int[] spans = columnSpans(area);
+        for (int row = row(area.minLat()); row <= lastRow; row++) {
+            for (int i = 0; i < spans.length; i += 2) {
+                for (int column = spans[i]; column <= spans[i + 1]; column++) {
+                    action.accept((long) row * columns + column);
+                }
+            }
+        }
+    }
+
+    // First/last column pairs; a box crossing the antimeridian splits into two ranges
+    private int[] columnSpans(SubscriptionArea area) {
+        if (area.minLon() < -180) {
+            return new int[]{column(area.minLon() + 360), column(180), column(-180), column(area.maxLon())};
+        }
+        if (area.maxLon() > 180) {
+            return new int[]{column(area.minLon()), column(180), column(-180), column(area.maxLon() - 360)};
+        }
+        return new int[]{column(area.minLon()), column(area.maxLon())};
+    }
+
+    private long cellKey(double lat, double lon) {
+        return (long) row(lat) * columns + column(lon);
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellSizeDeg);
+    }
+
+    private int column(double lon) {
+        return (int) Math.floor((lon + 180) / cellSizeDeg);
+    }
+
+    private static SubscriptionArea[] append(SubscriptionArea[] existing, SubscriptionArea area) {
+        SubscriptionArea[] copy = Arrays.copyOf(existing, existing.length + 1);
+        copy[existing.length] = area;
+        return copy;
+    }
+
+    private static SubscriptionArea[] without(SubscriptionArea[] existing, long subscriptionId) {
+        return Arrays.stream(existing)
+                .filter(candidate -> candidate.subscriptionId() != subscriptionId)
+                .toArray(SubscriptionArea[]::new);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.weather_alert.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Security and admin actions - logins, token revocations, alert writes, flight recordings - on
+ * the {@code audit} logger. SamplingTurboFilter never samples it, and the prod profile writes it
+ * straight to the JSON appender, past the async queue that drops INFO under pressure. The MDC of
+ * the request (user, userId) says who did it.
+ */
+public final class AuditLog {
+
+    public static final String LOGGER_NAME = "audit";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private AuditLog() {
+    }
+
+    public static void record(String format, Object... arguments) {
+        LOG.info(format, arguments);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.weather_alert.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes what the logging pipeline throws away: events dropped by a full
+ * {@link DroppingAsyncAppender} queue, and events skipped by {@link SamplingTurboFilter} rules.
+ * Both are only configured in the prod profile (logback-spring.xml); elsewhere nothing is bound.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof DroppingAsyncAppender async) {
+                for (Level level : LEVELS) {
+                    FunctionCounter.builder("alerts.logging.dropped", async, appender -> appender.getDropped(level))
+                            .description("Log events dropped because the async queue was full")
+                            .tag("appender", async.getName())
+                            .tag("level", level.toString().toLowerCase())
+                            .register(registry);
+                }
+                Gauge.builder("alerts.logging.queued", async, DroppingAsyncAppender::getQueued)
+                        .description("Log events waiting for the async writer")
+                        .tag("appender", async.getName())
+                        .register(registry);
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                for (SamplingTurboFilter.Rule rule : sampling.getRules()) {
+                    FunctionCounter.builder("alerts.logging.sampled.out", rule, SamplingTurboFilter.Rule::getSampledOut)
+                            .description("Log events skipped by sampling")
+                            .tag("logger", rule.getPrefix())
+                            .register(registry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.weather_alert.logging;
+
+/**
+ * MDC keys set on the request and geotagging paths. The console pattern ignores them; the JSON
+ * output of the prod profile writes them under "mdc".
+ */
+public final class MdcKeys {
+
+    public static final String USER = "user";
+    public static final String USER_ID = "userId";
+    public static final String ALERT_ID = "alertId";
+
+    private MdcKeys() {
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.weather_alert.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps one in N events of high-volume loggers, before the event is even created. Each rule is
+ * {@code "<logger prefix> <max level> <N>"}, e.g. {@code "org.example.weather_alert.controllers INFO 20"};
+ * events above the rule's level (WARN, ERROR) are never sampled, nor is the {@link AuditLog}
+ * logger, whatever the rules say. The first matching rule wins.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public static final class Rule {
+
+        private final String prefix;
+        private final int maxLevel;
+        private final long oneIn;
+        private final AtomicLong seen = new AtomicLong();
+        private final LongAdder sampledOut = new LongAdder();
+
+        Rule(String prefix, Level maxLevel, long oneIn) {
+            this.prefix = prefix;
+            this.maxLevel = maxLevel.toInt();
+            this.oneIn = oneIn;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public long getSampledOut() {
+            return sampledOut.sum();
+        }
+    }
+
+    // Joran: one <rule> element per rule
+    public void addRule(String rule) {
+        String[] parts = rule.trim().split("\\s+");
+        if (parts.length != 3) {
+            addError("Expected '<logger> <level> <N>' but got '" + rule + "'");
+            return;
+        }
+        try {
+            long oneIn = Long.parseLong(parts[2]);
+            if (oneIn < 1) {
+                throw new NumberFormatException("must be at least 1");
+            }
+            rules.add(new Rule(parts[0], Level.toLevel(parts[1], Level.INFO), oneIn));
+        } catch (NumberFormatException e) {
+            addError("Invalid sampling rate in '" + rule + "': " + e.getMessage());
+        }
+    }
+
+    public List<Rule> getRules() {
+        return List.copyOf(rules);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks - only real statements use up the sample
+        if (!isStarted() || level == null || format == null || AuditLog.LOGGER_NAME.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        int levelInt = level.toInt();
+        for (Rule rule : rules) {
+            if (logger.getName().startsWith(rule.prefix)) {
+                // Disabled statements must not use up the sample either
+                if (levelInt > rule.maxLevel || levelInt < logger.getEffectiveLevel().toInt()) {
+                    return FilterReply.NEUTRAL;
+                }
+                if (rule.seen.getAndIncrement() % rule.oneIn == 0) {
+                    return FilterReply.NEUTRAL;
+                }
+                rule.sampledOut.increment();
+                return FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
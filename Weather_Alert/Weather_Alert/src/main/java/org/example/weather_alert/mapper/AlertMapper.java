@@ -16,6 +16,9 @@ public class AlertMapper {
                 .description(request.getDescription())
                 .locationName(request.getLocationName())
                 .severityLevel(request.getSeverityLevel())
+                .effectiveFrom(request.getEffectiveFrom())
+                .effectiveUntil(request.getEffectiveUntil())
+                .expiresAt(request.getExpiresAt())
                 .geoTaggingStatus(GeoTaggingStatus.PENDING)
                 .createdBy(createdBy)
                 .build();
@@ -35,6 +38,9 @@ public class AlertMapper {
                 .createdBy(alert.getCreatedBy() != null ? alert.getCreatedBy().getUsername() : null)
                 .createdAt(alert.getCreatedAt())
                 .updatedAt(alert.getUpdatedAt())
+                .effectiveFrom(alert.getEffectiveFrom())
+                .effectiveUntil(alert.getEffectiveUntil())
+                .expiresAt(alert.getExpiresAt())
                 .build();
     }
 
@@ -59,6 +65,18 @@ public class AlertMapper {
             alert.setSeverityLevel(request.getSeverityLevel());
         }
 
+        if (request.getEffectiveFrom() != null) {
+            alert.setEffectiveFrom(request.getEffectiveFrom());
+        }
+
+        if (request.getEffectiveUntil() != null) {
+            alert.setEffectiveUntil(request.getEffectiveUntil());
+        }
+
+        if (request.getExpiresAt() != null) {
+            alert.setExpiresAt(request.getExpiresAt());
+        }
+
         return locationChanged;
     }
 }
@@ -0,0 +1,53 @@
+package org.example.weather_alert.notifications;
+
+import lombok.Getter;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.NotificationChannel;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One alert to be delivered to one destination (webhook URL or e-mail address).
+ * Implements {@link Delayed} so failed deliveries can wait in a DelayQueue until their retry is due.
+ */
+@Getter
+public class Notification implements Delayed {
+
+    private final NotificationChannel channel;
+    private final String destination;
+    private final long subscriptionId;
+    private final AlertResponse alert;
+    private final LocalDateTime matchedAt;
+
+    private int attempts = 0;
+    private long dueAtNanos = 0;
+
+    public Notification(NotificationChannel channel, String destination, long subscriptionId, AlertResponse alert) {
+        this.channel = channel;
+        this.destination = destination;
+        this.subscriptionId = subscriptionId;
+        this.alert = alert;
+        this.matchedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one {@code delayMs} from now.
+     */
+    public int failed(long delayMs) {
+        attempts++;
+        dueAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        return attempts;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.weather_alert.notifications;
+
+/**
+ * Where a subscription's matches are delivered. Either field may be null.
+ */
+public record NotificationTarget(String webhookUrl, String email) {
+
+    public boolean isEmpty() {
+        return webhookUrl == null && email == null;
+    }
+}
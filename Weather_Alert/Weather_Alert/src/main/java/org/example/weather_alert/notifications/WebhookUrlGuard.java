@@ -0,0 +1,83 @@
+package org.example.weather_alert.notifications;
+
+import org.example.weather_alert.config.NotificationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.Locale;
+
+/**
+ * Keeps webhooks from reaching internal services. A webhook host must resolve only to public
+ * addresses - loopback, private, link-local (incl. cloud metadata), shared and multicast ranges
+ * are refused - unless it is listed in {@code alerts.notifications.trusted-webhook-hosts}.
+ *
+ * Checked when a subscription is created and again before every delivery, since DNS can change
+ * after the subscription was accepted.
+ */
+@Component
+@EnableConfigurationProperties(NotificationProperties.class)
+public class WebhookUrlGuard {
+
+    private final NotificationProperties properties;
+
+    public WebhookUrlGuard(NotificationProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the URL has no host, the host does not resolve, or
+     *                                  any of its addresses is not public
+     */
+    public void check(String url) {
+        String host;
+        try {
+            host = new URI(url).getHost();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Webhook URL is not a valid URI");
+        }
+        if (host == null) {
+            throw new IllegalArgumentException("Webhook URL has no host");
+        }
+        if (isTrusted(host)) {
+            return;
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Webhook host " + host + " does not resolve");
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IllegalArgumentException("Webhook host " + host + " resolves to a non-public address");
+            }
+        }
+    }
+
+    private boolean isTrusted(String host) {
+        String normalized = host.toLowerCase(Locale.ROOT);
+        return properties.getTrustedWebhookHosts().stream()
+                .anyMatch(trusted -> trusted.toLowerCase(Locale.ROOT).equals(normalized));
+    }
+
+    private static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // fc00::/7 unique local
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        // 0.0.0.0/8 "this network" and 100.64.0.0/10 carrier-grade NAT
+        return bytes[0] != 0 && !(bytes[0] == 100 && (bytes[1] & 0xc0) == 64);
+    }
+}
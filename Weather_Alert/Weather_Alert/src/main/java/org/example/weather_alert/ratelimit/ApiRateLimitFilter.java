@@ -0,0 +1,92 @@
+package org.example.weather_alert.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.ApiErrorResponse;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client limits for the API, in the security chain right after JwtAuthenticationFilter so
+ * requests are charged to the authenticated user (anonymous ones to their IP). Every limited
+ * response carries the RateLimit-* headers of the client's bucket; a refused one is a 429 with
+ * Retry-After, answered before any controller or database work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    private final ApiRateLimiter apiRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        ApiRateLimiter.Probe probe = apiRateLimiter.acquire(
+                request.getMethod(), request.getRequestURI(), currentUser(), request.getRemoteAddr());
+        if (probe == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader("RateLimit-Policy", probe.limit() + ";w=" + probe.windowSeconds());
+        response.setHeader("RateLimit-Limit", String.valueOf(probe.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(probe.resetNanos())));
+
+        if (probe.isAllowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = toSeconds(probe.retryAfterNanos());
+        log.debug("Rate limit {} refused {} {}, retry after {} s", probe.rule(), request.getMethod(),
+                request.getRequestURI(), retryAfter);
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry in " + retryAfter + " seconds",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Login and refresh have their own per-IP and per-username limits
+        return request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    private static AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user : null;
+    }
+
+    // Rounded up: a client that waits this long finds a permit
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
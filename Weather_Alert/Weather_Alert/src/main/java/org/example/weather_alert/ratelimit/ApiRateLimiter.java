@@ -0,0 +1,226 @@
+package org.example.weather_alert.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per rule, role and client: users by ID, anonymous requests by client IP. Each
+ * bucket is one CAS-updated long in a ConcurrentHashMap (no locks on the hit path, reads of
+ * existing buckets never block); buckets are created full on first use and dropped by
+ * {@link #evictIdle()} once they have been full for {@code alerts.rate-limit.idle-eviction-ms}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class ApiRateLimiter {
+
+    static final String ANONYMOUS = "ANONYMOUS";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<CompiledRule> rules;
+
+    /**
+     * Outcome of one request: the client's own bucket after the charge, and how long to wait
+     * when refused ({@code retryAfterNanos > 0}).
+     */
+    public record Probe(String rule, int limit, int remaining, long resetNanos, long retryAfterNanos, long windowSeconds) {
+
+        public boolean isAllowed() {
+            return retryAfterNanos == 0;
+        }
+    }
+
+    public ApiRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            List<RoleLimit> limits = new ArrayList<>();
+            for (Map.Entry<String, RateLimitProperties.Limit> entry : rule.getLimits().entrySet()) {
+                limits.add(new RoleLimit(rule.getName(), entry.getKey(), entry.getValue(), meterRegistry));
+            }
+            // A user with several roles gets the most generous of them
+            limits.sort(Comparator.comparingDouble((RoleLimit limit) -> limit.limit.getPermitsPerSecond())
+                    .thenComparingInt(limit -> limit.limit.getBurst())
+                    .reversed());
+            compiled.add(new CompiledRule(
+                    rule.getName(),
+                    StringUtils.hasText(rule.getMethod()) ? rule.getMethod().toUpperCase() : null,
+                    parser.parse(rule.getPath()),
+                    limits));
+        }
+        rules = List.copyOf(compiled);
+
+        Gauge.builder("alerts.ratelimit.buckets", this, ApiRateLimiter::bucketCount)
+                .description("Per-client rate-limit buckets in memory")
+                .register(meterRegistry);
+        log.info("API rate limiting {} with {} rules", properties.isEnabled() ? "enabled" : "disabled", rules.size());
+    }
+
+    /**
+     * Charges one request. Null when no rule has a limit for it.
+     *
+     * @param user     authenticated principal, or null
+     * @param clientIp used to key anonymous requests
+     */
+    public Probe acquire(String method, String path, AuthenticatedUser user, String clientIp) {
+        if (!properties.isEnabled() || rules.isEmpty()) {
+            return null;
+        }
+        RoleLimit roleLimit = match(method, path, user);
+        if (roleLimit == null) {
+            return null;
+        }
+
+        Object clientKey = user != null ? user.getId() : clientIp;
+        long now = System.nanoTime();
+        TokenBucket bucket = roleLimit.buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = roleLimit.buckets.computeIfAbsent(clientKey, key -> roleLimit.newBucket(now));
+        }
+
+        long wait = bucket.tryAcquire(now);
+        if (wait == 0 && roleLimit.shared != null) {
+            wait = roleLimit.shared.tryAcquire(now);
+            if (wait > 0) {
+                // The role as a whole is over its budget - this client's permit was not used
+                bucket.release();
+            }
+        }
+        if (wait > 0) {
+            roleLimit.rejected.increment();
+        }
+        return new Probe(roleLimit.rule, bucket.getBurst(), bucket.remaining(now), bucket.nanosUntilFull(now), wait,
+                roleLimit.windowSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${alerts.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictionMs());
+        int before = bucketCount();
+        for (CompiledRule rule : rules) {
+            for (RoleLimit limit : rule.limits) {
+                // A request racing the removal charges a bucket that is being dropped - it was
+                // full, so the client gets at most one extra permit
+                limit.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            }
+        }
+        int evicted = before - bucketCount();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+
+    int bucketCount() {
+        int count = 0;
+        for (CompiledRule rule : rules) {
+            for (RoleLimit limit : rule.limits) {
+                count += limit.buckets.size();
+            }
+        }
+        return count;
+    }
+
+    // First rule that matches the request and limits one of the caller's roles
+    private RoleLimit match(String method, String path, AuthenticatedUser user) {
+        PathContainer parsed = null;
+        for (CompiledRule rule : rules) {
+            if ((rule.method == null || rule.method.equals(method)) && path.startsWith(rule.prefix)) {
+                // Parsing allocates; paths outside every rule's literal prefix never pay for it
+                if (parsed == null) {
+                    parsed = PathContainer.parsePath(path);
+                }
+                if (rule.pattern.matches(parsed)) {
+                    RoleLimit limit = rule.limitFor(user);
+                    if (limit != null) {
+                        return limit;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private record CompiledRule(String name, String method, PathPattern pattern, String prefix, List<RoleLimit> limits) {
+
+        CompiledRule(String name, String method, PathPattern pattern, List<RoleLimit> limits) {
+            this(name, method, pattern, literalPrefix(pattern.getPatternString()), limits);
+        }
+
+        private static String literalPrefix(String pattern) {
+            int end = pattern.length();
+            for (char wildcard : new char[]{'*', '?', '{'}) {
+                int index = pattern.indexOf(wildcard);
+                if (index >= 0) {
+                    end = Math.min(end, index);
+                }
+            }
+            return pattern.substring(0, end);
+        }
+
+        RoleLimit limitFor(AuthenticatedUser user) {
+            for (RoleLimit limit : limits) {
+                if (user == null ? limit.authority == null
+                        : (limit.authority != null && user.getAuthorities().contains(limit.authority))) {
+                    return limit;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class RoleLimit {
+
+        final String rule;
+        // Null for ANONYMOUS
+        final SimpleGrantedAuthority authority;
+        final RateLimitProperties.Limit limit;
+        final long windowSeconds;
+        final TokenBucket shared;
+        final Counter rejected;
+        final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        RoleLimit(String rule, String role, RateLimitProperties.Limit limit, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.authority = ANONYMOUS.equalsIgnoreCase(role) ? null : new SimpleGrantedAuthority("ROLE_" + role.toUpperCase());
+            this.limit = limit;
+            // Time to refill a full burst - the "w" of RateLimit-Policy
+            this.windowSeconds = Math.max(1, Math.round(limit.getBurst() / limit.getPermitsPerSecond()));
+            this.shared = limit.getRolePermitsPerSecond() > 0
+                    ? new TokenBucket(limit.getRolePermitsPerSecond(), Math.max(1, limit.getRoleBurst()), System.nanoTime())
+                    : null;
+            this.rejected = Counter.builder("alerts.ratelimit.rejected")
+                    .description("Requests refused with 429 by the per-client rate limiter")
+                    .tag("rule", rule)
+                    .tag("role", role.toUpperCase())
+                    .register(meterRegistry);
+        }
+
+        TokenBucket newBucket(long now) {
+            return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), now);
+        }
+    }
+}
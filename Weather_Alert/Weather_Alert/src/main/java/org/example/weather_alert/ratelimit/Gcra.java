@@ -0,0 +1,43 @@
+package org.example.weather_alert.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GCRA arithmetic behind {@link TokenBucket} and {@link StripedRateLimiter}. A bucket is one
+ * long, the theoretical arrival time of the next permit; taking a permit pushes it one interval
+ * later, and is allowed while it stays within {@code burst} intervals of now. Callers own the
+ * long and advance it by CAS.
+ */
+final class Gcra {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int burst;
+
+    Gcra(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * burst;
+        this.burst = burst;
+    }
+
+    // The arrival time after taking a permit now
+    long next(long arrival, long nowNanos) {
+        return Math.max(arrival, nowNanos) + intervalNanos;
+    }
+
+    // How long the permit behind next must wait; zero or less means it can be taken now
+    long wait(long next, long nowNanos) {
+        return next - nowNanos - toleranceNanos;
+    }
+
+    long intervalNanos() {
+        return intervalNanos;
+    }
+
+    int burst() {
+        return burst;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.weather_alert.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-client API limits under {@code alerts.rate-limit.*}. A request is charged to the first rule
+ * whose method and path match and that has a limit for one of the caller's roles; requests no
+ * rule covers are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets that have been full this long are dropped
+    private long idleEvictionMs = 300_000;
+
+    private long evictionIntervalMs = 60_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        // Tag on metrics and the RateLimit-Policy header
+        private String name;
+
+        // Any method when blank
+        private String method;
+
+        // Spring PathPattern, e.g. /api/alerts/**
+        private String path;
+
+        // By role without the ROLE_ prefix; ANONYMOUS applies per client IP to unauthenticated requests
+        private Map<String, Limit> limits = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Limit {
+
+        // Per user
+        private double permitsPerSecond;
+
+        private int burst;
+
+        // Shared by every user with the role (0 = no shared bucket)
+        private double rolePermitsPerSecond;
+
+        private int roleBurst;
+    }
+}
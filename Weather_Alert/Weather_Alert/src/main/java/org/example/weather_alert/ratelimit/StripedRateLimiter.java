@@ -0,0 +1,73 @@
+package org.example.weather_alert.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A fixed number of token buckets ("stripes") picked by key hash. Memory stays the same however
+ * many distinct keys arrive - a credential-stuffing run with random usernames cannot grow it - and
+ * keys that land on the same stripe share its budget, so size it well above the active key count.
+ *
+ * Each stripe is one long, the theoretical arrival time of the next permit ({@link Gcra}), advanced
+ * by CAS: refill is implicit in the clock, and acquiring never blocks or allocates.
+ */
+public class StripedRateLimiter {
+
+    private final AtomicLongArray nextFree;
+    private final int mask;
+    private final Gcra gcra;
+    private final LongSupplier clock;
+
+    public StripedRateLimiter(int stripes, double permitsPerSecond, int burst) {
+        this(stripes, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    StripedRateLimiter(int stripes, double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.gcra = new Gcra(permitsPerSecond, burst);
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.nextFree = new AtomicLongArray(Math.max(size, 1));
+        this.mask = nextFree.length() - 1;
+
+        // Relative to construction so a fresh stripe (0) is always in the past
+        long origin = nanoClock.getAsLong();
+        this.clock = () -> nanoClock.getAsLong() - origin;
+    }
+
+    /**
+     * Takes a permit for the key if one is available.
+     *
+     * @return 0 when the permit was taken, otherwise the nanoseconds until one will be
+     */
+    public long tryAcquire(String key) {
+        int stripe = stripe(key);
+        long now = clock.getAsLong();
+        while (true) {
+            long current = nextFree.get(stripe);
+            long next = gcra.next(current, now);
+            long wait = gcra.wait(next, now);
+            if (wait > 0) {
+                return wait;
+            }
+            if (nextFree.compareAndSet(stripe, current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Like {@link #tryAcquire} but only reports, without taking the permit - for budgets that are
+     * charged after the fact (failed logins).
+     */
+    public long check(String key) {
+        long now = clock.getAsLong();
+        return Math.max(0, gcra.wait(gcra.next(nextFree.get(stripe(key)), now), now));
+    }
+
+    private int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
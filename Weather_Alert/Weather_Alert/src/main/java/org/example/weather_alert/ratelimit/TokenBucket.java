@@ -0,0 +1,61 @@
+package org.example.weather_alert.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One client's bucket: a single long holding the theoretical arrival time of the next permit
+ * ({@link Gcra}, as in {@link StripedRateLimiter}), advanced by CAS. Refill is implicit in the
+ * clock, so there is no timer and no lock; a bucket whose arrival time is in the past is full.
+ */
+public final class TokenBucket {
+
+    private final Gcra gcra;
+    private final AtomicLong nextFree;
+
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.gcra = new Gcra(permitsPerSecond, burst);
+        this.nextFree = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a permit was taken, otherwise the nanoseconds until one will be
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = nextFree.get();
+            long next = gcra.next(current, nowNanos);
+            long wait = gcra.wait(next, nowNanos);
+            if (wait > 0) {
+                return wait;
+            }
+            if (nextFree.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a permit taken by tryAcquire when a later check refused the request
+    public void release() {
+        nextFree.addAndGet(-gcra.intervalNanos());
+    }
+
+    public int getBurst() {
+        return gcra.burst();
+    }
+
+    public int remaining(long nowNanos) {
+        long used = Math.max(0, nextFree.get() - nowNanos);
+        long intervalNanos = gcra.intervalNanos();
+        return (int) Math.max(0, gcra.burst() - (used + intervalNanos - 1) / intervalNanos);
+    }
+
+    // Until the bucket is full again
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, nextFree.get() - nowNanos);
+    }
+
+    // Full and untouched for idleNanos: dropping it loses nothing, a new bucket starts full too
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nextFree.get() + idleNanos <= nowNanos;
+    }
+}
@@ -3,13 +3,17 @@ package org.example.weather_alert.repositories;
 import org.example.weather_alert.entities.Alert;
 import org.example.weather_alert.enums.GeoTaggingStatus;
 import org.example.weather_alert.enums.SeverityLevel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface AlertRepository extends JpaRepository<Alert, Long> {
+public interface AlertRepository extends JpaRepository<Alert, Long>, AlertRepositoryCustom {
 
     List<Alert> findBySeverityLevel(SeverityLevel severityLevel);
 
@@ -23,6 +27,85 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     @Query("SELECT a FROM Alert a WHERE a.latitude IS NOT NULL AND a.longitude IS NOT NULL")
     List<Alert> findGeoTaggedAlerts();
 
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.createdBy " +
+            "WHERE a.changeSeq > :since AND a.changeSeq <= :upTo ORDER BY a.changeSeq")
+    List<Alert> findChangesBetween(@Param("since") long since,
+                                   @Param("upTo") long upTo,
+                                   Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(a.changeSeq), 0) FROM Alert a")
+    long findMaxChangeSeq();
+
+    @Query("SELECT a.id FROM Alert a WHERE a.dedupKey = :dedupKey")
+    Optional<Long> findIdByDedupKey(@Param("dedupKey") String dedupKey);
+
+    // Rows inserted outside the application (data.sql, manual SQL) have no change sequence yet
+    @Query("SELECT a.id FROM Alert a WHERE a.changeSeq IS NULL ORDER BY a.id")
+    List<Long> findIdsWithoutChangeSeq();
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.changeSeq = :changeSeq WHERE a.id = :id")
+    int updateChangeSeq(@Param("id") Long id, @Param("changeSeq") long changeSeq);
+
+    // Creator and its (eager) roles in the same statement - otherwise one extra select per creator
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.createdBy c LEFT JOIN FETCH c.roles")
+    List<Alert> findAllWithCreator();
+
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.createdBy c LEFT JOIN FETCH c.roles " +
+            "WHERE a.expiresAt IS NULL OR a.expiresAt > :now")
+    List<Alert> findAllActive(@Param("now") LocalDateTime now);
+
+    // Oldest expired first; rows disappear after each sweep batch, so no cursor is needed
+    @Query("SELECT a.id FROM Alert a WHERE a.expiresAt <= :now ORDER BY a.expiresAt, a.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.createdBy WHERE a.changeSeq = :changeSeq")
+    List<Alert> findByChangeSeqWithCreator(@Param("changeSeq") long changeSeq);
+
+    @Query("SELECT a FROM Alert a WHERE a.createdAt >= :since ORDER BY a.createdAt ASC")
+    List<Alert> findCreatedSince(@Param("since") LocalDateTime since);
+
+    // Rows: id, effectiveFrom, effectiveUntil, expiresAt, createdAt - used to load the interval index
+    @Query("SELECT a.id, a.effectiveFrom, a.effectiveUntil, a.expiresAt, a.createdAt FROM Alert a")
+    List<Object[]> findAllValidityPeriods();
+
+    // Keyset page by ID - used to rebuild the search index without OFFSET scans
+    @Query("SELECT a FROM Alert a WHERE a.id > :afterId ORDER BY a.id ASC")
+    List<Alert> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.createdBy WHERE a.id IN :ids")
+    List<Alert> findAllWithCreatorByIdIn(@Param("ids") List<Long> ids);
+
+    long countByGeoTaggingStatus(GeoTaggingStatus status);
+
+    // A location edit puts an alert back to PENDING, so the wait starts at its last update
+    @Query("SELECT MIN(COALESCE(a.updatedAt, a.createdAt)) FROM Alert a WHERE a.geoTaggingStatus = :status")
+    LocalDateTime findOldestChangeByGeoTaggingStatus(@Param("status") GeoTaggingStatus status);
+
+    // Set-based bulk statements - bypass the persistence context, one round-trip per chunk
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Alert a SET " +
+            "a.severityLevel = COALESCE(:severityLevel, a.severityLevel), " +
+            "a.description = COALESCE(:description, a.description), " +
+            "a.expiresAt = COALESCE(:expiresAt, a.expiresAt), " +
+            "a.changeSeq = :changeSeq, a.updatedAt = :now " +
+            "WHERE a.id IN :ids")
+    int bulkUpdate(@Param("ids") List<Long> ids,
+                   @Param("severityLevel") SeverityLevel severityLevel,
+                   @Param("description") String description,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("changeSeq") long changeSeq,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Alert a WHERE a.id IN :ids")
+    int bulkDelete(@Param("ids") List<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Alert a WHERE a.id = :id")
+    int deleteAlertById(@Param("id") Long id);
+
     default List<Alert> findPendingGeoTagging() {
         return findByGeoTaggingStatus(GeoTaggingStatus.PENDING);
     }
@@ -0,0 +1,16 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.dto.BulkAlertFilter;
+
+import java.util.List;
+
+/**
+ * Dynamic queries that cannot be expressed as derived or @Query methods.
+ */
+public interface AlertRepositoryCustom {
+
+    /**
+     * Keyset page of alert IDs matching the filter: IDs greater than {@code afterId}, ascending.
+     */
+    List<Long> findIdsMatching(BulkAlertFilter filter, long afterId, int limit);
+}
@@ -0,0 +1,68 @@
+package org.example.weather_alert.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.weather_alert.dto.BulkAlertFilter;
+import org.example.weather_alert.entities.Alert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AlertRepositoryImpl implements AlertRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsMatching(BulkAlertFilter filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Alert> alert = query.from(Alert.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(alert.get("id"), afterId));
+
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(alert.get("id").in(filter.getIds()));
+        }
+        if (filter.getSeverityLevel() != null) {
+            predicates.add(cb.equal(alert.get("severityLevel"), filter.getSeverityLevel()));
+        }
+        if (filter.getGeoTaggingStatus() != null) {
+            predicates.add(cb.equal(alert.get("geoTaggingStatus"), filter.getGeoTaggingStatus()));
+        }
+        if (filter.getLocationName() != null) {
+            predicates.add(cb.equal(cb.lower(alert.get("locationName")), filter.getLocationName().toLowerCase()));
+        }
+        if (filter.getMinLat() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(alert.get("latitude"), filter.getMinLat()));
+        }
+        if (filter.getMaxLat() != null) {
+            predicates.add(cb.lessThanOrEqualTo(alert.get("latitude"), filter.getMaxLat()));
+        }
+        if (filter.getMinLon() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(alert.get("longitude"), filter.getMinLon()));
+        }
+        if (filter.getMaxLon() != null) {
+            predicates.add(cb.lessThanOrEqualTo(alert.get("longitude"), filter.getMaxLon()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(alert.get("createdAt"), filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(alert.get("createdAt"), filter.getCreatedTo()));
+        }
+
+        query.select(alert.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(alert.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
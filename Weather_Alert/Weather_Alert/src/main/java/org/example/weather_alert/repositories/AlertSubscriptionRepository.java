@@ -0,0 +1,23 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.entities.AlertSubscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlertSubscriptionRepository extends JpaRepository<AlertSubscription, Long> {
+
+    List<AlertSubscription> findByOwnerIdOrderByIdAsc(Long ownerId);
+
+    Optional<AlertSubscription> findByIdAndOwnerId(Long id, Long ownerId);
+
+    // Keyset page for loading the matching index at startup
+    @Query("SELECT s FROM AlertSubscription s WHERE s.id > :afterId ORDER BY s.id ASC")
+    List<AlertSubscription> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.entities.AlertTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertTombstoneRepository extends JpaRepository<AlertTombstone, Long> {
+
+    @Query("SELECT t FROM AlertTombstone t WHERE t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<AlertTombstone> findChangesBetween(@Param("since") long since,
+                                            @Param("upTo") long upTo,
+                                            Pageable pageable);
+
+    // Must run before the alerts themselves are deleted
+    @Modifying
+    @Query(value = "INSERT INTO alert_tombstones (alert_id, change_seq, deleted_at) " +
+            "SELECT id, :changeSeq, CURRENT_TIMESTAMP FROM alerts WHERE id IN (:ids)", nativeQuery = true)
+    int insertForAlerts(@Param("ids") List<Long> ids, @Param("changeSeq") long changeSeq);
+
+    @Query("SELECT t FROM AlertTombstone t WHERE t.changeSeq = :changeSeq")
+    List<AlertTombstone> findByChangeSeq(@Param("changeSeq") long changeSeq);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM AlertTombstone t")
+    long findMaxChangeSeq();
+}
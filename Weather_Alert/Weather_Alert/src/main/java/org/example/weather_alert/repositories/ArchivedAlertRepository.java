@@ -0,0 +1,25 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.entities.ArchivedAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedAlertRepository extends JpaRepository<ArchivedAlert, Long> {
+
+    // Copies rows server-side; must run before the alerts are deleted
+    @Modifying
+    @Query(value = "INSERT INTO alerts_archive (id, description, location_name, latitude, longitude, " +
+            "severity_level, geo_tagging_status, geo_tagging_error, created_by, created_at, updated_at, " +
+            "effective_from, effective_until, expires_at, archived_at) " +
+            "SELECT id, description, location_name, latitude, longitude, severity_level, geo_tagging_status, " +
+            "geo_tagging_error, created_by, created_at, updated_at, effective_from, effective_until, expires_at, " +
+            "CURRENT_TIMESTAMP " +
+            "FROM alerts WHERE id IN (:ids)", nativeQuery = true)
+    int archiveAlerts(@Param("ids") List<Long> ids);
+}
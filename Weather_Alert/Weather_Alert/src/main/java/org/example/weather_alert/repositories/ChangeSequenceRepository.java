@@ -0,0 +1,24 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.entities.ChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+
+    // Locks the row until the calling transaction completes
+    @Modifying
+    @Query("UPDATE ChangeSequence s SET s.value = s.value + :count WHERE s.name = :name")
+    int increment(@Param("name") String name, @Param("count") long count);
+
+    @Modifying
+    @Query("UPDATE ChangeSequence s SET s.value = :value WHERE s.name = :name AND s.value < :value")
+    int raiseTo(@Param("name") String name, @Param("value") long value);
+
+    @Query("SELECT s.value FROM ChangeSequence s WHERE s.name = :name")
+    Long findValue(@Param("name") String name);
+}
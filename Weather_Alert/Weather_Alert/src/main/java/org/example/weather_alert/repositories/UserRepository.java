@@ -1,6 +1,7 @@
 package org.example.weather_alert.repositories;
 
 import org.example.weather_alert.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,8 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Roles in the same statement: this runs on every authenticated request
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -0,0 +1,27 @@
+package org.example.weather_alert.repositories;
+
+import org.example.weather_alert.entities.UserTokenCutoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenCutoffRepository extends JpaRepository<UserTokenCutoff, Long> {
+
+    @Query("SELECT c FROM UserTokenCutoff c WHERE c.notBefore >= :since")
+    List<UserTokenCutoff> findSetSince(@Param("since") LocalDateTime since);
+
+    // Never moves a cut-off backwards
+    @Modifying
+    @Query("UPDATE UserTokenCutoff c SET c.notBefore = :notBefore WHERE c.userId = :userId AND c.notBefore < :notBefore")
+    int raise(@Param("userId") Long userId, @Param("notBefore") LocalDateTime notBefore);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenCutoff c WHERE c.notBefore < :before")
+    int deleteBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,36 @@
+package org.example.weather_alert.security;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Principal built from the claims of a verified access token, without loading the user.
+ * Roles are the ones granted at login; services that need the {@code User} entity load it
+ * (or take a JPA reference) by {@link #getId()}.
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+
+    Long id;
+
+    String username;
+
+    Set<GrantedAuthority> authorities;
+
+    // When the token was issued, checked against TokenRevocationList
+    Instant issuedAt;
+
+    // jti - lets a single token be revoked (logout)
+    String tokenId;
+
+    Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
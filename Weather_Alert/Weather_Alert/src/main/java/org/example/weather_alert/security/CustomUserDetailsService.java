@@ -1,43 +1,124 @@
 package org.example.weather_alert.security;
 
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.example.weather_alert.entities.User;
+import org.example.weather_alert.config.UserCacheProperties;
+import org.example.weather_alert.diagnostics.UserLookupEvent;
 import org.example.weather_alert.repositories.UserRepository;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+/**
+ * Loads users as immutable {@link UserSnapshot}s, cached by username and by ID for a short TTL.
+ * A miss is loaded once per key while concurrent callers for the same key wait for it, so a burst
+ * of logins for one user is a single query. Unknown usernames are not cached.
+ *
+ * Changes made through the API evict the user right away ({@link #evict(Long)}); changes made
+ * directly in the database show up after the TTL.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class CustomUserDetailsService implements UserDetailsService, MeterBinder {
 
     private final UserRepository userRepository;
 
+    private final LoadingCache<String, UserSnapshot> byUsername;
+    private final LoadingCache<Long, UserSnapshot> byId;
+
+    public CustomUserDetailsService(UserRepository userRepository, UserCacheProperties properties) {
+        this.userRepository = userRepository;
+        if (properties.getMaxSize() > 0) {
+            byUsername = newCache(properties).build(this::fetchByUsername);
+            byId = newCache(properties).build(this::fetchById);
+        } else {
+            byUsername = null;
+            byId = null;
+        }
+    }
+
+    private static Caffeine<Object, Object> newCache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMs()))
+                .recordStats();
+    }
+
+    // cache.gets{cache=users.by-username|users.by-id,result=hit|miss}, cache.size, cache.evictions
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (byUsername != null) {
+            CaffeineCacheMetrics.monitor(registry, byUsername, "users.by-username");
+            CaffeineCacheMetrics.monitor(registry, byId, "users.by-id");
+        }
+    }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    public UserSnapshot loadUserByUsername(String username) throws UsernameNotFoundException {
+        return byUsername != null ? byUsername.get(username) : fetchByUsername(username);
+    }
+
+    public UserSnapshot loadUserById(Long id) {
+        return byId != null ? byId.get(id) : fetchById(id);
+    }
+
+    // Call after disabling, locking or changing the roles of a user
+    public void evict(Long userId) {
+        if (byUsername == null) {
+            return;
+        }
+        byId.invalidate(userId);
+        byUsername.asMap().values().removeIf(user -> user.getId().equals(userId));
+        log.info("Evicted cached user details of user ID: {}", userId);
+    }
+
+    public void evictAll() {
+        if (byUsername != null) {
+            byUsername.invalidateAll();
+            byId.invalidateAll();
+        }
+    }
+
+    private UserSnapshot fetchByUsername(String username) {
         log.debug("Loading user by username: {}", username);
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    log.warn("User not found with username: {}", username);
-                    return new UsernameNotFoundException("User not found with username: " + username);
-                });
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        UserSnapshot user;
+        try {
+            user = userRepository.findByUsername(username)
+                    .map(UserSnapshot::of)
+                    .orElseThrow(() -> {
+                        log.warn("User not found with username: {}", username);
+                        return new UsernameNotFoundException("User not found with username: " + username);
+                    });
+            event.found = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.username = username;
+                event.commit();
+            }
+        }
 
-        log.debug("User found: {} with roles: {}", username, user.getRoles());
+        log.debug("User found: {} with roles: {}", username, user.getAuthorities());
 
         return user;
     }
 
-    @Transactional(readOnly = true)
-    public User loadUserById(Long id) {
+    private UserSnapshot fetchById(Long id) {
         return userRepository.findById(id)
+                .map(UserSnapshot::of)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
     }
 }
@@ -1,15 +1,18 @@
 package org.example.weather_alert.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.logging.MdcKeys;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,7 +26,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -36,41 +40,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             // Step 2 & 3: Validate token and authenticate
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                // Extract username from token
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-
-                log.debug("JWT validated for user: {}", username);
-
-                // Load user details from database
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,  // No credentials needed - token is already validated
-                                userDetails.getAuthorities()
-                        );
-
-                // Add request details to authentication
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                // Step 4: Set authentication in SecurityContext
-                // This makes the user available to @PreAuthorize and other security checks
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                log.debug("User {} authenticated with roles: {}",
-                        username, userDetails.getAuthorities());
+            // Identity and roles come from the verified claims - no user lookup per request
+            AuthenticatedUser user = StringUtils.hasText(jwt) ? verifyToken(jwt) : null;
+
+            if (user != null) {
+                if (tokenRevocationList.isRevoked(user)) {
+                    log.debug("JWT of user {} was revoked", user.getUsername());
+                } else {
+                    // Create authentication token
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    user,
+                                    null,  // No credentials needed - token is already validated
+                                    user.getAuthorities()
+                            );
+
+                    // Add request details to authentication
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+
+                    // Step 4: Set authentication in SecurityContext
+                    // This makes the user available to @PreAuthorize and other security checks
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    // Every later log line of the request carries the user
+                    MDC.put(MdcKeys.USER, user.getUsername());
+                    MDC.put(MdcKeys.USER_ID, String.valueOf(user.getId()));
+
+                    log.debug("User {} authenticated with roles: {}",
+                            user.getUsername(), user.getAuthorities());
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context: {}", ex.getMessage());
         }
 
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MdcKeys.USER);
+            MDC.remove(MdcKeys.USER_ID);
+        }
+    }
 
-        filterChain.doFilter(request, response);
+    // Invalid, expired and pre-claims tokens all come back as null
+    private AuthenticatedUser verifyToken(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AuthenticatedUser user = jwtTokenProvider.verify(jwt);
+        sample.stop(meterRegistry.timer("alerts.security.jwt.validation", "outcome", user != null ? "valid" : "invalid"));
+        return user;
     }
 
     private String extractJwtFromRequest(HttpServletRequest request) {
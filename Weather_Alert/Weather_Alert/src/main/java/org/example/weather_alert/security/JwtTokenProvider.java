@@ -1,80 +1,206 @@
 package org.example.weather_alert.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.diagnostics.JwtValidationEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-public class JwtTokenProvider {
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtTokenProvider implements MeterBinder {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Claims that let JwtAuthenticationFilter build the principal without a user lookup
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder()
-                .encodeToString(jwtSecret.getBytes()));
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Immutable and thread-safe, built once
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    public JwtTokenProvider(JwtProperties properties) {
+        jwtExpiration = properties.getExpiration();
+        signingKey = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+
+        long verifiedCacheMaxSize = properties.getVerifiedCache().getMaxSize();
+        if (verifiedCacheMaxSize <= 0) {
+            verifiedTokens = null;
+        } else {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(new Expiry<String, VerifiedToken>() {
+                        // An entry lives until its token expires, so expiry is never skipped
+                        @Override
+                        public long expireAfterCreate(@NonNull String key, @NonNull VerifiedToken value, long currentTime) {
+                            long remainingMs = value.expiresAtMillis() - System.currentTimeMillis();
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(@NonNull String key, @NonNull VerifiedToken value,
+                                                      long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+
+                        @Override
+                        public long expireAfterRead(@NonNull String key, @NonNull VerifiedToken value,
+                                                    long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+        }
+    }
+
+    // cache.gets{cache=jwt.verified,result=hit|miss}, cache.size, cache.evictions
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verified");
+        }
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+        UserSnapshot user = (UserSnapshot) authentication.getPrincipal();
+        return generateToken(user.getId(), user.getUsername(), user.getAuthorities());
     }
 
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username, Collection<? extends GrantedAuthority> authorities) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
                 .subject(username)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLES, authorities.stream().map(GrantedAuthority::getAuthority).sorted().toList())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies signature and expiry with a single parse and returns the principal, or null when the
+     * token is invalid or has no user ID (issued before the claims were added). A token verified
+     * before is answered from the digest cache until it expires, without parsing or HMAC.
+     */
+    public AuthenticatedUser verify(String token) {
+        if (verifiedTokens == null || token == null) {
+            return toPrincipal(parseClaims(token));
+        }
+
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.user();
+        }
 
-        return claims.getSubject();
+        Claims claims = parseClaims(token);
+        AuthenticatedUser user = toPrincipal(claims);
+        if (user != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(user, claims.getExpiration().getTime()));
+        }
+        return user;
     }
 
-    public boolean validateToken(String token) {
+    private Claims parseClaims(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        String outcome = "valid";
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (SignatureException ex) {
+            outcome = "invalid_signature";
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
+            outcome = "malformed";
             log.error("Invalid JWT token: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
+            outcome = "expired";
             log.error("Expired JWT token: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
+            outcome = "unsupported";
             log.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
+            outcome = "empty";
             log.error("JWT claims string is empty: {}", ex.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+        return null;
+    }
+
+    private static AuthenticatedUser toPrincipal(Claims claims) {
+        if (claims == null) {
+            return null;
+        }
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null) {
+            return null;
         }
-        return false;
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        Set<GrantedAuthority> authorities = roles == null ? Set.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new AuthenticatedUser(userId, claims.getSubject(), authorities,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getId(),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
     }
 
     public long getExpirationTime() {
@@ -0,0 +1,218 @@
+package org.example.weather_alert.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.entities.RevokedToken;
+import org.example.weather_alert.entities.UserTokenCutoff;
+import org.example.weather_alert.logging.AuditLog;
+import org.example.weather_alert.repositories.RevokedTokenRepository;
+import org.example.weather_alert.repositories.UserTokenCutoffRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checked on every request, after the token itself has been verified:
+ *
+ * - Per-user "tokens issued before" cut-offs, so an administrator can invalidate a user's
+ *   tokens (account disabled, roles changed) before they expire. Stored in user_token_cutoffs
+ *   and polled by every instance into a map - there is one entry per revoked user, not per token.
+ * - Revoked token IDs (jti, e.g. logout), stored in revoked_tokens and polled by every
+ *   instance into a Bloom filter. A token that is not in the filter - almost all of them - is
+ *   accepted without touching the database; only a "maybe" is confirmed with a query.
+ *
+ * Entries are dropped once every token they could reject has expired anyway.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JwtProperties.class)
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenCutoffRepository userTokenCutoffRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final JwtProperties properties;
+
+    // User ID -> tokens issued before this epoch millis are rejected
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+
+    // Replaced as a whole on purge; bits cannot be cleared
+    private volatile BloomFilter revokedIds;
+    private volatile LocalDateTime lastPoll;
+
+    private final Counter confirmedCounter;
+    private final Counter falsePositiveCounter;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               UserTokenCutoffRepository userTokenCutoffRepository,
+                               TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                               JwtProperties properties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenCutoffRepository = userTokenCutoffRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+
+        confirmedCounter = meterRegistry.counter("alerts.security.revocation.lookups", "result", "revoked");
+        falsePositiveCounter = meterRegistry.counter("alerts.security.revocation.lookups", "result", "false_positive");
+        Gauge.builder("alerts.security.revocation.bloom.entries", this, list -> list.revokedIds.insertions())
+                .description("Revoked token IDs in the Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the revoked token IDs and user cut-offs still in the tables.
+     */
+    @PostConstruct
+    public void load() {
+        rebuild();
+        // Older cut-offs can no longer match an unexpired token
+        userTokenCutoffRepository.findSetSince(LocalDateTime.now().minus(Duration.ofMillis(properties.getExpiration())))
+                .forEach(this::apply);
+    }
+
+    /**
+     * Rejects every token of the user issued so far, on every instance: stored for the other
+     * instances and applied to this one right away.
+     */
+    public void revokeAll(Long userId) {
+        // Rounded up to whole seconds like iat, so the stored value is exact in a TIMESTAMP
+        // column and every token issued up to and within this second is rejected
+        Instant now = Instant.now();
+        Instant cutoff = now.truncatedTo(ChronoUnit.SECONDS);
+        if (cutoff.isBefore(now)) {
+            cutoff = cutoff.plusSeconds(1);
+        }
+        LocalDateTime notBeforeTime = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> storeCutoff(userId, notBeforeTime));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted this user's row first - raise it instead
+            transactionTemplate.executeWithoutResult(status -> userTokenCutoffRepository.raise(userId, notBeforeTime));
+        }
+        notBefore.merge(userId, cutoff.toEpochMilli(), Math::max);
+        AuditLog.record("Revoked all tokens of user ID: {}", userId);
+    }
+
+    private void storeCutoff(Long userId, LocalDateTime notBeforeTime) {
+        if (userTokenCutoffRepository.raise(userId, notBeforeTime) == 0 && !userTokenCutoffRepository.existsById(userId)) {
+            userTokenCutoffRepository.saveAndFlush(UserTokenCutoff.builder()
+                    .userId(userId)
+                    .notBefore(notBeforeTime)
+                    .build());
+        }
+    }
+
+    private void apply(UserTokenCutoff cutoff) {
+        long millis = cutoff.getNotBefore().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        notBefore.merge(cutoff.getUserId(), millis, Math::max);
+    }
+
+    /**
+     * Rejects one access token everywhere: stored for the other instances and added to this
+     * instance's filter right away.
+     */
+    public void revoke(AuthenticatedUser user) {
+        if (user.getTokenId() == null || user.getExpiresAt() == null) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(user.getTokenId())
+                    .userId(user.getId())
+                    .expiresAt(LocalDateTime.ofInstant(user.getExpiresAt(), ZoneId.systemDefault()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was already revoked", user.getTokenId());
+        }
+        revokedIds.put(user.getTokenId());
+        AuditLog.record("Revoked token {} of user ID: {}", user.getTokenId(), user.getId());
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        if (!properties.getRevocation().isEnabled()) {
+            return false;
+        }
+        return isRevoked(user.getId(), user.getIssuedAt()) || isTokenRevoked(user.getTokenId());
+    }
+
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (!properties.getRevocation().isEnabled() || notBefore.isEmpty()) {
+            return false;
+        }
+        Long cutoff = notBefore.get(userId);
+        // iat has second precision: a token issued in the same second as the revocation is
+        // rejected too, which only costs that user one more login
+        return cutoff != null && (issuedAt == null || issuedAt.toEpochMilli() < cutoff);
+    }
+
+    private boolean isTokenRevoked(String tokenId) {
+        if (tokenId == null || !revokedIds.mightContain(tokenId)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsByJti(tokenId);
+        (revoked ? confirmedCounter : falsePositiveCounter).increment();
+        return revoked;
+    }
+
+    // Picks up revocations made on other instances
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:1000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastPoll.minus(Duration.ofMillis(properties.getRevocation().getPollOverlapMs()));
+        BloomFilter filter = revokedIds;
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(since, now);
+        jtis.forEach(filter::put);
+        // A cut-off is the time it was set (rounded up), so it doubles as the change marker
+        userTokenCutoffRepository.findSetSince(since).forEach(this::apply);
+        lastPoll = now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purge() {
+        long expiredBefore = System.currentTimeMillis() - properties.getExpiration();
+        notBefore.values().removeIf(cutoff -> cutoff < expiredBefore);
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(now));
+        if (deleted != null && deleted > 0) {
+            log.debug("Deleted {} expired revoked-token rows", deleted);
+        }
+        // Every token issued before these cut-offs has expired
+        Integer deletedCutoffs = transactionTemplate.execute(status -> userTokenCutoffRepository.deleteBefore(
+                now.minus(Duration.ofMillis(properties.getExpiration()))));
+        if (deletedCutoffs != null && deletedCutoffs > 0) {
+            log.debug("Deleted {} expired user token cut-offs", deletedCutoffs);
+        }
+        rebuild();
+    }
+
+    // Fresh filter from the table, sized for what is there now
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(LocalDateTime.of(1970, 1, 1, 0, 0), now);
+        JwtProperties.Bloom bloom = properties.getRevocation().getBloom();
+        BloomFilter filter = new BloomFilter(Math.max(bloom.getExpectedInsertions(), jtis.size() * 2),
+                bloom.getFalsePositiveRate());
+        jtis.forEach(filter::put);
+        revokedIds = filter;
+        lastPoll = now;
+    }
+}
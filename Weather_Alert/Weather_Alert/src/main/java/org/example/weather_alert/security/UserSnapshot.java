@@ -0,0 +1,48 @@
+package org.example.weather_alert.security;
+
+import lombok.ToString;
+import lombok.Value;
+import org.example.weather_alert.entities.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of a {@link User} and its roles, safe to share between threads from the
+ * user-details cache. Not a {@code CredentialsContainer}, so the password hash is never erased
+ * in place by the authentication manager.
+ */
+@Value
+public class UserSnapshot implements UserDetails {
+
+    Long id;
+
+    String username;
+
+    String email;
+
+    @ToString.Exclude
+    String password;
+
+    Set<GrantedAuthority> authorities;
+
+    boolean enabled;
+
+    boolean accountNonExpired;
+
+    boolean accountNonLocked;
+
+    boolean credentialsNonExpired;
+
+    public static UserSnapshot of(User user) {
+        Set<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), authorities,
+                user.isEnabled(), user.isAccountNonExpired(), user.isAccountNonLocked(), user.isCredentialsNonExpired());
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.weather_alert.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertBulkProperties;
+import org.example.weather_alert.dto.BulkAlertFilter;
+import org.example.weather_alert.dto.BulkOperationResponse;
+import org.example.weather_alert.dto.BulkUpdateAlertRequest;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bulk update / delete executed as set-based statements.
+ *
+ * Matching IDs are walked with keyset pagination and every chunk runs in its own short
+ * transaction (one UPDATE, or one tombstone INSERT...SELECT plus one DELETE), so locks are
+ * held for milliseconds even when thousands of alerts are affected. Each chunk shares one
+ * change sequence and publishes the same lifecycle events as single-alert operations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AlertBulkProperties.class)
+public class AlertBulkService {
+
+    private final AlertRepository alertRepository;
+    private final AlertTombstoneRepository alertTombstoneRepository;
+    private final AlertChangeSequencer changeSequencer;
+    private final AlertEventService alertEventService;
+    private final AlertMapper alertMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AlertBulkProperties properties;
+    private final Clock clock;
+
+    public BulkOperationResponse bulkUpdate(BulkUpdateAlertRequest request) {
+        BulkAlertFilter filter = requireFilter(request.getFilter());
+        if (request.getSeverityLevel() == null && request.getDescription() == null && request.getExpiresAt() == null) {
+            throw new IllegalArgumentException("Nothing to update: set severityLevel, description and/or expiresAt");
+        }
+
+        log.info("Bulk update of alerts matching {}", filter);
+
+        return runInChunks("UPDATE", filter, ids -> {
+            long changeSeq = changeSequencer.next();
+            int updated = alertRepository.bulkUpdate(ids,
+                    request.getSeverityLevel(),
+                    request.getDescription(),
+                    request.getExpiresAt(),
+                    changeSeq,
+                    LocalDateTime.now(clock));
+
+            // One extra read per chunk keeps subscribers and in-memory indexes in sync
+            for (Alert alert : alertRepository.findAllWithCreatorByIdIn(ids)) {
+                alertEventService.publish(AlertEventType.UPDATED, alertMapper.toResponse(alert));
+            }
+            return updated;
+        });
+    }
+
+    public BulkOperationResponse bulkDelete(BulkAlertFilter filter) {
+        requireFilter(filter);
+
+        log.info("Bulk delete of alerts matching {}", filter);
+
+        return runInChunks("DELETE", filter, this::deleteInTransaction);
+    }
+
+    /**
+     * Deletes the given alerts in the caller's transaction: tombstones under one change sequence,
+     * one DELETE and a DELETED event per alert that actually existed, once it commits.
+     * AlertExpirySweeper uses it after archiving the same rows in that transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteInTransaction(List<Long> ids) {
+        long changeSeq = changeSequencer.next();
+        int tombstoned = alertTombstoneRepository.insertForAlerts(ids, changeSeq);
+        int deleted = alertRepository.bulkDelete(ids);
+
+        // IDs already gone (deleted concurrently, or never there) got no tombstone - don't announce them
+        List<Long> deletedIds = tombstoned == ids.size() ? ids
+                : alertTombstoneRepository.findByChangeSeq(changeSeq).stream().map(AlertTombstone::getAlertId).toList();
+        deletedIds.forEach(alertEventService::publishDeleted);
+        return deleted;
+    }
+
+    private BulkOperationResponse runInChunks(String operation, BulkAlertFilter filter,
+                                              Function<List<Long>, Integer> chunkAction) {
+        int chunkSize = properties.getChunkSize();
+        long startedAt = System.currentTimeMillis();
+        long afterId = 0;
+        long affected = 0;
+        int chunks = 0;
+
+        while (true) {
+            List<Long> ids = alertRepository.findIdsMatching(filter, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Integer count = transactionTemplate.execute(status -> chunkAction.apply(ids));
+            affected += count != null ? count : 0;
+            chunks++;
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        log.info("Bulk {} affected {} alerts in {} chunks ({} ms)", operation, affected, chunks, duration);
+
+        return BulkOperationResponse.builder()
+                .operation(operation)
+                .affected(affected)
+                .chunks(chunks)
+                .durationMs(duration)
+                .build();
+    }
+
+    private BulkAlertFilter requireFilter(BulkAlertFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Bulk operations require at least one filter criterion");
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.weather_alert.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.entities.ChangeSequence;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.repositories.ChangeSequenceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Hands out the monotonic change sequence stored in {@code alerts.change_seq} and
+ * {@code alert_tombstones.change_seq}.
+ *
+ * The counter is a row in {@code change_sequence}, shared by every instance. A writer
+ * increments it inside its own transaction, so it holds the row lock until it commits or
+ * rolls back and the next writer, on any instance, waits for it. Changes therefore commit in
+ * sequence order, and the committed value of the row is a stable watermark: every sequence at
+ * or below it is committed or rolled back. Delta sync only reads up to that watermark, so a
+ * client never skips a change that commits late.
+ *
+ * The price is that writing transactions are serialised from their allocation to their
+ * commit, which is why callers allocate just before they write. Local commits advance the
+ * watermark immediately; other instances' commits are picked up by polling the row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertChangeSequencer {
+
+    private static final String SEQUENCE = "alerts";
+
+    private final AlertRepository alertRepository;
+    private final AlertTombstoneRepository alertTombstoneRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong watermark = new AtomicLong();
+    private final List<LongConsumer> commitListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void init() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long max = transactionTemplate.execute(status ->
+                Math.max(alertRepository.findMaxChangeSeq(), alertTombstoneRepository.findMaxChangeSeq()));
+
+        if (changeSequenceRepository.findValue(SEQUENCE) == null) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> changeSequenceRepository.saveAndFlush(
+                        ChangeSequence.builder().name(SEQUENCE).value(max).build()));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Change sequence row created by another instance");
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Rows written before the shared counter existed
+            changeSequenceRepository.raiseTo(SEQUENCE, max);
+
+            List<Long> unsequenced = alertRepository.findIdsWithoutChangeSeq();
+            if (!unsequenced.isEmpty()) {
+                long seq = allocate(unsequenced.size());
+                for (Long id : unsequenced) {
+                    alertRepository.updateChangeSeq(id, seq++);
+                }
+            }
+            log.info("Change sequence seeded ({} legacy alerts backfilled)", unsequenced.size());
+        });
+
+        poll();
+        log.info("Change sequence watermark at {}", watermark.get());
+    }
+
+    /**
+     * Allocates the next sequence for a change made in the current transaction.
+     */
+    public long next() {
+        return nextRange(1);
+    }
+
+    /**
+     * Allocates {@code count} consecutive sequences and returns the first one. Until the current
+     * transaction completes, no other writer can allocate.
+     */
+    public long nextRange(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.warn("Change sequence allocated outside a transaction");
+            long first = new TransactionTemplate(transactionManager).execute(status -> allocate(count));
+            advance(first + count - 1);
+            return first;
+        }
+
+        long first = allocate(count);
+        long last = first + count - 1;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    advance(last);
+                }
+            }
+        });
+        return first;
+    }
+
+    /**
+     * Highest sequence whose change (and every change before it) is committed or rolled back.
+     */
+    public long getStableWatermark() {
+        return watermark.get();
+    }
+
+    /**
+     * Registers a callback invoked with the new stable watermark whenever a change commits.
+     */
+    public void addCommitListener(LongConsumer listener) {
+        commitListeners.add(listener);
+    }
+
+    // Picks up changes committed on other instances
+    @Scheduled(fixedDelayString = "${alerts.sync.watermark-poll-ms:1000}")
+    public void poll() {
+        Long committed = changeSequenceRepository.findValue(SEQUENCE);
+        if (committed != null) {
+            advance(committed);
+        }
+    }
+
+    private long allocate(int count) {
+        if (changeSequenceRepository.increment(SEQUENCE, count) == 0) {
+            throw new IllegalStateException("Change sequence row '" + SEQUENCE + "' is missing");
+        }
+        return changeSequenceRepository.findValue(SEQUENCE) - count + 1;
+    }
+
+    private void advance(long committed) {
+        long previous = watermark.getAndAccumulate(committed, Math::max);
+        if (committed > previous) {
+            commitListeners.forEach(listener -> listener.accept(committed));
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package org.example.weather_alert.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertDedupProperties;
+import org.example.weather_alert.dto.CreateAlertRequest;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.enums.DuplicateAlertPolicy;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.index.MinHash;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Suppresses exact and near-duplicate alerts submitted within a sliding time window.
+ *
+ * Each new alert is normalized and reduced to a SHA-256 fingerprint (exact copies) and a
+ * MinHash signature over description shingles (near copies). Candidates are only compared
+ * with recent alerts for the same location and severity, so a check touches a handful of
+ * entries. Reservation is atomic per location, so concurrent copies cannot both pass; a
+ * unique dedup_key column (fingerprint + window bucket) backs this up across instances.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AlertDedupProperties.class)
+public class AlertDeduplicator {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final AlertRepository alertRepository;
+    private final MeterRegistry meterRegistry;
+    private final AlertDedupProperties properties;
+    private final Clock clock;
+
+    private final MinHash minHash;
+
+    // location|severity -> recent entries, oldest first; each deque is guarded by itself
+    private final Map<String, Deque<Entry>> byBlock = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byAlertId = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        final String blockKey;
+        final String fingerprint;
+        final String dedupKey;
+        final int[] signature;
+        final long createdAtMillis;
+        volatile Long alertId;
+
+        Entry(String blockKey, String fingerprint, String dedupKey, int[] signature, long createdAtMillis) {
+            this.blockKey = blockKey;
+            this.fingerprint = fingerprint;
+            this.dedupKey = dedupKey;
+            this.signature = signature;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+
+    /**
+     * Outcome of {@link #reserve}: either a duplicate of an existing alert, or a reservation
+     * for a new one (bound to its ID once inserted).
+     */
+    @Getter
+    public static final class Result {
+        private final boolean duplicate;
+        private final boolean exact;
+        private final Long existingAlertId;
+        private final double similarity;
+        @Getter(AccessLevel.NONE)
+        private final Entry reservation;
+
+        private Result(boolean duplicate, boolean exact, Long existingAlertId, double similarity, Entry reservation) {
+            this.duplicate = duplicate;
+            this.exact = exact;
+            this.existingAlertId = existingAlertId;
+            this.similarity = similarity;
+            this.reservation = reservation;
+        }
+
+        public static Result unique() {
+            return new Result(false, false, null, 0, null);
+        }
+
+        public static Result duplicateOf(Long existingAlertId, boolean exact, double similarity) {
+            return new Result(true, exact, existingAlertId, similarity, null);
+        }
+
+        private static Result reserved(Entry entry) {
+            return new Result(false, false, null, 0, entry);
+        }
+
+        // Value for Alert.dedupKey; null when deduplication is off
+        public String getDedupKey() {
+            return reservation != null ? reservation.dedupKey : null;
+        }
+    }
+
+    public AlertDeduplicator(AlertRepository alertRepository, AlertEventService alertEventService,
+                             MeterRegistry meterRegistry, AlertDedupProperties properties, Clock clock) {
+        this.alertRepository = alertRepository;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.clock = clock;
+        this.minHash = new MinHash(properties.getNumHashes(), properties.getShingleSize(), 0x5eedL);
+
+        // Deleted alerts must not absorb new submissions
+        alertEventService.addListener(event -> {
+            if (event.getType() == AlertEventType.DELETED) {
+                Entry entry = byAlertId.remove(event.getAlertId());
+                if (entry != null) {
+                    discard(entry);
+                }
+            }
+        });
+    }
+
+    public DuplicateAlertPolicy getPolicy() {
+        return properties.getPolicy();
+    }
+
+    /**
+     * Warms the window up with the stored alerts still inside it. Runs once at startup.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            log.info("Alert deduplication disabled");
+            return;
+        }
+
+        long windowMinutes = properties.getWindowMinutes();
+        LocalDateTime since = LocalDateTime.now(clock).minusMinutes(windowMinutes);
+        int loaded = 0;
+        for (Alert alert : alertRepository.findCreatedSince(since)) {
+            Entry entry = newEntry(alert.getLocationName(), alert.getSeverityLevel(), alert.getDescription(),
+                    toMillis(alert.getCreatedAt()));
+            entry.alertId = alert.getId();
+            byBlock.computeIfAbsent(entry.blockKey, key -> new ArrayDeque<>()).addLast(entry);
+            byAlertId.put(alert.getId(), entry);
+            loaded++;
+        }
+        log.info("Alert deduplication window ({} min, policy {}) warmed up with {} alerts",
+                windowMinutes, properties.getPolicy(), loaded);
+    }
+
+    /**
+     * Checks the request against the window and, if it is new, reserves its slot so that
+     * concurrent copies are caught. The reservation is dropped if the transaction rolls back.
+     */
+    public Result reserve(CreateAlertRequest request) {
+        if (!properties.isEnabled()) {
+            return Result.unique();
+        }
+
+        long now = clock.millis();
+        Entry candidate = newEntry(request.getLocationName(), request.getSeverityLevel(),
+                request.getDescription(), now);
+
+        while (true) {
+            Deque<Entry> deque = byBlock.computeIfAbsent(candidate.blockKey, key -> new ArrayDeque<>());
+            synchronized (deque) {
+                // The sweeper may have removed this deque while it was empty - retry with a fresh one
+                if (byBlock.get(candidate.blockKey) != deque) {
+                    continue;
+                }
+                evictExpired(deque, now);
+
+                Result duplicate = findDuplicate(deque, candidate);
+                if (duplicate != null) {
+                    meterRegistry.counter("alerts.dedup.suppressed",
+                            "match", duplicate.isExact() ? "exact" : "near").increment();
+                    log.info("Alert for {} is a {} duplicate of alert ID {} (similarity {})",
+                            request.getLocationName(), duplicate.isExact() ? "exact" : "near",
+                            duplicate.getExistingAlertId(), String.format(Locale.ROOT, "%.2f", duplicate.getSimilarity()));
+                    return duplicate;
+                }
+
+                deque.addLast(candidate);
+            }
+            releaseOnRollback(candidate);
+            return Result.reserved(candidate);
+        }
+    }
+
+    /**
+     * Associates a reservation with the inserted alert's ID.
+     */
+    public void bind(Result result, Long alertId) {
+        Entry entry = result.reservation;
+        if (entry != null && alertId != null) {
+            entry.alertId = alertId;
+            byAlertId.put(alertId, entry);
+        }
+    }
+
+    /**
+     * Gives up a reservation whose alert was not inserted. Needed where the reservation was
+     * made outside the inserting transaction, so it is not dropped on rollback.
+     */
+    public void release(Result result) {
+        if (result.reservation != null) {
+            discard(result.reservation);
+        }
+    }
+
+    private Result findDuplicate(Deque<Entry> deque, Entry candidate) {
+        Entry best = null;
+        double bestSimilarity = 0;
+
+        // Newest first: the most recent copy is the most useful one to point at
+        Iterator<Entry> iterator = deque.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.fingerprint.equals(candidate.fingerprint)) {
+                return Result.duplicateOf(entry.alertId, true, 1.0);
+            }
+            double similarity = MinHash.similarity(entry.signature, candidate.signature);
+            if (similarity >= properties.getSimilarityThreshold() && similarity > bestSimilarity) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+        return best != null ? Result.duplicateOf(best.alertId, false, bestSimilarity) : null;
+    }
+
+    private void releaseOnRollback(Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    discard(entry);
+                }
+            }
+        });
+    }
+
+    private void discard(Entry entry) {
+        Deque<Entry> deque = byBlock.get(entry.blockKey);
+        if (deque != null) {
+            synchronized (deque) {
+                deque.remove(entry);
+            }
+        }
+        if (entry.alertId != null) {
+            byAlertId.remove(entry.alertId, entry);
+        }
+    }
+
+    // ==========================================
+    // WINDOW MAINTENANCE
+    // ==========================================
+
+    @Scheduled(fixedDelayString = "${alerts.dedup.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = clock.millis();
+        byBlock.forEach((key, deque) -> {
+            synchronized (deque) {
+                evictExpired(deque, now);
+                if (deque.isEmpty()) {
+                    byBlock.remove(key, deque);
+                }
+            }
+        });
+    }
+
+    private void evictExpired(Deque<Entry> deque, long now) {
+        // An entry exactly one window old has fallen out of it
+        long cutoff = now - properties.getWindowMinutes() * 60_000;
+        while (!deque.isEmpty() && deque.peekFirst().createdAtMillis <= cutoff) {
+            Entry expired = deque.pollFirst();
+            if (expired.alertId != null) {
+                byAlertId.remove(expired.alertId, expired);
+            }
+        }
+    }
+
+    // ==========================================
+    // FINGERPRINTING
+    // ==========================================
+
+    private Entry newEntry(String locationName, SeverityLevel severity, String description, long createdAtMillis) {
+        String blockKey = normalize(locationName) + "|" + severity;
+        String text = normalize(description);
+        String fingerprint = sha256(blockKey + "|" + text);
+
+        long bucket = createdAtMillis / (properties.getWindowMinutes() * 60_000);
+        return new Entry(blockKey, fingerprint, fingerprint + ":" + bucket, minHash.signature(text), createdAtMillis);
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return NON_WORD.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(clock.getZone()).toInstant().toEpochMilli() : clock.millis();
+    }
+}
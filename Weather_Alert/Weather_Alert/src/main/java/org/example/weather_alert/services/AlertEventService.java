@@ -0,0 +1,337 @@
+package org.example.weather_alert.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertStreamProperties;
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.events.AlertEventFilter;
+import org.example.weather_alert.events.AlertEventRingBuffer;
+import org.example.weather_alert.events.AlertEventSink;
+import org.example.weather_alert.events.AlertEventSubscriber;
+import org.example.weather_alert.events.QueuedAlertEventSink;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Fans alert lifecycle events out to SSE and WebSocket subscribers.
+ *
+ * Producers (AlertService, GeocodingService) append to a ring buffer after their transaction
+ * commits. A single dispatcher thread walks every subscriber's cursor up to the buffer head,
+ * so a publish costs O(1) regardless of how many clients are connected. The dispatcher only
+ * queues events per subscriber; a small writer pool does the socket writes (QueuedAlertEventSink).
+ * Subscribers that fall a full buffer behind, fill their send queue or block a write for longer
+ * than the send time limit are dropped instead of slowing everybody else down.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AlertStreamProperties.class)
+public class AlertEventService {
+
+    private final AlertStreamProperties properties;
+
+    private AlertEventRingBuffer ringBuffer;
+    private ExecutorService writerPool;
+    private ExecutorService listenerExecutor;
+
+    private final Map<String, AlertEventSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    // In-process consumers (indexes, subscription matching) - called on the listener thread, in sequence order
+    private final List<Consumer<AlertEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition eventsAvailable = signalLock.newCondition();
+    private boolean dirty = false;
+
+    private volatile boolean running = false;
+    private Thread dispatcherThread;
+
+    public AlertEventService(AlertStreamProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        ringBuffer = new AlertEventRingBuffer(properties.getBufferSize());
+        running = true;
+
+        CustomizableThreadFactory writerThreadFactory = new CustomizableThreadFactory("AlertEvent-Writer-");
+        writerThreadFactory.setDaemon(true);
+        writerPool = Executors.newFixedThreadPool(properties.getWriterThreads(), writerThreadFactory);
+
+        // One thread, so listeners still see events in sequence order
+        CustomizableThreadFactory listenerThreadFactory = new CustomizableThreadFactory("AlertEvent-Listener-");
+        listenerThreadFactory.setDaemon(true);
+        listenerExecutor = Executors.newSingleThreadExecutor(listenerThreadFactory);
+
+        dispatcherThread = new Thread(this::dispatchLoop, "AlertEvent-Dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+
+        log.info("Alert event stream started with buffer capacity={}", ringBuffer.getCapacity());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        signal();
+        subscribers.values().forEach(subscriber -> drop(subscriber, "Server shutting down"));
+        writerPool.shutdown();
+        listenerExecutor.shutdown();
+    }
+
+    // ==========================================
+    // PRODUCER SIDE
+    // ==========================================
+
+    public void publish(AlertEventType type, AlertResponse alert) {
+        publishAfterCommit(type, alert.getId(), alert);
+    }
+
+    public void publishDeleted(Long alertId) {
+        publishAfterCommit(AlertEventType.DELETED, alertId, null);
+    }
+
+    private void publishAfterCommit(AlertEventType type, Long alertId, AlertResponse alert) {
+        // Never announce a change that may still be rolled back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(type, alertId, alert);
+                }
+            });
+        } else {
+            append(type, alertId, alert);
+        }
+    }
+
+    /**
+     * Registers an in-process listener. Listeners run on a single listener thread, in sequence
+     * order, after the publish lock is released; a slow listener delays the ones after it but
+     * never the committing thread.
+     */
+    public void addListener(Consumer<AlertEvent> listener) {
+        listeners.add(listener);
+    }
+
+    // Synchronized so events reach the listener thread in the same order as their sequence numbers
+    private synchronized void append(AlertEventType type, Long alertId, AlertResponse alert) {
+        AlertEvent event = ringBuffer.publish(sequence -> AlertEvent.builder()
+                .sequence(sequence)
+                .type(type)
+                .alertId(alertId)
+                .alert(alert)
+                .timestamp(LocalDateTime.now())
+                .build());
+
+        log.debug("Published {} event #{} for alert ID: {}", type, event.getSequence(), alertId);
+
+        if (!listeners.isEmpty()) {
+            try {
+                listenerExecutor.execute(() -> notifyListeners(event));
+            } catch (RejectedExecutionException e) {
+                log.debug("Listener thread stopped, event #{} not passed on", event.getSequence());
+            }
+        }
+        signal();
+    }
+
+    private void notifyListeners(AlertEvent event) {
+        for (Consumer<AlertEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Alert event listener failed on event #{}: {}", event.getSequence(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // ==========================================
+    // CONSUMER SIDE
+    // ==========================================
+
+    /**
+     * Registers a subscriber. When {@code lastEventId} is given and still buffered, delivery
+     * resumes right after it; otherwise a RESYNC event tells the client to reload the full list.
+     */
+    public AlertEventSubscriber subscribe(AlertEventFilter filter, Long lastEventId, AlertEventSink transport)
+            throws IOException {
+
+        AlertEventSink sink = new QueuedAlertEventSink(transport, writerPool,
+                properties.getSendQueueSize(), properties.getSendTimeLimitMs());
+
+        long head = ringBuffer.getCursor();
+        long start = head;
+
+        if (lastEventId != null) {
+            boolean resumable = lastEventId >= ringBuffer.getOldestSequence() - 1 && lastEventId <= head;
+            if (resumable) {
+                start = lastEventId;
+            } else {
+                log.debug("Last-Event-ID {} is outside buffered range, requesting resync", lastEventId);
+                sink.send(AlertEvent.builder()
+                        .sequence(head)
+                        .type(AlertEventType.RESYNC)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+
+        AlertEventSubscriber subscriber = new AlertEventSubscriber(
+                UUID.randomUUID().toString(), filter, sink, start);
+        subscribers.put(subscriber.getId(), subscriber);
+
+        log.info("Alert stream subscriber {} registered from sequence {} ({} active)",
+                subscriber.getId(), start, subscribers.size());
+
+        // Replay anything between Last-Event-ID and the head
+        if (start < head) {
+            signal();
+        }
+        return subscriber;
+    }
+
+    public void unsubscribe(String subscriberId) {
+        AlertEventSubscriber removed = subscribers.remove(subscriberId);
+        if (removed != null) {
+            removed.markClosed();
+            log.info("Alert stream subscriber {} removed ({} active)", subscriberId, subscribers.size());
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getCurrentSequence() {
+        return ringBuffer.getCursor();
+    }
+
+    // ==========================================
+    // DISPATCHER
+    // ==========================================
+
+    private void signal() {
+        signalLock.lock();
+        try {
+            dirty = true;
+            eventsAvailable.signal();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        long lastHeartbeat = System.currentTimeMillis();
+
+        while (running) {
+            try {
+                awaitEvents();
+
+                long head = ringBuffer.getCursor();
+                long now = System.currentTimeMillis();
+                boolean heartbeatDue = now - lastHeartbeat >= properties.getHeartbeatMs();
+
+                for (AlertEventSubscriber subscriber : subscribers.values()) {
+                    drain(subscriber, head);
+                    if (heartbeatDue && !subscriber.isClosed()) {
+                        heartbeat(subscriber);
+                    }
+                }
+
+                if (heartbeatDue) {
+                    lastHeartbeat = now;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Alert event dispatcher error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void awaitEvents() throws InterruptedException {
+        signalLock.lock();
+        try {
+            if (!dirty) {
+                eventsAvailable.await(properties.getHeartbeatMs(), TimeUnit.MILLISECONDS);
+            }
+            dirty = false;
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void drain(AlertEventSubscriber subscriber, long head) {
+        long sequence = subscriber.getCursor();
+        int sent = 0;
+
+        while (sequence < head && sent < properties.getMaxBatchPerSubscriber()) {
+            AlertEvent event = ringBuffer.get(sequence + 1);
+            if (event == null) {
+                // Producer lapped this subscriber - its missed events are gone
+                drop(subscriber, "Slow consumer: fell more than " + ringBuffer.getCapacity() + " events behind");
+                return;
+            }
+
+            sequence++;
+            if (subscriber.getFilter().matches(event)) {
+                try {
+                    subscriber.getSink().send(event);
+                    sent++;
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Delivery to subscriber {} failed: {}", subscriber.getId(), e.getMessage());
+                    drop(subscriber, "Delivery failed");
+                    return;
+                }
+            }
+        }
+
+        subscriber.advanceTo(sequence);
+
+        // Batch limit reached - come back after the other subscribers had their turn
+        if (sequence < head) {
+            signal();
+        }
+    }
+
+    private void heartbeat(AlertEventSubscriber subscriber) {
+        try {
+            subscriber.getSink().heartbeat();
+        } catch (IOException | RuntimeException e) {
+            drop(subscriber, "Heartbeat failed");
+        }
+    }
+
+    private void drop(AlertEventSubscriber subscriber, String reason) {
+        unsubscribe(subscriber.getId());
+        log.warn("Dropping alert stream subscriber {}: {}", subscriber.getId(), reason);
+        try {
+            subscriber.getSink().close(reason);
+        } catch (RuntimeException e) {
+            log.debug("Error closing subscriber {}: {}", subscriber.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.weather_alert.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertExpiryProperties;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.ArchivedAlertRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves expired alerts from {@code alerts} to {@code alerts_archive}.
+ *
+ * Each batch is a short transaction of three set-based statements (archive copy, tombstones,
+ * delete) driven by the expires_at index. The sweeper pauses between batches and stops after
+ * a bounded number of batches per run, so it never holds locks for long or starves the
+ * request path; a large backlog simply drains over several runs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AlertExpiryProperties.class)
+public class AlertExpirySweeper {
+
+    private final AlertRepository alertRepository;
+    private final ArchivedAlertRepository archivedAlertRepository;
+    private final AlertBulkService alertBulkService;
+    private final TransactionTemplate transactionTemplate;
+    private final AlertExpiryProperties properties;
+    private final Clock clock;
+
+    @Scheduled(fixedDelayString = "${alerts.expiry.sweep-interval-ms:60000}",
+            initialDelayString = "${alerts.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!properties.isSweepEnabled()) {
+            return;
+        }
+
+        int batchSize = properties.getBatchSize();
+        int maxBatchesPerRun = properties.getMaxBatchesPerRun();
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        int archived = 0;
+        int batches = 0;
+
+        while (batches < maxBatchesPerRun) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(now, batchSize));
+            if (moved == null || moved == 0) {
+                break;
+            }
+
+            archived += moved;
+            batches++;
+
+            if (moved < batchSize) {
+                break;
+            }
+
+            // Throttle: give other transactions a chance at the rows and index pages we just touched
+            try {
+                Thread.sleep(properties.getPauseBetweenBatchesMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Expiry sweep archived {} alerts in {} batches", archived, batches);
+        }
+        if (batches == maxBatchesPerRun) {
+            log.warn("Expiry sweep stopped after {} batches; remaining expired alerts follow in the next run",
+                    maxBatchesPerRun);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime now, int batchSize) {
+        List<Long> ids = alertRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedAlertRepository.archiveAlerts(ids);
+        // Tombstones + delete + DELETED events, exactly like a bulk delete
+        return alertBulkService.deleteInTransaction(ids);
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.weather_alert.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertIntervalIndexProperties;
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.index.AlertInterval;
+import org.example.weather_alert.index.CenteredIntervalTree;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of alert validity periods answering "which alerts are in effect at T /
+ * during [from, to)" in O(log n + k).
+ *
+ * Readers use an immutable snapshot: a centered interval tree plus a small overlay of alerts
+ * changed since the tree was built (overlay entries shadow the tree). Lifecycle events feed
+ * the overlay; once it reaches the rebuild threshold the tree is rebuilt in the background,
+ * so writes never pay for a full rebuild and the overlay scan stays bounded.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AlertIntervalIndexProperties.class)
+public class AlertIntervalIndex {
+
+    private final AlertRepository alertRepository;
+    private final AlertIntervalIndexProperties properties;
+
+    // Source of truth for rebuilds; guarded by 'this'
+    private final Map<Long, AlertInterval> intervals = new HashMap<>();
+    private long version = 0;
+
+    private volatile Snapshot snapshot = new Snapshot(new CenteredIntervalTree(List.of()), Map.of());
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor;
+
+    // interval == null marks a removed alert
+    private record Change(AlertInterval interval, long version) {}
+
+    private record Snapshot(CenteredIntervalTree tree, Map<Long, Change> overlay) {}
+
+    public AlertIntervalIndex(AlertRepository alertRepository, AlertEventService alertEventService,
+                              AlertIntervalIndexProperties properties) {
+        this.alertRepository = alertRepository;
+        this.properties = properties;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AlertIntervalIndex-Rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Listen before the initial load so nothing committed during it is missed
+        alertEventService.addListener(this::onEvent);
+    }
+
+    /**
+     * Loads the validity period of every stored alert. Runs once at startup; changes published
+     * before or during the load win over the rows it reads.
+     */
+    @PostConstruct
+    public void load() {
+        List<Object[]> rows = alertRepository.findAllValidityPeriods();
+        synchronized (this) {
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                // Events seen during the load are newer than the row we just read
+                if (!snapshot.overlay().containsKey(id)) {
+                    intervals.put(id, toInterval(id, (LocalDateTime) row[1], (LocalDateTime) row[2],
+                            (LocalDateTime) row[3], (LocalDateTime) row[4]));
+                }
+            }
+        }
+        rebuild();
+
+        log.info("Alert interval index loaded with {} alerts", snapshot.tree().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * IDs of alerts whose validity period overlaps {@code [from, to)}.
+     */
+    public List<Long> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return findOverlapping(toMillis(from), toMillis(to));
+    }
+
+    /**
+     * IDs of alerts in effect at the given instant.
+     */
+    public List<Long> findInEffectAt(LocalDateTime at) {
+        long millis = toMillis(at);
+        return findOverlapping(millis, millis + 1);
+    }
+
+    public synchronized int size() {
+        return intervals.size();
+    }
+
+    /**
+     * Changes not yet folded into the tree. Stays below the rebuild threshold except while a
+     * background rebuild is running.
+     */
+    public int pendingChanges() {
+        return snapshot.overlay().size();
+    }
+
+    private List<Long> findOverlapping(long from, long to) {
+        Snapshot current = snapshot;
+        Map<Long, Change> overlay = current.overlay();
+        List<Long> ids = new ArrayList<>();
+
+        current.tree().forEachOverlapping(from, to, id -> {
+            if (!overlay.containsKey(id)) {
+                ids.add(id);
+            }
+        });
+
+        for (Change change : overlay.values()) {
+            if (change.interval() != null && change.interval().overlaps(from, to)) {
+                ids.add(change.interval().alertId());
+            }
+        }
+        return ids;
+    }
+
+    // ==========================================
+    // UPDATES
+    // ==========================================
+
+    private void onEvent(AlertEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED, GEOTAGGED, GEOTAG_FAILED -> {
+                if (event.getAlert() != null) {
+                    put(toInterval(event.getAlert()));
+                }
+            }
+            case DELETED -> remove(event.getAlertId());
+            default -> {
+                // RESYNC is only meaningful for remote subscribers
+            }
+        }
+    }
+
+    private synchronized void put(AlertInterval interval) {
+        // Geo-tagging events re-send unchanged periods - skip them
+        if (Objects.equals(intervals.put(interval.alertId(), interval), interval)) {
+            return;
+        }
+        record(interval.alertId(), interval);
+    }
+
+    private synchronized void remove(Long alertId) {
+        // Recorded even if unknown, so a delete seen during the initial load is not re-added
+        intervals.remove(alertId);
+        record(alertId, null);
+    }
+
+    // Caller holds the monitor
+    private void record(Long alertId, AlertInterval interval) {
+        Map<Long, Change> overlay = new HashMap<>(snapshot.overlay());
+        overlay.put(alertId, new Change(interval, ++version));
+        snapshot = new Snapshot(snapshot.tree(), overlay);
+
+        if (overlay.size() >= properties.getRebuildThreshold() && rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+
+        List<AlertInterval> copy;
+        long builtVersion;
+        synchronized (this) {
+            copy = new ArrayList<>(intervals.values());
+            builtVersion = version;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        CenteredIntervalTree tree = new CenteredIntervalTree(copy);
+
+        synchronized (this) {
+            // Keep only the changes that arrived while the tree was being built
+            Map<Long, Change> remaining = new HashMap<>();
+            snapshot.overlay().forEach((id, change) -> {
+                if (change.version() > builtVersion) {
+                    remaining.put(id, change);
+                }
+            });
+            snapshot = new Snapshot(tree, remaining);
+        }
+
+        log.debug("Alert interval tree rebuilt with {} intervals in {} ms",
+                tree.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    // ==========================================
+    // CONVERSION
+    // ==========================================
+
+    private static AlertInterval toInterval(AlertResponse alert) {
+        return toInterval(alert.getId(), alert.getEffectiveFrom(), alert.getEffectiveUntil(),
+                alert.getExpiresAt(), alert.getCreatedAt());
+    }
+
+    // An alert stops being in effect at effectiveUntil or expiresAt, whichever comes first
+    private static AlertInterval toInterval(Long id, LocalDateTime effectiveFrom, LocalDateTime effectiveUntil,
+                                            LocalDateTime expiresAt, LocalDateTime createdAt) {
+        LocalDateTime from = effectiveFrom != null ? effectiveFrom : createdAt;
+        long start = from != null ? toMillis(from) : Long.MIN_VALUE;
+
+        long end = Long.MAX_VALUE;
+        if (effectiveUntil != null) {
+            end = toMillis(effectiveUntil);
+        }
+        if (expiresAt != null) {
+            end = Math.min(end, toMillis(expiresAt));
+        }
+
+        // Clamp degenerate periods (e.g. expiring before they start) to 1 ms
+        return new AlertInterval(id, start, Math.max(end, start + 1));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,487 @@
+package org.example.weather_alert.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.bg.BulgarianAnalyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.example.weather_alert.config.AlertSearchProperties;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Embedded Lucene index over alert descriptions and locations, ranked with BM25.
+ *
+ * Descriptions are indexed twice - with the Bulgarian and the English analyzer - and a query
+ * matches either, so stemming works for both languages without detecting the language.
+ *
+ * The index follows the database through the change sequence, not through in-process events,
+ * so writes made by every instance reach it: whenever the stable watermark advances (a local
+ * commit, or another instance's commit picked up by the sequencer's poll) the changed alerts
+ * and tombstones since the last applied sequence are read with the delta sync queries and
+ * applied on a single indexer thread. Readers see them after the next near-real-time refresh.
+ *
+ * The index lives on local disk, one per instance (Lucene's write lock refuses a second writer
+ * on the same directory), and can be rebuilt from the database at any time (on startup by
+ * default). The applied sequence is stored with every Lucene commit, so a reopened index only
+ * catches up on what changed while it was closed. Without a configured index-dir each instance
+ * uses its own temporary directory, removed on shutdown.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AlertSearchProperties.class)
+public class AlertSearchIndex {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_DESCRIPTION_BG = "description_bg";
+    static final String FIELD_DESCRIPTION_EN = "description_en";
+    static final String FIELD_LOCATION = "location";
+    static final String FIELD_SEVERITY = "severity";
+    static final String FIELD_STATUS = "status";
+    static final String FIELD_EXPIRES_AT = "expires_at";
+    static final String FIELD_GENERATION = "generation";
+
+    // Lucene commit user data: the change sequence the committed index reflects
+    static final String COMMIT_CHANGE_SEQ = "change_seq";
+
+    private final AlertRepository alertRepository;
+    private final AlertTombstoneRepository alertTombstoneRepository;
+    private final AlertChangeSequencer changeSequencer;
+    private final MeterRegistry meterRegistry;
+    private final AlertSearchProperties properties;
+    private final Clock clock;
+
+    // Set when the index lives in a temporary directory this instance created
+    private Path temporaryDir;
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private Analyzer analyzer;
+    private ExecutorService indexExecutor;
+    private Timer queryTimer;
+
+    // Stamped on every document; a rebuild deletes whatever it did not rewrite. Indexer thread only
+    private long generation = System.currentTimeMillis();
+
+    // Every change up to this sequence is in the index. Written by the indexer thread only
+    private volatile long indexedUpTo;
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean(false);
+
+    public record Hit(long alertId, float score) {}
+
+    public record Result(long totalHits, List<Hit> hits) {}
+
+    public AlertSearchIndex(AlertRepository alertRepository, AlertTombstoneRepository alertTombstoneRepository,
+                            AlertChangeSequencer changeSequencer, MeterRegistry meterRegistry,
+                            AlertSearchProperties properties, Clock clock) {
+        this.alertRepository = alertRepository;
+        this.alertTombstoneRepository = alertTombstoneRepository;
+        this.changeSequencer = changeSequencer;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens (or creates) the index and schedules the startup rebuild.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(
+                FIELD_DESCRIPTION_BG, new BulgarianAnalyzer(),
+                FIELD_DESCRIPTION_EN, new EnglishAnalyzer()));
+
+        Path path;
+        if (properties.getIndexDir() == null || properties.getIndexDir().isBlank()) {
+            // Nothing to lock against: tests and extra instances on one host each get their own
+            temporaryDir = Files.createTempDirectory("alert-search-index-");
+            path = temporaryDir;
+        } else {
+            path = Path.of(properties.getIndexDir());
+            Files.createDirectories(path);
+        }
+        directory = FSDirectory.open(path);
+        // BM25 is the default similarity for both writer and searcher
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        indexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AlertSearchIndex-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        queryTimer = Timer.builder("alerts.search.query")
+                .description("Full-text alert search latency")
+                .register(meterRegistry);
+        meterRegistry.gauge("alerts.search.documents", this, AlertSearchIndex::size);
+
+        Long committedUpTo = committedChangeSeq();
+        changeSequencer.addCommitListener(watermark -> scheduleCatchUp());
+
+        if (properties.isRebuildOnStartup() || writer.getDocStats().numDocs == 0 || committedUpTo == null) {
+            rebuildAsync();
+        } else {
+            // Only what changed while this index was closed
+            indexedUpTo = committedUpTo;
+            scheduleCatchUp();
+        }
+        log.info("Alert search index opened at {} with {} documents", path.toAbsolutePath(), size());
+    }
+
+    @PreDestroy
+    public void close() {
+        indexExecutor.shutdownNow();
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+            if (temporaryDir != null) {
+                FileSystemUtils.deleteRecursively(temporaryDir);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close alert search index: {}", e.getMessage());
+        }
+    }
+
+    // ==========================================
+    // QUERIES
+    // ==========================================
+
+    /**
+     * Runs a BM25-ranked query over description and location. Supports the simple query
+     * syntax: "phrases", +required, -excluded, prefix*, and | for OR (terms are ANDed by default).
+     */
+    public Result search(String queryText, SeverityLevel severity, GeoTaggingStatus status,
+                         boolean includeExpired, int limit) {
+        Query query = buildQuery(queryText, severity, status, includeExpired);
+        int size = Math.max(1, Math.min(limit, properties.getMaxResults()));
+
+        return queryTimer.record(() -> {
+            IndexSearcher searcher = null;
+            try {
+                searcher = searcherManager.acquire();
+                TopDocs topDocs = searcher.search(query, size);
+                StoredFields storedFields = searcher.storedFields();
+
+                List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    long alertId = storedFields.document(scoreDoc.doc).getField(FIELD_ID).numericValue().longValue();
+                    hits.add(new Hit(alertId, scoreDoc.score));
+                }
+                return new Result(topDocs.totalHits.value, hits);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Alert search failed", e);
+            } finally {
+                release(searcher);
+            }
+        });
+    }
+
+    private Query buildQuery(String queryText, SeverityLevel severity, GeoTaggingStatus status, boolean includeExpired) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(
+                FIELD_DESCRIPTION_BG, 1.0f,
+                FIELD_DESCRIPTION_EN, 1.0f,
+                FIELD_LOCATION, 2.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        // Text without searchable terms parses to a match-nothing query
+        Query textQuery = parser.parse(queryText);
+
+        // Filters do not take part in scoring
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (severity != null) {
+            builder.add(new TermQuery(new Term(FIELD_SEVERITY, severity.name())), BooleanClause.Occur.FILTER);
+        }
+        if (status != null) {
+            builder.add(new TermQuery(new Term(FIELD_STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        if (!includeExpired) {
+            builder.add(LongPoint.newRangeQuery(FIELD_EXPIRES_AT, clock.millis(), Long.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            return searcher.getIndexReader().numDocs();
+        } catch (IOException e) {
+            return -1;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release index searcher: {}", e.getMessage());
+        }
+    }
+
+    // ==========================================
+    // UPDATES
+    // ==========================================
+
+    // Called from commit listeners and the refresh schedule; at most one catch-up is queued
+    private void scheduleCatchUp() {
+        if (changeSequencer.getStableWatermark() <= indexedUpTo || !catchUpScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            indexExecutor.execute(this::catchUp);
+        } catch (RejectedExecutionException e) {
+            catchUpScheduled.set(false);
+        }
+    }
+
+    /**
+     * Applies the changes committed since {@code indexedUpTo}, up to the stable watermark.
+     * Indexer thread only. On failure nothing is marked applied and the next refresh retries.
+     */
+    private void catchUp() {
+        catchUpScheduled.set(false);
+        long since = indexedUpTo;
+        long upTo = changeSequencer.getStableWatermark();
+        if (upTo <= since) {
+            return;
+        }
+        try {
+            int changed = forEachChange(since,
+                    from -> alertRepository.findChangesBetween(from, upTo, PageRequest.of(0, properties.getRebuildPageSize())),
+                    alertRepository::findByChangeSeqWithCreator, Alert::getChangeSeq,
+                    alert -> writer.updateDocument(idTerm(alert.getId()), toDocument(alert, generation)));
+            int deleted = forEachChange(since,
+                    from -> alertTombstoneRepository.findChangesBetween(from, upTo, PageRequest.of(0, properties.getRebuildPageSize())),
+                    alertTombstoneRepository::findByChangeSeq, AlertTombstone::getChangeSeq,
+                    tombstone -> writer.deleteDocuments(idTerm(tombstone.getAlertId())));
+            markIndexedUpTo(upTo);
+            log.debug("Alert search index caught up to {}: {} changed, {} deleted", upTo, changed, deleted);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to update alert search index: {}", e.getMessage(), e);
+        }
+    }
+
+    private interface ChangeAction<T> {
+        void apply(T row) throws IOException;
+    }
+
+    /**
+     * Walks a change_seq-ordered query page by page. Rows sharing one sequence (a bulk chunk)
+     * may straddle a page boundary, so the next page starts just before the last sequence seen;
+     * a page holding only one sequence is completed with a lookup of that sequence. Applying a
+     * row twice is harmless.
+     */
+    private <T> int forEachChange(long since, LongFunction<List<T>> pageAfter, LongFunction<List<T>> bySequence,
+                                  ToLongFunction<T> sequenceOf, ChangeAction<T> action) throws IOException {
+        int pageSize = properties.getRebuildPageSize();
+        int applied = 0;
+        long from = since;
+        while (true) {
+            List<T> page = pageAfter.apply(from);
+            for (T row : page) {
+                action.apply(row);
+            }
+            applied += page.size();
+            if (page.size() < pageSize) {
+                return applied;
+            }
+
+            long first = sequenceOf.applyAsLong(page.get(0));
+            long last = sequenceOf.applyAsLong(page.get(page.size() - 1));
+            if (first == last) {
+                for (T row : bySequence.apply(last)) {
+                    action.apply(row);
+                }
+                from = last;
+            } else {
+                from = last - 1;
+            }
+        }
+    }
+
+    // Stored with the next Lucene commit, so a reopened index resumes from here
+    private void markIndexedUpTo(long upTo) {
+        indexedUpTo = upTo;
+        writer.setLiveCommitData(Map.of(COMMIT_CHANGE_SEQ, String.valueOf(upTo)).entrySet());
+    }
+
+    private Long committedChangeSeq() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (COMMIT_CHANGE_SEQ.equals(entry.getKey())) {
+                return Long.parseLong(entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-reads every alert from the database. Runs on the indexer thread; the watermark is read
+     * first, so changes committed during the scan are applied again by the catch-up that follows
+     * and win over the rows read here. Documents are upserted in place, so searches keep working
+     * during the rebuild and a failed rebuild leaves the previous contents behind.
+     */
+    public Future<Integer> rebuildAsync() {
+        return indexExecutor.submit(this::rebuild);
+    }
+
+    private int rebuild() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long rebuildGeneration = Math.max(generation + 1, startedAt);
+        generation = rebuildGeneration;
+        long upTo = changeSequencer.getStableWatermark();
+        int indexed = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Alert> page = alertRepository.findPageAfter(afterId, PageRequest.of(0, properties.getRebuildPageSize()));
+                for (Alert alert : page) {
+                    writer.updateDocument(idTerm(alert.getId()), toDocument(alert, rebuildGeneration));
+                }
+                indexed += page.size();
+                if (page.size() < properties.getRebuildPageSize()) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            // Alerts deleted while the application was down
+            writer.deleteDocuments(LongPoint.newRangeQuery(FIELD_GENERATION, Long.MIN_VALUE, rebuildGeneration - 1));
+            markIndexedUpTo(upTo);
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.error("Alert search index rebuild failed after {} alerts: {}", indexed, e.getMessage(), e);
+            throw e;
+        }
+        searcherManager.maybeRefreshBlocking();
+
+        log.info("Alert search index rebuilt with {} alerts in {} ms", indexed, System.currentTimeMillis() - startedAt);
+        catchUp();
+        return indexed;
+    }
+
+    // ==========================================
+    // REFRESH / COMMIT
+    // ==========================================
+
+    /**
+     * Near-real-time refresh: makes recent updates visible without a commit. Also retries a
+     * catch-up that failed, since no new commit may come to trigger it.
+     */
+    @Scheduled(fixedDelayString = "${alerts.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        scheduleCatchUp();
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Alert search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Durability only - a lost tail is recovered by the rebuild on startup
+    @Scheduled(fixedDelayString = "${alerts.search.commit-interval-ms:60000}")
+    public void commit() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("Alert search index commit failed: {}", e.getMessage());
+        }
+    }
+
+    // ==========================================
+    // DOCUMENTS
+    // ==========================================
+
+    private static Term idTerm(Long alertId) {
+        return new Term(FIELD_ID + "_key", String.valueOf(alertId));
+    }
+
+    private Document toDocument(Alert alert, long generation) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID + "_key", String.valueOf(alert.getId()), Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, alert.getId()));
+
+        String text = alert.getDescription() != null ? alert.getDescription() : "";
+        document.add(new TextField(FIELD_DESCRIPTION_BG, text, Field.Store.NO));
+        document.add(new TextField(FIELD_DESCRIPTION_EN, text, Field.Store.NO));
+        String location = alert.getLocationName();
+        document.add(new TextField(FIELD_LOCATION, location != null ? location : "", Field.Store.NO));
+
+        if (alert.getSeverityLevel() != null) {
+            document.add(new StringField(FIELD_SEVERITY, alert.getSeverityLevel().name(), Field.Store.NO));
+        }
+        if (alert.getGeoTaggingStatus() != null) {
+            document.add(new StringField(FIELD_STATUS, alert.getGeoTaggingStatus().name(), Field.Store.NO));
+        }
+        // expires_at is local time in the zone the service writes it with (LocalDateTime.now(clock))
+        long expiresAtMillis = alert.getExpiresAt() != null
+                ? alert.getExpiresAt().atZone(clock.getZone()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+        document.add(new LongPoint(FIELD_EXPIRES_AT, expiresAtMillis));
+        document.add(new LongPoint(FIELD_GENERATION, generation));
+        return document;
+    }
+}
@@ -1,26 +1,60 @@
 package org.example.weather_alert.services;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertBatchProperties;
+import org.example.weather_alert.config.AlertExpiryProperties;
 import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.dto.AlertSearchResponse;
+import org.example.weather_alert.dto.ApiErrorResponse;
+import org.example.weather_alert.dto.BatchCreateAlertResponse;
 import org.example.weather_alert.dto.CreateAlertRequest;
 import org.example.weather_alert.dto.UpdateAlertRequest;
 import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
 import org.example.weather_alert.entities.User;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.enums.DuplicateAlertPolicy;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
 import org.example.weather_alert.exception.AlertNotFoundException;
+import org.example.weather_alert.exception.DuplicateAlertException;
 import org.example.weather_alert.mapper.AlertMapper;
 import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@EnableConfigurationProperties(AlertBatchProperties.class)
 public class AlertService {
 
     private final AlertRepository alertRepository;
@@ -29,34 +63,237 @@ public class AlertService {
 
     private final AlertMapper alertMapper;
 
+    private final AlertEventService alertEventService;
+
+    private final AlertChangeSequencer changeSequencer;
+
+    private final AlertTombstoneRepository alertTombstoneRepository;
+
+    private final AlertIntervalIndex alertIntervalIndex;
+
+    private final AlertDeduplicator alertDeduplicator;
+
+    private final AlertSearchIndex alertSearchIndex;
+
+    private final GeotagPipelineTracker geotagPipelineTracker;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final AlertExpiryProperties expiryProperties;
+
+    private final Clock clock;
+
+    private final AlertBatchProperties batchProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Timed(value = "alerts.service", extraTags = {"operation", "create"})
     @Transactional
     public AlertResponse createAlert(CreateAlertRequest request) {
         log.info("Creating new alert for location: {}", request.getLocationName());
 
+        // Duplicates stop here - no insert, no geocoding call, no notifications
+        AlertDeduplicator.Result dedup = alertDeduplicator.reserve(request);
+        if (dedup.isDuplicate()) {
+            return handleDuplicate(dedup);
+        }
+
         // Get current authenticated user
         User currentUser = getCurrentUser();
 
         // Map request to entity
         Alert alert = alertMapper.toEntity(request, currentUser);
+        applyDefaultExpiry(alert);
+        alert.setDedupKey(dedup.getDedupKey());
+        alert.setChangeSeq(changeSequencer.next());
 
-        // Save alert with PENDING geo-tagging status
-        Alert savedAlert = alertRepository.save(alert);
+        // Save alert with PENDING geo-tagging status - flushed so a dedup_key clash surfaces here
+        Alert savedAlert = saveCatchingDuplicate(() -> alertRepository.saveAndFlush(alert));
+        alertDeduplicator.bind(dedup, savedAlert.getId());
         log.debug("Alert saved with ID: {}", savedAlert.getId());
 
-        // Trigger async geo-tagging (non-blocking)
-        // This call returns immediately - geo-tagging happens in background
-        geocodingService.enrichAlertWithCoordinates(savedAlert.getId());
+        // Trigger async geo-tagging (non-blocking) once the alert is committed,
+        // otherwise the background thread may not find it yet
+        geotagPipelineTracker.enqueued(savedAlert.getId(), savedAlert.getLocationName());
+        runAfterCommit(() -> geocodingService.enrichAlertWithCoordinates(savedAlert.getId()));
         log.debug("Async geo-tagging triggered for alert ID: {}", savedAlert.getId());
 
         // Return response immediately (don't wait for geo-tagging)
-        return alertMapper.toResponse(savedAlert);
+        AlertResponse response = alertMapper.toResponse(savedAlert);
+        alertEventService.publish(AlertEventType.CREATED, response);
+        return response;
+    }
+
+    /**
+     * Creates many alerts. Items are validated individually, valid ones are inserted in JDBC
+     * batches, one transaction per chunk, and geo-tagging is scheduled once per distinct location
+     * after the chunks commit. A chunk that hits the dedup_key index (a copy inserted by another
+     * instance) is retried row by row, so only the clashing items are reported as duplicates.
+     */
+    @Timed(value = "alerts.service", extraTags = {"operation", "batch_create"})
+    public BatchCreateAlertResponse createAlerts(List<CreateAlertRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one alert");
+        }
+        int maxBatchSize = batchProperties.getMaxSize();
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxBatchSize + " alerts");
+        }
+
+        log.info("Creating batch of {} alerts", requests.size());
+
+        // Pass 1: validate everything before touching the database
+        List<BatchCreateAlertResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        Map<Integer, AlertDeduplicator.Result> reservations = new HashMap<>();
+        int rejected = 0;
+        int duplicates = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            List<ApiErrorResponse.ValidationError> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                // Also catches copies inside the same batch
+                AlertDeduplicator.Result dedup = alertDeduplicator.reserve(requests.get(i));
+                if (dedup.isDuplicate()) {
+                    duplicates++;
+                    results.add(BatchCreateAlertResponse.ItemResult.builder()
+                            .index(i)
+                            .status("DUPLICATE")
+                            .id(dedup.getExistingAlertId())
+                            .build());
+                    continue;
+                }
+                reservations.put(i, dedup);
+                validIndexes.add(i);
+                results.add(null);
+            } else {
+                rejected++;
+                results.add(BatchCreateAlertResponse.ItemResult.builder()
+                        .index(i)
+                        .status("REJECTED")
+                        .validationErrors(errors)
+                        .build());
+            }
+        }
+
+        // Pass 2: insert valid alerts chunk by chunk, one JDBC batch and one transaction per chunk
+        Map<String, List<Long>> alertIdsByLocation = new LinkedHashMap<>();
+        int created = 0;
+        int jdbcBatchSize = batchProperties.getJdbcBatchSize();
+        try {
+            for (int start = 0; start < validIndexes.size(); start += jdbcBatchSize) {
+                List<Integer> chunk = validIndexes.subList(start, Math.min(start + jdbcBatchSize, validIndexes.size()));
+
+                Map<Integer, Alert> inserted = new LinkedHashMap<>();
+                try {
+                    inserted.putAll(transactionTemplate.execute(status -> insertChunk(requests, chunk, reservations)));
+                } catch (DuplicateAlertException e) {
+                    // The chunk rolled back as a whole - find the clashing rows one at a time
+                    log.info("Batch chunk of {} alerts hit the dedup_key index, retrying row by row", chunk.size());
+                    for (int index : chunk) {
+                        try {
+                            inserted.putAll(transactionTemplate.execute(
+                                    status -> insertChunk(requests, List.of(index), reservations)));
+                        } catch (DuplicateAlertException duplicate) {
+                            AlertDeduplicator.Result dedup = reservations.remove(index);
+                            alertDeduplicator.release(dedup);
+                            duplicates++;
+                            results.set(index, BatchCreateAlertResponse.ItemResult.builder()
+                                    .index(index)
+                                    .status("DUPLICATE")
+                                    .id(alertRepository.findIdByDedupKey(dedup.getDedupKey()).orElse(null))
+                                    .build());
+                        }
+                    }
+                }
+
+                for (Map.Entry<Integer, Alert> entry : inserted.entrySet()) {
+                    Alert alert = entry.getValue();
+                    results.set(entry.getKey(), BatchCreateAlertResponse.ItemResult.builder()
+                            .index(entry.getKey())
+                            .status("CREATED")
+                            .id(alert.getId())
+                            .build());
+                    alertIdsByLocation.computeIfAbsent(alert.getLocationName(), key -> new ArrayList<>())
+                            .add(alert.getId());
+                    geotagPipelineTracker.enqueued(alert.getId(), alert.getLocationName());
+                    created++;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Items that never made it into the table must not keep their window slot
+            reservations.forEach((index, dedup) -> {
+                if (results.get(index) == null) {
+                    alertDeduplicator.release(dedup);
+                }
+            });
+            throw e;
+        }
+
+        // Geo-tag only once the rows are visible to the background thread
+        if (!alertIdsByLocation.isEmpty()) {
+            runAfterCommit(() -> geocodingService.enrichAlertsByLocation(alertIdsByLocation));
+        }
+
+        log.info("Batch created {} alerts ({} rejected, {} duplicates, {} distinct locations)",
+                created, rejected, duplicates, alertIdsByLocation.size());
+
+        return BatchCreateAlertResponse.builder()
+                .total(requests.size())
+                .created(created)
+                .rejected(rejected)
+                .duplicates(duplicates)
+                .results(results)
+                .build();
+    }
+
+    // Runs in the chunk's transaction; returns the inserted alerts by request index
+    private Map<Integer, Alert> insertChunk(List<CreateAlertRequest> requests, List<Integer> chunk,
+                                            Map<Integer, AlertDeduplicator.Result> reservations) {
+        User currentUser = getCurrentUser();
+        long changeSeq = changeSequencer.nextRange(chunk.size());
+
+        Map<Integer, Alert> alerts = new LinkedHashMap<>();
+        for (int index : chunk) {
+            Alert alert = alertMapper.toEntity(requests.get(index), currentUser);
+            applyDefaultExpiry(alert);
+            alert.setDedupKey(reservations.get(index).getDedupKey());
+            alert.setChangeSeq(changeSeq++);
+            alerts.put(index, alert);
+        }
+
+        saveCatchingDuplicate(() -> {
+            alertRepository.saveAll(alerts.values());
+            alertRepository.flush();
+            return alerts;
+        });
+
+        alerts.forEach((index, alert) -> {
+            alertDeduplicator.bind(reservations.get(index), alert.getId());
+            alertEventService.publish(AlertEventType.CREATED, alertMapper.toResponse(alert));
+        });
+
+        // Open-in-view keeps one persistence context for the whole request - keep it small
+        entityManager.clear();
+        return alerts;
     }
 
     @Transactional(readOnly = true)
     public List<AlertResponse> getAllAlerts() {
-        log.debug("Fetching all alerts");
+        return getAllAlerts(false);
+    }
+
+    @Timed(value = "alerts.service", extraTags = {"operation", "list"})
+    @Transactional(readOnly = true)
+    public List<AlertResponse> getAllAlerts(boolean includeExpired) {
+        log.debug("Fetching all alerts (includeExpired={})", includeExpired);
+
+        List<Alert> alerts = includeExpired
+                ? alertRepository.findAllWithCreator()
+                : alertRepository.findAllActive(LocalDateTime.now(clock));
 
-        return alertRepository.findAll()
+        return alerts
                 .stream()
                 .map(alertMapper::toResponse)
                 .collect(Collectors.toList());
@@ -64,12 +301,92 @@ public class AlertService {
 
     @Transactional(readOnly = true)
     public AlertResponse getAlertById(Long id) {
+        return getAlertById(id, false);
+    }
+
+    @Timed(value = "alerts.service", extraTags = {"operation", "get"})
+    @Transactional(readOnly = true)
+    public AlertResponse getAlertById(Long id, boolean includeExpired) {
         log.debug("Fetching alert by ID: {}", id);
 
         Alert alert = findAlertOrThrow(id);
+
+        // Expired alerts wait for the sweeper but are already gone for readers
+        if (!includeExpired && alert.isExpired(LocalDateTime.now(clock))) {
+            throw new AlertNotFoundException(id);
+        }
         return alertMapper.toResponse(alert);
     }
 
+    /**
+     * Alerts in effect at any point of {@code [from, to)}, resolved through the interval index.
+     */
+    @Timed(value = "alerts.service", extraTags = {"operation", "in_effect"})
+    @Transactional(readOnly = true)
+    public List<AlertResponse> getAlertsInEffect(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        log.debug("Fetching alerts in effect between {} and {}", from, to);
+        return loadInEffect(alertIntervalIndex.findOverlapping(from, to));
+    }
+
+    /**
+     * Alerts in effect at {@code at}, or right now on the service clock when {@code at} is null.
+     */
+    @Timed(value = "alerts.service", extraTags = {"operation", "in_effect_at"})
+    @Transactional(readOnly = true)
+    public List<AlertResponse> getAlertsInEffectAt(LocalDateTime at) {
+        LocalDateTime instant = at != null ? at : LocalDateTime.now(clock);
+        log.debug("Fetching alerts in effect at {}", instant);
+        return loadInEffect(alertIntervalIndex.findInEffectAt(instant));
+    }
+
+    private List<AlertResponse> loadInEffect(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Primary-key lookup of exactly the matching rows - no table scan
+        return alertRepository.findAllWithCreatorByIdIn(ids)
+                .stream()
+                .sorted(Comparator.comparing(Alert::getEffectiveFrom, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Alert::getId))
+                .map(alertMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Timed(value = "alerts.service", extraTags = {"operation", "search"})
+    @Transactional(readOnly = true)
+    public AlertSearchResponse searchAlerts(String query, SeverityLevel severity, GeoTaggingStatus status,
+                                            boolean includeExpired, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        log.debug("Searching alerts for '{}' (severity={}, status={})", query, severity, status);
+
+        AlertSearchIndex.Result result = alertSearchIndex.search(query, severity, status, includeExpired, limit);
+        if (result.hits().isEmpty()) {
+            return AlertSearchResponse.builder().query(query).totalHits(result.totalHits()).results(List.of()).build();
+        }
+
+        // The index only holds IDs - load the current rows, keeping the ranking
+        Map<Long, Alert> alerts = alertRepository.findAllWithCreatorByIdIn(
+                        result.hits().stream().map(AlertSearchIndex.Hit::alertId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Alert::getId, alert -> alert));
+
+        List<AlertSearchResponse.Hit> hits = new ArrayList<>(result.hits().size());
+        for (AlertSearchIndex.Hit hit : result.hits()) {
+            Alert alert = alerts.get(hit.alertId());
+            // Deleted after the last index refresh
+            if (alert != null) {
+                hits.add(new AlertSearchResponse.Hit(hit.score(), alertMapper.toResponse(alert)));
+            }
+        }
+        return AlertSearchResponse.builder().query(query).totalHits(result.totalHits()).results(hits).build();
+    }
+
+    @Timed(value = "alerts.service", extraTags = {"operation", "update"})
     @Transactional
     public AlertResponse updateAlert(Long id, UpdateAlertRequest request) {
         log.info("Updating alert ID: {}", id);
@@ -78,6 +395,11 @@ public class AlertService {
 
         // Update entity and check if location changed
         boolean locationChanged = alertMapper.updateEntity(alert, request);
+        if (alert.getEffectiveUntil() != null && alert.getEffectiveFrom() != null
+                && !alert.getEffectiveUntil().isAfter(alert.getEffectiveFrom())) {
+            throw new IllegalArgumentException("effectiveUntil must be after effectiveFrom");
+        }
+        alert.setChangeSeq(changeSequencer.next());
 
         // Save updated alert
         Alert updatedAlert = alertRepository.save(alert);
@@ -85,24 +407,113 @@ public class AlertService {
         // Re-trigger geo-tagging if location changed
         if (locationChanged) {
             log.debug("Location changed, re-triggering geo-tagging for alert ID: {}", id);
-            geocodingService.enrichAlertWithCoordinates(updatedAlert.getId());
+            geotagPipelineTracker.enqueued(updatedAlert.getId(), updatedAlert.getLocationName());
+            runAfterCommit(() -> geocodingService.enrichAlertWithCoordinates(updatedAlert.getId()));
         }
 
-        return alertMapper.toResponse(updatedAlert);
+        AlertResponse response = alertMapper.toResponse(updatedAlert);
+        alertEventService.publish(AlertEventType.UPDATED, response);
+        return response;
     }
 
+    @Timed(value = "alerts.service", extraTags = {"operation", "delete"})
     @Transactional
     public void deleteAlert(Long id) {
         log.info("Deleting alert ID: {}", id);
 
-        if (!alertRepository.existsById(id)) {
+        // Single DELETE statement - no existence check or entity load beforehand
+        if (alertRepository.deleteAlertById(id) == 0) {
             throw new AlertNotFoundException(id);
         }
 
-        alertRepository.deleteById(id);
+        // Leave a tombstone so delta-sync clients drop the alert too
+        alertTombstoneRepository.save(AlertTombstone.builder()
+                .alertId(id)
+                .changeSeq(changeSequencer.next())
+                .build());
+        alertEventService.publishDeleted(id);
         log.debug("Alert deleted: {}", id);
     }
 
+    private AlertResponse handleDuplicate(AlertDeduplicator.Result dedup) {
+        // The original may still be in flight (no ID yet) - nothing to merge into
+        if (alertDeduplicator.getPolicy() == DuplicateAlertPolicy.REJECT || dedup.getExistingAlertId() == null) {
+            throw new DuplicateAlertException(dedup.getExistingAlertId());
+        }
+
+        AlertResponse existing = alertMapper.toResponse(findAlertOrThrow(dedup.getExistingAlertId()));
+        existing.setDuplicate(true);
+        return existing;
+    }
+
+    /**
+     * Runs an insert and turns a dedup_key unique violation into a {@link DuplicateAlertException}.
+     * The index catches copies the in-memory window could not see, e.g. ones inserted by
+     * another instance; any other integrity violation is rethrown unchanged.
+     */
+    private <T> T saveCatchingDuplicate(Supplier<T> insert) {
+        try {
+            return insert.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isDedupKeyViolation(e)) {
+                log.info("Alert rejected by the dedup_key index: {}", e.getMostSpecificCause().getMessage());
+                throw new DuplicateAlertException(null);
+            }
+            throw e;
+        }
+    }
+
+    // Hibernate extracts the constraint name from the driver error: "alerts.uk_alerts_dedup_key"
+    // on MySQL, the upper-cased index name followed by its definition on H2
+    private static boolean isDedupKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return constraint != null
+                        && constraint.toLowerCase(Locale.ROOT).contains(Alert.DEDUP_KEY_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private void applyDefaultExpiry(Alert alert) {
+        long defaultTtlHours = expiryProperties.getDefaultTtlHours();
+        if (alert.getExpiresAt() == null && defaultTtlHours > 0) {
+            alert.setExpiresAt(LocalDateTime.now(clock).plusHours(defaultTtlHours));
+        }
+    }
+
+    private List<ApiErrorResponse.ValidationError> validate(CreateAlertRequest request) {
+        if (request == null) {
+            return List.of(ApiErrorResponse.ValidationError.builder()
+                    .field("request")
+                    .message("Alert must not be null")
+                    .build());
+        }
+
+        Set<ConstraintViolation<CreateAlertRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(violation -> ApiErrorResponse.ValidationError.builder()
+                        .field(violation.getPropertyPath().toString())
+                        .rejectedValue(violation.getInvalidValue())
+                        .message(violation.getMessage())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private Alert findAlertOrThrow(Long id) {
         return alertRepository.findById(id)
                 .orElseThrow(() -> new AlertNotFoundException(id));
@@ -111,8 +522,9 @@ public class AlertService {
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication != null && authentication.getPrincipal() instanceof User) {
-            return (User) authentication.getPrincipal();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            // Only the foreign key is needed - no users query unless the proxy is read
+            return entityManager.getReference(User.class, user.getId());
         }
 
         log.warn("No authenticated user found");
@@ -0,0 +1,231 @@
+package org.example.weather_alert.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.AlertSyncProperties;
+import org.example.weather_alert.dto.AlertChangesResponse;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delta sync: "what changed since token X".
+ *
+ * Both queries are index range scans on change_seq bounded by the sequencer's stable
+ * watermark, so the cost depends on the number of changes, not on the table size.
+ * Reads intentionally run outside a read-only transaction so they always hit the primary
+ * that allocated the watermark.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AlertSyncProperties.class)
+public class AlertSyncService {
+
+    private final AlertRepository alertRepository;
+    private final AlertTombstoneRepository alertTombstoneRepository;
+    private final AlertChangeSequencer changeSequencer;
+    private final AlertMapper alertMapper;
+    private final AlertSyncProperties properties;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupScheduled = new AtomicBoolean(false);
+    private final ExecutorService wakeupExecutor;
+
+    private record Waiter(long since, int limit, DeferredResult<AlertChangesResponse> result) {}
+
+    public AlertSyncService(AlertRepository alertRepository, AlertTombstoneRepository alertTombstoneRepository,
+                            AlertChangeSequencer changeSequencer, AlertMapper alertMapper,
+                            AlertSyncProperties properties) {
+        this.alertRepository = alertRepository;
+        this.alertTombstoneRepository = alertTombstoneRepository;
+        this.changeSequencer = changeSequencer;
+        this.alertMapper = alertMapper;
+        this.properties = properties;
+        this.wakeupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AlertSync-Wakeup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        changeSequencer.addCommitListener(watermark -> scheduleWakeup());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wakeupExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns changes immediately if there are any; otherwise parks the request until a
+     * change commits or {@code waitMs} elapses (long polling).
+     */
+    public DeferredResult<AlertChangesResponse> awaitChanges(String sinceToken, Integer limit, long waitMs) {
+        long since = parseToken(sinceToken);
+        int pageLimit = resolveLimit(limit);
+        long timeout = Math.min(Math.max(waitMs, 0), properties.getMaxWaitMs());
+
+        AlertChangesResponse immediate = getChanges(since, pageLimit);
+
+        DeferredResult<AlertChangesResponse> result = new DeferredResult<>(timeout, immediate);
+        if (!immediate.isEmpty() || timeout == 0) {
+            result.setResult(immediate);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(since, pageLimit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+
+        // A change may have committed between the query and the registration
+        if (changeSequencer.getStableWatermark() > since) {
+            scheduleWakeup();
+        }
+        return result;
+    }
+
+    private AlertChangesResponse getChanges(long since, int limit) {
+        long upTo = changeSequencer.getStableWatermark();
+        if (since >= upTo) {
+            return emptyResponse(since);
+        }
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<Alert> alerts = alertRepository.findChangesBetween(since, upTo, page);
+        List<AlertTombstone> tombstones = alertTombstoneRepository.findChangesBetween(since, upTo, page);
+
+        // Together the two lists may hold 2 x limit rows, so the page is cut after the limit-th
+        // change in sequence order. A cut must not split a group of rows sharing one change
+        // sequence (bulk operations stamp a whole chunk with one sequence): an incomplete last
+        // group is left for the next page, unless it is the only one, which is then returned whole.
+        long[] sequences = mergedSequences(alerts, tombstones);
+        boolean alertsFull = alerts.size() == limit;
+        boolean tombstonesFull = tombstones.size() == limit;
+        boolean hasMore = alertsFull || tombstonesFull || sequences.length > limit;
+        long nextToken = upTo;
+        if (hasMore) {
+            long cut = sequences[limit - 1];
+            long lastAlert = alertsFull ? alerts.get(limit - 1).getChangeSeq() : Long.MAX_VALUE;
+            long lastTombstone = tombstonesFull ? tombstones.get(limit - 1).getChangeSeq() : Long.MAX_VALUE;
+            cut = Math.min(cut, Math.min(lastAlert, lastTombstone));
+
+            // Rows of the cut sequence may be missing from a full list or lie beyond the limit
+            boolean incomplete = cut == lastAlert || cut == lastTombstone
+                    || (sequences.length > limit && sequences[limit] == cut);
+            if (!incomplete) {
+                nextToken = cut;
+            } else if (cut > sequences[0]) {
+                nextToken = cut - 1;
+            } else {
+                alerts = alertRepository.findByChangeSeqWithCreator(cut);
+                tombstones = alertTombstoneRepository.findByChangeSeq(cut);
+                nextToken = cut;
+            }
+        }
+
+        List<AlertResponse> changed = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            if (alert.getChangeSeq() <= nextToken) {
+                changed.add(alertMapper.toResponse(alert));
+            }
+        }
+
+        List<Long> deletedIds = new ArrayList<>(tombstones.size());
+        for (AlertTombstone tombstone : tombstones) {
+            if (tombstone.getChangeSeq() <= nextToken) {
+                deletedIds.add(tombstone.getAlertId());
+            }
+        }
+
+        log.debug("Delta sync since {}: {} changed, {} deleted, next token {}",
+                since, changed.size(), deletedIds.size(), nextToken);
+
+        return AlertChangesResponse.builder()
+                .changed(changed)
+                .deletedIds(deletedIds)
+                .nextToken(String.valueOf(nextToken))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static long[] mergedSequences(List<Alert> alerts, List<AlertTombstone> tombstones) {
+        long[] sequences = new long[alerts.size() + tombstones.size()];
+        int a = 0;
+        int t = 0;
+        for (int i = 0; i < sequences.length; i++) {
+            boolean takeAlert = t == tombstones.size()
+                    || (a < alerts.size() && alerts.get(a).getChangeSeq() <= tombstones.get(t).getChangeSeq());
+            sequences[i] = takeAlert ? alerts.get(a++).getChangeSeq() : tombstones.get(t++).getChangeSeq();
+        }
+        return sequences;
+    }
+
+    private void scheduleWakeup() {
+        if (waiters.isEmpty() || !wakeupScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        wakeupExecutor.execute(() -> {
+            wakeupScheduled.set(false);
+            long watermark = changeSequencer.getStableWatermark();
+            for (Waiter waiter : waiters) {
+                if (waiter.since() < watermark && !waiter.result().isSetOrExpired()) {
+                    try {
+                        AlertChangesResponse response = getChanges(waiter.since(), waiter.limit());
+                        if (!response.isEmpty()) {
+                            waiter.result().setResult(response);
+                        }
+                    } catch (RuntimeException e) {
+                        waiter.result().setErrorResult(e);
+                    }
+                }
+            }
+        });
+    }
+
+    private AlertChangesResponse emptyResponse(long since) {
+        return AlertChangesResponse.builder()
+                .changed(List.of())
+                .deletedIds(List.of())
+                .nextToken(String.valueOf(since))
+                .hasMore(false)
+                .build();
+    }
+
+    private long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long since = Long.parseLong(token.trim());
+            if (since < 0) {
+                throw new IllegalArgumentException("Sync token must not be negative");
+            }
+            return since;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token);
+        }
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return properties.getDefaultLimit();
+        }
+        if (limit < 1 || limit > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + properties.getMaxLimit());
+        }
+        return limit;
+    }
+}
@@ -1,33 +1,192 @@
 package org.example.weather_alert.services;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.LoginProperties;
+import org.example.weather_alert.diagnostics.SqlStatementStats;
 import org.example.weather_alert.dto.AuthResponse;
 import org.example.weather_alert.dto.LoginRequest;
-import org.example.weather_alert.entities.User;
 import org.example.weather_alert.exception.InvalidCredentialsException;
+import org.example.weather_alert.exception.TooManyRequestsException;
+import org.example.weather_alert.ratelimit.StripedRateLimiter;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.example.weather_alert.security.CustomUserDetailsService;
 import org.example.weather_alert.security.JwtTokenProvider;
+import org.example.weather_alert.security.TokenRevocationList;
+import org.example.weather_alert.security.UserSnapshot;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@EnableConfigurationProperties(LoginProperties.class)
 public class AuthService {
 
     // Dependencies injected via constructor
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
+    private final RefreshTokenService refreshTokenService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
-    public AuthResponse login(LoginRequest request) {
+    private final ExecutorService passwordExecutor;
+    private final StripedRateLimiter usernameLimiter;
+    private final StripedRateLimiter ipLimiter;
+
+    public AuthService(AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
+                       MeterRegistry meterRegistry, RefreshTokenService refreshTokenService,
+                       CustomUserDetailsService userDetailsService, TokenRevocationList tokenRevocationList,
+                       LoginProperties properties) {
+        this.authenticationManager = authenticationManager;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.meterRegistry = meterRegistry;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationList = tokenRevocationList;
+
+        int poolSize = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = properties.getQueueCapacity();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "Login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // executor.* {name=loginExecutor}: active threads, queued logins, completed and rejected tasks
+        passwordExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "loginExecutor");
+
+        LoginProperties.Limit perUsername = properties.getPerUsername();
+        LoginProperties.Limit perIp = properties.getPerIp();
+        usernameLimiter = new StripedRateLimiter(properties.getStripes(), perUsername.getPermitsPerSecond(), perUsername.getBurst());
+        ipLimiter = new StripedRateLimiter(properties.getStripes(), perIp.getPermitsPerSecond(), perIp.getBurst());
+
+        log.info("Login executor: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordExecutor.shutdownNow();
+    }
+
+    /**
+     * Checks the per-IP budget (every attempt) and the per-username budget (failed attempts),
+     * then verifies the password on the login executor. The calling request thread waits without
+     * using CPU; when the executor's queue is full the login is refused straight away, so a login
+     * flood cannot take the cores the alert endpoints need.
+     */
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Attempting login for user: {}", request.getUsername());
 
+        String username = request.getUsername().toLowerCase(Locale.ROOT);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            throttle(ipLimiter.tryAcquire(clientIp), "ip", clientIp);
+            throttle(usernameLimiter.check(username), "username", username);
+
+            long queuedAt = System.nanoTime();
+            SqlStatementStats requestStats = SqlStatementStats.current();
+            AuthResponse response = CompletableFuture.supplyAsync(() -> {
+                meterRegistry.timer("alerts.auth.login.queue").record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                SqlStatementStats.attach(requestStats);
+                try {
+                    return authenticate(request);
+                } finally {
+                    SqlStatementStats.detach();
+                }
+            }, passwordExecutor).join();
+
+            outcome = "success";
+            return response;
+        } catch (TooManyRequestsException e) {
+            outcome = "throttled";
+            throw e;
+        } catch (RejectedExecutionException e) {
+            outcome = "rejected";
+            log.warn("Login executor saturated, refusing login for user: {}", request.getUsername());
+            throw new TooManyRequestsException("Too many logins in progress, try again shortly", 1);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InvalidCredentialsException) {
+                outcome = "invalid";
+                // Only failures spend the username's budget, so a guessed account is not locked by its owner's logins
+                usernameLimiter.tryAcquire(username);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            sample.stop(meterRegistry.timer("alerts.auth.login", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token. The user is
+     * re-read (from the user-details cache), so a disabled or locked account stops refreshing.
+     */
+    public AuthResponse refresh(String refreshToken, String clientIp) {
+        throttle(ipLimiter.tryAcquire(clientIp), "ip", clientIp);
+
+        RefreshTokenService.IssuedToken next = refreshTokenService.rotate(refreshToken)
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid or expired refresh token"));
+
+        UserSnapshot user;
+        try {
+            user = userDetailsService.loadUserById(next.userId());
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidCredentialsException("Invalid or expired refresh token");
+        }
+        if (!user.isEnabled() || !user.isAccountNonLocked() || !user.isAccountNonExpired()) {
+            refreshTokenService.revokeAllForUser(user.getId());
+            throw new InvalidCredentialsException("Account is disabled or locked");
+        }
+
+        meterRegistry.counter("alerts.auth.refresh").increment();
+        return response(user, next);
+    }
+
+    // Ends the session: the refresh token's family and, when given, the access token itself
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
+        if (accessToken != null) {
+            AuthenticatedUser user = jwtTokenProvider.verify(accessToken);
+            if (user != null) {
+                tokenRevocationList.revoke(user);
+            }
+        }
+    }
+
+    private void throttle(long waitNanos, String by, String key) {
+        if (waitNanos > 0) {
+            meterRegistry.counter("alerts.auth.login.throttled", "by", by).increment();
+            log.warn("Login throttled by {} for: {}", by, key);
+            long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            throw new TooManyRequestsException("Too many login attempts, try again later", retryAfterSeconds);
+        }
+    }
+
+    private AuthResponse authenticate(LoginRequest request) {
         try {
             // Create authentication token with credentials
             UsernamePasswordAuthenticationToken authToken =
@@ -42,23 +201,11 @@ public class AuthService {
 
             log.debug("Authentication successful for user: {}", request.getUsername());
 
-            // Generate JWT token
-            String token = jwtTokenProvider.generateToken(authentication);
-
             // Extract user details for response
-            User user = (User) authentication.getPrincipal();
-
-            // Build and return response
-            return AuthResponse.builder()
-                    .accessToken(token)
-                    .tokenType("Bearer")
-                    .expiresIn(jwtTokenProvider.getExpirationTime())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .roles(user.getRoles().stream()
-                            .map(role -> role.getName())
-                            .collect(Collectors.toSet()))
-                    .build();
+            UserSnapshot user = (UserSnapshot) authentication.getPrincipal();
+
+            // Build and return response with a fresh refresh token family
+            return response(user, refreshTokenService.issue(user.getId()));
 
         } catch (BadCredentialsException e) {
             log.warn("Invalid credentials for user: {}", request.getUsername());
@@ -68,4 +215,19 @@ public class AuthService {
             throw new InvalidCredentialsException("Authentication failed: " + e.getMessage());
         }
     }
+
+    private AuthResponse response(UserSnapshot user, RefreshTokenService.IssuedToken refreshToken) {
+        return AuthResponse.builder()
+                .accessToken(jwtTokenProvider.generateToken(user.getId(), user.getUsername(), user.getAuthorities()))
+                .tokenType("Bearer")
+                .expiresIn(jwtTokenProvider.getExpirationTime())
+                .refreshToken(refreshToken.token())
+                .refreshExpiresIn(refreshTokenService.getExpirationTime())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .roles(user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet()))
+                .build();
+    }
 }
@@ -1,22 +1,34 @@
 package org.example.weather_alert.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.diagnostics.GeocodingEvent;
 import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.enums.AlertEventType;
 import org.example.weather_alert.enums.GeoTaggingStatus;
 import org.example.weather_alert.exception.GeocodingException;
+import org.example.weather_alert.logging.MdcKeys;
+import org.example.weather_alert.mapper.AlertMapper;
 import org.example.weather_alert.repositories.AlertRepository;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -27,7 +39,14 @@ public class GeocodingService {
     // Dependencies injected via constructor
     private final AlertRepository alertRepository;
     private final WebClient.Builder webClientBuilder;
-    private final ObjectMapper objectMapper;
+    private final AlertMapper alertMapper;
+    private final AlertEventService alertEventService;
+    private final AlertChangeSequencer changeSequencer;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final GeotagPipelineTracker pipelineTracker;
+
+    private final NominatimResponseParser nominatimResponseParser = new NominatimResponseParser();
 
     // Configuration from application.yml
     @Value("${geocoding.api.base-url:https://nominatim.openstreetmap.org}")
@@ -42,7 +61,14 @@ public class GeocodingService {
     @Async("taskExecutor")  // Use our custom executor from AsyncConfig
     @Transactional
     public void enrichAlertWithCoordinates(Long alertId) {
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(MdcKeys.ALERT_ID, String.valueOf(alertId))) {
+            enrich(alertId);
+        }
+    }
+
+    private void enrich(Long alertId) {
         log.info("Starting async geo-tagging for alert ID: {}", alertId);
+        pipelineTracker.started(List.of(alertId));
 
         try {
             // Fetch the alert from database
@@ -53,18 +79,11 @@ public class GeocodingService {
             log.debug("Geocoding location: {}", locationName);
 
             // Call Nominatim API
-            GeocodingResult result = fetchCoordinates(locationName);
+            NominatimResponseParser.Result result = fetchCoordinates(locationName, List.of(alertId));
 
             if (result != null) {
                 // Update alert with coordinates
-                alert.setLatitude(result.latitude());
-                alert.setLongitude(result.longitude());
-                alert.setGeoTaggingStatus(GeoTaggingStatus.SUCCESS);
-                alert.setGeoTaggingError(null);
-
-                alertRepository.save(alert);
-                log.info("Geo-tagging successful for alert {}: lat={}, lon={}",
-                        alertId, result.latitude(), result.longitude());
+                applyCoordinates(alert, result);
             } else {
                 // No coordinates found
                 handleGeocodingFailure(alert, "No coordinates found for location: " + locationName);
@@ -79,33 +98,113 @@ public class GeocodingService {
         }
     }
 
-    private GeocodingResult fetchCoordinates(String locationName) {
+    /**
+     * Geo-tags a batch of alerts with a single Nominatim call per distinct location.
+     * Each location is committed in its own short transaction, so results appear as they arrive.
+     */
+    @Async("taskExecutor")
+    public void enrichAlertsByLocation(Map<String, List<Long>> alertIdsByLocation) {
+        log.info("Starting async batch geo-tagging for {} locations", alertIdsByLocation.size());
+        alertIdsByLocation.values().forEach(pipelineTracker::started);
+
+        alertIdsByLocation.forEach((locationName, alertIds) -> {
+            try {
+                enrichLocation(locationName, alertIds);
+            } catch (RuntimeException e) {
+                // One failing location must not leave the remaining ones PENDING
+                log.error("Unexpected error during geo-tagging for location {}: {}", locationName, e.getMessage(), e);
+                markFailed(alertIds, "Unexpected error: " + e.getMessage());
+            }
+        });
+    }
+
+    private void enrichLocation(String locationName, List<Long> alertIds) {
+        NominatimResponseParser.Result result = null;
+        String errorMessage = null;
+
+        try {
+            result = fetchCoordinates(locationName, alertIds);
+            if (result == null) {
+                errorMessage = "No coordinates found for location: " + locationName;
+            }
+        } catch (GeocodingException e) {
+            log.error("Geocoding failed for location {}: {}", locationName, e.getMessage());
+            errorMessage = e.getMessage();
+        }
+
+        NominatimResponseParser.Result coordinates = result;
+        String error = errorMessage;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Alert alert : alertRepository.findAllById(alertIds)) {
+                // Skip alerts whose location was edited while we were waiting on Nominatim
+                if (!locationName.equals(alert.getLocationName())) {
+                    continue;
+                }
+                if (coordinates != null) {
+                    applyCoordinates(alert, coordinates);
+                } else {
+                    handleGeocodingFailure(alert, error);
+                }
+            }
+        });
+    }
+
+    private void markFailed(List<Long> alertIds, String errorMessage) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    alertIds.forEach(alertId -> handleGeocodingFailureById(alertId, errorMessage)));
+        } catch (RuntimeException e) {
+            log.error("Could not mark alerts {} as failed: {}", alertIds, e.getMessage());
+        }
+    }
+
+    private NominatimResponseParser.Result fetchCoordinates(String locationName, Collection<Long> alertIds) {
         try {
             // Rate limiting - Nominatim requires max 1 request per second
             Thread.sleep(rateLimitMs);
+            pipelineTracker.permitAcquired(alertIds);
 
             String encodedLocation = URLEncoder.encode(locationName, StandardCharsets.UTF_8);
             String url = String.format("%s/search?q=%s&format=json&limit=1", baseUrl, encodedLocation);
 
             log.debug("Calling Nominatim API: {}", url);
 
-            // Create WebClient and make request
-            WebClient webClient = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader("User-Agent", userAgent)
-                    .build();
+            // Only the HTTP round-trip - the rate-limit pause above is not Nominatim's latency
+            Timer.Sample sample = Timer.start(meterRegistry);
+            GeocodingEvent event = new GeocodingEvent();
+            event.begin();
+            String outcome = "error";
+            try {
+                // Create WebClient and make request
+                WebClient webClient = webClientBuilder
+                        .baseUrl(baseUrl)
+                        .defaultHeader("User-Agent", userAgent)
+                        .build();
 
-            String response = webClient.get()
-                    .uri("/search?q={location}&format=json&limit=1", locationName)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
+                String response = webClient.get()
+                        .uri("/search?q={location}&format=json&limit=1", locationName)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofSeconds(10))
+                        .block();
+                pipelineTracker.responseReceived(alertIds);
 
-            log.debug("Nominatim response: {}", response);
+                log.debug("Nominatim response: {}", response);
 
-            // Parse response
-            return parseNominatimResponse(response);
+                // Parse response
+                NominatimResponseParser.Result result = nominatimResponseParser.parse(response);
+                outcome = result != null ? "found" : "not_found";
+                return result;
+            } finally {
+                sample.stop(meterRegistry.timer("alerts.geocoding.request", "outcome", outcome));
+                event.end();
+                if (event.shouldCommit()) {
+                    event.location = locationName;
+                    event.alertIds = alertIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -115,29 +214,29 @@ public class GeocodingService {
         }
     }
 
-    private GeocodingResult parseNominatimResponse(String response) {
-        try {
-            JsonNode root = objectMapper.readTree(response);
-
-            if (root.isArray() && !root.isEmpty()) {
-                JsonNode firstResult = root.get(0);
-                double lat = firstResult.get("lat").asDouble();
-                double lon = firstResult.get("lon").asDouble();
-                return new GeocodingResult(lat, lon);
-            }
-
-            return null;  // No results found
+    private void applyCoordinates(Alert alert, NominatimResponseParser.Result result) {
+        alert.setLatitude(result.latitude());
+        alert.setLongitude(result.longitude());
+        alert.setGeoTaggingStatus(GeoTaggingStatus.SUCCESS);
+        alert.setGeoTaggingError(null);
+        alert.setChangeSeq(changeSequencer.next());
 
-        } catch (Exception e) {
-            log.error("Failed to parse Nominatim response: {}", e.getMessage());
-            throw new GeocodingException("Failed to parse geocoding response", e);
-        }
+        alertRepository.save(alert);
+        meterRegistry.counter("alerts.geotag.completed", "status", GeoTaggingStatus.SUCCESS.name()).increment();
+        afterCommit(alert.getId(), GeoTaggingStatus.SUCCESS);
+        alertEventService.publish(AlertEventType.GEOTAGGED, alertMapper.toResponse(alert));
+        log.info("Geo-tagging successful for alert {}: lat={}, lon={}",
+                alert.getId(), result.latitude(), result.longitude());
     }
 
     private void handleGeocodingFailure(Alert alert, String errorMessage) {
         alert.setGeoTaggingStatus(GeoTaggingStatus.FAILED);
         alert.setGeoTaggingError(truncateMessage(errorMessage, 500));
+        alert.setChangeSeq(changeSequencer.next());
         alertRepository.save(alert);
+        meterRegistry.counter("alerts.geotag.completed", "status", GeoTaggingStatus.FAILED.name()).increment();
+        afterCommit(alert.getId(), GeoTaggingStatus.FAILED);
+        alertEventService.publish(AlertEventType.GEOTAG_FAILED, alertMapper.toResponse(alert));
         log.warn("Geo-tagging failed for alert {}: {}", alert.getId(), errorMessage);
     }
 
@@ -147,10 +246,22 @@ public class GeocodingService {
         );
     }
 
+    // The geotag counts as persisted once readers can see it, not at save()
+    private void afterCommit(Long alertId, GeoTaggingStatus status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pipelineTracker.persisted(alertId, status);
+                }
+            });
+        } else {
+            pipelineTracker.persisted(alertId, status);
+        }
+    }
+
     private String truncateMessage(String message, int maxLength) {
         if (message == null) return null;
         return message.length() > maxLength ? message.substring(0, maxLength) : message;
     }
-
-    private record GeocodingResult(double latitude, double longitude) {}
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package org.example.weather_alert.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.GeotagTrackingProperties;
+import org.example.weather_alert.dto.GeotagBacklogResponse;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Stage timestamps for every geotag on this instance:
+ * enqueued -> started -> permit acquired -> response received -> persisted.
+ *
+ * When a geotag is persisted its stage durations go to {@code alerts.geotag.stage{stage}} and the
+ * end-to-end time to {@code alerts.geotag.lag{status}}. The "oldest PENDING" gauge is read from the
+ * database, so it also covers alerts queued before a restart or on another instance.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(GeotagTrackingProperties.class)
+public class GeotagPipelineTracker {
+
+    public enum Stage { QUEUED, WAITING_FOR_PERMIT, CALLING_API, PERSISTING }
+
+    private final AlertRepository alertRepository;
+    private final MeterRegistry meterRegistry;
+    private final GeotagTrackingProperties properties;
+    private final Clock clock;
+
+    private final Map<Long, Trace> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    // Epoch millis per stage, 0 until reached
+    private static final class Trace {
+        final Long alertId;
+        final String locationName;
+        final long enqueuedAt;
+        volatile long startedAt;
+        volatile long permitAcquiredAt;
+        volatile long responseReceivedAt;
+
+        Trace(Long alertId, String locationName, long enqueuedAt) {
+            this.alertId = alertId;
+            this.locationName = locationName;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        Stage stage() {
+            if (responseReceivedAt > 0) return Stage.PERSISTING;
+            if (permitAcquiredAt > 0) return Stage.CALLING_API;
+            if (startedAt > 0) return Stage.WAITING_FOR_PERMIT;
+            return Stage.QUEUED;
+        }
+    }
+
+    public GeotagPipelineTracker(AlertRepository alertRepository, MeterRegistry meterRegistry,
+                                 GeotagTrackingProperties properties, Clock clock) {
+        this.alertRepository = alertRepository;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.clock = clock;
+
+        Gauge.builder("alerts.geotag.pending", pendingCount, AtomicLong::get)
+                .description("Alerts waiting for coordinates")
+                .register(meterRegistry);
+        Gauge.builder("alerts.geotag.oldest.pending.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Age of the oldest PENDING alert")
+                .register(meterRegistry);
+        Gauge.builder("alerts.geotag.inflight", inFlight, Map::size)
+                .description("Geotags queued or running on this instance")
+                .register(meterRegistry);
+    }
+
+    // ===================== Stage transitions =====================
+
+    public void enqueued(Long alertId, String locationName) {
+        if (inFlight.size() >= properties.getMaxInFlight() && !inFlight.containsKey(alertId)) {
+            log.debug("Geotag tracking full, not tracing alert {}", alertId);
+            return;
+        }
+        inFlight.put(alertId, new Trace(alertId, locationName, clock.millis()));
+    }
+
+    public void started(Collection<Long> alertIds) {
+        long now = clock.millis();
+        forEach(alertIds, trace -> trace.startedAt = now);
+    }
+
+    public void permitAcquired(Collection<Long> alertIds) {
+        long now = clock.millis();
+        forEach(alertIds, trace -> trace.permitAcquiredAt = now);
+    }
+
+    public void responseReceived(Collection<Long> alertIds) {
+        long now = clock.millis();
+        forEach(alertIds, trace -> trace.responseReceivedAt = now);
+    }
+
+    /**
+     * Ends the trace and records its stage durations. Call once the result is committed.
+     */
+    public void persisted(Long alertId, GeoTaggingStatus status) {
+        Trace trace = inFlight.remove(alertId);
+        if (trace == null) {
+            return;
+        }
+        long now = clock.millis();
+
+        recordStage("queue", trace.enqueuedAt, trace.startedAt);
+        recordStage("rate_limit", trace.startedAt, trace.permitAcquiredAt);
+        recordStage("http", trace.permitAcquiredAt, trace.responseReceivedAt);
+        recordStage("persist", trace.responseReceivedAt, now);
+        meterRegistry.timer("alerts.geotag.lag", "status", status.name())
+                .record(now - trace.enqueuedAt, TimeUnit.MILLISECONDS);
+    }
+
+    private void recordStage(String stage, long from, long to) {
+        if (from > 0 && to >= from) {
+            meterRegistry.timer("alerts.geotag.stage", "stage", stage).record(to - from, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void forEach(Collection<Long> alertIds, Consumer<Trace> update) {
+        for (Long alertId : alertIds) {
+            Trace trace = inFlight.get(alertId);
+            if (trace != null) {
+                update.accept(trace);
+            }
+        }
+    }
+
+    // ===================== Backlog =====================
+
+    @Scheduled(fixedDelayString = "${alerts.geotag.tracking.refresh-interval-ms:15000}")
+    public void refresh() {
+        try {
+            LocalDateTime oldest = alertRepository.findOldestChangeByGeoTaggingStatus(GeoTaggingStatus.PENDING);
+            pendingCount.set(alertRepository.countByGeoTaggingStatus(GeoTaggingStatus.PENDING));
+            oldestPendingAgeSeconds.set(ageSeconds(oldest));
+        } catch (Exception e) {
+            log.warn("Failed to refresh geotag backlog gauges: {}", e.getMessage());
+        }
+
+        long cutoff = clock.millis() - TimeUnit.MINUTES.toMillis(properties.getStaleAfterMinutes());
+        inFlight.values().removeIf(trace -> trace.enqueuedAt < cutoff);
+    }
+
+    public GeotagBacklogResponse backlog(int limit) {
+        LocalDateTime oldest = alertRepository.findOldestChangeByGeoTaggingStatus(GeoTaggingStatus.PENDING);
+        long pending = alertRepository.countByGeoTaggingStatus(GeoTaggingStatus.PENDING);
+        long now = clock.millis();
+
+        List<GeotagBacklogResponse.InFlightGeotag> slowest = inFlight.values().stream()
+                .sorted(Comparator.comparingLong(trace -> trace.enqueuedAt))
+                .limit(limit)
+                .map(trace -> GeotagBacklogResponse.InFlightGeotag.builder()
+                        .alertId(trace.alertId)
+                        .locationName(trace.locationName)
+                        .stage(trace.stage().name())
+                        .ageMs(now - trace.enqueuedAt)
+                        .enqueuedAt(toDateTime(trace.enqueuedAt))
+                        .startedAt(toDateTime(trace.startedAt))
+                        .permitAcquiredAt(toDateTime(trace.permitAcquiredAt))
+                        .responseReceivedAt(toDateTime(trace.responseReceivedAt))
+                        .build())
+                .toList();
+
+        return GeotagBacklogResponse.builder()
+                .pending(pending)
+                .oldestPendingSince(oldest)
+                .oldestPendingAgeSeconds(ageSeconds(oldest))
+                .inFlight(inFlight.size())
+                .slowest(slowest)
+                .build();
+    }
+
+    private long ageSeconds(LocalDateTime since) {
+        return since == null ? 0 : Math.max(0, Duration.between(since, LocalDateTime.now(clock)).getSeconds());
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
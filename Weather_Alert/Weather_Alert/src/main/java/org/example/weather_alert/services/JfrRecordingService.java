@@ -0,0 +1,134 @@
+package org.example.weather_alert.services;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.JfrProperties;
+import org.example.weather_alert.diagnostics.GeocodingEvent;
+import org.example.weather_alert.diagnostics.JwtValidationEvent;
+import org.example.weather_alert.diagnostics.RepositoryCallEvent;
+import org.example.weather_alert.diagnostics.UserLookupEvent;
+import org.example.weather_alert.dto.JfrRecordingResponse;
+import org.example.weather_alert.exception.RecordingStateException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One on-demand Java Flight Recorder recording per instance: the JDK's {@code default} or
+ * {@code profile} settings (GC, locks, I/O, sampling) plus the application events in
+ * {@code diagnostics}. The recording stops by itself after {@code alerts.jfr.max-duration-minutes}
+ * and keeps at most max-age / max-size of data on disk; it can be dumped while running or after.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrRecordingService {
+
+    public static final String RECORDING_NAME = "weather-alert";
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            GeocodingEvent.class, JwtValidationEvent.class, UserLookupEvent.class, RepositoryCallEvent.class);
+
+    private final JfrProperties properties;
+
+    private Recording recording;
+    private String settings;
+
+    public synchronized JfrRecordingResponse start(String settings) {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A recording is already running");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load JFR settings '" + settings + "'", e);
+        }
+
+        closeRecording();
+        Recording next = new Recording(configuration);
+        next.setName(RECORDING_NAME);
+        next.setToDisk(true);
+        next.setDuration(Duration.ofMinutes(properties.getMaxDurationMinutes()));
+        next.setMaxAge(Duration.ofMinutes(properties.getMaxAgeMinutes()));
+        next.setMaxSize(properties.getMaxSizeMb() * 1024 * 1024);
+        for (Class<? extends Event> type : APPLICATION_EVENTS) {
+            next.enable(type).withThreshold(Duration.ofMillis(properties.getEventThresholdMs()));
+        }
+        next.start();
+        recording = next;
+        this.settings = settings;
+
+        log.info("Started JFR recording with '{}' settings for at most {} min", settings, properties.getMaxDurationMinutes());
+        return currentStatus();
+    }
+
+    public synchronized JfrRecordingResponse stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped JFR recording ({} bytes)", recording.getSize());
+        return currentStatus();
+    }
+
+    public synchronized JfrRecordingResponse status() {
+        return currentStatus();
+    }
+
+    /**
+     * Writes the recording so far to a new temporary file; the caller deletes it.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new RecordingStateException("Nothing has been recorded yet");
+        }
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private JfrRecordingResponse currentStatus() {
+        if (recording == null) {
+            return JfrRecordingResponse.builder().state("NONE").build();
+        }
+        return JfrRecordingResponse.builder()
+                .state(recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED")
+                .settings(settings)
+                .startedAt(recording.getStartTime())
+                .stoppedAt(recording.getStopTime())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.weather_alert.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.exception.GeocodingException;
+
+/**
+ * Reads the coordinates of the first hit from a Nominatim {@code search?format=json} response.
+ *
+ * Stateless and thread-safe; it needs no Spring context, so the benchmarks module uses it as is.
+ */
+@Slf4j
+public class NominatimResponseParser {
+
+    // Only readTree is used, so no application-specific configuration is needed
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public record Result(double latitude, double longitude) {}
+
+    /**
+     * @return the first hit's coordinates, or null when Nominatim found nothing
+     * @throws GeocodingException if the response is not a Nominatim result array
+     */
+    public Result parse(String response) {
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(response);
+
+            if (root.isArray() && !root.isEmpty()) {
+                JsonNode firstResult = root.get(0);
+                double lat = firstResult.get("lat").asDouble();
+                double lon = firstResult.get("lon").asDouble();
+                return new Result(lat, lon);
+            }
+
+            return null;  // No results found
+
+        } catch (Exception e) {
+            log.error("Failed to parse Nominatim response: {}", e.getMessage());
+            throw new GeocodingException("Failed to parse geocoding response", e);
+        }
+    }
+}
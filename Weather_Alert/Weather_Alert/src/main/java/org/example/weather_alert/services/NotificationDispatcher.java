@@ -0,0 +1,404 @@
+package org.example.weather_alert.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.config.NotificationProperties;
+import org.example.weather_alert.dto.AlertNotification;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.NotificationChannel;
+import org.example.weather_alert.events.SubscriptionMatch;
+import org.example.weather_alert.index.SubscriptionArea;
+import org.example.weather_alert.notifications.Notification;
+import org.example.weather_alert.notifications.NotificationTarget;
+import org.example.weather_alert.notifications.WebhookUrlGuard;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers subscription matches to webhooks and e-mail without blocking the caller.
+ *
+ * Notifications are queued per destination (webhook host, or the SMTP server). A single
+ * flusher thread drains each queue in batches: webhook batches become one POST of a JSON
+ * array per URL over the shared non-blocking WebClient, e-mail batches are sent over one
+ * SMTP connection. A per-destination semaphore caps in-flight batches, so one slow host
+ * cannot take all connections. Failed items wait in a DelayQueue with exponential backoff
+ * and are re-queued until max-attempts is reached.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationDispatcher {
+
+    private static final String SMTP_DESTINATION = "smtp";
+
+    private final WebClient webClient;
+    private final Optional<JavaMailSender> mailSender;
+    private final MeterRegistry meterRegistry;
+    private final SubscriptionMatcher subscriptionMatcher;
+    private final WebhookUrlGuard webhookUrlGuard;
+    private final NotificationProperties properties;
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    private final DelayQueue<Notification> retryQueue = new DelayQueue<>();
+
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService mailExecutor;
+    private final Thread retryThread;
+    private volatile boolean running = true;
+
+    private final Counter droppedCounter;
+
+    private static final class Destination {
+        final String key;
+        final NotificationChannel channel;
+        final Queue<Notification> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final Semaphore permits;
+
+        Destination(String key, NotificationChannel channel, int maxConcurrency) {
+            this.key = key;
+            this.channel = channel;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+    }
+
+    public NotificationDispatcher(WebClient.Builder webClientBuilder,
+                                  Optional<JavaMailSender> mailSender,
+                                  MeterRegistry meterRegistry,
+                                  SubscriptionMatcher subscriptionMatcher,
+                                  WebhookUrlGuard webhookUrlGuard,
+                                  NotificationProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.subscriptionMatcher = subscriptionMatcher;
+        this.webhookUrlGuard = webhookUrlGuard;
+        this.properties = properties;
+
+        long flushIntervalMs = properties.getFlushIntervalMs();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "Notification-Flusher"));
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        // JavaMail is blocking: one thread per allowed SMTP connection
+        mailExecutor = Executors.newFixedThreadPool(properties.getMaxConcurrencyPerDestination(),
+                runnable -> daemon(runnable, "Notification-Mail"));
+
+        retryThread = daemon(this::retryLoop, "Notification-Retry");
+        retryThread.start();
+
+        droppedCounter = Counter.builder("alerts.notifications.dropped")
+                .description("Notifications discarded (queue full or attempts exhausted)")
+                .register(meterRegistry);
+        Gauge.builder("alerts.notifications.queued", destinations,
+                        map -> map.values().stream().mapToInt(destination -> destination.size.get()).sum())
+                .description("Notifications waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("alerts.notifications.retry.queued", retryQueue, DelayQueue::size)
+                .description("Notifications waiting for a retry")
+                .register(meterRegistry);
+
+        subscriptionMatcher.addMatchListener(this::onMatch);
+
+        if (mailSender.isEmpty()) {
+            log.info("No mail server configured (spring.mail.host) - e-mail notifications are disabled");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flusher.shutdown();
+        mailExecutor.shutdown();
+        retryThread.interrupt();
+    }
+
+    // ==========================================
+    // INTAKE
+    // ==========================================
+
+    private void onMatch(SubscriptionMatch match) {
+        for (SubscriptionArea subscription : match.subscriptions()) {
+            NotificationTarget target = subscriptionMatcher.getTarget(subscription.subscriptionId());
+            if (target != null) {
+                dispatch(subscription.subscriptionId(), target, match.alert());
+            }
+        }
+    }
+
+    /**
+     * Queues delivery of an alert to every enabled channel of the target. Never blocks.
+     */
+    public void dispatch(long subscriptionId, NotificationTarget target, AlertResponse alert) {
+        if (target.webhookUrl() != null) {
+            enqueue(new Notification(NotificationChannel.WEBHOOK, target.webhookUrl(), subscriptionId, alert));
+        }
+        if (target.email() != null && isEmailEnabled()) {
+            enqueue(new Notification(NotificationChannel.EMAIL, target.email(), subscriptionId, alert));
+        }
+    }
+
+    /**
+     * Whether a mail server is configured ({@code spring.mail.host}).
+     */
+    public boolean isEmailEnabled() {
+        return mailSender.isPresent();
+    }
+
+    public int getQueuedCount() {
+        return destinations.values().stream().mapToInt(destination -> destination.size.get()).sum()
+                + retryQueue.size();
+    }
+
+    private void enqueue(Notification notification) {
+        Destination destination;
+        try {
+            destination = destinations.computeIfAbsent(destinationKey(notification),
+                    key -> new Destination(key, notification.getChannel(), properties.getMaxConcurrencyPerDestination()));
+        } catch (IllegalArgumentException e) {
+            drop(notification, "invalid destination: " + e.getMessage());
+            return;
+        }
+
+        if (destination.size.incrementAndGet() > properties.getMaxQueuePerDestination()) {
+            destination.size.decrementAndGet();
+            drop(notification, "queue for " + destination.key + " is full");
+            return;
+        }
+        destination.queue.offer(notification);
+
+        // A full batch does not wait for the next tick
+        if (destination.size.get() >= properties.getBatchSize() && running) {
+            flusher.execute(() -> flush(destination));
+        }
+    }
+
+    private static String destinationKey(Notification notification) {
+        if (notification.getChannel() == NotificationChannel.EMAIL) {
+            // All mail goes through the one configured SMTP server
+            return SMTP_DESTINATION;
+        }
+        URI uri = URI.create(notification.getDestination());
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException(notification.getDestination());
+        }
+        return "webhook:" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    // ==========================================
+    // FLUSHING (flusher thread only)
+    // ==========================================
+
+    private void flushAll() {
+        try {
+            destinations.values().forEach(this::flush);
+        } catch (RuntimeException e) {
+            log.error("Notification flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush(Destination destination) {
+        while (!destination.queue.isEmpty() && destination.permits.tryAcquire()) {
+            List<Notification> batch = new ArrayList<>(properties.getBatchSize());
+            Notification notification;
+            while (batch.size() < properties.getBatchSize() && (notification = destination.queue.poll()) != null) {
+                batch.add(notification);
+            }
+            destination.size.addAndGet(-batch.size());
+
+            if (batch.isEmpty()) {
+                destination.permits.release();
+                return;
+            }
+
+            Runnable done = () -> {
+                destination.permits.release();
+                // Keep draining if more arrived while this batch was in flight
+                if (!destination.queue.isEmpty() && running) {
+                    flusher.execute(() -> flush(destination));
+                }
+            };
+
+            if (destination.channel == NotificationChannel.WEBHOOK) {
+                sendWebhooks(batch, done);
+            } else {
+                sendEmails(batch, done);
+            }
+        }
+    }
+
+    // ==========================================
+    // DELIVERY
+    // ==========================================
+
+    private void sendWebhooks(List<Notification> batch, Runnable done) {
+        Map<String, List<Notification>> byUrl = batch.stream()
+                .collect(Collectors.groupingBy(Notification::getDestination, LinkedHashMap::new, Collectors.toList()));
+
+        List<Mono<Void>> requests = new ArrayList<>(byUrl.size());
+        byUrl.forEach((url, notifications) -> {
+            try {
+                // Re-checked on delivery: the host may resolve elsewhere than at subscribe time
+                webhookUrlGuard.check(url);
+            } catch (IllegalArgumentException e) {
+                notifications.forEach(notification -> drop(notification, e.getMessage()));
+                return;
+            }
+            requests.add(postWebhook(url, notifications));
+        });
+
+        Mono.when(requests)
+                .doFinally(signal -> done.run())
+                .subscribe();
+    }
+
+    private Mono<Void> postWebhook(String url, List<Notification> notifications) {
+        List<AlertNotification> payload = notifications.stream()
+                .map(notification -> AlertNotification.builder()
+                        .subscriptionId(notification.getSubscriptionId())
+                        .alert(notification.getAlert())
+                        .matchedAt(notification.getMatchedAt())
+                        .attempt(notification.getAttempts() + 1)
+                        .build())
+                .collect(Collectors.toList());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return webClient.post()
+                .uri(url)
+                .bodyValue(payload)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(properties.getRequestTimeoutMs()))
+                .doOnSuccess(response -> delivered(NotificationChannel.WEBHOOK, notifications.size(), sample, "success"))
+                .then()
+                .onErrorResume(e -> {
+                    delivered(NotificationChannel.WEBHOOK, 0, sample, "failure");
+                    log.debug("Webhook {} failed for {} notifications: {}", url, notifications.size(), e.getMessage());
+                    notifications.forEach(this::retry);
+                    return Mono.empty();
+                });
+    }
+
+    // Only reached when a mail server is configured - see dispatch()
+    private void sendEmails(List<Notification> batch, Runnable done) {
+        mailExecutor.execute(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            SimpleMailMessage[] messages = batch.stream().map(this::toMail).toArray(SimpleMailMessage[]::new);
+            try {
+                // JavaMailSenderImpl sends the whole array over a single SMTP connection
+                mailSender.get().send(messages);
+                delivered(NotificationChannel.EMAIL, batch.size(), sample, "success");
+            } catch (MailSendException e) {
+                // Only the messages reported as failed are retried
+                Map<Object, Exception> failed = e.getFailedMessages();
+                int failedCount = failed.isEmpty() ? batch.size() : failed.size();
+                delivered(NotificationChannel.EMAIL, batch.size() - failedCount, sample, "failure");
+                for (int i = 0; i < messages.length; i++) {
+                    if (failed.isEmpty() || failed.containsKey(messages[i])) {
+                        retry(batch.get(i));
+                    }
+                }
+                log.debug("SMTP batch failed for {} of {} messages: {}", failedCount, batch.size(), e.getMessage());
+            } catch (RuntimeException e) {
+                delivered(NotificationChannel.EMAIL, 0, sample, "failure");
+                log.debug("SMTP batch of {} failed: {}", batch.size(), e.getMessage());
+                batch.forEach(this::retry);
+            } finally {
+                done.run();
+            }
+        });
+    }
+
+    private SimpleMailMessage toMail(Notification notification) {
+        AlertResponse alert = notification.getAlert();
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(properties.getMailFrom());
+        message.setTo(notification.getDestination());
+        message.setSubject("[" + alert.getSeverityLevel() + "] Weather alert for " + alert.getLocationName());
+        message.setText(alert.getDescription()
+                + "\n\nLocation: " + alert.getLocationName()
+                + " (" + alert.getLatitude() + ", " + alert.getLongitude() + ")"
+                + "\nAlert ID: " + alert.getId()
+                + "\nSubscription ID: " + notification.getSubscriptionId());
+        return message;
+    }
+
+    private void delivered(NotificationChannel channel, int count, Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("alerts.notifications.delivery")
+                .description("Latency of one delivery batch")
+                .tag("channel", channel.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        if (count > 0) {
+            meterRegistry.counter("alerts.notifications.delivered", "channel", channel.name()).increment(count);
+        }
+    }
+
+    // ==========================================
+    // RETRIES
+    // ==========================================
+
+    private void retry(Notification notification) {
+        if (notification.getAttempts() + 1 >= properties.getMaxAttempts()) {
+            drop(notification, "gave up after " + properties.getMaxAttempts() + " attempts");
+            return;
+        }
+        meterRegistry.counter("alerts.notifications.retried", "channel", notification.getChannel().name()).increment();
+
+        // 1x, 2x, 4x ... the base delay
+        long delay = properties.getRetryBaseDelayMs() << Math.min(notification.getAttempts(), 16);
+        notification.failed(delay);
+        retryQueue.offer(notification);
+    }
+
+    private void retryLoop() {
+        while (running) {
+            try {
+                enqueue(retryQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drop(Notification notification, String reason) {
+        droppedCounter.increment();
+        log.warn("Dropping {} notification for subscription {} to {}: {}", notification.getChannel(),
+                notification.getSubscriptionId(), notification.getDestination(), reason);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
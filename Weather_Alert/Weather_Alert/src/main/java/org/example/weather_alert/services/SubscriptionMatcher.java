@@ -0,0 +1,164 @@
+package org.example.weather_alert.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.entities.AlertSubscription;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.events.SubscriptionMatch;
+import org.example.weather_alert.index.SubscriptionArea;
+import org.example.weather_alert.index.SubscriptionGridIndex;
+import org.example.weather_alert.notifications.NotificationTarget;
+import org.example.weather_alert.repositories.AlertSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Matches geotagged alerts against all subscriptions through a {@link SubscriptionGridIndex}.
+ *
+ * The index is loaded once at startup and kept current by SubscriptionService. Matching runs
+ * on the event publish path, so it only collects matches; delivery is up to the registered
+ * match listeners, which must hand work off instead of blocking.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriptionMatcher {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final AlertSubscriptionRepository subscriptionRepository;
+    private final AlertEventService alertEventService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${alerts.subscriptions.cell-size-deg:0.25}")
+    private double cellSizeDeg;
+
+    @Value("${alerts.subscriptions.max-cells-per-area:4096}")
+    private int maxCellsPerArea;
+
+    private SubscriptionGridIndex index;
+
+    // Delivery targets are kept next to, not inside, the index so matching stays geometry-only
+    private final Map<Long, NotificationTarget> targets = new ConcurrentHashMap<>();
+
+    private final List<Consumer<SubscriptionMatch>> matchListeners = new CopyOnWriteArrayList<>();
+
+    private Timer matchTimer;
+    private Counter matchedCounter;
+
+    @PostConstruct
+    void init() {
+        index = new SubscriptionGridIndex(cellSizeDeg, maxCellsPerArea);
+
+        matchTimer = Timer.builder("alerts.subscriptions.match")
+                .description("Time to match one geotagged alert against all subscriptions")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        matchedCounter = Counter.builder("alerts.subscriptions.matched")
+                .description("Subscription matches produced")
+                .register(meterRegistry);
+        Gauge.builder("alerts.subscriptions.indexed", this, matcher -> matcher.index.size())
+                .description("Subscriptions held in the matching index")
+                .register(meterRegistry);
+
+        long afterId = 0;
+        while (true) {
+            List<AlertSubscription> page = subscriptionRepository.findPageAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(this::register);
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        alertEventService.addListener(this::onEvent);
+        log.info("Subscription matcher loaded {} subscriptions (cell size {}°)", index.size(), cellSizeDeg);
+    }
+
+    public void addMatchListener(Consumer<SubscriptionMatch> listener) {
+        matchListeners.add(listener);
+    }
+
+    public void register(AlertSubscription subscription) {
+        NotificationTarget target = new NotificationTarget(subscription.getWebhookUrl(), subscription.getEmail());
+        if (!target.isEmpty()) {
+            targets.put(subscription.getId(), target);
+        }
+        index.add(toArea(subscription));
+    }
+
+    public void unregister(Long subscriptionId) {
+        index.remove(subscriptionId);
+        targets.remove(subscriptionId);
+    }
+
+    public NotificationTarget getTarget(long subscriptionId) {
+        return targets.get(subscriptionId);
+    }
+
+    /**
+     * Subscriptions matching the given alert. Alerts without coordinates match nothing.
+     */
+    public List<SubscriptionArea> match(AlertResponse alert) {
+        List<SubscriptionArea> matches = new ArrayList<>();
+        if (alert.getLatitude() == null || alert.getLongitude() == null || alert.getSeverityLevel() == null) {
+            return matches;
+        }
+
+        long startedAt = System.nanoTime();
+        index.match(alert.getSeverityLevel(), alert.getLatitude(), alert.getLongitude(), matches::add);
+        matchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        matchedCounter.increment(matches.size());
+
+        return matches;
+    }
+
+    private void onEvent(AlertEvent event) {
+        if (event.getType() != AlertEventType.GEOTAGGED || event.getAlert() == null) {
+            return;
+        }
+
+        List<SubscriptionArea> matches = match(event.getAlert());
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        log.debug("Alert ID {} matched {} subscriptions", event.getAlertId(), matches.size());
+        SubscriptionMatch match = new SubscriptionMatch(event.getAlert(), List.copyOf(matches));
+        for (Consumer<SubscriptionMatch> listener : matchListeners) {
+            listener.accept(match);
+        }
+    }
+
+    static SubscriptionArea toArea(AlertSubscription subscription) {
+        long id = subscription.getId();
+        long ownerId = subscription.getOwner().getId();
+
+        if (subscription.getRadiusKm() != null) {
+            return SubscriptionArea.circle(id, ownerId, subscription.getMinSeverity(),
+                    subscription.getCenterLat(), subscription.getCenterLon(), subscription.getRadiusKm());
+        }
+        if (subscription.getMinLat() != null) {
+            return SubscriptionArea.box(id, ownerId, subscription.getMinSeverity(),
+                    subscription.getMinLat(), subscription.getMaxLat(),
+                    subscription.getMinLon(), subscription.getMaxLon());
+        }
+        return SubscriptionArea.anywhere(id, ownerId, subscription.getMinSeverity());
+    }
+}
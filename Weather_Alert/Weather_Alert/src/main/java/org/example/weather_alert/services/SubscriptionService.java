@@ -0,0 +1,163 @@
+package org.example.weather_alert.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.weather_alert.dto.CreateSubscriptionRequest;
+import org.example.weather_alert.dto.SubscriptionResponse;
+import org.example.weather_alert.entities.AlertSubscription;
+import org.example.weather_alert.entities.User;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.exception.SubscriptionNotFoundException;
+import org.example.weather_alert.notifications.WebhookUrlGuard;
+import org.example.weather_alert.repositories.AlertSubscriptionRepository;
+import org.example.weather_alert.repositories.UserRepository;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriptionService {
+
+    private final AlertSubscriptionRepository subscriptionRepository;
+
+    private final SubscriptionMatcher subscriptionMatcher;
+
+    private final UserRepository userRepository;
+
+    private final WebhookUrlGuard webhookUrlGuard;
+
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Transactional
+    public SubscriptionResponse createSubscription(CreateSubscriptionRequest request) {
+        // Loaded here (not per request) for the owner relation and default email
+        User currentUser = userRepository.findById(requireCurrentUserId())
+                .orElseThrow(() -> new IllegalStateException("Authenticated user no longer exists"));
+        validateArea(request);
+        if (request.getWebhookUrl() != null) {
+            webhookUrlGuard.check(request.getWebhookUrl());
+        }
+        boolean emailEnabled = notificationDispatcher.isEmailEnabled();
+        if (request.getEmail() != null && !emailEnabled) {
+            throw new IllegalArgumentException("E-mail notifications are not enabled on this server");
+        }
+        if (request.getWebhookUrl() == null && request.getEmail() == null && !emailEnabled) {
+            throw new IllegalArgumentException("A webhookUrl is required - e-mail notifications are not enabled");
+        }
+
+        AlertSubscription subscription = AlertSubscription.builder()
+                .owner(currentUser)
+                .name(request.getName())
+                .minSeverity(request.getMinSeverity() != null ? request.getMinSeverity() : SeverityLevel.LOW)
+                .centerLat(request.getCenterLat())
+                .centerLon(request.getCenterLon())
+                .radiusKm(request.getRadiusKm())
+                .minLat(request.getMinLat())
+                .maxLat(request.getMaxLat())
+                .minLon(request.getMinLon())
+                .maxLon(request.getMaxLon())
+                .webhookUrl(request.getWebhookUrl())
+                // Without an explicit target, notify the account's own address (mail is enabled here)
+                .email(request.getEmail() == null && request.getWebhookUrl() == null
+                        ? currentUser.getEmail()
+                        : request.getEmail())
+                .build();
+
+        AlertSubscription saved = subscriptionRepository.save(subscription);
+        log.info("User {} created subscription ID: {}", currentUser.getUsername(), saved.getId());
+
+        // Start matching only once the row is committed
+        runAfterCommit(() -> subscriptionMatcher.register(saved));
+        return toResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubscriptionResponse> getMySubscriptions() {
+        return subscriptionRepository.findByOwnerIdOrderByIdAsc(requireCurrentUserId())
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void deleteSubscription(Long id) {
+        // Other users' subscriptions are reported as missing rather than forbidden
+        AlertSubscription subscription = subscriptionRepository.findByIdAndOwnerId(id, requireCurrentUserId())
+                .orElseThrow(() -> new SubscriptionNotFoundException(id));
+
+        subscriptionRepository.delete(subscription);
+        runAfterCommit(() -> subscriptionMatcher.unregister(id));
+        log.info("Subscription deleted: {}", id);
+    }
+
+    private void validateArea(CreateSubscriptionRequest request) {
+        boolean anyCircle = request.getCenterLat() != null || request.getCenterLon() != null || request.getRadiusKm() != null;
+        boolean fullCircle = request.getCenterLat() != null && request.getCenterLon() != null && request.getRadiusKm() != null;
+        boolean anyBox = request.getMinLat() != null || request.getMaxLat() != null
+                || request.getMinLon() != null || request.getMaxLon() != null;
+        boolean fullBox = request.getMinLat() != null && request.getMaxLat() != null
+                && request.getMinLon() != null && request.getMaxLon() != null;
+
+        if (anyCircle && anyBox) {
+            throw new IllegalArgumentException("Give either a circle or a region, not both");
+        }
+        if (anyCircle && !fullCircle) {
+            throw new IllegalArgumentException("Circle requires centerLat, centerLon and radiusKm");
+        }
+        if (anyBox && !fullBox) {
+            throw new IllegalArgumentException("Region requires minLat, maxLat, minLon and maxLon");
+        }
+        if (fullBox && (request.getMinLat() > request.getMaxLat() || request.getMinLon() > request.getMaxLon())) {
+            throw new IllegalArgumentException("Region minimum must not exceed maximum");
+        }
+    }
+
+    private SubscriptionResponse toResponse(AlertSubscription subscription) {
+        return SubscriptionResponse.builder()
+                .id(subscription.getId())
+                .name(subscription.getName())
+                .minSeverity(subscription.getMinSeverity())
+                .centerLat(subscription.getCenterLat())
+                .centerLon(subscription.getCenterLon())
+                .radiusKm(subscription.getRadiusKm())
+                .minLat(subscription.getMinLat())
+                .maxLat(subscription.getMaxLat())
+                .minLon(subscription.getMinLon())
+                .maxLon(subscription.getMaxLon())
+                .webhookUrl(subscription.getWebhookUrl())
+                .email(subscription.getEmail())
+                .createdAt(subscription.getCreatedAt())
+                .build();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Long requireCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        throw new IllegalStateException("No authenticated user found");
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.weather_alert.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.example.weather_alert.dto.CreateAlertRequest;
+
+import java.time.LocalDateTime;
+
+public class EffectivePeriodValidator implements ConstraintValidator<ValidEffectivePeriod, CreateAlertRequest> {
+
+    @Override
+    public boolean isValid(CreateAlertRequest request, ConstraintValidatorContext context) {
+        if (request == null || request.getEffectiveUntil() == null) {
+            return true;
+        }
+
+        // Same clock as @Future, so tests can pin "now"
+        LocalDateTime from = request.getEffectiveFrom() != null
+                ? request.getEffectiveFrom()
+                : LocalDateTime.now(context.getClockProvider().getClock());
+        if (request.getEffectiveUntil().isAfter(from)) {
+            return true;
+        }
+
+        // Report on the field so clients see it next to the other field errors
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                .addPropertyNode("effectiveUntil")
+                .addConstraintViolation();
+        return false;
+    }
+}
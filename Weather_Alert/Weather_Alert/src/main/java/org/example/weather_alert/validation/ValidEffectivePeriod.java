@@ -0,0 +1,25 @@
+package org.example.weather_alert.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The alert's {@code effectiveUntil} must lie after its {@code effectiveFrom}, or after the
+ * validator's clock when the alert takes effect immediately.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = EffectivePeriodValidator.class)
+public @interface ValidEffectivePeriod {
+
+    String message() default "effectiveUntil must be after effectiveFrom";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -4,8 +4,13 @@
 -- =====================================================
 
 -- Drop tables if exist (в правилен ред заради foreign keys)
+DROP TABLE IF EXISTS alert_subscriptions;
+DROP TABLE IF EXISTS alerts_archive;
+DROP TABLE IF EXISTS alert_tombstones;
 DROP TABLE IF EXISTS user_roles;
 DROP TABLE IF EXISTS alerts;
+DROP TABLE IF EXISTS alerts_seq;
+DROP TABLE IF EXISTS change_sequence;
 DROP TABLE IF EXISTS users;
 DROP TABLE IF EXISTS roles;
 
@@ -73,7 +78,16 @@ CREATE TABLE alerts (
                         created_by BIGINT,
                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                         updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        change_seq BIGINT,
+                        effective_from TIMESTAMP NULL,
+                        effective_until TIMESTAMP NULL,
+                        expires_at TIMESTAMP NULL,
+                        dedup_key VARCHAR(80) NULL,
 
+                        -- Named: AlertService maps a clash on this constraint to 409 Conflict.
+                        -- Databases created by ddl-auto before it was named carry an extra UK... index
+                        -- on dedup_key that should be dropped.
+                        CONSTRAINT uk_alerts_dedup_key UNIQUE (dedup_key),
                         CONSTRAINT fk_alerts_created_by
                             FOREIGN KEY (created_by)
                                 REFERENCES users(id)
@@ -84,6 +98,135 @@ CREATE INDEX idx_alerts_location ON alerts(location_name);
 CREATE INDEX idx_alerts_severity ON alerts(severity_level);
 CREATE INDEX idx_alerts_created_at ON alerts(created_at);
 CREATE INDEX idx_alerts_geo_status ON alerts(geo_tagging_status);
+CREATE INDEX idx_alerts_change_seq ON alerts(change_seq);
+CREATE INDEX idx_alerts_expires_at ON alerts(expires_at);
+CREATE INDEX idx_alerts_effective_period ON alerts(effective_from, effective_until);
+
+-- Pooled ID generator for alerts (Hibernate sequence emulation, allocationSize 50).
+-- AlertIdSequenceInitializer moves next_val past rows inserted with AUTO_INCREMENT.
+CREATE TABLE alerts_seq (
+                            next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO alerts_seq VALUES (1);
+
+-- Change sequence for delta sync (AlertChangeSequencer). Writers increment the row inside
+-- their own transaction, so its lock makes every instance commit changes in sequence order.
+CREATE TABLE change_sequence (
+                                 name VARCHAR(40) PRIMARY KEY,
+                                 seq_value BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO change_sequence VALUES ('alerts', 0);
+
+-- =====================================================
+-- ALERT_TOMBSTONES TABLE (deletions for delta sync)
+-- =====================================================
+CREATE TABLE alert_tombstones (
+                                  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                  alert_id BIGINT NOT NULL,
+                                  change_seq BIGINT NOT NULL,
+                                  deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_alert_tombstones_change_seq ON alert_tombstones(change_seq);
+
+-- =====================================================
+-- ALERTS_ARCHIVE TABLE (expired alerts moved by AlertExpirySweeper)
+-- =====================================================
+CREATE TABLE alerts_archive (
+                                id BIGINT PRIMARY KEY,
+                                description VARCHAR(1000) NOT NULL,
+                                location_name VARCHAR(255) NOT NULL,
+                                latitude DOUBLE,
+                                longitude DOUBLE,
+                                severity_level ENUM('LOW', 'MEDIUM', 'HIGH') NOT NULL,
+                                geo_tagging_status ENUM('PENDING', 'SUCCESS', 'FAILED'),
+                                geo_tagging_error VARCHAR(500),
+                                created_by BIGINT,
+                                created_at TIMESTAMP NULL,
+                                updated_at TIMESTAMP NULL,
+                                effective_from TIMESTAMP NULL,
+                                effective_until TIMESTAMP NULL,
+                                expires_at TIMESTAMP NULL,
+                                archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_alerts_archive_archived_at ON alerts_archive(archived_at);
+
+-- =====================================================
+-- ALERT_SUBSCRIPTIONS TABLE
+-- =====================================================
+CREATE TABLE alert_subscriptions (
+                                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                     owner_id BIGINT NOT NULL,
+                                     name VARCHAR(100),
+                                     min_severity ENUM('LOW', 'MEDIUM', 'HIGH') NOT NULL,
+                                     center_lat DOUBLE,
+                                     center_lon DOUBLE,
+                                     radius_km DOUBLE,
+                                     min_lat DOUBLE,
+                                     max_lat DOUBLE,
+                                     min_lon DOUBLE,
+                                     max_lon DOUBLE,
+                                     webhook_url VARCHAR(500),
+                                     email VARCHAR(100),
+                                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+                                     CONSTRAINT fk_alert_subscriptions_owner
+                                         FOREIGN KEY (owner_id)
+                                             REFERENCES users(id)
+                                             ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_alert_subscriptions_owner ON alert_subscriptions(owner_id);
+
+-- =====================================================
+-- REFRESH_TOKENS TABLE (SHA-256 digests only, rotated on use)
+-- =====================================================
+CREATE TABLE refresh_tokens (
+                                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                token_hash VARCHAR(64) NOT NULL UNIQUE,
+                                user_id BIGINT NOT NULL,
+                                family_id VARCHAR(36) NOT NULL,
+                                expires_at TIMESTAMP NOT NULL,
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                used_at TIMESTAMP NULL,
+                                revoked_at TIMESTAMP NULL,
+
+                                CONSTRAINT fk_refresh_tokens_user
+                                    FOREIGN KEY (user_id)
+                                        REFERENCES users(id)
+                                        ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- =====================================================
+-- REVOKED_TOKENS TABLE (access token IDs, polled by every instance)
+-- =====================================================
+CREATE TABLE revoked_tokens (
+                                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                jti VARCHAR(36) NOT NULL UNIQUE,
+                                user_id BIGINT,
+                                expires_at TIMESTAMP NOT NULL,
+                                revoked_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+-- =====================================================
+-- USER_TOKEN_CUTOFFS TABLE ("revoke all tokens of a user", polled by every instance)
+-- =====================================================
+CREATE TABLE user_token_cutoffs (
+                                    user_id BIGINT PRIMARY KEY,
+                                    not_before TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_user_token_cutoffs_not_before ON user_token_cutoffs(not_before);
 
 -- =====================================================
 -- TRIGGERS за автоматично обновяване на updated_at
@@ -113,3 +256,9 @@ ALTER TABLE roles COMMENT = 'Роли в системата за authorization';
 ALTER TABLE users COMMENT = 'Потребители на системата';
 ALTER TABLE user_roles COMMENT = 'Връзка много-към-много между users и roles';
 ALTER TABLE alerts COMMENT = 'Weather alerts с geo-tagging информация';
+ALTER TABLE alert_tombstones COMMENT = 'Изтрити alerts за delta sync';
+ALTER TABLE alert_subscriptions COMMENT = 'Абонаменти за alerts по район и severity';
+ALTER TABLE alerts_archive COMMENT = 'Изтекли alerts, преместени от sweeper-а';
+ALTER TABLE refresh_tokens COMMENT = 'Refresh tokens (само SHA-256 хешове)';
+ALTER TABLE revoked_tokens COMMENT = 'Отменени access tokens (jti) до изтичането им';
+ALTER TABLE user_token_cutoffs COMMENT = 'Отменени access tokens на потребител, издадени преди not_before';
@@ -0,0 +1,273 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.AlertBulkProperties;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.dto.BulkAlertFilter;
+import org.example.weather_alert.dto.BulkOperationResponse;
+import org.example.weather_alert.dto.BulkUpdateAlertRequest;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.services.AlertBulkService;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.example.weather_alert.services.AlertEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertBulkService Unit Tests")
+class AlertBulkServiceTest {
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertTombstoneRepository alertTombstoneRepository;
+
+    @Mock
+    private AlertChangeSequencer changeSequencer;
+
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Mock
+    private AlertMapper alertMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private AlertBulkProperties properties = new AlertBulkProperties();
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @InjectMocks
+    private AlertBulkService alertBulkService;
+
+    private BulkAlertFilter lowSeverity;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(2);
+        lowSeverity = BulkAlertFilter.builder().severityLevel(SeverityLevel.LOW).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any(TransactionCallback.class)))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0)
+                        .doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    // ==========================================
+    // FILTER VALIDATION TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("filter validation")
+    class FilterValidationTests {
+
+        @Test
+        @DisplayName("should refuse a missing or empty filter instead of touching the whole table")
+        void shouldRequireFilter() {
+            BulkUpdateAlertRequest update = BulkUpdateAlertRequest.builder()
+                    .filter(new BulkAlertFilter())
+                    .severityLevel(SeverityLevel.HIGH)
+                    .build();
+
+            assertThatThrownBy(() -> alertBulkService.bulkDelete(null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("filter");
+            assertThatThrownBy(() -> alertBulkService.bulkDelete(BulkAlertFilter.builder().ids(List.of()).build()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> alertBulkService.bulkUpdate(update))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(alertRepository, transactionTemplate);
+        }
+
+        @Test
+        @DisplayName("should refuse an update that changes nothing")
+        void shouldRequireSomethingToUpdate() {
+            BulkUpdateAlertRequest update = BulkUpdateAlertRequest.builder().filter(lowSeverity).build();
+
+            assertThatThrownBy(() -> alertBulkService.bulkUpdate(update))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Nothing to update");
+            verifyNoInteractions(alertRepository);
+        }
+    }
+
+    // ==========================================
+    // CHUNKING TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("chunking")
+    class ChunkingTests {
+
+        @Test
+        @DisplayName("should walk matching IDs by keyset, one transaction per chunk, until a short chunk")
+        void shouldProcessInChunks() {
+            // Arrange
+            runTransactionsInline();
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of(1L, 2L));
+            when(alertRepository.findIdsMatching(lowSeverity, 2, 2)).thenReturn(List.of(3L, 4L));
+            when(alertRepository.findIdsMatching(lowSeverity, 4, 2)).thenReturn(List.of(5L));
+            when(changeSequencer.next()).thenReturn(10L, 11L, 12L);
+            when(alertRepository.bulkDelete(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+            // Act
+            BulkOperationResponse response = alertBulkService.bulkDelete(lowSeverity);
+
+            // Assert
+            assertThat(response.getOperation()).isEqualTo("DELETE");
+            assertThat(response.getAffected()).isEqualTo(5);
+            assertThat(response.getChunks()).isEqualTo(3);
+            verify(transactionTemplate, times(3)).execute(any());
+            verify(alertRepository, never()).findIdsMatching(lowSeverity, 5, 2);
+        }
+
+        @Test
+        @DisplayName("should stop on an empty page when the last chunk was exactly full")
+        void shouldStopOnEmptyPage() {
+            // Arrange
+            runTransactionsInline();
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of(1L, 2L));
+            when(alertRepository.findIdsMatching(lowSeverity, 2, 2)).thenReturn(List.of());
+            when(alertRepository.bulkDelete(any())).thenReturn(2);
+
+            // Act
+            BulkOperationResponse response = alertBulkService.bulkDelete(lowSeverity);
+
+            // Assert
+            assertThat(response.getAffected()).isEqualTo(2);
+            assertThat(response.getChunks()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should report nothing affected when no alert matches")
+        void shouldHandleNoMatches() {
+            // Arrange
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of());
+
+            // Act
+            BulkOperationResponse response = alertBulkService.bulkDelete(lowSeverity);
+
+            // Assert
+            assertThat(response.getAffected()).isZero();
+            assertThat(response.getChunks()).isZero();
+            verifyNoInteractions(transactionTemplate, changeSequencer);
+        }
+    }
+
+    // ==========================================
+    // CHUNK CONTENT TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("chunk content")
+    class ChunkContentTests {
+
+        @Test
+        @DisplayName("should write tombstones with the chunk's change sequence before deleting, and announce every delete")
+        void shouldTombstoneAndPublishDeletes() {
+            // Arrange
+            runTransactionsInline();
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of(7L));
+            when(changeSequencer.next()).thenReturn(42L);
+            when(alertTombstoneRepository.insertForAlerts(List.of(7L), 42L)).thenReturn(1);
+            when(alertRepository.bulkDelete(List.of(7L))).thenReturn(1);
+
+            // Act
+            alertBulkService.bulkDelete(lowSeverity);
+
+            // Assert
+            InOrder order = inOrder(alertTombstoneRepository, alertRepository);
+            order.verify(alertTombstoneRepository).insertForAlerts(List.of(7L), 42L);
+            order.verify(alertRepository).bulkDelete(List.of(7L));
+            verify(alertEventService).publishDeleted(7L);
+        }
+
+        @Test
+        @DisplayName("should announce only the alerts that were still there to delete")
+        void shouldPublishOnlyDeletedAlerts() {
+            // Arrange - alert 8 was deleted by someone else after the IDs were read
+            runTransactionsInline();
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of(7L, 8L));
+            when(alertRepository.findIdsMatching(lowSeverity, 8, 2)).thenReturn(List.of());
+            when(changeSequencer.next()).thenReturn(42L);
+            when(alertTombstoneRepository.insertForAlerts(List.of(7L, 8L), 42L)).thenReturn(1);
+            when(alertRepository.bulkDelete(List.of(7L, 8L))).thenReturn(1);
+            when(alertTombstoneRepository.findByChangeSeq(42L))
+                    .thenReturn(List.of(AlertTombstone.builder().alertId(7L).changeSeq(42L).build()));
+
+            // Act
+            BulkOperationResponse response = alertBulkService.bulkDelete(lowSeverity);
+
+            // Assert
+            assertThat(response.getAffected()).isEqualTo(1);
+            verify(alertEventService).publishDeleted(7L);
+            verify(alertEventService, never()).publishDeleted(8L);
+        }
+
+        @Test
+        @DisplayName("should stamp an update chunk with one change sequence and publish UPDATED per alert")
+        void shouldSequenceAndPublishUpdates() {
+            // Arrange
+            runTransactionsInline();
+            LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 1, 0, 0);
+            BulkUpdateAlertRequest update = BulkUpdateAlertRequest.builder()
+                    .filter(lowSeverity)
+                    .expiresAt(expiresAt)
+                    .build();
+            Alert first = Alert.builder().id(1L).build();
+            Alert second = Alert.builder().id(2L).build();
+            when(alertRepository.findIdsMatching(lowSeverity, 0, 2)).thenReturn(List.of(1L, 2L));
+            when(alertRepository.findIdsMatching(lowSeverity, 2, 2)).thenReturn(List.of());
+            when(changeSequencer.next()).thenReturn(9L);
+            when(alertRepository.bulkUpdate(eq(List.of(1L, 2L)), eq(null), eq(null), eq(expiresAt), eq(9L),
+                    eq(LocalDateTime.of(2024, 1, 15, 10, 0))))
+                    .thenReturn(2);
+            when(alertRepository.findAllWithCreatorByIdIn(List.of(1L, 2L))).thenReturn(List.of(first, second));
+            when(alertMapper.toResponse(any(Alert.class))).thenReturn(AlertResponse.builder().build());
+
+            // Act
+            BulkOperationResponse response = alertBulkService.bulkUpdate(update);
+
+            // Assert
+            assertThat(response.getAffected()).isEqualTo(2);
+            verify(changeSequencer, times(1)).next();
+            verify(alertEventService, times(2)).publish(eq(AlertEventType.UPDATED), any(AlertResponse.class));
+            verify(alertTombstoneRepository, never()).insertForAlerts(any(), anyLong());
+        }
+    }
+}
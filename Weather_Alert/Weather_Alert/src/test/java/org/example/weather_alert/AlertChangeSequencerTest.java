@@ -0,0 +1,173 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.repositories.ChangeSequenceRepository;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertChangeSequencer Unit Tests")
+class AlertChangeSequencerTest {
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertTombstoneRepository alertTombstoneRepository;
+
+    @Mock
+    private ChangeSequenceRepository changeSequenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AlertChangeSequencer sequencer;
+
+    private final List<Long> notified = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sequencer.addCommitListener(notified::add);
+    }
+
+    // The shared row after this transaction's increment
+    private void stubIncrementTo(long value) {
+        when(changeSequenceRepository.increment(eq("alerts"), anyLong())).thenReturn(1);
+        when(changeSequenceRepository.findValue("alerts")).thenReturn(value);
+    }
+
+    @Nested
+    @DisplayName("stable watermark")
+    class WatermarkTests {
+
+        @BeforeEach
+        void setUp() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void tearDown() {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @Test
+        @DisplayName("should allocate from the shared row and advance only once the transaction commits")
+        void shouldAdvanceOnCommit() {
+            // Arrange
+            stubIncrementTo(12);
+
+            // Act
+            long first = sequencer.nextRange(3);
+
+            // Assert
+            assertThat(first).isEqualTo(10);
+            assertThat(sequencer.getStableWatermark()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(sequencer.getStableWatermark()).isEqualTo(12);
+            assertThat(notified).containsExactly(12L);
+        }
+
+        @Test
+        @DisplayName("should not advance or notify listeners when the transaction rolls back")
+        void shouldIgnoreRolledBackRange() {
+            // Arrange
+            stubIncrementTo(5);
+            sequencer.next();
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Assert
+            assertThat(sequencer.getStableWatermark()).isZero();
+            assertThat(notified).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should fail when the shared row is missing")
+        void shouldFailWithoutSequenceRow() {
+            // Arrange
+            when(changeSequenceRepository.increment("alerts", 1)).thenReturn(0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> sequencer.next())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("alerts");
+        }
+    }
+
+    @Nested
+    @DisplayName("poll()")
+    class PollTests {
+
+        @Test
+        @DisplayName("should pick up commits made on other instances")
+        void shouldAdvanceToCommittedValue() {
+            // Arrange
+            when(changeSequenceRepository.findValue("alerts")).thenReturn(40L, 40L, 41L);
+
+            // Act
+            sequencer.poll();
+            sequencer.poll();
+            sequencer.poll();
+
+            // Assert
+            assertThat(sequencer.getStableWatermark()).isEqualTo(41);
+            assertThat(notified).containsExactly(40L, 41L);
+        }
+
+        @Test
+        @DisplayName("should never move the watermark backwards")
+        void shouldKeepHigherLocalWatermark() {
+            // Arrange - a local commit is ahead of a poll that read the row just before it
+            stubIncrementTo(8);
+            sequencer.next();
+            when(changeSequenceRepository.findValue("alerts")).thenReturn(7L);
+
+            // Act
+            sequencer.poll();
+
+            // Assert
+            assertThat(sequencer.getStableWatermark()).isEqualTo(8);
+            assertThat(notified).containsExactly(8L);
+        }
+    }
+
+    @Test
+    @DisplayName("should treat a sequence allocated outside a transaction as committed")
+    void shouldReleaseWithoutTransaction() {
+        // Arrange
+        stubIncrementTo(3);
+
+        // Act
+        long sequence = sequencer.next();
+
+        // Assert
+        assertThat(sequence).isEqualTo(3);
+        assertThat(sequencer.getStableWatermark()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.AlertDedupProperties;
+import org.example.weather_alert.dto.CreateAlertRequest;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.services.AlertDeduplicator;
+import org.example.weather_alert.services.AlertEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertDeduplicator Unit Tests")
+class AlertDeduplicatorTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-15T12:00:00Z");
+    private static final long WINDOW_MILLIS = 30 * 60_000;
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AlertDedupProperties properties = new AlertDedupProperties();
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private AlertDeduplicator deduplicator;
+
+    private static CreateAlertRequest request(String location, SeverityLevel severity, String description) {
+        return CreateAlertRequest.builder()
+                .locationName(location)
+                .severityLevel(severity)
+                .description(description)
+                .build();
+    }
+
+    private static final CreateAlertRequest SNOW_IN_SOFIA =
+            request("Sofia", SeverityLevel.HIGH, "Heavy snowfall expected. Roads may be closed.");
+
+    // ==========================================
+    // MATCHING TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("matching")
+    class MatchingTests {
+
+        @BeforeEach
+        void setUp() {
+            when(clock.millis()).thenReturn(T0.toEpochMilli());
+        }
+
+        @Test
+        @DisplayName("should detect exact copies regardless of case and punctuation")
+        void shouldDetectExactCopy() {
+            // Arrange
+            AlertDeduplicator.Result first = deduplicator.reserve(SNOW_IN_SOFIA);
+            deduplicator.bind(first, 10L);
+
+            // Act
+            AlertDeduplicator.Result second = deduplicator.reserve(
+                    request("sofia", SeverityLevel.HIGH, "heavy snowfall expected, roads may be closed"));
+
+            // Assert
+            assertThat(first.isDuplicate()).isFalse();
+            assertThat(first.getDedupKey()).isNotNull();
+            assertThat(second.isDuplicate()).isTrue();
+            assertThat(second.isExact()).isTrue();
+            assertThat(second.getExistingAlertId()).isEqualTo(10L);
+            assertThat(meterRegistry.counter("alerts.dedup.suppressed", "match", "exact").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should detect near copies with slightly edited text")
+        void shouldDetectNearCopy() {
+            // Arrange
+            AlertDeduplicator.Result first = deduplicator.reserve(request("Varna", SeverityLevel.MEDIUM,
+                    "Strong winds expected along the coast in the afternoon with gusts up to 80 km/h"));
+            deduplicator.bind(first, 20L);
+
+            // Act
+            AlertDeduplicator.Result second = deduplicator.reserve(request("Varna", SeverityLevel.MEDIUM,
+                    "Strong winds expected along the coast in the afternoon, gusts up to 80 km/h"));
+
+            // Assert
+            assertThat(second.isDuplicate()).isTrue();
+            assertThat(second.isExact()).isFalse();
+            assertThat(second.getExistingAlertId()).isEqualTo(20L);
+            assertThat(second.getSimilarity()).isGreaterThanOrEqualTo(0.8);
+        }
+
+        @Test
+        @DisplayName("should accept the same text for another location or severity")
+        void shouldAcceptDifferentBlock() {
+            // Arrange
+            String text = SNOW_IN_SOFIA.getDescription();
+            deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Act & Assert
+            assertThat(deduplicator.reserve(request("Plovdiv", SeverityLevel.HIGH, text)).isDuplicate()).isFalse();
+            assertThat(deduplicator.reserve(request("Sofia", SeverityLevel.LOW, text)).isDuplicate()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should accept unrelated alerts for the same location")
+        void shouldAcceptDifferentText() {
+            // Arrange
+            deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Act
+            AlertDeduplicator.Result other = deduplicator.reserve(
+                    request("Sofia", SeverityLevel.HIGH, "Thunderstorms with hail are likely later tonight."));
+
+            // Assert
+            assertThat(other.isDuplicate()).isFalse();
+        }
+    }
+
+    // ==========================================
+    // WINDOW TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("sliding window")
+    class WindowTests {
+
+        @Test
+        @DisplayName("should still catch a copy one millisecond before the window ends")
+        void shouldCatchCopyInsideWindow() {
+            // Arrange
+            when(clock.millis()).thenReturn(T0.toEpochMilli(), T0.toEpochMilli() + WINDOW_MILLIS - 1);
+            deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Act & Assert
+            assertThat(deduplicator.reserve(SNOW_IN_SOFIA).isDuplicate()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should accept a copy once the original is a full window old")
+        void shouldAcceptAfterWindow() {
+            // Arrange
+            when(clock.millis()).thenReturn(T0.toEpochMilli(), T0.toEpochMilli() + WINDOW_MILLIS);
+            deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Act & Assert
+            assertThat(deduplicator.reserve(SNOW_IN_SOFIA).isDuplicate()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should evict expired entries on sweep")
+        void shouldEvictOnSweep() {
+            // Arrange - reserve, sweep a window later, reserve again
+            when(clock.millis()).thenReturn(T0.toEpochMilli(), T0.toEpochMilli() + WINDOW_MILLIS,
+                    T0.toEpochMilli() + WINDOW_MILLIS);
+            deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Act
+            deduplicator.sweep();
+
+            // Assert
+            assertThat(deduplicator.reserve(SNOW_IN_SOFIA).isDuplicate()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should warm up with stored alerts still inside the window")
+        void shouldWarmUpFromRepository() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.ofInstant(T0, ZoneOffset.UTC);
+            when(clock.instant()).thenReturn(T0);
+            when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+            when(clock.millis()).thenReturn(T0.toEpochMilli());
+            when(alertRepository.findCreatedSince(now.minusMinutes(30))).thenReturn(List.of(Alert.builder()
+                    .id(7L)
+                    .locationName("Sofia")
+                    .severityLevel(SeverityLevel.HIGH)
+                    .description(SNOW_IN_SOFIA.getDescription())
+                    .createdAt(now.minusMinutes(5))
+                    .build()));
+
+            // Act
+            deduplicator.warmUp();
+            AlertDeduplicator.Result result = deduplicator.reserve(SNOW_IN_SOFIA);
+
+            // Assert
+            assertThat(result.isDuplicate()).isTrue();
+            assertThat(result.getExistingAlertId()).isEqualTo(7L);
+        }
+    }
+
+    @Test
+    @DisplayName("should let everything through when deduplication is disabled")
+    void shouldPassEverythingWhenDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act & Assert
+        assertThat(deduplicator.reserve(SNOW_IN_SOFIA).isDuplicate()).isFalse();
+        assertThat(deduplicator.reserve(SNOW_IN_SOFIA).isDuplicate()).isFalse();
+        verifyNoInteractions(clock);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.events.AlertEventRingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AlertEventRingBuffer Unit Tests")
+class AlertEventRingBufferTest {
+
+    private static AlertEvent event(long sequence) {
+        return AlertEvent.builder()
+                .sequence(sequence)
+                .type(AlertEventType.CREATED)
+                .alertId(sequence)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should round capacity up to a power of two")
+    void shouldRoundCapacityUp() {
+        assertThat(new AlertEventRingBuffer(5).getCapacity()).isEqualTo(8);
+        assertThat(new AlertEventRingBuffer(8).getCapacity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("should assign consecutive sequences and read them back")
+    void shouldPublishAndRead() {
+        AlertEventRingBuffer buffer = new AlertEventRingBuffer(4);
+
+        buffer.publish(AlertEventRingBufferTest::event);
+        buffer.publish(AlertEventRingBufferTest::event);
+
+        assertThat(buffer.getCursor()).isEqualTo(2);
+        assertThat(buffer.get(1).getAlertId()).isEqualTo(1L);
+        assertThat(buffer.get(2).getAlertId()).isEqualTo(2L);
+        assertThat(buffer.get(3)).isNull();
+    }
+
+    @Test
+    @DisplayName("should report overwritten sequences as lost")
+    void shouldDetectLappedReaders() {
+        AlertEventRingBuffer buffer = new AlertEventRingBuffer(4);
+
+        for (int i = 0; i < 6; i++) {
+            buffer.publish(AlertEventRingBufferTest::event);
+        }
+
+        assertThat(buffer.getOldestSequence()).isEqualTo(3);
+        assertThat(buffer.get(2)).isNull();
+        assertThat(buffer.get(3).getSequence()).isEqualTo(3);
+        assertThat(buffer.get(6).getSequence()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.AlertExpiryProperties;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.ArchivedAlertRepository;
+import org.example.weather_alert.services.AlertBulkService;
+import org.example.weather_alert.services.AlertExpirySweeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertExpirySweeper Unit Tests")
+class AlertExpirySweeperTest {
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private ArchivedAlertRepository archivedAlertRepository;
+
+    @Mock
+    private AlertBulkService alertBulkService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private AlertExpiryProperties properties = new AlertExpiryProperties();
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @InjectMocks
+    private AlertExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        properties.setPauseBetweenBatchesMs(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any(TransactionCallback.class)))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0)
+                        .doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private void deleteWhatIsGiven() {
+        when(alertBulkService.deleteInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+    }
+
+    @Nested
+    @DisplayName("sweep()")
+    class SweepTests {
+
+        @Test
+        @DisplayName("should archive then delete each batch in one transaction until a short batch")
+        void shouldArchiveInBatches() {
+            // Arrange
+            runTransactionsInline();
+            deleteWhatIsGiven();
+            when(alertRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(1L, 2L), List.of(3L));
+
+            // Act
+            sweeper.sweep();
+
+            // Assert
+            InOrder order = inOrder(archivedAlertRepository, alertBulkService);
+            order.verify(archivedAlertRepository).archiveAlerts(List.of(1L, 2L));
+            order.verify(alertBulkService).deleteInTransaction(List.of(1L, 2L));
+            order.verify(archivedAlertRepository).archiveAlerts(List.of(3L));
+            order.verify(alertBulkService).deleteInTransaction(List.of(3L));
+            verify(transactionTemplate, times(2)).execute(any());
+        }
+
+        @Test
+        @DisplayName("should stop after max-batches-per-run and leave the rest for the next run")
+        void shouldBoundBatchesPerRun() {
+            // Arrange - the backlog never runs dry
+            runTransactionsInline();
+            deleteWhatIsGiven();
+            when(alertRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(1L, 2L));
+
+            // Act
+            sweeper.sweep();
+
+            // Assert
+            verify(transactionTemplate, times(3)).execute(any());
+            verify(alertBulkService, times(3)).deleteInTransaction(any());
+        }
+
+        @Test
+        @DisplayName("should not archive or delete anything when nothing has expired at the clock's time")
+        void shouldDoNothingWithoutExpiredAlerts() {
+            // Arrange
+            runTransactionsInline();
+            when(alertRepository.findExpiredIds(eq(LocalDateTime.of(2024, 1, 15, 10, 0)), any(Pageable.class)))
+                    .thenReturn(List.of());
+
+            // Act
+            sweeper.sweep();
+
+            // Assert
+            verify(transactionTemplate, times(1)).execute(any());
+            verifyNoInteractions(archivedAlertRepository);
+            verify(alertBulkService, never()).deleteInTransaction(any());
+        }
+
+        @Test
+        @DisplayName("should not run when the sweep is disabled")
+        void shouldSkipWhenDisabled() {
+            // Arrange
+            properties.setSweepEnabled(false);
+
+            // Act
+            sweeper.sweep();
+
+            // Assert
+            verifyNoInteractions(alertRepository, archivedAlertRepository, alertBulkService, transactionTemplate);
+        }
+    }
+}
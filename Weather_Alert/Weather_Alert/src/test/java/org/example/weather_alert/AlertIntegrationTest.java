@@ -11,14 +11,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,7 +39,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+// Tests leave the Prometheus registry out unless asked
+@AutoConfigureObservability
 @ActiveProfiles("test")
+// Every test logs in twice from the same MockMvc address and calls the API as the same two users
+@TestPropertySource(properties = {
+        "alerts.auth.login.per-ip.permits-per-second=1000",
+        "alerts.rate-limit.enabled=false"
+})
 @DisplayName("Alert API Integration Tests")
 class AlertIntegrationTest {
 
@@ -312,4 +322,67 @@ class AlertIntegrationTest {
                     .andExpect(status().isNotFound());
         }
     }
+
+    // ==========================================
+    // PROMETHEUS SCRAPE TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("GET /actuator/prometheus")
+    class PrometheusScrapeTests {
+
+        @Test
+        @DisplayName("should serve metrics to the scrape account")
+        void shouldServeScrapeAccount() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus")
+                            .with(httpBasic("prometheus", "prometheus-local")))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("should refuse anonymous requests, API tokens and API users")
+        void shouldRefuseEveryoneElse() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isUnauthorized());
+
+            mockMvc.perform(get("/actuator/prometheus")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isUnauthorized());
+
+            mockMvc.perform(get("/actuator/prometheus")
+                            .with(httpBasic("admin", "admin123")))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    // ==========================================
+    // QUERY BUDGETS - guard against N+1 regressions
+    // ==========================================
+
+    @Nested
+    @DisplayName("Query budgets")
+    class QueryBudgetTests {
+
+        @Test
+        @DisplayName("should list alerts with a single statement - the token carries the user")
+        void shouldListAlertsWithinBudget() throws Exception {
+            QueryBudget.atMost(1, () -> mockMvc.perform(get("/api/alerts")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("should log in with a user + roles select and one refresh token insert")
+        void shouldLoginWithinBudget() throws Exception {
+            LoginRequest request = LoginRequest.builder()
+                    .username("admin")
+                    .password("admin123")
+                    .build();
+
+            QueryBudget.atMost(2, () -> mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk()));
+        }
+    }
 }
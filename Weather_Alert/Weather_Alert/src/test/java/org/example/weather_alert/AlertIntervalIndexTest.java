@@ -0,0 +1,223 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.AlertIntervalIndexProperties;
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.services.AlertEventService;
+import org.example.weather_alert.services.AlertIntervalIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertIntervalIndex Unit Tests")
+class AlertIntervalIndexTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2030, 1, 15, 12, 0);
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Spy
+    private AlertIntervalIndexProperties properties = new AlertIntervalIndexProperties();
+
+    @InjectMocks
+    private AlertIntervalIndex index;
+
+    private Consumer<AlertEvent> listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void captureListener() {
+        ArgumentCaptor<Consumer<AlertEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(alertEventService).addListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    // Row layout of findAllValidityPeriods: id, effectiveFrom, effectiveUntil, expiresAt, createdAt
+    private static Object[] row(long id, LocalDateTime from, LocalDateTime until) {
+        return new Object[]{id, from, until, null, from};
+    }
+
+    private void load(Object[]... rows) {
+        when(alertRepository.findAllValidityPeriods()).thenReturn(new ArrayList<>(List.of(rows)));
+        index.load();
+    }
+
+    private static AlertEvent event(AlertEventType type, long id, LocalDateTime from, LocalDateTime until) {
+        AlertResponse alert = AlertResponse.builder()
+                .id(id)
+                .effectiveFrom(from)
+                .effectiveUntil(until)
+                .createdAt(from)
+                .build();
+        return AlertEvent.builder().type(type).alertId(id).alert(alert).build();
+    }
+
+    private static AlertEvent deleted(long id) {
+        return AlertEvent.builder().type(AlertEventType.DELETED).alertId(id).build();
+    }
+
+    // ==========================================
+    // STARTUP LOAD TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("load()")
+    class LoadTests {
+
+        @Test
+        @DisplayName("should index the stored validity periods")
+        void shouldIndexStoredPeriods() {
+            // Arrange & Act
+            load(row(1, NOON.minusHours(2), NOON.plusHours(2)),
+                    row(2, NOON.plusHours(1), NOON.plusHours(3)),
+                    row(3, NOON.minusDays(1), null));
+
+            // Assert
+            assertThat(index.size()).isEqualTo(3);
+            assertThat(index.findInEffectAt(NOON)).containsExactlyInAnyOrder(1L, 3L);
+            assertThat(index.findOverlapping(NOON.plusHours(2), NOON.plusHours(4))).containsExactlyInAnyOrder(2L, 3L);
+            assertThat(index.pendingChanges()).isZero();
+        }
+
+        @Test
+        @DisplayName("should end an alert at expiresAt when it comes before effectiveUntil")
+        void shouldEndAtEarlierExpiry() {
+            // Arrange & Act
+            load(new Object[]{1L, NOON.minusHours(2), NOON.plusHours(2), NOON.minusHours(1), NOON.minusHours(2)});
+
+            // Assert
+            assertThat(index.findInEffectAt(NOON.minusHours(2))).containsExactly(1L);
+            assertThat(index.findInEffectAt(NOON)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should let changes published during the load win over the rows it read")
+        void shouldPreferChangesSeenDuringLoad() {
+            // Arrange - alert 1 is moved and alert 2 deleted while the query runs
+            when(alertRepository.findAllValidityPeriods()).thenAnswer(invocation -> {
+                listener.accept(event(AlertEventType.UPDATED, 1, NOON.plusDays(1), NOON.plusDays(2)));
+                listener.accept(deleted(2));
+                return new ArrayList<>(List.of(
+                        row(1, NOON.minusHours(1), NOON.plusHours(1)),
+                        row(2, NOON.minusHours(1), NOON.plusHours(1))));
+            });
+
+            // Act
+            index.load();
+
+            // Assert
+            assertThat(index.findInEffectAt(NOON)).isEmpty();
+            assertThat(index.findInEffectAt(NOON.plusDays(1))).containsExactly(1L);
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    // ==========================================
+    // OVERLAY TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("overlay")
+    class OverlayTests {
+
+        @BeforeEach
+        void loadTwoAlerts() {
+            load(row(1, NOON.minusHours(2), NOON.plusHours(2)),
+                    row(2, NOON.minusHours(2), NOON.plusHours(2)));
+        }
+
+        @Test
+        @DisplayName("should answer from the overlay before the tree is rebuilt")
+        void shouldShadowTreeEntries() {
+            // Act - move alert 1 out of the window, delete alert 2, add alert 3
+            listener.accept(event(AlertEventType.UPDATED, 1, NOON.plusDays(1), NOON.plusDays(2)));
+            listener.accept(deleted(2));
+            listener.accept(event(AlertEventType.CREATED, 3, NOON.minusHours(1), null));
+
+            // Assert
+            assertThat(index.pendingChanges()).isEqualTo(3);
+            assertThat(index.findInEffectAt(NOON)).containsExactly(3L);
+            assertThat(index.findInEffectAt(NOON.plusDays(1))).containsExactlyInAnyOrder(1L, 3L);
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should skip events that leave the validity period unchanged")
+        void shouldSkipUnchangedPeriods() {
+            // Act - geo-tagging re-sends the period it already has
+            listener.accept(event(AlertEventType.GEOTAGGED, 1, NOON.minusHours(2), NOON.plusHours(2)));
+
+            // Assert
+            assertThat(index.pendingChanges()).isZero();
+            assertThat(index.findInEffectAt(NOON)).containsExactlyInAnyOrder(1L, 2L);
+        }
+    }
+
+    // ==========================================
+    // REBUILD TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("rebuild on publish")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("should fold the overlay into a new tree once the rebuild threshold is reached")
+        void shouldRebuildAtThreshold() throws InterruptedException {
+            // Arrange
+            properties.setRebuildThreshold(2);
+            load(row(1, NOON.minusHours(2), NOON.plusHours(2)));
+
+            // Act
+            listener.accept(deleted(1));
+            listener.accept(event(AlertEventType.CREATED, 2, NOON.minusHours(1), NOON.plusHours(1)));
+
+            // Assert - the rebuild runs in the background
+            long deadline = System.currentTimeMillis() + 5000;
+            while (index.pendingChanges() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(index.pendingChanges()).isZero();
+            assertThat(index.findInEffectAt(NOON)).containsExactly(2L);
+            assertThat(index.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should keep changes below the threshold in the overlay")
+        void shouldNotRebuildBelowThreshold() {
+            // Arrange
+            properties.setRebuildThreshold(3);
+            load();
+
+            // Act
+            listener.accept(event(AlertEventType.CREATED, 1, NOON.minusHours(1), NOON.plusHours(1)));
+            listener.accept(event(AlertEventType.CREATED, 2, NOON.minusHours(1), NOON.plusHours(1)));
+
+            // Assert
+            assertThat(index.pendingChanges()).isEqualTo(2);
+            assertThat(index.findInEffectAt(NOON)).containsExactlyInAnyOrder(1L, 2L);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.AlertSearchProperties;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.example.weather_alert.services.AlertSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertSearchIndex Tests")
+class AlertSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertTombstoneRepository alertTombstoneRepository;
+
+    @Mock
+    private AlertChangeSequencer changeSequencer;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AlertSearchProperties properties = new AlertSearchProperties();
+
+    // 12:00 in Sofia - expiry is compared in the clock's zone, not the JVM default
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneId.of("Europe/Sofia"));
+
+    @InjectMocks
+    private AlertSearchIndex searchIndex;
+
+    private LongConsumer commitListener;
+
+    private final List<Alert> stored = List.of(
+            alert(1L, "Обилни снеговалежи и поледици по пътищата", "София", SeverityLevel.HIGH, null),
+            alert(2L, "Heavy flooding expected near the river", "Plovdiv", SeverityLevel.MEDIUM, null),
+            alert(3L, "Floods possible, flooding of low roads", "Ruse", SeverityLevel.HIGH, null),
+            alert(4L, "Old flooding warning", "Vidin", SeverityLevel.LOW, LocalDateTime.of(2024, 1, 15, 11, 0)));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(alertRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(stored);
+        when(alertRepository.findPageAfter(eq(4L), any(Pageable.class))).thenReturn(List.of());
+        properties.setIndexDir(indexDir.toString());
+        properties.setRebuildOnStartup(false);
+        properties.setRebuildPageSize(4);
+        searchIndex.open();
+
+        ArgumentCaptor<LongConsumer> captor = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(changeSequencer).addCommitListener(captor.capture());
+        commitListener = captor.getValue();
+
+        // Empty index -> rebuilt on open; wait for it with a second (queued) rebuild
+        assertThat(searchIndex.rebuildAsync().get()).isEqualTo(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.close();
+    }
+
+    private static Alert alert(Long id, String description, String location, SeverityLevel severity,
+                               LocalDateTime expiresAt) {
+        return Alert.builder()
+                .id(id)
+                .description(description)
+                .locationName(location)
+                .severityLevel(severity)
+                .geoTaggingStatus(GeoTaggingStatus.SUCCESS)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private List<Long> ids(AlertSearchIndex.Result result) {
+        return result.hits().stream().map(AlertSearchIndex.Hit::alertId).toList();
+    }
+
+    @Test
+    @DisplayName("should rank by BM25 with English stemming and hide expired alerts")
+    void shouldRankEnglish() {
+        AlertSearchIndex.Result result = searchIndex.search("flood", null, null, false, 10);
+
+        // Alert 3 mentions the stem twice in a shorter text
+        assertThat(ids(result)).containsExactly(3L, 2L);
+        assertThat(result.hits().get(0).score()).isGreaterThan(result.hits().get(1).score());
+        assertThat(ids(searchIndex.search("flood", null, null, true, 10))).contains(4L);
+    }
+
+    @Test
+    @DisplayName("should match Bulgarian word forms and locations")
+    void shouldMatchBulgarian() {
+        // "пътищата" (the roads) and "път" (road) share a stem
+        assertThat(ids(searchIndex.search("път", null, null, false, 10))).containsExactly(1L);
+        assertThat(ids(searchIndex.search("софия", null, null, false, 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("should filter by severity and status")
+    void shouldFilter() {
+        assertThat(ids(searchIndex.search("flooding", SeverityLevel.MEDIUM, null, false, 10))).containsExactly(2L);
+        assertThat(ids(searchIndex.search("flooding", null, GeoTaggingStatus.PENDING, false, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should apply committed changes from the change sequence after a near-real-time refresh")
+    void shouldApplyCommittedChanges() {
+        // A create and a delete committed on any instance, picked up as the watermark advances
+        Alert created = alert(5L, "Thunderstorm with hail", "Varna", SeverityLevel.HIGH, null);
+        created.setChangeSeq(6L);
+        when(changeSequencer.getStableWatermark()).thenReturn(7L);
+        when(alertRepository.findChangesBetween(eq(0L), eq(7L), any(Pageable.class))).thenReturn(List.of(created));
+        when(alertTombstoneRepository.findChangesBetween(eq(0L), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(AlertTombstone.builder().alertId(2L).changeSeq(7L).build()));
+
+        commitListener.accept(7L);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            searchIndex.refresh();
+            return ids(searchIndex.search("hail", null, null, false, 10)).contains(5L);
+        });
+        assertThat(ids(searchIndex.search("flooding", null, null, false, 10))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("should resume from the change sequence stored with the last commit")
+    void shouldResumeFromCommittedChangeSeq() throws Exception {
+        // Arrange - the index was committed at sequence 7, then 8 was committed while it was closed
+        when(changeSequencer.getStableWatermark()).thenReturn(7L);
+        commitListener.accept(7L);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(alertTombstoneRepository).findChangesBetween(eq(0L), eq(7L), any(Pageable.class)));
+        searchIndex.close();
+
+        Alert updated = alert(5L, "Thunderstorm with hail", "Varna", SeverityLevel.HIGH, null);
+        updated.setChangeSeq(8L);
+        when(changeSequencer.getStableWatermark()).thenReturn(8L);
+        when(alertRepository.findChangesBetween(eq(7L), eq(8L), any(Pageable.class))).thenReturn(List.of(updated));
+
+        // Act
+        searchIndex = new AlertSearchIndex(alertRepository, alertTombstoneRepository, changeSequencer,
+                meterRegistry, properties, clock);
+        searchIndex.open();
+
+        // Assert - no rebuild, only the missed change
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            searchIndex.refresh();
+            return ids(searchIndex.search("hail", null, null, false, 10)).contains(5L);
+        });
+        assertThat(searchIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should drop alerts missing from the database on rebuild")
+    void shouldRemoveStaleOnRebuild() throws Exception {
+        when(alertRepository.findPageAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(searchIndex.rebuildAsync().get()).isZero();
+        assertThat(searchIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should use a private temporary directory when none is configured")
+    void shouldUseTemporaryDirectory() throws Exception {
+        properties.setIndexDir("");
+        AlertSearchIndex other = new AlertSearchIndex(alertRepository, alertTombstoneRepository, changeSequencer,
+                meterRegistry, properties, clock);
+
+        // A second writer next to the one from setUp must not hit the directory lock
+        other.open();
+        assertThat(other.rebuildAsync().get()).isEqualTo(4);
+        other.close();
+
+        assertThat(ids(searchIndex.search("flood", null, null, false, 10))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("should return nothing for queries without searchable terms")
+    void shouldHandleEmptyQuery() {
+        assertThat(searchIndex.search("?!", null, null, false, 10).hits()).isEmpty();
+    }
+}
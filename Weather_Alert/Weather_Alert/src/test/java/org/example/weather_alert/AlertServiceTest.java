@@ -1,17 +1,37 @@
 package org.example.weather_alert;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.weather_alert.config.AlertBatchProperties;
+import org.example.weather_alert.config.AlertExpiryProperties;
 import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.dto.AlertSearchResponse;
+import org.example.weather_alert.dto.BatchCreateAlertResponse;
 import org.example.weather_alert.dto.CreateAlertRequest;
 import org.example.weather_alert.dto.UpdateAlertRequest;
 import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
 import org.example.weather_alert.entities.User;
+import org.example.weather_alert.enums.DuplicateAlertPolicy;
 import org.example.weather_alert.enums.GeoTaggingStatus;
 import org.example.weather_alert.enums.SeverityLevel;
 import org.example.weather_alert.exception.AlertNotFoundException;
+import org.example.weather_alert.exception.DuplicateAlertException;
 import org.example.weather_alert.mapper.AlertMapper;
 import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.example.weather_alert.services.AlertDeduplicator;
+import org.example.weather_alert.services.AlertEventService;
+import org.example.weather_alert.services.AlertIntervalIndex;
+import org.example.weather_alert.services.AlertSearchIndex;
 import org.example.weather_alert.services.AlertService;
 import org.example.weather_alert.services.GeocodingService;
+import org.example.weather_alert.services.GeotagPipelineTracker;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,15 +39,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -49,6 +82,45 @@ class AlertServiceTest {
     @Mock
     private AlertMapper alertMapper;
 
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Mock
+    private AlertChangeSequencer changeSequencer;
+
+    @Mock
+    private AlertTombstoneRepository alertTombstoneRepository;
+
+    @Mock
+    private AlertIntervalIndex alertIntervalIndex;
+
+    @Mock
+    private AlertDeduplicator alertDeduplicator;
+
+    @Mock
+    private AlertSearchIndex alertSearchIndex;
+
+    @Mock
+    private GeotagPipelineTracker geotagPipelineTracker;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private AlertExpiryProperties expiryProperties = new AlertExpiryProperties();
+
+    @Spy
+    private AlertBatchProperties batchProperties = new AlertBatchProperties();
+
+    @Spy
+    private Clock clock = Clock.systemDefaultZone();
+
     // Class under test - mocks are injected here
     @InjectMocks
     private AlertService alertService;
@@ -59,6 +131,20 @@ class AlertServiceTest {
     private CreateAlertRequest createRequest;
     private User testUser;
 
+    // What Spring surfaces when MySQL rejects an insert on a unique key: the constraint name is
+    // extracted from the driver message by Hibernate's MySQL dialect, as in production
+    private static DataIntegrityViolationException uniqueKeyViolation(String key) {
+        SQLException cause = new SQLIntegrityConstraintViolationException(
+                "Duplicate entry 'abc:1' for key '" + key + "'", "23000", 1062);
+        String constraint = new MySQLDialect().getViolatedConstraintNameExtractor().extractConstraintName(cause);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraint));
+    }
+
+    private static DataIntegrityViolationException dedupKeyViolation() {
+        return uniqueKeyViolation("alerts.uk_alerts_dedup_key");
+    }
+
     @BeforeEach
     void setUp() {
         // Set up test user
@@ -107,12 +193,18 @@ class AlertServiceTest {
 
         @BeforeEach
         void setUpSecurityContext() {
-            // Mock security context for getting current user
+            // Mock security context for getting current user - the JWT filter's principal
+            AuthenticatedUser principal = new AuthenticatedUser(1L, "admin",
+                    Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")), Instant.now(), "token-1",
+                    Instant.now().plusSeconds(900));
             Authentication authentication = mock(Authentication.class);
             SecurityContext securityContext = mock(SecurityContext.class);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getPrincipal()).thenReturn(testUser);
+            when(authentication.getPrincipal()).thenReturn(principal);
             SecurityContextHolder.setContext(securityContext);
+            when(entityManager.getReference(User.class, 1L)).thenReturn(testUser);
+
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
         }
 
         @Test
@@ -121,7 +213,7 @@ class AlertServiceTest {
             // Arrange
             when(alertMapper.toEntity(any(CreateAlertRequest.class), any(User.class)))
                     .thenReturn(testAlert);
-            when(alertRepository.save(any(Alert.class))).thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenReturn(testAlert);
             when(alertMapper.toResponse(any(Alert.class))).thenReturn(testAlertResponse);
             doNothing().when(geocodingService).enrichAlertWithCoordinates(anyLong());
 
@@ -134,17 +226,63 @@ class AlertServiceTest {
             assertThat(result.getLocationName()).isEqualTo("Sofia");
 
             // Verify interactions
-            verify(alertRepository, times(1)).save(any(Alert.class));
+            verify(alertRepository, times(1)).saveAndFlush(any(Alert.class));
+            verify(geotagPipelineTracker).enqueued(1L, "Sofia");
             verify(geocodingService, times(1)).enrichAlertWithCoordinates(1L);
         }
 
+        @Test
+        @DisplayName("should start geo-tagging only once the transaction commits")
+        void shouldGeotagAfterCommit() {
+            // Arrange - a transaction is open, as under @Transactional
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any(User.class)))
+                    .thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenReturn(testAlert);
+            when(alertMapper.toResponse(any(Alert.class))).thenReturn(testAlertResponse);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                alertService.createAlert(createRequest);
+
+                // Assert - the worker must not look for a row that is not committed yet
+                verify(geocodingService, never()).enrichAlertWithCoordinates(anyLong());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                verify(geocodingService, times(1)).enrichAlertWithCoordinates(1L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("should not geo-tag an alert whose transaction rolls back")
+        void shouldNotGeotagAfterRollback() {
+            // Arrange
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any(User.class)))
+                    .thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenReturn(testAlert);
+            when(alertMapper.toResponse(any(Alert.class))).thenReturn(testAlertResponse);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                alertService.createAlert(createRequest);
+                TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+                // Assert
+                verify(geocodingService, never()).enrichAlertWithCoordinates(anyLong());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
         @Test
         @DisplayName("should save alert with PENDING geo-tagging status")
         void shouldSaveWithPendingStatus() {
             // Arrange
             when(alertMapper.toEntity(any(CreateAlertRequest.class), any(User.class)))
                     .thenReturn(testAlert);
-            when(alertRepository.save(any(Alert.class))).thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenReturn(testAlert);
             when(alertMapper.toResponse(any(Alert.class))).thenReturn(testAlertResponse);
 
             // Act
@@ -155,6 +293,282 @@ class AlertServiceTest {
         }
     }
 
+    // ==========================================
+    // DUPLICATE ALERT TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("createAlert duplicates")
+    class DuplicateAlertTests {
+
+        @Test
+        @DisplayName("should reject a duplicate without saving or geo-tagging")
+        void shouldRejectDuplicate() {
+            // Arrange
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class)))
+                    .thenReturn(AlertDeduplicator.Result.duplicateOf(1L, true, 1.0));
+            when(alertDeduplicator.getPolicy()).thenReturn(DuplicateAlertPolicy.REJECT);
+
+            // Act & Assert
+            assertThatThrownBy(() -> alertService.createAlert(createRequest))
+                    .isInstanceOf(DuplicateAlertException.class)
+                    .hasMessageContaining("1");
+
+            verify(alertRepository, never()).saveAndFlush(any(Alert.class));
+            verify(geocodingService, never()).enrichAlertWithCoordinates(anyLong());
+        }
+
+        @Test
+        @DisplayName("should return the existing alert when the policy is MERGE")
+        void shouldMergeDuplicate() {
+            // Arrange
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class)))
+                    .thenReturn(AlertDeduplicator.Result.duplicateOf(1L, false, 0.9));
+            when(alertDeduplicator.getPolicy()).thenReturn(DuplicateAlertPolicy.MERGE);
+            when(alertRepository.findById(1L)).thenReturn(Optional.of(testAlert));
+            when(alertMapper.toResponse(testAlert)).thenReturn(testAlertResponse);
+
+            // Act
+            AlertResponse result = alertService.createAlert(createRequest);
+
+            // Assert
+            assertThat(result.getId()).isEqualTo(1L);
+            assertThat(result.getDuplicate()).isTrue();
+            verify(alertRepository, never()).saveAndFlush(any(Alert.class));
+        }
+
+        @Test
+        @DisplayName("should report MySQL's duplicate entry on uk_alerts_dedup_key as a duplicate")
+        void shouldMapDedupKeyViolationToDuplicate() {
+            // Arrange - another instance inserted the same alert first
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any())).thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenThrow(dedupKeyViolation());
+
+            // Act & Assert
+            assertThatThrownBy(() -> alertService.createAlert(createRequest))
+                    .isInstanceOf(DuplicateAlertException.class);
+            verify(geocodingService, never()).enrichAlertWithCoordinates(anyLong());
+        }
+
+        @Test
+        @DisplayName("should not turn other integrity violations into duplicates")
+        void shouldRethrowOtherViolations() {
+            // Arrange
+            DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                    "could not execute statement", new SQLException("Column 'location_name' cannot be null"));
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any())).thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenThrow(violation);
+
+            // Act & Assert
+            assertThatThrownBy(() -> alertService.createAlert(createRequest)).isSameAs(violation);
+        }
+
+        @Test
+        @DisplayName("should not turn a clash on another unique key into a duplicate")
+        void shouldRethrowOtherUniqueKeyViolations() {
+            // Arrange
+            DataIntegrityViolationException violation = uniqueKeyViolation("alerts.PRIMARY");
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any())).thenReturn(testAlert);
+            when(alertRepository.saveAndFlush(any(Alert.class))).thenThrow(violation);
+
+            // Act & Assert
+            assertThatThrownBy(() -> alertService.createAlert(createRequest)).isSameAs(violation);
+        }
+    }
+
+    // ==========================================
+    // BATCH CREATE TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("createAlerts")
+    class CreateAlertsTests {
+
+        @BeforeEach
+        void setUpBatch() {
+            batchProperties.setMaxSize(100);
+            batchProperties.setJdbcBatchSize(2);
+        }
+
+        // Delegate to a real validator so constraint annotations are honoured
+        private void useRealValidator() {
+            Validator realValidator = Validation.buildDefaultValidatorFactory().getValidator();
+            when(validator.validate(any(CreateAlertRequest.class)))
+                    .thenAnswer(invocation -> realValidator.validate(invocation.<CreateAlertRequest>getArgument(0)));
+        }
+
+        // Each chunk runs its callback directly, as if in its own transaction
+        private void runChunksInline() {
+            when(transactionTemplate.execute(any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        }
+
+        @Test
+        @DisplayName("should create valid alerts and report rejected ones per item")
+        void shouldReportPerItemResults() {
+            // Arrange
+            CreateAlertRequest invalid = CreateAlertRequest.builder()
+                    .description("Short")
+                    .locationName("Sofia")
+                    .severityLevel(SeverityLevel.LOW)
+                    .build();
+            List<CreateAlertRequest> requests = List.of(createRequest, invalid, createRequest);
+            useRealValidator();
+            runChunksInline();
+
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
+
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any()))
+                    .thenAnswer(invocation -> Alert.builder()
+                            .locationName("Sofia")
+                            .build());
+
+            // Act
+            BatchCreateAlertResponse result = alertService.createAlerts(requests);
+
+            // Assert
+            assertThat(result.getTotal()).isEqualTo(3);
+            assertThat(result.getCreated()).isEqualTo(2);
+            assertThat(result.getRejected()).isEqualTo(1);
+            assertThat(result.getResults().get(1).getStatus()).isEqualTo("REJECTED");
+            assertThat(result.getResults().get(1).getValidationErrors()).isNotEmpty();
+
+            // Two valid alerts with batch size 2 -> one saveAll / flush
+            verify(alertRepository, times(1)).saveAll(any());
+            verify(alertRepository, times(1)).flush();
+            verify(geocodingService, times(1)).enrichAlertsByLocation(any());
+        }
+
+        @Test
+        @DisplayName("should skip duplicates and report the existing alert ID")
+        void shouldSkipDuplicates() {
+            // Arrange
+            useRealValidator();
+            runChunksInline();
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class)))
+                    .thenReturn(AlertDeduplicator.Result.unique())
+                    .thenReturn(AlertDeduplicator.Result.duplicateOf(7L, true, 1.0));
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any()))
+                    .thenAnswer(invocation -> Alert.builder()
+                            .locationName("Sofia")
+                            .build());
+
+            // Act
+            BatchCreateAlertResponse result = alertService.createAlerts(List.of(createRequest, createRequest));
+
+            // Assert
+            assertThat(result.getCreated()).isEqualTo(1);
+            assertThat(result.getRejected()).isZero();
+            assertThat(result.getDuplicates()).isEqualTo(1);
+            assertThat(result.getResults().get(1).getStatus()).isEqualTo("DUPLICATE");
+            assertThat(result.getResults().get(1).getId()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("should retry a clashing chunk row by row and report only the clashing alert as a duplicate")
+        void shouldRetryChunkOnDedupKeyClash() {
+            // Arrange - another instance inserted a copy of the second alert first
+            useRealValidator();
+            runChunksInline();
+            when(alertDeduplicator.reserve(any(CreateAlertRequest.class))).thenReturn(AlertDeduplicator.Result.unique());
+            when(alertMapper.toEntity(any(CreateAlertRequest.class), any()))
+                    .thenAnswer(invocation -> Alert.builder()
+                            .locationName("Sofia")
+                            .build());
+            doThrow(dedupKeyViolation()).doNothing().doThrow(dedupKeyViolation()).when(alertRepository).flush();
+            when(alertRepository.findIdByDedupKey(any())).thenReturn(Optional.of(9L));
+
+            // Act
+            BatchCreateAlertResponse result = alertService.createAlerts(List.of(createRequest, createRequest));
+
+            // Assert
+            assertThat(result.getCreated()).isEqualTo(1);
+            assertThat(result.getDuplicates()).isEqualTo(1);
+            assertThat(result.getResults().get(0).getStatus()).isEqualTo("CREATED");
+            assertThat(result.getResults().get(1).getStatus()).isEqualTo("DUPLICATE");
+            assertThat(result.getResults().get(1).getId()).isEqualTo(9L);
+
+            // The whole chunk, then each row in its own transaction
+            verify(transactionTemplate, times(3)).execute(any());
+            verify(alertDeduplicator, times(1)).release(any());
+            verify(alertEventService, times(1)).publish(any(), any());
+            verify(geocodingService, times(1)).enrichAlertsByLocation(any());
+        }
+
+        @Test
+        @DisplayName("should reject an empty batch")
+        void shouldRejectEmptyBatch() {
+            assertThatThrownBy(() -> alertService.createAlerts(List.of()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // ==========================================
+    // IN-EFFECT TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("getAlertsInEffectAt")
+    class InEffectAtTests {
+
+        @Test
+        @DisplayName("should default to the current time of the service clock")
+        void shouldDefaultToClockTime() {
+            // Arrange
+            doReturn(Instant.parse("2030-01-15T18:00:00Z")).when(clock).instant();
+            doReturn(ZoneOffset.UTC).when(clock).getZone();
+            when(alertIntervalIndex.findInEffectAt(LocalDateTime.of(2030, 1, 15, 18, 0))).thenReturn(List.of());
+
+            // Act
+            List<AlertResponse> result = alertService.getAlertsInEffectAt(null);
+
+            // Assert
+            assertThat(result).isEmpty();
+            verifyNoInteractions(alertRepository);
+        }
+    }
+
+    // ==========================================
+    // SEARCH TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("searchAlerts")
+    class SearchAlertsTests {
+
+        @Test
+        @DisplayName("should keep the index ranking and skip alerts deleted since the last refresh")
+        void shouldKeepRanking() {
+            // Arrange
+            Alert second = Alert.builder().id(2L).locationName("Varna").build();
+            AlertResponse secondResponse = AlertResponse.builder().id(2L).locationName("Varna").build();
+            when(alertSearchIndex.search("snow", null, null, false, 20)).thenReturn(new AlertSearchIndex.Result(3,
+                    List.of(new AlertSearchIndex.Hit(2L, 3.5f), new AlertSearchIndex.Hit(1L, 2.0f),
+                            new AlertSearchIndex.Hit(9L, 1.0f))));
+            when(alertRepository.findAllWithCreatorByIdIn(List.of(2L, 1L, 9L))).thenReturn(List.of(testAlert, second));
+            when(alertMapper.toResponse(testAlert)).thenReturn(testAlertResponse);
+            when(alertMapper.toResponse(second)).thenReturn(secondResponse);
+
+            // Act
+            AlertSearchResponse result = alertService.searchAlerts("snow", null, null, false, 20);
+
+            // Assert
+            assertThat(result.getTotalHits()).isEqualTo(3);
+            assertThat(result.getResults()).extracting(hit -> hit.getAlert().getId()).containsExactly(2L, 1L);
+            assertThat(result.getResults().get(0).getScore()).isEqualTo(3.5f);
+        }
+
+        @Test
+        @DisplayName("should reject a blank query")
+        void shouldRejectBlankQuery() {
+            assertThatThrownBy(() -> alertService.searchAlerts("  ", null, null, false, 20))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     // ==========================================
     // GET ALL ALERTS TESTS
     // ==========================================
@@ -181,7 +595,7 @@ class AlertServiceTest {
                     .severityLevel(SeverityLevel.LOW)
                     .build();
 
-            when(alertRepository.findAll()).thenReturn(Arrays.asList(testAlert, alert2));
+            when(alertRepository.findAllActive(any(LocalDateTime.class))).thenReturn(Arrays.asList(testAlert, alert2));
             when(alertMapper.toResponse(testAlert)).thenReturn(testAlertResponse);
             when(alertMapper.toResponse(alert2)).thenReturn(response2);
 
@@ -198,7 +612,7 @@ class AlertServiceTest {
         @DisplayName("should return empty list when no alerts exist")
         void shouldReturnEmptyList() {
             // Arrange
-            when(alertRepository.findAll()).thenReturn(List.of());
+            when(alertRepository.findAllActive(any(LocalDateTime.class))).thenReturn(List.of());
 
             // Act
             List<AlertResponse> results = alertService.getAllAlerts();
@@ -232,6 +646,20 @@ class AlertServiceTest {
             assertThat(result.getLocationName()).isEqualTo("Sofia");
         }
 
+        @Test
+        @DisplayName("should hide expired alert unless explicitly requested")
+        void shouldHideExpiredAlert() {
+            // Arrange
+            testAlert.setExpiresAt(LocalDateTime.now().minusHours(1));
+            when(alertRepository.findById(1L)).thenReturn(Optional.of(testAlert));
+            when(alertMapper.toResponse(testAlert)).thenReturn(testAlertResponse);
+
+            // Act & Assert
+            assertThatThrownBy(() -> alertService.getAlertById(1L))
+                    .isInstanceOf(AlertNotFoundException.class);
+            assertThat(alertService.getAlertById(1L, true)).isNotNull();
+        }
+
         @Test
         @DisplayName("should throw AlertNotFoundException when not found")
         void shouldThrowExceptionWhenNotFound() {
@@ -324,27 +752,28 @@ class AlertServiceTest {
         @DisplayName("should delete alert when exists")
         void shouldDeleteAlertWhenExists() {
             // Arrange
-            when(alertRepository.existsById(1L)).thenReturn(true);
-            doNothing().when(alertRepository).deleteById(1L);
+            when(alertRepository.deleteAlertById(1L)).thenReturn(1);
 
             // Act
             alertService.deleteAlert(1L);
 
             // Assert
-            verify(alertRepository, times(1)).deleteById(1L);
+            verify(alertRepository, times(1)).deleteAlertById(1L);
+            verify(alertRepository, never()).existsById(anyLong());
+            verify(alertTombstoneRepository, times(1)).save(any(AlertTombstone.class));
         }
 
         @Test
         @DisplayName("should throw AlertNotFoundException when deleting non-existent alert")
         void shouldThrowExceptionWhenDeletingNonExistent() {
             // Arrange
-            when(alertRepository.existsById(999L)).thenReturn(false);
+            when(alertRepository.deleteAlertById(999L)).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> alertService.deleteAlert(999L))
                     .isInstanceOf(AlertNotFoundException.class);
 
-            verify(alertRepository, never()).deleteById(anyLong());
+            verify(alertTombstoneRepository, never()).save(any(AlertTombstone.class));
         }
     }
 }
@@ -0,0 +1,283 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.AlertSyncProperties;
+import org.example.weather_alert.dto.AlertChangesResponse;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.entities.AlertTombstone;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.repositories.AlertTombstoneRepository;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.example.weather_alert.services.AlertSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertSyncService Unit Tests")
+class AlertSyncServiceTest {
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private AlertTombstoneRepository alertTombstoneRepository;
+
+    @Mock
+    private AlertChangeSequencer changeSequencer;
+
+    @Mock
+    private AlertMapper alertMapper;
+
+    @Spy
+    private AlertSyncProperties properties = new AlertSyncProperties();
+
+    @InjectMocks
+    private AlertSyncService alertSyncService;
+
+    private static Alert alert(long id, long changeSeq) {
+        return Alert.builder().id(id).changeSeq(changeSeq).build();
+    }
+
+    private static AlertTombstone tombstone(long alertId, long changeSeq) {
+        return AlertTombstone.builder().alertId(alertId).changeSeq(changeSeq).build();
+    }
+
+    private void stubMapper() {
+        when(alertMapper.toResponse(any(Alert.class)))
+                .thenAnswer(invocation -> AlertResponse.builder().id(invocation.<Alert>getArgument(0).getId()).build());
+    }
+
+    private static List<Long> ids(AlertChangesResponse response) {
+        return response.getChanged().stream().map(AlertResponse::getId).toList();
+    }
+
+    // ==========================================
+    // PAGING TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("paging")
+    class PagingTests {
+
+        @Test
+        @DisplayName("should return changes and tombstones up to the stable watermark")
+        void shouldReturnChangesUpToWatermark() {
+            // Arrange
+            when(changeSequencer.getStableWatermark()).thenReturn(10L);
+            when(alertRepository.findChangesBetween(eq(2L), eq(10L), any(Pageable.class)))
+                    .thenReturn(List.of(alert(1, 3), alert(2, 5)));
+            when(alertTombstoneRepository.findChangesBetween(eq(2L), eq(10L), any(Pageable.class)))
+                    .thenReturn(List.of(tombstone(7, 4)));
+            stubMapper();
+
+            // Act
+            AlertChangesResponse response = (AlertChangesResponse) alertSyncService
+                    .awaitChanges("2", 10, 0).getResult();
+
+            // Assert
+            assertThat(ids(response)).containsExactly(1L, 2L);
+            assertThat(response.getDeletedIds()).containsExactly(7L);
+            assertThat(response.getNextToken()).isEqualTo("10");
+            assertThat(response.isHasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should cut a page after limit changes across alerts and tombstones")
+        void shouldNotReturnTwiceTheLimit() {
+            // Arrange - both lists come back full: six rows for a limit of three
+            when(changeSequencer.getStableWatermark()).thenReturn(20L);
+            when(alertRepository.findChangesBetween(eq(0L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of(alert(1, 1), alert(2, 2), alert(5, 5)));
+            when(alertTombstoneRepository.findChangesBetween(eq(0L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of(tombstone(3, 3), tombstone(4, 4), tombstone(6, 6)));
+            stubMapper();
+
+            // Act
+            AlertChangesResponse response = (AlertChangesResponse) alertSyncService
+                    .awaitChanges(null, 3, 0).getResult();
+
+            // Assert
+            assertThat(ids(response)).containsExactly(1L, 2L);
+            assertThat(response.getDeletedIds()).containsExactly(3L);
+            assertThat(response.getNextToken()).isEqualTo("3");
+            assertThat(response.isHasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should leave an incomplete last group of one change sequence for the next page")
+        void shouldNotSplitSequenceGroup() {
+            // Arrange - a bulk operation stamped several rows with sequence 8
+            when(changeSequencer.getStableWatermark()).thenReturn(20L);
+            when(alertRepository.findChangesBetween(eq(6L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of(alert(1, 7), alert(2, 8), alert(3, 8)));
+            when(alertTombstoneRepository.findChangesBetween(eq(6L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of());
+            stubMapper();
+
+            // Act
+            AlertChangesResponse response = (AlertChangesResponse) alertSyncService
+                    .awaitChanges("6", 3, 0).getResult();
+
+            // Assert
+            assertThat(ids(response)).containsExactly(1L);
+            assertThat(response.getNextToken()).isEqualTo("7");
+            assertThat(response.isHasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should return a group larger than the limit whole when it fills the page")
+        void shouldReturnWholeGroupFillingPage() {
+            // Arrange
+            when(changeSequencer.getStableWatermark()).thenReturn(20L);
+            when(alertRepository.findChangesBetween(eq(8L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of(alert(1, 9), alert(2, 9)));
+            when(alertTombstoneRepository.findChangesBetween(eq(8L), eq(20L), any(Pageable.class)))
+                    .thenReturn(List.of(tombstone(4, 9)));
+            when(alertRepository.findByChangeSeqWithCreator(9L))
+                    .thenReturn(List.of(alert(1, 9), alert(2, 9), alert(3, 9)));
+            when(alertTombstoneRepository.findByChangeSeq(9L)).thenReturn(List.of(tombstone(4, 9)));
+            stubMapper();
+
+            // Act
+            AlertChangesResponse response = (AlertChangesResponse) alertSyncService
+                    .awaitChanges("8", 2, 0).getResult();
+
+            // Assert
+            assertThat(ids(response)).containsExactly(1L, 2L, 3L);
+            assertThat(response.getDeletedIds()).containsExactly(4L);
+            assertThat(response.getNextToken()).isEqualTo("9");
+            assertThat(response.isHasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should answer an up-to-date client without querying")
+        void shouldSkipQueriesWhenUpToDate() {
+            // Arrange
+            when(changeSequencer.getStableWatermark()).thenReturn(5L);
+
+            // Act
+            AlertChangesResponse response = (AlertChangesResponse) alertSyncService
+                    .awaitChanges("5", null, 0).getResult();
+
+            // Assert
+            assertThat(response.isEmpty()).isTrue();
+            assertThat(response.getNextToken()).isEqualTo("5");
+            verifyNoInteractions(alertRepository, alertTombstoneRepository);
+        }
+
+        @Test
+        @DisplayName("should reject malformed tokens and out-of-range limits")
+        void shouldRejectInvalidInput() {
+            assertThatThrownBy(() -> alertSyncService.awaitChanges("abc", null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> alertSyncService.awaitChanges("-1", null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> alertSyncService.awaitChanges(null, 0, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> alertSyncService.awaitChanges(null, properties.getMaxLimit() + 1, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // ==========================================
+    // LONG-POLL TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("long poll")
+    class LongPollTests {
+
+        private LongConsumer commitListener;
+
+        @BeforeEach
+        void captureCommitListener() {
+            ArgumentCaptor<LongConsumer> captor = ArgumentCaptor.forClass(LongConsumer.class);
+            verify(changeSequencer).addCommitListener(captor.capture());
+            commitListener = captor.getValue();
+        }
+
+        @Test
+        @DisplayName("should park a request without changes and complete it when a change commits")
+        void shouldWakeUpOnCommit() throws Exception {
+            // Arrange - nothing new at first, sequence 6 commits while the request waits
+            when(changeSequencer.getStableWatermark()).thenReturn(5L, 5L, 6L);
+            when(alertRepository.findChangesBetween(eq(5L), eq(6L), any(Pageable.class)))
+                    .thenReturn(List.of(alert(11, 6)));
+            when(alertTombstoneRepository.findChangesBetween(eq(5L), eq(6L), any(Pageable.class)))
+                    .thenReturn(List.of());
+            stubMapper();
+
+            DeferredResult<AlertChangesResponse> result = alertSyncService.awaitChanges("5", null, 10_000);
+            assertThat(result.hasResult()).isFalse();
+
+            CountDownLatch completed = new CountDownLatch(1);
+            result.setResultHandler(value -> completed.countDown());
+
+            // Act
+            commitListener.accept(6);
+
+            // Assert
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            AlertChangesResponse response = (AlertChangesResponse) result.getResult();
+            assertThat(ids(response)).containsExactly(11L);
+            assertThat(response.getNextToken()).isEqualTo("6");
+        }
+
+        @Test
+        @DisplayName("should answer at once when changes are already there")
+        void shouldNotWaitWhenChangesExist() {
+            // Arrange
+            when(changeSequencer.getStableWatermark()).thenReturn(3L);
+            when(alertRepository.findChangesBetween(anyLong(), anyLong(), any(Pageable.class)))
+                    .thenReturn(List.of(alert(1, 3)));
+            when(alertTombstoneRepository.findChangesBetween(anyLong(), anyLong(), any(Pageable.class)))
+                    .thenReturn(List.of());
+            stubMapper();
+
+            // Act
+            DeferredResult<AlertChangesResponse> result = alertSyncService.awaitChanges("2", null, 10_000);
+
+            // Assert
+            assertThat(result.hasResult()).isTrue();
+            assertThat(ids((AlertChangesResponse) result.getResult())).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("should cap the wait at max-wait-ms")
+        void shouldCapWait() {
+            // Arrange
+            properties.setMaxWaitMs(0);
+            when(changeSequencer.getStableWatermark()).thenReturn(5L);
+
+            // Act
+            DeferredResult<AlertChangesResponse> result = alertSyncService.awaitChanges("5", null, 60_000);
+
+            // Assert - a zero wait answers with the empty page straight away
+            assertThat(result.hasResult()).isTrue();
+            assertThat(((AlertChangesResponse) result.getResult()).isEmpty()).isTrue();
+        }
+    }
+}
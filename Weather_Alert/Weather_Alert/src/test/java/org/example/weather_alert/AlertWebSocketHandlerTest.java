@@ -0,0 +1,97 @@
+package org.example.weather_alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.weather_alert.config.AlertStreamProperties;
+import org.example.weather_alert.events.AlertEventFilter;
+import org.example.weather_alert.events.AlertEventSink;
+import org.example.weather_alert.events.AlertEventSubscriber;
+import org.example.weather_alert.events.AlertWebSocketHandler;
+import org.example.weather_alert.services.AlertEventService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertWebSocketHandler Unit Tests")
+class AlertWebSocketHandlerTest {
+
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private WebSocketSession session;
+
+    @Spy
+    private AlertStreamProperties properties = new AlertStreamProperties();
+
+    @InjectMocks
+    private AlertWebSocketHandler handler;
+
+    @Nested
+    @DisplayName("afterConnectionEstablished()")
+    class AfterConnectionEstablishedTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "severity=EXTREME",
+                "lastEventId=abc",
+                "minLat=north&maxLat=44&minLon=22&maxLon=29",
+                "minLat=41",
+                "minLat=44&maxLat=41&minLon=22&maxLon=29"
+        })
+        @DisplayName("should close with BAD_DATA and not subscribe when a parameter is invalid")
+        void shouldRejectInvalidParameters(String query) throws Exception {
+            // Arrange
+            when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/alerts?" + query));
+
+            // Act
+            handler.afterConnectionEstablished(session);
+
+            // Assert
+            ArgumentCaptor<CloseStatus> status = ArgumentCaptor.forClass(CloseStatus.class);
+            verify(session).close(status.capture());
+            assertThat(status.getValue().getCode()).isEqualTo(CloseStatus.BAD_DATA.getCode());
+            assertThat(status.getValue().getReason()).isNotBlank().hasSizeLessThanOrEqualTo(43);
+            verifyNoInteractions(alertEventService);
+        }
+
+        @Test
+        @DisplayName("should subscribe with the parsed filter and resume position")
+        void shouldSubscribeWithValidParameters() throws Exception {
+            // Arrange
+            when(session.getUri()).thenReturn(URI.create(
+                    "ws://localhost/ws/alerts?severity=high,low&lastEventId=42"));
+            when(session.getAttributes()).thenReturn(new HashMap<>());
+            when(alertEventService.subscribe(any(AlertEventFilter.class), eq(42L), any(AlertEventSink.class)))
+                    .thenReturn(new AlertEventSubscriber("sub-1", AlertEventFilter.acceptAll(), null, 42));
+
+            // Act
+            handler.afterConnectionEstablished(session);
+
+            // Assert
+            verify(session, never()).close(any(CloseStatus.class));
+            assertThat(session.getAttributes()).containsValue("sub-1");
+        }
+    }
+}
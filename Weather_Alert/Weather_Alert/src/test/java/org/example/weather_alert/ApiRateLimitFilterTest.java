@@ -0,0 +1,227 @@
+package org.example.weather_alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.example.weather_alert.ratelimit.ApiRateLimitFilter;
+import org.example.weather_alert.ratelimit.ApiRateLimiter;
+import org.example.weather_alert.ratelimit.RateLimitProperties;
+import org.example.weather_alert.ratelimit.TokenBucket;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ApiRateLimitFilter Tests")
+class ApiRateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+    private ApiRateLimiter limiter;
+    private ApiRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule("alerts-list", "GET", "/api/alerts", Map.of(
+                        "ADMIN", limit(0.01, 5),
+                        "USER", limit(0.01, 2))),
+                rule("fast", null, "/api/fast", Map.of(
+                        "USER", limit(1000, 1))),
+                rule("api", null, "/api/**", Map.of(
+                        "USER", limit(0.01, 10),
+                        "ANONYMOUS", limit(0.01, 1)))));
+
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new ApiRateLimiter(properties, meterRegistry);
+        filter = new ApiRateLimitFilter(limiter, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("should answer 429 with Retry-After once a user's burst is spent, without calling the chain")
+    void shouldRejectOverBurst() throws Exception {
+        authenticate(1L, "ROLE_USER");
+
+        MockHttpServletResponse first = perform("GET", "/api/alerts");
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("RateLimit-Limit")).isEqualTo("2");
+        assertThat(first.getHeader("RateLimit-Remaining")).isEqualTo("1");
+        assertThat(first.getHeader("RateLimit-Policy")).isEqualTo("2;w=200");
+
+        assertThat(perform("GET", "/api/alerts").getStatus()).isEqualTo(200);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse refused = perform("GET", "/api/alerts", chain);
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(Long.parseLong(refused.getHeader("Retry-After"))).isBetween(1L, 100L);
+        assertThat(refused.getContentAsString()).contains("\"status\":429");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(meterRegistry.counter("alerts.ratelimit.rejected", "rule", "alerts-list", "role", "USER").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per user, per rule and per role")
+    void shouldIsolateBuckets() throws Exception {
+        authenticate(1L, "ROLE_USER");
+        perform("GET", "/api/alerts");
+        perform("GET", "/api/alerts");
+        assertThat(perform("GET", "/api/alerts").getStatus()).isEqualTo(429);
+
+        // Another rule for the same user
+        assertThat(perform("GET", "/api/alerts/7").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/alerts").getHeader("RateLimit-Limit")).isEqualTo("10");
+
+        // Another user
+        authenticate(2L, "ROLE_USER");
+        assertThat(perform("GET", "/api/alerts").getStatus()).isEqualTo(200);
+
+        // The most generous role wins
+        authenticate(3L, "ROLE_USER", "ROLE_ADMIN");
+        assertThat(perform("GET", "/api/alerts").getHeader("RateLimit-Limit")).isEqualTo("5");
+    }
+
+    @Test
+    @DisplayName("should limit anonymous clients by IP and leave unmatched paths alone")
+    void shouldLimitAnonymousByIp() throws Exception {
+        assertThat(perform("GET", "/api/subscriptions").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/subscriptions").getStatus()).isEqualTo(429);
+
+        MockHttpServletResponse unmatched = perform("GET", "/actuator/health");
+        assertThat(unmatched.getStatus()).isEqualTo(200);
+        assertThat(unmatched.getHeader("RateLimit-Limit")).isNull();
+
+        // No ANONYMOUS limit under alerts-list: falls through to api, whose bucket is spent
+        assertThat(perform("GET", "/api/alerts").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("should key anonymous clients by the forwarded address only behind a trusted proxy")
+    void shouldUseForwardedAddressFromTrustedProxy() throws Exception {
+        // Same address resolution as server.forward-headers-strategy=native with loopback trusted
+        RemoteIpFilter remoteIp = new RemoteIpFilter();
+        MockFilterConfig config = new MockFilterConfig();
+        config.addInitParameter("internalProxies", "127\\.0\\.0\\.1");
+        remoteIp.init(config);
+
+        // Through the proxy: one bucket per client
+        assertThat(performVia(remoteIp, "127.0.0.1", "203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(performVia(remoteIp, "127.0.0.1", "203.0.113.2").getStatus()).isEqualTo(200);
+        assertThat(performVia(remoteIp, "127.0.0.1", "203.0.113.1").getStatus()).isEqualTo(429);
+
+        // A direct client can't pick a fresh bucket with the header
+        assertThat(performVia(remoteIp, "198.51.100.9", "203.0.113.3").getStatus()).isEqualTo(200);
+        assertThat(performVia(remoteIp, "198.51.100.9", "203.0.113.4").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("should refill lazily and evict only buckets that are full and idle")
+    void shouldRefillAndEvict() throws Exception {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(10, 2, start);
+        assertThat(bucket.tryAcquire(start)).isZero();
+        assertThat(bucket.tryAcquire(start)).isZero();
+        long wait = bucket.tryAcquire(start);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire(start + wait)).isZero();
+        assertThat(bucket.nanosUntilFull(start + wait)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+
+        authenticate(1L, "ROLE_USER");
+        perform("GET", "/api/alerts");
+        perform("GET", "/api/fast");
+        limiter.evictIdle();
+        assertThat(meterRegistry.get("alerts.ratelimit.buckets").gauge().value()).isEqualTo(2);
+
+        // The fast bucket refills in 1 ms; the alerts-list one needs 100 s for its permit
+        Thread.sleep(10);
+        properties.setIdleEvictionMs(0);
+        limiter.evictIdle();
+        assertThat(meterRegistry.get("alerts.ratelimit.buckets").gauge().value()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) {
+        return perform(method, uri, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, MockFilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private MockHttpServletResponse performVia(RemoteIpFilter remoteIp, String remoteAddr, String forwardedFor)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/subscriptions");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                // The controller - nothing to do
+            }
+        }, remoteIp, filter).doFilter(request, response);
+        return response;
+    }
+
+    private static void authenticate(Long id, String... roles) {
+        Set<GrantedAuthority> authorities = Set.of(Arrays.stream(roles)
+                .map(SimpleGrantedAuthority::new).toArray(GrantedAuthority[]::new));
+        AuthenticatedUser user = new AuthenticatedUser(id, "user" + id, authorities, Instant.now(), "jti-" + id,
+                Instant.now().plusSeconds(900));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+    private static RateLimitProperties.Rule rule(String name, String method, String path,
+                                                 Map<String, RateLimitProperties.Limit> limits) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setLimits(limits);
+        return rule;
+    }
+
+    private static RateLimitProperties.Limit limit(double permitsPerSecond, int burst) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setPermitsPerSecond(permitsPerSecond);
+        limit.setBurst(burst);
+        return limit;
+    }
+}
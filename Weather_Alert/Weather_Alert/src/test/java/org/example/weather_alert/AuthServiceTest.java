@@ -0,0 +1,247 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.config.LoginProperties;
+import org.example.weather_alert.dto.AuthResponse;
+import org.example.weather_alert.dto.LoginRequest;
+import org.example.weather_alert.exception.InvalidCredentialsException;
+import org.example.weather_alert.exception.TooManyRequestsException;
+import org.example.weather_alert.ratelimit.StripedRateLimiter;
+import org.example.weather_alert.security.CustomUserDetailsService;
+import org.example.weather_alert.security.JwtTokenProvider;
+import org.example.weather_alert.security.TokenRevocationList;
+import org.example.weather_alert.security.UserSnapshot;
+import org.example.weather_alert.services.AuthService;
+import org.example.weather_alert.services.RefreshTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthService Login Protection Tests")
+class AuthServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Spy
+    private JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(jwtProperties());
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Read by the constructor, so set before injection
+    @Spy
+    private LoginProperties properties = loginProperties();
+
+    @InjectMocks
+    private AuthService authService;
+
+    private static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-key-that-is-long-enough-for-hs256");
+        properties.setExpiration(60_000L);
+        return properties;
+    }
+
+    // One BCrypt thread with one queue slot; 3 failed attempts per username, 10 attempts per IP
+    private static LoginProperties loginProperties() {
+        LoginProperties properties = new LoginProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setStripes(64);
+        properties.setPerUsername(new LoginProperties.Limit(0.01, 3));
+        properties.setPerIp(new LoginProperties.Limit(0.01, 10));
+        return properties;
+    }
+
+    @AfterEach
+    void tearDown() {
+        authService.shutdown();
+    }
+
+    // ==========================================
+    // LOGIN TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("login and refresh")
+    class LoginTests {
+
+        @Test
+        @DisplayName("should verify the password off the request thread and return a token")
+        void shouldLogin() {
+            // Arrange
+            UserSnapshot user = new UserSnapshot(1L, "admin", "admin@example.com", "hash",
+                    Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")), true, true, true, true);
+            when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+                assertThat(Thread.currentThread().getName()).startsWith("Login-");
+                return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            });
+            when(refreshTokenService.issue(anyLong())).thenAnswer(invocation ->
+                    new RefreshTokenService.IssuedToken("refresh-" + invocation.getArgument(0), invocation.getArgument(0)));
+
+            // Act
+            AuthResponse response = authService.login(login("admin"), "10.0.0.1");
+
+            // Assert
+            assertThat(response.getAccessToken()).isNotBlank();
+            assertThat(response.getRefreshToken()).isEqualTo("refresh-1");
+            assertThat(response.getRoles()).containsExactly("ROLE_ADMIN");
+            assertThat(meterRegistry.timer("alerts.auth.login", "outcome", "success").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should issue a new pair for a valid refresh token and refuse a disabled account")
+        void shouldRefresh() {
+            // Arrange
+            when(refreshTokenService.rotate("r1")).thenReturn(Optional.of(new RefreshTokenService.IssuedToken("r2", 1L)));
+            when(refreshTokenService.rotate("r2")).thenReturn(Optional.of(new RefreshTokenService.IssuedToken("r3", 1L)));
+            when(refreshTokenService.rotate("used")).thenReturn(Optional.empty());
+            when(userDetailsService.loadUserById(1L)).thenReturn(
+                    new UserSnapshot(1L, "admin", "admin@example.com", "hash", Set.of(), true, true, true, true),
+                    new UserSnapshot(1L, "admin", "admin@example.com", "hash", Set.of(), false, true, true, true));
+
+            // Act
+            AuthResponse response = authService.refresh("r1", "10.0.0.1");
+
+            // Assert
+            assertThat(response.getRefreshToken()).isEqualTo("r2");
+            assertThat(response.getAccessToken()).isNotBlank();
+            assertThatThrownBy(() -> authService.refresh("used", "10.0.0.1")).isInstanceOf(InvalidCredentialsException.class);
+            assertThatThrownBy(() -> authService.refresh("r2", "10.0.0.1")).isInstanceOf(InvalidCredentialsException.class);
+            verify(refreshTokenService).revokeAllForUser(1L);
+        }
+    }
+
+    // ==========================================
+    // THROTTLING TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("throttling")
+    class ThrottlingTests {
+
+        @Test
+        @DisplayName("should refuse a username after its failed-attempt burst without checking the password")
+        void shouldThrottleFailedAttemptsPerUsername() {
+            // Arrange
+            when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> authService.login(login("admin"), "10.0.0.1"))
+                        .isInstanceOf(InvalidCredentialsException.class);
+            }
+
+            // Act & Assert - same username, other case, other IP
+            assertThatThrownBy(() -> authService.login(login("ADMIN"), "10.0.0.2"))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class,
+                            e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+            verify(authenticationManager, times(3)).authenticate(any());
+            assertThat(meterRegistry.counter("alerts.auth.login.throttled", "by", "username").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should refuse a client IP after its burst")
+        void shouldThrottlePerIp() {
+            // Arrange
+            when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+            for (int i = 0; i < 10; i++) {
+                String username = "user" + i;
+                assertThatThrownBy(() -> authService.login(login(username), "10.0.0.9"))
+                        .isInstanceOf(InvalidCredentialsException.class);
+            }
+
+            // Act & Assert
+            assertThatThrownBy(() -> authService.login(login("someone-else"), "10.0.0.9"))
+                    .isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.counter("alerts.auth.login.throttled", "by", "ip").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should refuse logins straight away when the password pool and its queue are full")
+        void shouldRejectWhenExecutorSaturated() {
+            // Arrange - one running, one queued
+            CountDownLatch release = new CountDownLatch(1);
+            when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                throw new BadCredentialsException("bad");
+            });
+            CompletableFuture<?> running = CompletableFuture.runAsync(() -> quietLogin("a", "10.0.1.1"));
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(authenticationManager).authenticate(any()));
+            CompletableFuture<?> queued = CompletableFuture.runAsync(() -> quietLogin("b", "10.0.1.2"));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("executor.queued")
+                    .tag("name", "loginExecutor").gauge().value() == 1);
+
+            // Act & Assert
+            assertThatThrownBy(() -> authService.login(login("c"), "10.0.1.3"))
+                    .isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.timer("alerts.auth.login", "outcome", "rejected").count()).isEqualTo(1);
+
+            release.countDown();
+            CompletableFuture.allOf(running, queued).join();
+        }
+
+        @Test
+        @DisplayName("should allow a burst per key, then one permit per interval")
+        void shouldRefillLazily() throws Exception {
+            // Arrange
+            StripedRateLimiter limiter = new StripedRateLimiter(16, 20, 2);
+
+            // Act & Assert
+            assertThat(limiter.tryAcquire("k")).isZero();
+            assertThat(limiter.check("k")).isZero();
+            assertThat(limiter.tryAcquire("k")).isZero();
+            long wait = limiter.tryAcquire("k");
+            assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+            assertThat(limiter.check("k")).isPositive();
+
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 10);
+            assertThat(limiter.tryAcquire("k")).isZero();
+        }
+    }
+
+    private void quietLogin(String username, String ip) {
+        try {
+            authService.login(login(username), ip);
+        } catch (RuntimeException ignored) {
+            // Only the third login's outcome matters
+        }
+    }
+
+    private static LoginRequest login(String username) {
+        return LoginRequest.builder().username(username).password("secret").build();
+    }
+}
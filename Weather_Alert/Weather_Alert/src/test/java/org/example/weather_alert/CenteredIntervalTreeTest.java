@@ -0,0 +1,63 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.index.AlertInterval;
+import org.example.weather_alert.index.CenteredIntervalTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CenteredIntervalTree Unit Tests")
+class CenteredIntervalTreeTest {
+
+    private static List<Long> overlapping(CenteredIntervalTree tree, long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        tree.forEachOverlapping(from, to, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("should treat intervals as half-open")
+    void shouldUseHalfOpenIntervals() {
+        CenteredIntervalTree tree = new CenteredIntervalTree(List.of(
+                new AlertInterval(1, 10, 20),
+                new AlertInterval(2, 20, 30),
+                new AlertInterval(3, 5, Long.MAX_VALUE)));
+
+        List<Long> atTwenty = new ArrayList<>();
+        tree.forEachContaining(20, atTwenty::add);
+
+        assertThat(atTwenty).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(overlapping(tree, 0, 10)).containsExactly(3L);
+        assertThat(overlapping(tree, 15, 15)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should match a brute-force scan for random intervals and windows")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<AlertInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            long start = random.nextInt(10_000);
+            long end = random.nextInt(10) == 0 ? Long.MAX_VALUE : start + 1 + random.nextInt(500);
+            intervals.add(new AlertInterval(id, start, end));
+        }
+        CenteredIntervalTree tree = new CenteredIntervalTree(intervals);
+
+        for (int i = 0; i < 500; i++) {
+            long from = random.nextInt(11_000) - 500;
+            long to = from + 1 + random.nextInt(300);
+
+            List<Long> expected = intervals.stream()
+                    .filter(interval -> interval.overlaps(from, to))
+                    .map(AlertInterval::alertId)
+                    .toList();
+
+            assertThat(overlapping(tree, from, to)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.weather_alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.weather_alert.concurrency.AdaptiveConcurrencyLimit;
+import org.example.weather_alert.concurrency.ConcurrencyLimitFilter;
+import org.example.weather_alert.concurrency.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Adaptive Concurrency Limit Tests")
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setRead(new ConcurrencyLimitProperties.Limit(1, 1, 1));
+        properties.setWrite(new ConcurrencyLimitProperties.Limit(1, 1, 1));
+        properties.setAuth(new ConcurrencyLimitProperties.Limit(1, 1, 1));
+        properties.setRetryAfterSeconds(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("should shed a request over the limit with 503 and Retry-After")
+    void shouldShedOverLimit() {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        // The second read arrives while the first still holds the only slot
+        MockHttpServletResponse first = perform("GET", "/api/alerts",
+                (request, response) -> nested.set(perform("GET", "/api/alerts/1", (req, res) -> { })));
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.counter("alerts.concurrency.rejected", "class", "read").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("alerts.concurrency.inflight").tag("class", "read").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep read, write and auth slots apart and leave long-lived requests unlimited")
+    void shouldSeparateEndpointClasses() {
+        AtomicReference<MockHttpServletResponse> write = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> login = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> stream = new AtomicReference<>();
+
+        perform("GET", "/api/alerts", (request, response) -> {
+            write.set(perform("DELETE", "/api/alerts/1", (req, res) -> { }));
+            login.set(perform("POST", "/api/auth/login", (req, res) -> { }));
+            stream.set(perform("GET", "/api/alerts/stream", (req, res) -> { }));
+        });
+
+        assertThat(write.get().getStatus()).isEqualTo(200);
+        assertThat(login.get().getStatus()).isEqualTo(200);
+        assertThat(stream.get().getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("alerts.concurrency.limit").tag("class", "auth").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should free the slot of an error response without taking it as a latency sample")
+    void shouldNotSampleErrorResponses() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setWindowSize(1);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        // Refused by security or not found - answered without touching the database
+        perform("GET", "/api/alerts", (request, response) -> ((HttpServletResponse) response).setStatus(401));
+        perform("GET", "/api/alerts/999", (request, response) -> ((HttpServletResponse) response).setStatus(404));
+
+        assertThat(meterRegistry.get("alerts.concurrency.rtt.noload").tag("class", "read").gauge().value()).isNaN();
+        assertThat(meterRegistry.get("alerts.concurrency.inflight").tag("class", "read").gauge().value()).isZero();
+
+        perform("GET", "/api/alerts/1", (request, response) -> { });
+        assertThat(meterRegistry.get("alerts.concurrency.rtt.noload").tag("class", "read").gauge().value()).isNotNaN();
+    }
+
+    @Test
+    @DisplayName("should grow the limit while latency stays near no-load and shrink it when requests queue")
+    void shouldAdaptToLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16, 2, 100, 2.0, 1.0, 16, 100);
+
+        for (int i = 0; i < 5; i++) {
+            runWindow(limit, limit.getLimit(), TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(16);
+        assertThat(limit.getNoLoadRttNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+
+        // Latency at 10x no-load: halved every window down to the floor
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, limit.getLimit(), TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        // Within tolerance again: recovers
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, limit.getLimit(), TimeUnit.MILLISECONDS.toNanos(15));
+        }
+        assertThat(limit.getLimit()).isGreaterThan(2);
+    }
+
+    @Test
+    @DisplayName("should not grow the limit while the service is mostly idle")
+    void shouldNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16, 2, 100, 2.0, 1.0, 16, 100);
+
+        for (int i = 0; i < 5; i++) {
+            runWindow(limit, 1, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertThat(limit.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("should hold the limit for a steady mix of fast and slow requests at low concurrency")
+    void shouldNotCollapseOnMixedLatency() {
+        // Production settings; lookups by ID at 5 ms mixed with list requests at 500 ms
+        ConcurrencyLimitProperties defaults = new ConcurrencyLimitProperties();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 500, defaults.getTolerance(),
+                defaults.getSmoothing(), defaults.getWindowSize(), defaults.getNoLoadWindows());
+        long fast = TimeUnit.MILLISECONDS.toNanos(5);
+        long slow = TimeUnit.MILLISECONDS.toNanos(500);
+
+        // Act - 100 windows, two requests in flight, 8 to 12 slow ones in each window of 50
+        for (int window = 0; window < 100; window++) {
+            int slowCount = 8 + window % 5;
+            for (int i = 0; i < defaults.getWindowSize(); i += 2) {
+                assertThat(limit.tryAcquire()).isTrue();
+                assertThat(limit.tryAcquire()).isTrue();
+                limit.onSample(i < slowCount ? slow : fast);
+                limit.onSample(i + 1 < slowCount ? slow : fast);
+            }
+        }
+
+        // Assert - the mix is the normal load, not overload
+        assertThat(limit.getLimit()).isEqualTo(50);
+        assertThat(limit.getNoLoadRttNanos()).isGreaterThan(fast * 10);
+    }
+
+    // One window of 16 samples with `concurrency` requests in flight at a time
+    private static void runWindow(AdaptiveConcurrencyLimit limit, int concurrency, long rttNanos) {
+        int done = 0;
+        while (done < 16) {
+            int batch = Math.min(concurrency, 16 - done);
+            for (int i = 0; i < batch; i++) {
+                assertThat(limit.tryAcquire()).isTrue();
+            }
+            for (int i = 0; i < batch; i++) {
+                limit.onSample(rttNanos);
+            }
+            done += batch;
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
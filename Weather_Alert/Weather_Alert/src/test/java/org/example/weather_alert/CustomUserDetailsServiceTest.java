@@ -0,0 +1,149 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.UserCacheProperties;
+import org.example.weather_alert.entities.Role;
+import org.example.weather_alert.entities.User;
+import org.example.weather_alert.repositories.UserRepository;
+import org.example.weather_alert.security.CustomUserDetailsService;
+import org.example.weather_alert.security.UserSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService Tests")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private UserCacheProperties properties = new UserCacheProperties();
+
+    @InjectMocks
+    private CustomUserDetailsService service;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = User.builder()
+                .id(1L)
+                .username("admin")
+                .email("admin@example.com")
+                .password("{bcrypt}hash")
+                .roles(Set.of(Role.builder().id(1L).name("ROLE_ADMIN").build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("should answer repeat loads from an immutable snapshot")
+    void shouldCacheSnapshot() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        UserSnapshot first = service.loadUserByUsername("admin");
+        UserSnapshot second = service.loadUserByUsername("admin");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(1)).findByUsername("admin");
+
+        // Later changes to the entity do not leak into the cached copy
+        admin.setEnabled(false);
+        assertThat(service.loadUserByUsername("admin").isEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reload a user after eviction")
+    void shouldReloadAfterEvict() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
+        service.loadUserByUsername("admin");
+        service.loadUserById(1L);
+
+        admin.setAccountNonLocked(false);
+        service.evict(1L);
+
+        assertThat(service.loadUserByUsername("admin").isAccountNonLocked()).isFalse();
+        assertThat(service.loadUserById(1L).isAccountNonLocked()).isFalse();
+        verify(userRepository, times(2)).findByUsername("admin");
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("should not cache unknown usernames")
+    void shouldNotCacheMissingUser() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("should query the users table on every load when the cache is off")
+    void shouldSkipCacheWhenDisabled() {
+        // Arrange
+        properties.setMaxSize(0);
+        CustomUserDetailsService uncached = new CustomUserDetailsService(userRepository, properties);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        // Act
+        UserSnapshot first = uncached.loadUserByUsername("admin");
+        UserSnapshot second = uncached.loadUserByUsername("admin");
+
+        // Assert
+        assertThat(second).isNotSameAs(first);
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("should load a user once when many threads miss at the same time")
+    void shouldLoadOncePerKeyUnderConcurrency() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(userRepository.findByUsername("admin")).thenAnswer(invocation -> {
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(admin);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> service.loadUserByUsername("admin")));
+            }
+            Thread.sleep(200);
+            loading.countDown();
+
+            UserSnapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<UserSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.weather_alert;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.example.weather_alert.dto.CreateAlertRequest;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EffectivePeriodValidator Unit Tests")
+class EffectivePeriodValidatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 15, 12, 0);
+
+    private ValidatorFactory factory;
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        // Pin "now" the same way ClockConfig does for the application
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        factory = Validation.byDefaultProvider().configure()
+                .clockProvider(() -> clock)
+                .buildValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+    }
+
+    private static CreateAlertRequest request(LocalDateTime from, LocalDateTime until) {
+        return CreateAlertRequest.builder()
+                .description("Heavy snowfall expected in the area")
+                .locationName("Sofia")
+                .severityLevel(SeverityLevel.HIGH)
+                .effectiveFrom(from)
+                .effectiveUntil(until)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should compare an immediate alert's effectiveUntil with the validator clock")
+    void shouldUseValidatorClock() {
+        // Act
+        Set<ConstraintViolation<CreateAlertRequest>> past = validator.validate(request(null, NOW.minusMinutes(1)));
+        Set<ConstraintViolation<CreateAlertRequest>> future = validator.validate(request(null, NOW.plusMinutes(1)));
+
+        // Assert
+        assertThat(past).singleElement().satisfies(violation -> {
+            assertThat(violation.getPropertyPath().toString()).isEqualTo("effectiveUntil");
+            assertThat(violation.getMessage()).isEqualTo("effectiveUntil must be after effectiveFrom");
+        });
+        assertThat(future).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should compare effectiveUntil with effectiveFrom when both are given")
+    void shouldCompareWithEffectiveFrom() {
+        // Act & Assert - a period in the past is still a valid period
+        assertThat(validator.validate(request(NOW.minusDays(2), NOW.minusDays(1)))).isEmpty();
+        assertThat(validator.validate(request(NOW.plusDays(1), NOW.plusDays(1)))).hasSize(1);
+        assertThat(validator.validate(request(NOW.plusDays(1), null))).isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.mapper.AlertMapper;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.services.AlertChangeSequencer;
+import org.example.weather_alert.services.AlertEventService;
+import org.example.weather_alert.services.GeocodingService;
+import org.example.weather_alert.services.GeotagPipelineTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeocodingService Unit Tests")
+class GeocodingServiceTest {
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    // Unstubbed: every Nominatim call fails
+    @Mock
+    private WebClient.Builder webClientBuilder;
+
+    @Mock
+    private AlertMapper alertMapper;
+
+    @Mock
+    private AlertEventService alertEventService;
+
+    @Mock
+    private AlertChangeSequencer changeSequencer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private GeotagPipelineTracker pipelineTracker;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private GeocodingService geocodingService;
+
+    @Nested
+    @DisplayName("enrichAlertsByLocation()")
+    class EnrichAlertsByLocationTests {
+
+        @Test
+        @DisplayName("should finish the remaining locations and fail the broken one when a location throws")
+        @SuppressWarnings("unchecked")
+        void shouldContinueAfterFailingLocation() {
+            // Arrange - the first location's transaction dies, everything after it works
+            Alert sofia = Alert.builder().id(1L).locationName("Sofia").geoTaggingStatus(GeoTaggingStatus.PENDING).build();
+            Alert varna = Alert.builder().id(2L).locationName("Varna").geoTaggingStatus(GeoTaggingStatus.PENDING).build();
+            when(alertRepository.findById(1L)).thenReturn(Optional.of(sofia));
+            when(alertRepository.findAllById(List.of(2L))).thenReturn(List.of(varna));
+            doThrow(new IllegalStateException("Deadlock found"))
+                    .doAnswer(invocation -> {
+                        invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                        return null;
+                    })
+                    .when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+            Map<String, List<Long>> byLocation = new LinkedHashMap<>();
+            byLocation.put("Sofia", List.of(1L));
+            byLocation.put("Varna", List.of(2L));
+
+            // Act
+            geocodingService.enrichAlertsByLocation(byLocation);
+
+            // Assert
+            assertThat(sofia.getGeoTaggingStatus()).isEqualTo(GeoTaggingStatus.FAILED);
+            assertThat(sofia.getGeoTaggingError()).contains("Deadlock found");
+            assertThat(varna.getGeoTaggingStatus()).isEqualTo(GeoTaggingStatus.FAILED);
+            assertThat(varna.getGeoTaggingError()).startsWith("Failed to fetch coordinates");
+            verify(alertRepository).save(sofia);
+            verify(alertRepository).save(varna);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.GeotagTrackingProperties;
+import org.example.weather_alert.dto.GeotagBacklogResponse;
+import org.example.weather_alert.enums.GeoTaggingStatus;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.services.GeotagPipelineTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeotagPipelineTracker Unit Tests")
+class GeotagPipelineTrackerTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-15T12:00:00Z");
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GeotagTrackingProperties properties = new GeotagTrackingProperties();
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private GeotagPipelineTracker tracker;
+
+    private static long at(long offsetMs) {
+        return T0.toEpochMilli() + offsetMs;
+    }
+
+    // ==========================================
+    // STAGE TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("stage timing")
+    class StageTests {
+
+        @Test
+        @DisplayName("should record every stage and the end-to-end lag once persisted")
+        void shouldRecordStages() {
+            // Arrange - enqueued, started, permit, response, persisted
+            when(clock.millis()).thenReturn(at(0), at(5), at(6), at(16), at(20));
+
+            // Act
+            tracker.enqueued(1L, "Sofia");
+            tracker.started(List.of(1L));
+            tracker.permitAcquired(List.of(1L));
+            tracker.responseReceived(List.of(1L));
+            tracker.persisted(1L, GeoTaggingStatus.SUCCESS);
+
+            // Assert
+            assertThat(stage("queue").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+            assertThat(stage("rate_limit").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1);
+            assertThat(stage("http").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+            assertThat(stage("persist").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4);
+            Timer lag = meterRegistry.timer("alerts.geotag.lag", "status", "SUCCESS");
+            assertThat(lag.count()).isEqualTo(1);
+            assertThat(lag.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+            assertThat(meterRegistry.get("alerts.geotag.inflight").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("should skip stages a failed geotag never reached")
+        void shouldSkipMissingStages() {
+            // Arrange
+            when(clock.millis()).thenReturn(at(0), at(5), at(8));
+
+            // Act
+            tracker.enqueued(1L, "Nowhere");
+            tracker.started(List.of(1L));
+            tracker.persisted(1L, GeoTaggingStatus.FAILED);
+
+            // Assert
+            assertThat(stage("queue").count()).isEqualTo(1);
+            assertThat(stage("http").count()).isZero();
+            assertThat(meterRegistry.timer("alerts.geotag.lag", "status", "FAILED").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should stop tracing once max-in-flight is reached")
+        void shouldCapInFlight() {
+            // Arrange
+            properties.setMaxInFlight(2);
+            when(clock.millis()).thenReturn(at(0));
+
+            // Act
+            tracker.enqueued(1L, "Sofia");
+            tracker.enqueued(2L, "Varna");
+            tracker.enqueued(3L, "Ruse");
+            tracker.persisted(3L, GeoTaggingStatus.SUCCESS);
+
+            // Assert
+            assertThat(meterRegistry.get("alerts.geotag.inflight").gauge().value()).isEqualTo(2);
+            assertThat(meterRegistry.timer("alerts.geotag.lag", "status", "SUCCESS").count()).isZero();
+        }
+
+        private Timer stage(String name) {
+            return meterRegistry.timer("alerts.geotag.stage", "stage", name);
+        }
+    }
+
+    // ==========================================
+    // BACKLOG TESTS
+    // ==========================================
+
+    @Nested
+    @DisplayName("backlog")
+    class BacklogTests {
+
+        @Test
+        @DisplayName("should report the backlog with the oldest in-flight geotags first")
+        void shouldReportBacklog() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.ofInstant(T0, ZoneOffset.UTC);
+            when(clock.instant()).thenReturn(T0);
+            when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+            when(clock.millis()).thenReturn(at(-3000), at(-2000), at(-1000), at(-500), at(-400), at(0));
+            when(alertRepository.findOldestChangeByGeoTaggingStatus(GeoTaggingStatus.PENDING))
+                    .thenReturn(now.minusSeconds(90));
+            when(alertRepository.countByGeoTaggingStatus(GeoTaggingStatus.PENDING)).thenReturn(3L);
+
+            tracker.enqueued(1L, "Sofia");
+            tracker.enqueued(2L, "Varna");
+            tracker.enqueued(3L, "Ruse");
+            tracker.started(List.of(1L));
+            tracker.permitAcquired(List.of(1L));
+
+            // Act
+            GeotagBacklogResponse backlog = tracker.backlog(2);
+
+            // Assert
+            assertThat(backlog.getPending()).isEqualTo(3);
+            assertThat(backlog.getOldestPendingAgeSeconds()).isEqualTo(90);
+            assertThat(backlog.getInFlight()).isEqualTo(3);
+            assertThat(backlog.getSlowest()).extracting(GeotagBacklogResponse.InFlightGeotag::getAlertId)
+                    .containsExactly(1L, 2L);
+            assertThat(backlog.getSlowest().get(0).getStage()).isEqualTo("CALLING_API");
+            assertThat(backlog.getSlowest().get(0).getAgeMs()).isEqualTo(3000);
+            assertThat(backlog.getSlowest().get(1).getStage()).isEqualTo("QUEUED");
+        }
+
+        @Test
+        @DisplayName("should refresh the gauges and drop stale traces")
+        void shouldRefreshGauges() {
+            // Arrange - enqueued an hour and a minute before the refresh
+            LocalDateTime now = LocalDateTime.ofInstant(T0, ZoneOffset.UTC);
+            when(clock.instant()).thenReturn(T0);
+            when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+            when(clock.millis()).thenReturn(at(-TimeUnit.MINUTES.toMillis(61)), at(0));
+            when(alertRepository.findOldestChangeByGeoTaggingStatus(GeoTaggingStatus.PENDING))
+                    .thenReturn(now.minusSeconds(90));
+            when(alertRepository.countByGeoTaggingStatus(GeoTaggingStatus.PENDING)).thenReturn(3L);
+            tracker.enqueued(1L, "Sofia");
+
+            // Act
+            tracker.refresh();
+
+            // Assert
+            assertThat(meterRegistry.get("alerts.geotag.pending").gauge().value()).isEqualTo(3);
+            assertThat(meterRegistry.get("alerts.geotag.oldest.pending.age").gauge().value()).isEqualTo(90);
+            assertThat(meterRegistry.get("alerts.geotag.inflight").gauge().value()).isZero();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.weather_alert;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.weather_alert.config.JfrProperties;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.diagnostics.RepositoryJfrAspect;
+import org.example.weather_alert.entities.Alert;
+import org.example.weather_alert.exception.RecordingStateException;
+import org.example.weather_alert.repositories.AlertRepository;
+import org.example.weather_alert.security.JwtTokenProvider;
+import org.example.weather_alert.services.JfrRecordingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JfrRecordingService Tests")
+class JfrRecordingServiceTest {
+
+    @Spy
+    private JfrProperties properties = new JfrProperties();
+
+    @Mock
+    private AlertRepository target;
+
+    @InjectMocks
+    private JfrRecordingService recordingService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxDurationMinutes(5);
+        properties.setMaxAgeMinutes(5);
+        properties.setMaxSizeMb(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordingService.closeRecording();
+    }
+
+    @Test
+    @DisplayName("should record repository and JWT events and dump them to a file")
+    void shouldRecordApplicationEvents() throws Exception {
+        // Arrange
+        when(target.findById(42L)).thenReturn(Optional.of(new Alert()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RepositoryJfrAspect());
+        AlertRepository repository = factory.getProxy();
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-that-is-long-enough-for-hs256");
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(jwtProperties);
+
+        // Act
+        assertThat(recordingService.start("default").getState()).isEqualTo("RUNNING");
+        repository.findById(42L);
+        assertThat(tokenProvider.verify("not-a-token")).isNull();
+        assertThat(recordingService.stop().getState()).isEqualTo("STOPPED");
+
+        // Assert
+        Path file = recordingService.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent repositoryCall = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("weather_alert.RepositoryCall"))
+                    .findFirst().orElseThrow();
+            assertThat(repositoryCall.getString("method")).isEqualTo("findById");
+            assertThat(repositoryCall.getLong("alertId")).isEqualTo(42L);
+            assertThat(repositoryCall.getString("outcome")).isEqualTo("ok");
+
+            assertThat(events).anyMatch(e -> e.getEventType().getName().equals("weather_alert.JwtValidation")
+                    && "malformed".equals(e.getString("outcome")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a second start, a stop without recording and unknown settings")
+    void shouldGuardState() {
+        assertThat(recordingService.status().getState()).isEqualTo("NONE");
+        assertThatThrownBy(() -> recordingService.stop()).isInstanceOf(RecordingStateException.class);
+        assertThatThrownBy(() -> recordingService.dump()).isInstanceOf(RecordingStateException.class);
+        assertThatThrownBy(() -> recordingService.start("/etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+
+        recordingService.start("default");
+        assertThatThrownBy(() -> recordingService.start("profile")).isInstanceOf(RecordingStateException.class);
+    }
+}
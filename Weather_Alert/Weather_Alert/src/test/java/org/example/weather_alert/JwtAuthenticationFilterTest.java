@@ -0,0 +1,167 @@
+package org.example.weather_alert;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.repositories.RevokedTokenRepository;
+import org.example.weather_alert.repositories.UserTokenCutoffRepository;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.example.weather_alert.security.JwtAuthenticationFilter;
+import org.example.weather_alert.security.JwtTokenProvider;
+import org.example.weather_alert.security.TokenRevocationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenCutoffRepository userTokenCutoffRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final JwtProperties properties = new JwtProperties();
+
+    private JwtTokenProvider tokenProvider;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Real provider and revocation list - the filter is tested against actual tokens
+        properties.setSecret(SECRET);
+        properties.setExpiration(3_600_000L);
+        properties.getVerifiedCache().setMaxSize(100L);
+        properties.getRevocation().getBloom().setExpectedInsertions(1000);
+        tokenProvider = new JwtTokenProvider(properties);
+
+        revocationList = new TokenRevocationList(revokedTokenRepository, userTokenCutoffRepository,
+                transactionTemplate, new SimpleMeterRegistry(), properties);
+        revocationList.load();
+
+        filter = new JwtAuthenticationFilter(tokenProvider, revocationList, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("should authenticate from the token's claims alone")
+    void shouldAuthenticateFromClaims() throws Exception {
+        String token = tokenProvider.generateToken(7L, "admin",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+
+        Authentication authentication = filter(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("admin");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getIssuedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should reject tokens revoked for the user")
+    void shouldRejectRevokedToken() throws Exception {
+        String token = tokenProvider.generateToken(7L, "admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String otherUser = tokenProvider.generateToken(8L, "user1", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        assertThat(filter(token)).isNotNull();
+        revocationList.revokeAll(7L);
+
+        // Also when the token is already in the verified-token cache
+        assertThat(filter(token)).isNull();
+        assertThat(filter(otherUser)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should reject a single logged-out token and keep the user's others")
+    void shouldRejectRevokedTokenId() throws Exception {
+        String loggedOut = tokenProvider.generateToken(7L, "admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String otherSession = tokenProvider.generateToken(7L, "admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        AuthenticatedUser user = tokenProvider.verify(loggedOut);
+        when(revokedTokenRepository.existsByJti(user.getTokenId())).thenReturn(true);
+
+        revocationList.revoke(user);
+
+        assertThat(filter(loggedOut)).isNull();
+        assertThat(filter(otherSession)).isNotNull();
+        verify(revokedTokenRepository).save(argThat(row -> row.getJti().equals(user.getTokenId())));
+        // The other token's ID is not in the filter, so it was never looked up
+        verify(revokedTokenRepository, times(1)).existsByJti(anyString());
+    }
+
+    @Test
+    @DisplayName("should not authenticate a token without user claims")
+    void shouldIgnoreTokenWithoutUserId() throws Exception {
+        String legacyToken = Jwts.builder()
+                .subject("admin")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(filter(legacyToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("should answer repeat tokens from the cache only until they expire")
+    void shouldCacheVerifiedTokensUntilExpiry() throws Exception {
+        properties.setExpiration(1_000L);
+        tokenProvider = new JwtTokenProvider(properties);
+        filter = new JwtAuthenticationFilter(tokenProvider, revocationList, new SimpleMeterRegistry());
+        String token = tokenProvider.generateToken(7L, "admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        AuthenticatedUser first = tokenProvider.verify(token);
+        assertThat(first).isNotNull();
+        assertThat(tokenProvider.verify(token)).isSameAs(first);
+
+        // exp has second precision, so wait past the next full second
+        Thread.sleep(2_100);
+        assertThat(tokenProvider.verify(token)).isNull();
+        assertThat(filter(token)).isNull();
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alerts/1");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
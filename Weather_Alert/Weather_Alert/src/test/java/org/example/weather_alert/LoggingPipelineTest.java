@@ -0,0 +1,175 @@
+package org.example.weather_alert;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.example.weather_alert.logging.AuditLog;
+import org.example.weather_alert.logging.DroppingAsyncAppender;
+import org.example.weather_alert.logging.SamplingTurboFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Logging Pipeline Tests")
+class LoggingPipelineTest {
+
+    private LoggerContext context;
+    private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        // Same adapter as the MDC facade, so MDC.put below reaches this context's events
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.stop();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("should drop INFO first and count every dropped event by level instead of blocking")
+    void shouldDropAndCountWhenQueueIsFull() {
+        DroppingAsyncAppender async = asyncAppender(4, 3, true);
+        Logger logger = logger("org.example.weather_alert.controllers.AlertController", async);
+
+        // First event is taken by the (blocked) writer, then the queue fills up
+        logger.info("taken by the writer");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> async.getQueued() == 0);
+        logger.info("queued 1");
+        logger.info("queued 2");
+        logger.info("dropped below the threshold");
+        logger.warn("queued 3");
+        logger.warn("queued 4");
+        logger.error("dropped, queue full");
+
+        assertThat(async.getDropped(Level.INFO)).isEqualTo(1);
+        assertThat(async.getDropped(Level.WARN)).isZero();
+        assertThat(async.getDropped(Level.ERROR)).isEqualTo(1);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> written.size() == 5);
+        assertThat(written).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("taken by the writer", "queued 1", "queued 2", "queued 3", "queued 4");
+    }
+
+    @Test
+    @DisplayName("should keep the caller's MDC on events written by the background thread")
+    void shouldCaptureMdcOnCallerThread() {
+        DroppingAsyncAppender async = asyncAppender(16, 0, false);
+        Logger logger = logger("org.example.weather_alert.services.AlertService", async);
+
+        MDC.put("alertId", "42");
+        logger.info("Updating alert {}", 42);
+        MDC.clear();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> written.size() == 1);
+        assertThat(written.get(0).getMDCPropertyMap()).containsEntry("alertId", "42");
+        assertThat(written.get(0).getFormattedMessage()).isEqualTo("Updating alert 42");
+        assertThat(written.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("should keep one in N sampled events, never sample WARN and not count disabled statements")
+    void shouldSamplePerLogger() {
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setContext(context);
+        sampling.addRule("org.example.weather_alert.controllers INFO 10");
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        DroppingAsyncAppender async = asyncAppender(1024, 0, false);
+        Logger sampled = logger("org.example.weather_alert.controllers.AlertController", async);
+        Logger other = logger("org.example.weather_alert.services.AlertService", async);
+        sampled.setLevel(Level.INFO);
+
+        for (int i = 0; i < 100; i++) {
+            sampled.info("GET /api/alerts/{}", i);
+            sampled.debug("disabled {}", i);
+            other.info("not sampled {}", i);
+        }
+        sampled.warn("always kept");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> written.size() == 10 + 100 + 1);
+        assertThat(sampling.getRules().get(0).getSampledOut()).isEqualTo(90);
+        assertThat(written).filteredOn(event -> event.getLoggerName().endsWith("AlertController"))
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .startsWith("GET /api/alerts/0", "GET /api/alerts/10")
+                .endsWith("always kept");
+    }
+
+    @Test
+    @DisplayName("should never sample the audit logger, even under a rule that covers it")
+    void shouldNeverSampleAudit() {
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setContext(context);
+        sampling.addRule("a INFO 10");
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        DroppingAsyncAppender async = asyncAppender(1024, 0, false);
+        Logger audit = logger(AuditLog.LOGGER_NAME, async);
+        Logger sampled = logger("alerts", async);
+
+        for (int i = 0; i < 20; i++) {
+            audit.info("Revoked all tokens of user ID: {}", i);
+            sampled.info("sampled {}", i);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> written.size() == 20 + 2);
+        assertThat(written).filteredOn(event -> event.getLoggerName().equals(AuditLog.LOGGER_NAME)).hasSize(20);
+        assertThat(sampling.getRules().get(0).getSampledOut()).isEqualTo(18);
+    }
+
+    private DroppingAsyncAppender asyncAppender(int queueSize, int discardingThreshold, boolean blockWriter) {
+        AppenderBase<ILoggingEvent> sink = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                if (blockWriter) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                written.add(event);
+            }
+        };
+        sink.setContext(context);
+        sink.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(queueSize);
+        async.setDiscardingThreshold(discardingThreshold);
+        async.addAppender(sink);
+        async.start();
+        return async;
+    }
+
+    private Logger logger(String name, DroppingAsyncAppender async) {
+        Logger logger = context.getLogger(name);
+        logger.setAdditive(false);
+        if (!logger.isAttached(async)) {
+            logger.addAppender(async);
+        }
+        return logger;
+    }
+}
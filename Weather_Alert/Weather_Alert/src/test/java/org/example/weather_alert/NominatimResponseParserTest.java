@@ -0,0 +1,38 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.exception.GeocodingException;
+import org.example.weather_alert.services.NominatimResponseParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NominatimResponseParser Unit Tests")
+class NominatimResponseParserTest {
+
+    private final NominatimResponseParser parser = new NominatimResponseParser();
+
+    @Test
+    @DisplayName("should return the coordinates of the first hit")
+    void shouldParseFirstHit() {
+        NominatimResponseParser.Result result = parser.parse(
+                "[{\"lat\":\"42.6977028\",\"lon\":\"23.3217359\",\"name\":\"София\"},"
+                        + "{\"lat\":\"42.1354\",\"lon\":\"24.7453\"}]");
+
+        assertThat(result).isEqualTo(new NominatimResponseParser.Result(42.6977028, 23.3217359));
+    }
+
+    @Test
+    @DisplayName("should return null when nothing was found")
+    void shouldReturnNullForNoHits() {
+        assertThat(parser.parse("[]")).isNull();
+    }
+
+    @Test
+    @DisplayName("should reject a response that is not JSON")
+    void shouldRejectMalformedResponse() {
+        assertThatThrownBy(() -> parser.parse("<html>Bandwidth limit exceeded</html>"))
+                .isInstanceOf(GeocodingException.class);
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.weather_alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.NotificationProperties;
+import org.example.weather_alert.dto.AlertResponse;
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.notifications.NotificationTarget;
+import org.example.weather_alert.notifications.WebhookUrlGuard;
+import org.example.weather_alert.services.NotificationDispatcher;
+import org.example.weather_alert.services.SubscriptionMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("NotificationDispatcher Tests (local HTTP sink + SMTP stub)")
+class NotificationDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private HttpServer httpSink;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger received = new AtomicInteger();
+    private final AtomicInteger failuresToReturn = new AtomicInteger();
+
+    private NotificationDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AlertResponse alert = AlertResponse.builder()
+            .id(1L)
+            .description("Heavy snowfall expected. Road conditions may be hazardous.")
+            .locationName("Sofia")
+            .latitude(42.6977)
+            .longitude(23.3219)
+            .severityLevel(SeverityLevel.HIGH)
+            .build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpSink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpSink.createContext("/hooks", exchange -> {
+            requests.incrementAndGet();
+            try (InputStream body = exchange.getRequestBody()) {
+                JsonNode payload = objectMapper.readTree(body);
+                if (failuresToReturn.getAndDecrement() > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                } else {
+                    received.addAndGet(payload.size());
+                    exchange.sendResponseHeaders(204, -1);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        httpSink.start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        NotificationProperties properties = new NotificationProperties();
+        properties.setBatchSize(50);
+        properties.setFlushIntervalMs(20);
+        properties.setMaxConcurrencyPerDestination(2);
+        properties.setMaxAttempts(3);
+        properties.setRetryBaseDelayMs(20);
+        properties.setRequestTimeoutMs(2000);
+        properties.setMailFrom("alerts@test.local");
+        // The local HTTP sink is a loopback address
+        properties.setTrustedWebhookHosts(List.of("localhost"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(WebClient.builder(), Optional.of(mailSender), meterRegistry,
+                mock(SubscriptionMatcher.class), new WebhookUrlGuard(properties), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        httpSink.stop(0);
+    }
+
+    private String hookUrl(String path) {
+        return "http://localhost:" + httpSink.getAddress().getPort() + "/hooks/" + path;
+    }
+
+    @Test
+    @DisplayName("should batch webhook deliveries per URL")
+    void shouldBatchWebhooks() {
+        int notifications = 1000;
+
+        for (int i = 0; i < notifications; i++) {
+            String url = hookUrl(i % 2 == 0 ? "a" : "b");
+            dispatcher.dispatch(i, new NotificationTarget(url, null), alert);
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> received.get() == notifications);
+
+        // Batches of up to 50, one POST per URL per batch -> far fewer requests than items
+        assertThat(requests.get()).isLessThan(notifications / 5);
+        assertThat(meterRegistry.counter("alerts.notifications.delivered", "channel", "WEBHOOK").count())
+                .isEqualTo(notifications);
+    }
+
+    @Test
+    @DisplayName("should retry failed webhook batches with backoff")
+    void shouldRetryFailedWebhooks() {
+        failuresToReturn.set(2);
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(i, new NotificationTarget(hookUrl("retry"), null), alert);
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> received.get() == 10);
+        assertThat(requests.get()).isGreaterThanOrEqualTo(3);
+        assertThat(meterRegistry.counter("alerts.notifications.dropped").count()).isZero();
+        assertThat(dispatcher.getQueuedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should drop notifications after max attempts")
+    void shouldDropAfterMaxAttempts() {
+        failuresToReturn.set(Integer.MAX_VALUE);
+
+        dispatcher.dispatch(1, new NotificationTarget(hookUrl("down"), null), alert);
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> meterRegistry.counter("alerts.notifications.dropped").count() == 1);
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(received.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("should drop webhooks to internal addresses without sending them")
+    void shouldNotPostToInternalAddresses() {
+        String internalUrl = "http://127.0.0.1:" + httpSink.getAddress().getPort() + "/hooks/internal";
+
+        dispatcher.dispatch(1, new NotificationTarget(internalUrl, null), alert);
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> meterRegistry.counter("alerts.notifications.dropped").count() == 1);
+        assertThat(requests.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("should skip e-mail targets when no mail server is configured")
+    void shouldSkipEmailWithoutMailServer() {
+        NotificationProperties properties = new NotificationProperties();
+        NotificationDispatcher withoutMail = new NotificationDispatcher(WebClient.builder(), Optional.empty(),
+                new SimpleMeterRegistry(), mock(SubscriptionMatcher.class), new WebhookUrlGuard(properties), properties);
+        try {
+            withoutMail.dispatch(1, new NotificationTarget(null, "user@test.local"), alert);
+
+            assertThat(withoutMail.isEmailEnabled()).isFalse();
+            assertThat(withoutMail.getQueuedCount()).isZero();
+        } finally {
+            withoutMail.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should deliver e-mail batches through the SMTP server")
+    void shouldSendEmails() {
+        for (int i = 0; i < 20; i++) {
+            dispatcher.dispatch(i, new NotificationTarget(null, "user" + i + "@test.local"), alert);
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> smtp.getReceivedMessages().length == 20);
+        // Counted once send() returns, which can be just after the server has the messages
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(meterRegistry.counter("alerts.notifications.delivered", "channel", "EMAIL").count())
+                        .isEqualTo(20));
+    }
+}
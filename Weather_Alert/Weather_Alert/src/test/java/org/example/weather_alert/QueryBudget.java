@@ -0,0 +1,47 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.diagnostics.SqlStatementStats;
+
+import java.util.Map;
+
+/**
+ * Fails a test when the code under test runs more SQL statements than its budget.
+ *
+ * Counts what goes through the application's DataSource proxy on the calling thread, which is
+ * where MockMvc runs the whole request (filters, security, controller).
+ *
+ * <pre>
+ * QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/alerts")...));
+ * </pre>
+ */
+final class QueryBudget {
+
+    @FunctionalInterface
+    interface Action<T> {
+        T run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    static <T> T atMost(int maxStatements, Action<T> action) throws Exception {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        T result;
+        try {
+            result = action.run();
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        if (stats.getCount() > maxStatements) {
+            StringBuilder message = new StringBuilder()
+                    .append("Expected at most ").append(maxStatements)
+                    .append(" SQL statements but ").append(stats.getCount()).append(" ran");
+            for (Map.Entry<String, Integer> repeated : stats.repeatedStatements(2).entrySet()) {
+                message.append("\n  ").append(repeated.getValue()).append("x ").append(repeated.getKey());
+            }
+            throw new AssertionError(message.toString());
+        }
+        return result;
+    }
+}
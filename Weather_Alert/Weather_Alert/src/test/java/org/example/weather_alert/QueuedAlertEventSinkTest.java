@@ -0,0 +1,144 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.dto.AlertEvent;
+import org.example.weather_alert.enums.AlertEventType;
+import org.example.weather_alert.events.AlertEventSink;
+import org.example.weather_alert.events.QueuedAlertEventSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("QueuedAlertEventSink Unit Tests")
+class QueuedAlertEventSinkTest {
+
+    private ExecutorService writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdownNow();
+    }
+
+    private static AlertEvent event(long sequence) {
+        return AlertEvent.builder()
+                .sequence(sequence)
+                .type(AlertEventType.CREATED)
+                .alertId(sequence)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should return immediately while a write is blocked and fail once the queue is full")
+    void shouldNotBlockOnSlowClient() throws Exception {
+        BlockingSink slow = new BlockingSink();
+        QueuedAlertEventSink sink = new QueuedAlertEventSink(slow, writer, 2, 60_000);
+
+        sink.send(event(1));
+        assertThat(slow.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Event 1 is stuck in the socket, 2 and 3 fill the queue
+        sink.send(event(2));
+        sink.send(event(3));
+        assertThatThrownBy(() -> sink.send(event(4)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("queue full");
+
+        slow.release.countDown();
+        sink.close("done");
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should fail the next send once a write has been blocked past the time limit")
+    void shouldDropClientBlockedPastTimeLimit() throws Exception {
+        BlockingSink slow = new BlockingSink();
+        QueuedAlertEventSink sink = new QueuedAlertEventSink(slow, writer, 16, 20);
+
+        sink.send(event(1));
+        assertThat(slow.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+
+        assertThatThrownBy(sink::heartbeat)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("blocked");
+        slow.release.countDown();
+    }
+
+    @Test
+    @DisplayName("should deliver in order and report a failed write on the next send")
+    void shouldDeliverInOrderAndSurfaceFailures() throws Exception {
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        AlertEventSink flaky = new AlertEventSink() {
+            @Override
+            public void send(AlertEvent event) throws IOException {
+                if (event.getSequence() == 3) {
+                    failed.countDown();
+                    throw new IOException("Broken pipe");
+                }
+                delivered.add(event.getSequence());
+            }
+
+            @Override
+            public void heartbeat() {
+            }
+
+            @Override
+            public void close(String reason) {
+            }
+        };
+        QueuedAlertEventSink sink = new QueuedAlertEventSink(flaky, writer, 16, 60_000);
+
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            sink.send(event(sequence));
+        }
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(delivered).containsExactly(1L, 2L);
+        assertThatThrownBy(() -> sink.send(event(4)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private static class BlockingSink implements AlertEventSink {
+
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(AlertEvent event) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close(String reason) {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.datasource.ReadWriteRoutingDataSource;
+import org.example.weather_alert.enums.ReplicaSelectionStrategy;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReadWriteRoutingDataSource Tests (embedded H2 primary + replicas)")
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<JdbcTemplate> nodes = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private ReadWriteRoutingDataSource router;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        nodes.forEach(node -> node.execute("SHUTDOWN"));
+    }
+
+    // Each embedded DB knows its own name, so a query reveals where it was routed
+    private DataSource node(String name) {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        JdbcDataSource admin = new JdbcDataSource();
+        admin.setURL(url);
+        JdbcTemplate template = new JdbcTemplate(admin);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        nodes.add(template);
+
+        // After SHUTDOWN connections fail instead of silently creating an empty database
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url + ";IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private void setUp(ReplicaSelectionStrategy strategy, long readYourWritesMs) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", node("replica-1"));
+        replicas.put("replica-2", node("replica-2"));
+
+        router = new ReadWriteRoutingDataSource(node("primary"), replicas, strategy, readYourWritesMs, meterRegistry);
+        router.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String readNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String writeNode() {
+        return readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("should send writes to the primary and spread reads over replicas")
+    void shouldRouteByTransactionType() {
+        setUp(ReplicaSelectionStrategy.ROUND_ROBIN, 0);
+
+        assertThat(writeNode()).isEqualTo("primary");
+        assertThat(List.of(readNode(), readNode(), readNode(), readNode()))
+                .containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+        assertThat(meterRegistry.counter("alerts.datasource.routed", "target", "replica-1").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should keep a user's reads on the primary right after they write")
+    void shouldReadYourWrites() throws InterruptedException {
+        setUp(ReplicaSelectionStrategy.ROUND_ROBIN, 200);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+        writeNode();
+        assertThat(readNode()).isEqualTo("primary");
+
+        // Another user is not affected
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user1", null, List.of()));
+        assertThat(readNode()).startsWith("replica");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        Thread.sleep(250);
+        assertThat(readNode()).startsWith("replica");
+    }
+
+    @Test
+    @DisplayName("should skip replicas that fail the probe and fall back to the primary")
+    void shouldSkipUnhealthyReplicas() {
+        setUp(ReplicaSelectionStrategy.LEAST_LATENCY, 0);
+
+        nodes.get(0).execute("SHUTDOWN");
+        nodes.remove(0);
+        router.probeReplicas(1);
+        assertThat(List.of(readNode(), readNode())).containsOnly("replica-2");
+
+        nodes.get(0).execute("SHUTDOWN");
+        nodes.remove(0);
+        router.probeReplicas(1);
+        assertThat(readNode()).isEqualTo("primary");
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.entities.RefreshToken;
+import org.example.weather_alert.repositories.RefreshTokenRepository;
+import org.example.weather_alert.services.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Spy
+    private JwtProperties properties = new JwtProperties();
+
+    @InjectMocks
+    private RefreshTokenService service;
+
+    // token_hash -> row, standing in for the table
+    private final Map<String, RefreshToken> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setRefreshExpiration(60_000L);
+
+        lenient().when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken row = invocation.getArgument(0);
+            rows.put(row.getTokenHash(), row);
+            return row;
+        });
+        lenient().when(refreshTokenRepository.findForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    @DisplayName("should store only a digest and rotate within the same family")
+    void shouldRotate() {
+        RefreshTokenService.IssuedToken first = service.issue(7L);
+
+        assertThat(rows).hasSize(1).doesNotContainKey(first.token());
+
+        RefreshTokenService.IssuedToken second = service.rotate(first.token()).orElseThrow();
+
+        assertThat(second.userId()).isEqualTo(7L);
+        assertThat(second.token()).isNotEqualTo(first.token());
+        assertThat(rows.values()).extracting(RefreshToken::getFamilyId).containsOnly(rows.values().iterator().next().getFamilyId());
+        assertThat(rows.values()).filteredOn(row -> row.getUsedAt() != null).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should revoke the family when a used token comes back")
+    void shouldRevokeFamilyOnReuse() {
+        RefreshTokenService.IssuedToken first = service.issue(7L);
+        service.rotate(first.token()).orElseThrow();
+        String familyId = rows.values().iterator().next().getFamilyId();
+
+        assertThat(service.rotate(first.token())).isEmpty();
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+    }
+
+    @Test
+    @DisplayName("should refuse unknown tokens")
+    void shouldRefuseUnknownToken() {
+        assertThat(service.rotate("not-a-token")).isEmpty();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.weather_alert.config.SqlDiagnosticsProperties;
+import org.example.weather_alert.diagnostics.SqlStatementListener;
+import org.example.weather_alert.diagnostics.SqlStatementStats;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SqlStatementListener / QueryBudget Tests (embedded H2)")
+class SqlStatementListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        SqlStatementListener listener = new SqlStatementListener(meterRegistry, new SqlDiagnosticsProperties());
+
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(h2).listener(listener).build());
+        jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY, parent_id INT)");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO item VALUES (?, ?)", i, i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    // One lookup per row of the first result - the shape the budget is meant to catch
+    private void loadWithNPlusOne() {
+        for (Integer parentId : jdbcTemplate.queryForList("SELECT parent_id FROM item", Integer.class)) {
+            jdbcTemplate.queryForObject("SELECT id FROM item WHERE id = ?", Integer.class, parentId);
+        }
+    }
+
+    @Test
+    @DisplayName("should count statements in nested scopes and spot repeated statements")
+    void shouldCountStatements() {
+        SqlStatementStats outer = SqlStatementStats.begin();
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+            SqlStatementStats inner = SqlStatementStats.begin();
+            try {
+                loadWithNPlusOne();
+            } finally {
+                SqlStatementStats.end();
+            }
+
+            assertThat(inner.getCount()).isEqualTo(6);
+            assertThat(inner.repeatedStatements(5)).containsOnlyKeys("SELECT id FROM item WHERE id = ?");
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        assertThat(outer.getCount()).isEqualTo(7);
+        // Statements outside any scope are still timed
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+        assertThat(meterRegistry.timer("alerts.db.statement").count()).isGreaterThanOrEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("should fail a budget that the code exceeds and pass one it meets")
+    void shouldEnforceBudget() throws Exception {
+        assertThatThrownBy(() -> QueryBudget.atMost(2, () -> {
+            loadWithNPlusOne();
+            return null;
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("but 6 ran")
+                .hasMessageContaining("5x SELECT id FROM item WHERE id = ?");
+
+        Integer count = QueryBudget.atMost(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item i JOIN item p ON p.id = i.parent_id", Integer.class));
+        assertThat(count).isEqualTo(5);
+    }
+}
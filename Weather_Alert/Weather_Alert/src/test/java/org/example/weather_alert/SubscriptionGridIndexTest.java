@@ -0,0 +1,102 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.enums.SeverityLevel;
+import org.example.weather_alert.index.SubscriptionArea;
+import org.example.weather_alert.index.SubscriptionGridIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SubscriptionGridIndex Unit Tests")
+class SubscriptionGridIndexTest {
+
+    private static List<Long> match(SubscriptionGridIndex index, SeverityLevel severity, double lat, double lon) {
+        List<Long> ids = new ArrayList<>();
+        index.match(severity, lat, lon, area -> ids.add(area.subscriptionId()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("should match by distance and minimum severity")
+    void shouldMatchCircleAndSeverity() {
+        SubscriptionGridIndex index = new SubscriptionGridIndex(0.25, 4096);
+        // 30 km around Sofia, HIGH only
+        index.add(SubscriptionArea.circle(1, 10, SeverityLevel.HIGH, 42.6977, 23.3219, 30));
+        // Anything anywhere
+        index.add(SubscriptionArea.anywhere(2, 11, SeverityLevel.LOW));
+
+        // Pernik is ~25 km from Sofia, Plovdiv ~130 km
+        assertThat(match(index, SeverityLevel.HIGH, 42.6052, 23.0378)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(match(index, SeverityLevel.MEDIUM, 42.6052, 23.0378)).containsExactly(2L);
+        assertThat(match(index, SeverityLevel.HIGH, 42.1354, 24.7453)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("should match circles that cross the antimeridian on both sides")
+    void shouldMatchAcrossAntimeridian() {
+        SubscriptionGridIndex index = new SubscriptionGridIndex(0.25, 4096);
+        // 50 km around a point just west of the antimeridian, near Fiji
+        index.add(SubscriptionArea.circle(1, 10, SeverityLevel.LOW, -17.0, 179.9, 50));
+
+        // ~21 km west, ~32 km east across the antimeridian, ~85 km east
+        assertThat(match(index, SeverityLevel.HIGH, -17.0, 179.7)).containsExactly(1L);
+        assertThat(match(index, SeverityLevel.HIGH, -17.0, -179.8)).containsExactly(1L);
+        assertThat(match(index, SeverityLevel.HIGH, -17.0, -179.3)).isEmpty();
+
+        index.remove(1);
+
+        assertThat(match(index, SeverityLevel.HIGH, -17.0, -179.8)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should stop matching removed subscriptions")
+    void shouldRemove() {
+        SubscriptionGridIndex index = new SubscriptionGridIndex(0.25, 4096);
+        index.add(SubscriptionArea.box(1, 10, SeverityLevel.LOW, 41.2, 44.2, 22.3, 28.6));
+
+        index.remove(1);
+
+        assertThat(match(index, SeverityLevel.HIGH, 42.7, 23.3)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should match a brute-force scan for random areas and points")
+    void shouldMatchBruteForce() {
+        Random random = new Random(7);
+        // Small cell limit so both the grid and the wide-area list are exercised
+        SubscriptionGridIndex index = new SubscriptionGridIndex(0.5, 16);
+        List<SubscriptionArea> areas = new ArrayList<>();
+        SeverityLevel[] severities = SeverityLevel.values();
+
+        for (long id = 1; id <= 3000; id++) {
+            SeverityLevel minSeverity = severities[random.nextInt(severities.length)];
+            double lat = 40 + random.nextDouble() * 5;
+            double lon = 21 + random.nextDouble() * 9;
+            SubscriptionArea area = random.nextBoolean()
+                    ? SubscriptionArea.circle(id, id, minSeverity, lat, lon, 1 + random.nextDouble() * 150)
+                    : SubscriptionArea.box(id, id, minSeverity, lat, lat + random.nextDouble() * 3,
+                    lon, lon + random.nextDouble() * 3);
+            areas.add(area);
+            index.add(area);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            SeverityLevel severity = severities[random.nextInt(severities.length)];
+            double lat = 39 + random.nextDouble() * 8;
+            double lon = 20 + random.nextDouble() * 12;
+
+            List<Long> expected = areas.stream()
+                    .filter(area -> area.matches(severity, lat, lon))
+                    .map(SubscriptionArea::subscriptionId)
+                    .toList();
+
+            assertThat(match(index, severity, lat, lon)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.weather_alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.weather_alert.config.JwtProperties;
+import org.example.weather_alert.entities.UserTokenCutoff;
+import org.example.weather_alert.repositories.RevokedTokenRepository;
+import org.example.weather_alert.repositories.UserTokenCutoffRepository;
+import org.example.weather_alert.security.AuthenticatedUser;
+import org.example.weather_alert.security.BloomFilter;
+import org.example.weather_alert.security.TokenRevocationList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationList Tests")
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenCutoffRepository userTokenCutoffRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private JwtProperties properties = new JwtProperties();
+
+    @InjectMocks
+    private TokenRevocationList revocationList;
+
+    @Test
+    @DisplayName("should load revocations at startup and pick up other instances' on poll")
+    void shouldSyncFromTable() {
+        // Arrange
+        String fromStartup = UUID.randomUUID().toString();
+        String fromOtherInstance = UUID.randomUUID().toString();
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any()))
+                .thenReturn(List.of(fromStartup))
+                .thenReturn(List.of(fromOtherInstance));
+        when(revokedTokenRepository.existsByJti(any())).thenReturn(true);
+        revocationList.load();
+
+        // Act & Assert
+        assertThat(revocationList.isRevoked(user(fromStartup))).isTrue();
+        assertThat(revocationList.isRevoked(user(fromOtherInstance))).isFalse();
+
+        revocationList.poll();
+
+        assertThat(revocationList.isRevoked(user(fromOtherInstance))).isTrue();
+        assertThat(meterRegistry.counter("alerts.security.revocation.lookups", "result", "revoked").count()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("should store a user's cut-off and reject their earlier tokens right away")
+    void shouldPersistUserCutoff() {
+        // Arrange
+        runTransactionsInline();
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any())).thenReturn(List.of());
+        when(userTokenCutoffRepository.raise(eq(7L), any())).thenReturn(0);
+        when(userTokenCutoffRepository.existsById(7L)).thenReturn(false);
+        revocationList.load();
+
+        // Act
+        revocationList.revokeAll(7L);
+
+        // Assert
+        verify(userTokenCutoffRepository).saveAndFlush(argThat(row -> row.getUserId().equals(7L)
+                && !row.getNotBefore().isBefore(LocalDateTime.now().withNano(0))));
+        assertThat(revocationList.isRevoked(7L, Instant.now().truncatedTo(ChronoUnit.SECONDS))).isTrue();
+        assertThat(revocationList.isRevoked(7L, Instant.now().plusSeconds(2))).isFalse();
+        assertThat(revocationList.isRevoked(8L, Instant.now().minusSeconds(60))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should pick up other instances' user cut-offs on poll")
+    void shouldSyncUserCutoffs() {
+        // Arrange
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any())).thenReturn(List.of());
+        when(userTokenCutoffRepository.findSetSince(any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(UserTokenCutoff.builder().userId(9L).notBefore(LocalDateTime.now()).build()));
+        revocationList.load();
+        assertThat(revocationList.isRevoked(9L, Instant.now().minusSeconds(60))).isFalse();
+
+        // Act
+        revocationList.poll();
+
+        // Assert
+        assertThat(revocationList.isRevoked(9L, Instant.now().minusSeconds(60))).isTrue();
+        assertThat(revocationList.isRevoked(9L, Instant.now().plusSeconds(2))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should accept tokens that are not in the filter without a query")
+    void shouldSkipLookupForUnrevokedTokens() {
+        // Arrange
+        properties.getRevocation().getBloom().setExpectedInsertions(1000);
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any())).thenReturn(List.of());
+        revocationList.load();
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            assertThat(revocationList.isRevoked(user(UUID.randomUUID().toString()))).isFalse();
+        }
+        verify(revokedTokenRepository, never()).existsByJti(any());
+    }
+
+    @Test
+    @DisplayName("should accept every token when revocation is disabled")
+    void shouldAcceptEverythingWhenDisabled() {
+        // Arrange
+        properties.getRevocation().setEnabled(false);
+        revocationList.load();
+        revocationList.revokeAll(1L);
+
+        // Act & Assert
+        assertThat(revocationList.isRevoked(user(UUID.randomUUID().toString()))).isFalse();
+        verify(revokedTokenRepository, never()).existsByJti(any());
+    }
+
+    @Test
+    @DisplayName("should never miss an added key and stay near the configured false-positive rate")
+    void bloomFilterShouldHonourFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    private static AuthenticatedUser user(String tokenId) {
+        return new AuthenticatedUser(1L, "user1", Set.of(), Instant.now().minusSeconds(1), tokenId,
+                Instant.now().plusSeconds(900));
+    }
+}
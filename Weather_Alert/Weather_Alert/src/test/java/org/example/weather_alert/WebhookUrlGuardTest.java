@@ -0,0 +1,74 @@
+package org.example.weather_alert;
+
+import org.example.weather_alert.config.NotificationProperties;
+import org.example.weather_alert.notifications.WebhookUrlGuard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebhookUrlGuard Unit Tests")
+class WebhookUrlGuardTest {
+
+    @Spy
+    private NotificationProperties properties = new NotificationProperties();
+
+    @InjectMocks
+    private WebhookUrlGuard guard;
+
+    // Literal addresses - no DNS lookup involved
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "https://127.0.0.1/hook",
+            "https://0.0.0.0/hook",
+            "https://10.1.2.3/hook",
+            "https://172.16.0.1/hook",
+            "https://192.168.1.10/hook",
+            "https://169.254.169.254/latest/meta-data",
+            "https://100.64.0.1/hook",
+            "https://[::1]/hook",
+            "https://[fe80::1]/hook",
+            "https://[fd00::1]/hook",
+            "https://[::ffff:10.0.0.1]/hook"
+    })
+    @DisplayName("should refuse loopback, private, link-local and shared addresses")
+    void shouldRefuseInternalAddresses(String url) {
+        assertThatThrownBy(() -> guard.check(url))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("non-public address");
+    }
+
+    @Test
+    @DisplayName("should accept a public address")
+    void shouldAcceptPublicAddress() {
+        assertThatCode(() -> guard.check("https://93.184.216.34/hooks/alerts")).doesNotThrowAnyException();
+        assertThatCode(() -> guard.check("https://[2606:2800:220:1::1]/hook")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should let explicitly trusted hosts through")
+    void shouldAcceptTrustedHost() {
+        // Arrange
+        properties.setTrustedWebhookHosts(List.of("127.0.0.1"));
+
+        // Act & Assert
+        assertThatCode(() -> guard.check("https://127.0.0.1:8443/relay")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should refuse URLs without a host")
+    void shouldRefuseMissingHost() {
+        assertThatThrownBy(() -> guard.check("https:///hook")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> guard.check("not a url")).isInstanceOf(IllegalArgumentException.class);
+    }
+}